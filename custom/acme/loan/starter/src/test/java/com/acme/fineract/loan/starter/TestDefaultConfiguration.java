@@ -26,6 +26,7 @@ import org.apache.fineract.cob.domain.BatchBusinessStepRepository;
 import org.apache.fineract.cob.service.ReloaderService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.diagnostics.metrics.FineractMetrics;
 import org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core.SamplingConfiguration;
 import org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core.SamplingServiceFactory;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
@@ -48,12 +49,17 @@ public class TestDefaultConfiguration {
         return mock(BusinessEventNotifierService.class);
     }
 
+    @Bean
+    public FineractMetrics fineractMetrics() {
+        return mock(FineractMetrics.class);
+    }
+
     @Bean
     public COBBusinessStepService cobBusinessStepService(BatchBusinessStepRepository batchBusinessStepRepository,
             ApplicationContext context, ListableBeanFactory beanFactory, BusinessEventNotifierService businessEventNotifierService,
-            ConfigurationDomainService configurationDomainService, ReloaderService reloaderService) {
+            ConfigurationDomainService configurationDomainService, ReloaderService reloaderService, FineractMetrics fineractMetrics) {
         return new COBBusinessStepServiceImpl(batchBusinessStepRepository, context, beanFactory, businessEventNotifierService,
-                configurationDomainService, reloaderService);
+                configurationDomainService, reloaderService, fineractMetrics);
     }
 
     @Bean
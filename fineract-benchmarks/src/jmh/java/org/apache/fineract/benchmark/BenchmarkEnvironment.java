@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Field;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+
+/**
+ * Sets up the static and thread local state the loan domain expects from a running application, without starting Spring
+ * or touching a database.
+ */
+public final class BenchmarkEnvironment {
+
+    public static final LocalDate BUSINESS_DATE = LocalDate.of(2023, 1, 1);
+
+    private static final String ALL_DAYS_ARE_WORKING_DAYS = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU";
+
+    private BenchmarkEnvironment() {}
+
+    /**
+     * Must be called from the benchmark thread, since tenant and business dates are thread local.
+     */
+    public static void initialize() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE);
+        businessDates.put(BusinessDateType.COB_DATE, BUSINESS_DATE.minusDays(1));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        initializeMoneyHelper();
+    }
+
+    public static ApplicationCurrency usd() {
+        // the persistent constructors are not public, the copy factory is
+        ApplicationCurrency currency = new ApplicationCurrency() {};
+        currency.setCode("USD");
+        return ApplicationCurrency.from(currency, 2, null);
+    }
+
+    public static HolidayDetailDTO noHolidays() {
+        WorkingDays workingDays = new WorkingDays(ALL_DAYS_ARE_WORKING_DAYS, RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY.getValue(),
+                false, false) {};
+        return new HolidayDetailDTO(false, Collections.emptyList(), workingDays);
+    }
+
+    private static void initializeMoneyHelper() {
+        ConfigurationDomainService configurationDomainService = mock(ConfigurationDomainService.class);
+        given(configurationDomainService.getRoundingMode()).willReturn(RoundingMode.HALF_EVEN.ordinal());
+        try {
+            MoneyHelper moneyHelper = new MoneyHelper();
+            Field field = MoneyHelper.class.getDeclaredField("configurationDomainService");
+            field.setAccessible(true);
+            field.set(moneyHelper, configurationDomainService);
+            moneyHelper.someFunction();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not initialize MoneyHelper", e);
+        }
+        // resolves and caches the rounding mode, so the mock is not called while measuring
+        MoneyHelper.getMathContext();
+    }
+}
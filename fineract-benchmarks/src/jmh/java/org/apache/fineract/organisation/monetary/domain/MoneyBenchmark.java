@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.benchmark.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link Money} operations the schedule generators and repayment processors call once or more per
+ * installment.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    // JMH injects parameters into public fields
+    @Param({ "2", "6" })
+    public int digitsAfterDecimal;
+
+    @Param({ "", "50" })
+    public String inMultiplesOf;
+
+    private MonetaryCurrency currency;
+    private Money principal;
+    private Money interest;
+    private BigDecimal rate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkEnvironment.initialize();
+        Integer multiplesOf = this.inMultiplesOf.isEmpty() ? null : Integer.valueOf(this.inMultiplesOf);
+        this.currency = new MonetaryCurrency("USD", this.digitsAfterDecimal, multiplesOf);
+        this.principal = Money.of(this.currency, new BigDecimal("100000.123456"));
+        this.interest = Money.of(this.currency, new BigDecimal("833.337777"));
+        this.rate = new BigDecimal("0.0123456789");
+    }
+
+    @Benchmark
+    public Money of() {
+        return Money.of(this.currency, this.rate);
+    }
+
+    @Benchmark
+    public Money plus() {
+        return this.principal.plus(this.interest);
+    }
+
+    @Benchmark
+    public Money minus() {
+        return this.principal.minus(this.interest);
+    }
+
+    @Benchmark
+    public Money multipliedBy() {
+        return this.principal.multipliedBy(this.rate);
+    }
+
+    @Benchmark
+    public Money dividedBy() {
+        return this.principal.dividedBy(360, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public boolean isGreaterThan() {
+        return this.principal.isGreaterThan(this.interest);
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.fineract.benchmark.BenchmarkEnvironment;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultLoanScheduleGeneratorFactory;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleBenchmarkScenario;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModelPeriod;
+import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reprocessing of a fully repaid loan, where every installment is paid on its due date, through the repayment
+ * strategies most products use.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanRepaymentScheduleTransactionProcessorBenchmark {
+
+    public enum Strategy {
+
+        FINERACT_STYLE(FineractStyleLoanRepaymentScheduleTransactionProcessor::new), //
+        PRINCIPAL_INTEREST_PENALTY_FEES_ORDER(PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor::new), //
+        INTEREST_PRINCIPAL_PENALTY_FEES_ORDER(InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor::new);
+
+        private final Supplier<LoanRepaymentScheduleTransactionProcessor> factory;
+
+        Strategy(final Supplier<LoanRepaymentScheduleTransactionProcessor> factory) {
+            this.factory = factory;
+        }
+    }
+
+    // JMH injects parameters into public fields
+    @Param
+    public Strategy strategy;
+
+    @Param({ "DECLINING_BALANCE_12_INSTALLMENTS", "DECLINING_BALANCE_360_INSTALLMENTS" })
+    public LoanScheduleBenchmarkScenario scenario;
+
+    private LoanRepaymentScheduleTransactionProcessor processor;
+    private MonetaryCurrency currency;
+    private final List<LoanScheduleModelPeriod> repaymentPeriods = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkEnvironment.initialize();
+        this.processor = this.strategy.factory.get();
+
+        ApplicationCurrency applicationCurrency = BenchmarkEnvironment.usd();
+        HolidayDetailDTO holidayDetailDTO = BenchmarkEnvironment.noHolidays();
+        LoanApplicationTerms loanApplicationTerms = this.scenario.toLoanApplicationTerms(applicationCurrency, holidayDetailDTO);
+        this.currency = loanApplicationTerms.getCurrency();
+        LoanScheduleModel schedule = new DefaultLoanScheduleGeneratorFactory().create(this.scenario.getInterestMethod())
+                .generate(MoneyHelper.getMathContext(), loanApplicationTerms, new HashSet<>(), holidayDetailDTO);
+        for (LoanScheduleModelPeriod period : schedule.getPeriods()) {
+            if (period.isRepaymentPeriod()) {
+                this.repaymentPeriods.add(period);
+            }
+        }
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail reprocessRepayments() {
+        // processing updates installments and transactions in place, so both are rebuilt from the schedule every time
+        final Loan loan = null;
+        final Office office = null;
+        final PaymentDetail paymentDetail = null;
+        List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>(this.repaymentPeriods.size());
+        List<LoanTransaction> repayments = new ArrayList<>(this.repaymentPeriods.size());
+        for (LoanScheduleModelPeriod period : this.repaymentPeriods) {
+            installments.add(new LoanRepaymentScheduleInstallment(loan, period.periodNumber(), period.periodFromDate(),
+                    period.periodDueDate(), period.principalDue(), period.interestDue(), period.feeChargesDue(),
+                    period.penaltyChargesDue(), false, null));
+            BigDecimal totalDue = period.principalDue().add(period.interestDue()).add(period.feeChargesDue())
+                    .add(period.penaltyChargesDue());
+            repayments.add(LoanTransaction.repayment(office, Money.of(this.currency, totalDue), paymentDetail, period.periodDueDate(),
+                    ExternalId.empty()));
+        }
+        return this.processor.handleTransaction(BenchmarkEnvironment.BUSINESS_DATE, repayments, this.currency, installments,
+                new HashSet<>());
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.benchmark.BenchmarkEnvironment;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.portfolio.calendar.domain.Calendar;
+import org.apache.fineract.portfolio.calendar.domain.CalendarEntityType;
+import org.apache.fineract.portfolio.calendar.domain.CalendarFrequencyType;
+import org.apache.fineract.portfolio.calendar.domain.CalendarInstance;
+import org.apache.fineract.portfolio.calendar.domain.CalendarType;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.data.DisbursementData;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanproduct.domain.AmortizationMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestRecalculationCompoundingMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanPreClosureInterestCalculationStrategy;
+import org.apache.fineract.portfolio.loanproduct.domain.RecalculationFrequencyType;
+
+/**
+ * Representative loan product configurations used by the schedule and repayment benchmarks. All loans are monthly,
+ * disbursed on {@link BenchmarkEnvironment#BUSINESS_DATE}, so results only change when the code does.
+ */
+public enum LoanScheduleBenchmarkScenario {
+
+    FLAT_12_INSTALLMENTS(InterestMethod.FLAT, 12, false, InterestRecalculationCompoundingMethod.NONE, false), //
+    DECLINING_BALANCE_12_INSTALLMENTS(InterestMethod.DECLINING_BALANCE, 12, false, InterestRecalculationCompoundingMethod.NONE, false), //
+    INTEREST_RECALCULATION_12_INSTALLMENTS(InterestMethod.DECLINING_BALANCE, 12, true, InterestRecalculationCompoundingMethod.NONE,
+            false), //
+    COMPOUNDING_12_INSTALLMENTS(InterestMethod.DECLINING_BALANCE, 12, true, InterestRecalculationCompoundingMethod.INTEREST, false), //
+    MULTI_DISBURSEMENT_12_INSTALLMENTS(InterestMethod.DECLINING_BALANCE, 12, false, InterestRecalculationCompoundingMethod.NONE, true), //
+    FLAT_360_INSTALLMENTS(InterestMethod.FLAT, 360, false, InterestRecalculationCompoundingMethod.NONE, false), //
+    DECLINING_BALANCE_360_INSTALLMENTS(InterestMethod.DECLINING_BALANCE, 360, false, InterestRecalculationCompoundingMethod.NONE,
+            false), //
+    INTEREST_RECALCULATION_360_INSTALLMENTS(InterestMethod.DECLINING_BALANCE, 360, true, InterestRecalculationCompoundingMethod.NONE,
+            false);
+
+    private static final BigDecimal PRINCIPAL = BigDecimal.valueOf(100_000);
+    private static final BigDecimal INTEREST_RATE_PER_PERIOD = BigDecimal.ONE;
+    private static final BigDecimal ANNUAL_NOMINAL_INTEREST_RATE = BigDecimal.valueOf(12);
+    private static final BigDecimal PRINCIPAL_THRESHOLD_FOR_LAST_INSTALMENT = BigDecimal.valueOf(50);
+
+    private final InterestMethod interestMethod;
+    private final int numberOfRepayments;
+    private final boolean interestRecalculation;
+    private final InterestRecalculationCompoundingMethod compoundingMethod;
+    private final boolean multiDisbursement;
+
+    LoanScheduleBenchmarkScenario(final InterestMethod interestMethod, final int numberOfRepayments, final boolean interestRecalculation,
+            final InterestRecalculationCompoundingMethod compoundingMethod, final boolean multiDisbursement) {
+        this.interestMethod = interestMethod;
+        this.numberOfRepayments = numberOfRepayments;
+        this.interestRecalculation = interestRecalculation;
+        this.compoundingMethod = compoundingMethod;
+        this.multiDisbursement = multiDisbursement;
+    }
+
+    public InterestMethod getInterestMethod() {
+        return this.interestMethod;
+    }
+
+    /**
+     * Schedule generation updates the terms it is given, so every generation needs a fresh instance.
+     */
+    public LoanApplicationTerms toLoanApplicationTerms(final ApplicationCurrency currency, final HolidayDetailDTO holidayDetailDTO) {
+        final LocalDate disbursementDate = BenchmarkEnvironment.BUSINESS_DATE;
+        final MonetaryCurrency monetaryCurrency = MonetaryCurrency.fromApplicationCurrency(currency);
+        final Money principal = Money.of(monetaryCurrency, PRINCIPAL);
+
+        final List<DisbursementData> disbursementDatas = new ArrayList<>();
+        BigDecimal maxOutstandingBalance = null;
+        if (this.multiDisbursement) {
+            disbursementDatas.add(tranche(disbursementDate, BigDecimal.valueOf(50_000)));
+            disbursementDatas.add(tranche(disbursementDate.plusMonths(2), BigDecimal.valueOf(30_000)));
+            disbursementDatas.add(tranche(disbursementDate.plusMonths(4), BigDecimal.valueOf(20_000)));
+            maxOutstandingBalance = PRINCIPAL;
+        }
+
+        RecalculationFrequencyType recalculationFrequencyType = null;
+        CalendarInstance restCalendarInstance = null;
+        InterestRecalculationCompoundingMethod interestRecalculationCompoundingMethod = null;
+        RecalculationFrequencyType compoundingFrequencyType = null;
+        CalendarInstance compoundingCalendarInstance = null;
+        LoanPreClosureInterestCalculationStrategy preClosureInterestCalculationStrategy = null;
+        if (this.interestRecalculation) {
+            recalculationFrequencyType = RecalculationFrequencyType.DAILY;
+            restCalendarInstance = dailyCalendarInstance(disbursementDate, CalendarEntityType.LOAN_RECALCULATION_REST_DETAIL);
+            interestRecalculationCompoundingMethod = this.compoundingMethod;
+            if (this.compoundingMethod.isCompoundingEnabled()) {
+                compoundingFrequencyType = RecalculationFrequencyType.DAILY;
+                compoundingCalendarInstance = dailyCalendarInstance(disbursementDate,
+                        CalendarEntityType.LOAN_RECALCULATION_COMPOUNDING_DETAIL);
+            }
+            preClosureInterestCalculationStrategy = LoanPreClosureInterestCalculationStrategy.TILL_PRE_CLOSURE_DATE;
+        }
+
+        final InterestCalculationPeriodMethod interestCalculationPeriodMethod = this.interestMethod.isDecliningBalance()
+                ? InterestCalculationPeriodMethod.DAILY
+                : InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD;
+
+        return LoanApplicationTerms.assembleFrom(currency, this.numberOfRepayments, PeriodFrequencyType.MONTHS, this.numberOfRepayments, 1,
+                PeriodFrequencyType.MONTHS, null, null, AmortizationMethod.EQUAL_INSTALLMENTS, this.interestMethod,
+                INTEREST_RATE_PER_PERIOD, PeriodFrequencyType.MONTHS, ANNUAL_NOMINAL_INTEREST_RATE, interestCalculationPeriodMethod, false,
+                principal, disbursementDate, null, null, null, null, null, null, null, Money.zero(monetaryCurrency),
+                this.multiDisbursement, null, disbursementDatas, maxOutstandingBalance, null, DaysInMonthType.ACTUAL,
+                DaysInYearType.ACTUAL, this.interestRecalculation, recalculationFrequencyType, restCalendarInstance,
+                interestRecalculationCompoundingMethod, compoundingCalendarInstance, compoundingFrequencyType,
+                PRINCIPAL_THRESHOLD_FOR_LAST_INSTALMENT, null, preClosureInterestCalculationStrategy, null, PRINCIPAL, new ArrayList<>(),
+                false, 0, false, holidayDetailDTO, false, false, false, null, false);
+    }
+
+    private static DisbursementData tranche(final LocalDate expectedDisbursementDate, final BigDecimal amount) {
+        return new DisbursementData(null, expectedDisbursementDate, null, amount, amount, null, null, null);
+    }
+
+    private static CalendarInstance dailyCalendarInstance(final LocalDate startDate, final CalendarEntityType entityType) {
+        final Calendar calendar = Calendar.createRepeatingCalendar("loan_recalculation_detail", startDate,
+                CalendarType.COLLECTION.getValue(), CalendarFrequencyType.DAILY, 1, null, null);
+        return CalendarInstance.from(calendar, null, entityType.getValue());
+    }
+}
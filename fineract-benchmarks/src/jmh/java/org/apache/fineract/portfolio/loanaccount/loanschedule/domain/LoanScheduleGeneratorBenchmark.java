@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.domain;
+
+import java.math.MathContext;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.benchmark.BenchmarkEnvironment;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link AbstractLoanScheduleGenerator#generate} through the flat and declining balance generators, the way a
+ * loan application or a schedule recalculation calls it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanScheduleGeneratorBenchmark {
+
+    // JMH injects parameters into public fields
+    @Param
+    public LoanScheduleBenchmarkScenario scenario;
+
+    private LoanScheduleGenerator generator;
+    private MathContext mathContext;
+    private ApplicationCurrency currency;
+    private HolidayDetailDTO holidayDetailDTO;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkEnvironment.initialize();
+        this.generator = new DefaultLoanScheduleGeneratorFactory().create(this.scenario.getInterestMethod());
+        this.mathContext = MoneyHelper.getMathContext();
+        this.currency = BenchmarkEnvironment.usd();
+        this.holidayDetailDTO = BenchmarkEnvironment.noHolidays();
+    }
+
+    @Benchmark
+    public LoanScheduleModel generate() {
+        // building the terms is a few allocations, negligible next to the schedule itself
+        LoanApplicationTerms loanApplicationTerms = this.scenario.toLoanApplicationTerms(this.currency, this.holidayDetailDTO);
+        return this.generator.generate(this.mathContext, loanApplicationTerms, new HashSet<>(), this.holidayDetailDTO);
+    }
+}
@@ -19,8 +19,13 @@
 package org.apache.fineract.infrastructure.core.serialization;
 
 import com.google.gson.Gson;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -90,6 +95,23 @@ public class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<T> {
         return serializeWithSettings(delegatedSerializer, settings, singleObject);
     }
 
+    @Override
+    public StreamingOutput serializeStreaming(final ApiRequestJsonSerializationSettings settings, final Page<T> page,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return output -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            if (delegatedSerializer != null) {
+                this.helper.serializedJsonTo(delegatedSerializer, page, writer);
+            } else if (settings.isPrettyPrint()) {
+                this.excludeNothingWithPrettyPrintingOn.serialize(page, writer);
+            } else {
+                this.excludeNothingWithPrettyPrintingOff.serialize(page, writer);
+            }
+            writer.flush();
+        };
+    }
+
     @Override
     public String serialize(final ApiRequestJsonSerializationSettings settings, final Collection<T> collection) {
         final Gson delegatedSerializer = findAppropriateSerializer(settings);
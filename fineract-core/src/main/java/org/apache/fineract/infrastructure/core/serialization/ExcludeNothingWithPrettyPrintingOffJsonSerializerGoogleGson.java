@@ -47,4 +47,8 @@ public final class ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson {
         }
         return returnedResult;
     }
+
+    public void serialize(final Object result, final Appendable writer) {
+        this.gson.toJson(result, writer);
+    }
 }
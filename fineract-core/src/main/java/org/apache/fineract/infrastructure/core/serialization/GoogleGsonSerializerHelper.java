@@ -28,7 +28,11 @@ import java.time.MonthDay;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.api.DateAdapter;
 import org.apache.fineract.infrastructure.core.api.ExternalIdAdapter;
@@ -50,15 +54,28 @@ import org.springframework.stereotype.Service;
 @Service
 public final class GoogleGsonSerializerHelper {
 
-    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
-        final ExclusionStrategy strategy = new ParameterListInclusionStrategy(responseParameters);
+    /**
+     * The partial response serializers are cached by their field set, building a {@link Gson} with all its type adapters
+     * for every request is expensive. The number of field sets requested by the clients is small, the cache is bounded
+     * anyway as the fields come from the request.
+     */
+    private static final int MAX_CACHED_SERIALIZERS = 256;
 
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
+    private final Map<List<Object>, Gson> serializers = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<List<Object>, Gson> eldest) {
+            return size() > MAX_CACHED_SERIALIZERS;
         }
-        return builder.create();
+    });
+
+    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
+        final Set<String> parameterNamesToInclude = Set.copyOf(responseParameters);
+        final List<Object> key = List.of(ParameterListInclusionStrategy.class, prettyPrint, parameterNamesToInclude);
+        return this.serializers.computeIfAbsent(key,
+                k -> createGson(new ParameterListInclusionStrategy(parameterNamesToInclude), prettyPrint));
     }
 
     public Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters,
@@ -80,8 +97,13 @@ public final class GoogleGsonSerializerHelper {
             parameterNamesToSkip.removeAll(responseParameters);
         }
 
-        final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
+        final Set<String> skippedParameterNames = Set.copyOf(parameterNamesToSkip);
+        final List<Object> key = List.of(ParameterListExclusionStrategy.class, prettyPrint, skippedParameterNames);
+        return this.serializers.computeIfAbsent(key,
+                k -> createGson(new ParameterListExclusionStrategy(skippedParameterNames), prettyPrint));
+    }
 
+    private static Gson createGson(final ExclusionStrategy strategy, final boolean prettyPrint) {
         final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
         registerTypeAdapters(builder);
         if (prettyPrint) {
@@ -98,6 +120,10 @@ public final class GoogleGsonSerializerHelper {
         return serializer.toJson(singleDataObject);
     }
 
+    public void serializedJsonTo(final Gson serializer, final Object dataObject, final Appendable writer) {
+        serializer.toJson(dataObject, writer);
+    }
+
     public static Gson createSimpleGson() {
         return createGsonBuilder().create();
     }
@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.core.serialization;
 
 import java.util.Collection;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.service.Page;
 
 public interface ToApiJsonSerializer<T> {
@@ -46,4 +47,10 @@ public interface ToApiJsonSerializer<T> {
     String serialize(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
 
     String serialize(ApiRequestJsonSerializationSettings settings, Page<T> singleObject, Set<String> supportedResponseParameters);
+
+    /**
+     * Serializes the page straight into the response stream, without building the whole JSON string in memory first.
+     * The requested fields are validated before the response is started.
+     */
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, Page<T> page, Set<String> supportedResponseParameters);
 }
@@ -25,10 +25,16 @@ public class Page<E> implements Serializable {
 
     private final int totalFilteredRecords;
     private final List<E> pageItems;
+    private final String nextCursor;
 
     public Page(final List<E> pageItems, final int totalFilteredRecords) {
+        this(pageItems, totalFilteredRecords, null);
+    }
+
+    public Page(final List<E> pageItems, final int totalFilteredRecords, final String nextCursor) {
         this.pageItems = pageItems;
         this.totalFilteredRecords = totalFilteredRecords;
+        this.nextCursor = nextCursor;
     }
 
     public int getTotalFilteredRecords() {
@@ -39,4 +45,11 @@ public class Page<E> implements Serializable {
         return this.pageItems;
     }
 
+    /**
+     * The opaque cursor of the next page when keyset pagination was requested, {@code null} on the last page.
+     */
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
+
 }
@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+
+/**
+ * Opaque cursor of the keyset (seek) pagination of the list APIs.
+ *
+ * The cursor carries the id of the last returned record and the total number of filtered records, which is counted
+ * only for the first page, so every following page costs the same regardless of its depth.
+ */
+public final class PageCursor {
+
+    public static final String CURSOR_PARAM_NAME = "cursor";
+
+    private static final PageCursor FIRST_PAGE = new PageCursor(null, null);
+    private static final String SEPARATOR = ":";
+
+    private final Long lastId;
+    private final Integer totalFilteredRecords;
+
+    private PageCursor(final Long lastId, final Integer totalFilteredRecords) {
+        this.lastId = lastId;
+        this.totalFilteredRecords = totalFilteredRecords;
+    }
+
+    public static PageCursor of(final Long lastId, final Integer totalFilteredRecords) {
+        return new PageCursor(lastId, totalFilteredRecords);
+    }
+
+    /**
+     * Decodes the cursor received from the API, an empty value requests the first page.
+     *
+     * @param cursor
+     *            the opaque cursor, returned as nextCursor by the previous page
+     * @return the decoded cursor, or {@code null} if keyset pagination was not requested
+     */
+    public static PageCursor decode(final String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        if (StringUtils.isBlank(cursor)) {
+            return FIRST_PAGE;
+        }
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final String[] parts = decoded.split(SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw invalidCursor(cursor, null);
+            }
+            final Integer total = StringUtils.isEmpty(parts[1]) ? null : Integer.valueOf(parts[1]);
+            return new PageCursor(Long.valueOf(parts[0]), total);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor, e);
+        }
+    }
+
+    public String encode() {
+        final String value = this.lastId + SEPARATOR + (this.totalFilteredRecords == null ? "" : this.totalFilteredRecords);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Long getLastId() {
+        return this.lastId;
+    }
+
+    public Integer getTotalFilteredRecords() {
+        return this.totalFilteredRecords;
+    }
+
+    public boolean isFirstPage() {
+        return this.lastId == null;
+    }
+
+    static PlatformApiDataValidationException orderingNotSupported(final String orderBy, final String sortOrder) {
+        final String parameterName = StringUtils.isNotBlank(orderBy) ? "orderBy" : "sortOrder";
+        final Object value = StringUtils.isNotBlank(orderBy) ? orderBy : sortOrder;
+        final ApiParameterError error = ApiParameterError.parameterError("validation.msg.cursor.ordering.not.supported",
+                "The `" + parameterName + "` parameter cannot be combined with `" + CURSOR_PARAM_NAME
+                        + "`, cursor pages are ordered by id.",
+                parameterName, value);
+        return new PlatformApiDataValidationException(List.of(error));
+    }
+
+    private static PlatformApiDataValidationException invalidCursor(final String cursor, final Throwable cause) {
+        final ApiParameterError error = ApiParameterError.parameterError("validation.msg.cursor.invalid",
+                "The cursor `" + cursor + "` is not valid.", CURSOR_PARAM_NAME, cursor);
+        return new PlatformApiDataValidationException(List.of(error), cause);
+    }
+}
@@ -50,6 +50,9 @@ public final class SearchParameters {
     private final Long categoryId;
     private final boolean isSelfUser;
 
+    // Keyset pagination
+    private final PageCursor cursor;
+
     public static SearchParameters from(final String sqlSearch, final Long officeId, final String externalId, final String name,
             final String hierarchy) {
         final Long staffId = null;
@@ -268,6 +271,7 @@ public final class SearchParameters {
         this.productId = null;
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
+        this.cursor = null;
         this.status = null;
 
     }
@@ -297,6 +301,7 @@ public final class SearchParameters {
         this.productId = null;
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
+        this.cursor = null;
         this.status = status;
 
     }
@@ -326,6 +331,7 @@ public final class SearchParameters {
         this.productId = null;
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
+        this.cursor = null;
         this.status = null;
     }
 
@@ -352,6 +358,7 @@ public final class SearchParameters {
         this.productId = productId;
         this.categoryId = categoryId;
         this.isSelfUser = false;
+        this.cursor = null;
         this.status = null;
 
     }
@@ -381,10 +388,48 @@ public final class SearchParameters {
         this.productId = null;
         this.categoryId = null;
         this.isSelfUser = false;
+        this.cursor = null;
         this.status = null;
 
     }
 
+    private SearchParameters(final SearchParameters searchParameters, final PageCursor cursor) {
+        this.sqlSearch = searchParameters.sqlSearch;
+        this.officeId = searchParameters.officeId;
+        this.externalId = searchParameters.externalId;
+        this.name = searchParameters.name;
+        this.hierarchy = searchParameters.hierarchy;
+        this.firstname = searchParameters.firstname;
+        this.lastname = searchParameters.lastname;
+        this.status = searchParameters.status;
+        this.offset = searchParameters.offset;
+        this.limit = searchParameters.limit;
+        this.orderBy = searchParameters.orderBy;
+        this.sortOrder = searchParameters.sortOrder;
+        this.accountNo = searchParameters.accountNo;
+        this.currencyCode = searchParameters.currencyCode;
+        this.staffId = searchParameters.staffId;
+        this.loanId = searchParameters.loanId;
+        this.savingsId = searchParameters.savingsId;
+        this.orphansOnly = searchParameters.orphansOnly;
+        this.provisioningEntryId = searchParameters.provisioningEntryId;
+        this.productId = searchParameters.productId;
+        this.categoryId = searchParameters.categoryId;
+        this.isSelfUser = searchParameters.isSelfUser;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Returns a copy of these parameters that requests keyset pagination, a {@code null} cursor keeps offset pagination.
+     * Cursor pages are always ordered by id, so a cursor cannot be combined with {@code orderBy} or {@code sortOrder}.
+     */
+    public SearchParameters withCursor(final PageCursor cursor) {
+        if (cursor != null && (isOrderByRequested() || isSortOrderProvided())) {
+            throw PageCursor.orderingNotSupported(this.orderBy, this.sortOrder);
+        }
+        return new SearchParameters(this, cursor);
+    }
+
     public boolean isOrderByRequested() {
         return StringUtils.isNotBlank(this.orderBy);
     }
@@ -544,6 +589,14 @@ public final class SearchParameters {
         return this.isSelfUser;
     }
 
+    public boolean isCursorPaged() {
+        return this.cursor != null;
+    }
+
+    public PageCursor getCursor() {
+        return this.cursor;
+    }
+
     /**
      * creates an instance of the SearchParameters from a request for the report mailing job run history
      *
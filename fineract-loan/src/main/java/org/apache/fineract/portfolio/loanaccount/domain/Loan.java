@@ -53,6 +53,10 @@ import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.OrderBy;
@@ -148,6 +152,59 @@ import org.apache.fineract.useradministration.domain.AppUser;
 @Entity
 @Table(name = "m_loan", uniqueConstraints = { @UniqueConstraint(columnNames = { "account_no" }, name = "loan_account_no_UNIQUE"),
         @UniqueConstraint(columnNames = { "external_id" }, name = "loan_externalid_UNIQUE") })
+@NamedEntityGraphs({ //
+        @NamedEntityGraph(name = Loan.REPAYMENT_ENTITY_GRAPH, attributeNodes = { //
+                @NamedAttributeNode(value = "repaymentScheduleInstallments", subgraph = "installments"), //
+                @NamedAttributeNode(value = "loanTransactions", subgraph = "transactions"), //
+                @NamedAttributeNode(value = "charges", subgraph = "charges"), //
+                @NamedAttributeNode("loanTermVariations") }, subgraphs = {
+                @NamedSubgraph(name = "installments", attributeNodes = { @NamedAttributeNode("installmentCharges"),
+                        @NamedAttributeNode("loanCompoundingDetails"), @NamedAttributeNode("postDatedChecks") }),
+                @NamedSubgraph(name = "transactions", attributeNodes = { @NamedAttributeNode("loanChargesPaid"),
+                        @NamedAttributeNode("loanTransactionToRepaymentScheduleMappings") }),
+                @NamedSubgraph(name = "charges", attributeNodes = { @NamedAttributeNode("loanInstallmentCharge"),
+                        @NamedAttributeNode("loanChargePaidBySet") }) }), //
+        @NamedEntityGraph(name = Loan.DISBURSEMENT_ENTITY_GRAPH, attributeNodes = { //
+                @NamedAttributeNode(value = "repaymentScheduleInstallments", subgraph = "installments"), //
+                @NamedAttributeNode(value = "loanTransactions", subgraph = "transactions"), //
+                @NamedAttributeNode(value = "charges", subgraph = "charges"), //
+                @NamedAttributeNode("trancheCharges"), //
+                @NamedAttributeNode("disbursementDetails"), //
+                @NamedAttributeNode("loanTermVariations") }, subgraphs = {
+                @NamedSubgraph(name = "installments", attributeNodes = { @NamedAttributeNode("installmentCharges"),
+                        @NamedAttributeNode("loanCompoundingDetails"), @NamedAttributeNode("postDatedChecks") }),
+                @NamedSubgraph(name = "transactions", attributeNodes = { @NamedAttributeNode("loanChargesPaid"),
+                        @NamedAttributeNode("loanTransactionToRepaymentScheduleMappings") }),
+                @NamedSubgraph(name = "charges", attributeNodes = { @NamedAttributeNode("loanInstallmentCharge"),
+                        @NamedAttributeNode("loanChargePaidBySet") }) }), //
+        @NamedEntityGraph(name = Loan.COB_ENTITY_GRAPH, attributeNodes = { //
+                @NamedAttributeNode(value = "repaymentScheduleInstallments", subgraph = "installments"), //
+                @NamedAttributeNode(value = "loanTransactions", subgraph = "transactions"), //
+                @NamedAttributeNode(value = "charges", subgraph = "charges"), //
+                @NamedAttributeNode("disbursementDetails"), //
+                @NamedAttributeNode("loanTermVariations") }, subgraphs = {
+                @NamedSubgraph(name = "installments", attributeNodes = { @NamedAttributeNode("installmentCharges"),
+                        @NamedAttributeNode("loanCompoundingDetails"), @NamedAttributeNode("postDatedChecks") }),
+                @NamedSubgraph(name = "transactions", attributeNodes = { @NamedAttributeNode("loanChargesPaid"),
+                        @NamedAttributeNode("loanTransactionToRepaymentScheduleMappings") }),
+                @NamedSubgraph(name = "charges", attributeNodes = { @NamedAttributeNode("loanInstallmentCharge"),
+                        @NamedAttributeNode("loanChargePaidBySet") }) }), //
+        @NamedEntityGraph(name = Loan.ACCRUAL_ENTITY_GRAPH, attributeNodes = { //
+                @NamedAttributeNode(value = "repaymentScheduleInstallments", subgraph = "installments"), //
+                @NamedAttributeNode(value = "loanTransactions", subgraph = "transactions"), //
+                @NamedAttributeNode(value = "charges", subgraph = "charges") }, subgraphs = {
+                @NamedSubgraph(name = "installments", attributeNodes = { @NamedAttributeNode("installmentCharges"),
+                        @NamedAttributeNode("loanCompoundingDetails"), @NamedAttributeNode("postDatedChecks") }),
+                @NamedSubgraph(name = "transactions", attributeNodes = { @NamedAttributeNode("loanChargesPaid"),
+                        @NamedAttributeNode("loanTransactionToRepaymentScheduleMappings") }),
+                @NamedSubgraph(name = "charges", attributeNodes = { @NamedAttributeNode("loanInstallmentCharge"),
+                        @NamedAttributeNode("loanChargePaidBySet") }) }), //
+        @NamedEntityGraph(name = Loan.SCHEDULE_ENTITY_GRAPH, attributeNodes = { //
+                @NamedAttributeNode(value = "repaymentScheduleInstallments", subgraph = "installments"), //
+                @NamedAttributeNode("disbursementDetails"), //
+                @NamedAttributeNode("loanTermVariations") }, subgraphs = {
+                @NamedSubgraph(name = "installments", attributeNodes = { @NamedAttributeNode("installmentCharges"),
+                        @NamedAttributeNode("loanCompoundingDetails"), @NamedAttributeNode("postDatedChecks") }) }) })
 public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
 
     public static final String RECALCULATE_LOAN_SCHEDULE = "recalculateLoanSchedule";
@@ -158,6 +215,11 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
     public static final String CLIENT_ID = "clientId";
     public static final String GROUP_ID = "groupId";
     public static final String PRODUCT_ID = "productId";
+    public static final String REPAYMENT_ENTITY_GRAPH = "Loan.repayment";
+    public static final String DISBURSEMENT_ENTITY_GRAPH = "Loan.disbursement";
+    public static final String COB_ENTITY_GRAPH = "Loan.cob";
+    public static final String ACCRUAL_ENTITY_GRAPH = "Loan.accrual";
+    public static final String SCHEDULE_ENTITY_GRAPH = "Loan.schedule";
     public static final String IS_FLOATING_INTEREST_RATE = "isFloatingInterestRate";
     public static final String INTEREST_RATE_DIFFERENTIAL = "interestRateDifferential";
     public static final String FUND_ID = "fundId";
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Collections of a {@link Loan} that an operation needs, each backed by a named entity graph on {@link Loan}. The
+ * collections of the profile are loaded up front with one query each, whatever the number of loans; collections outside
+ * of the profile stay lazy and are still loaded on first access.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LoanLoadingProfile {
+
+    /**
+     * Repayments and other transactions replayed by the repayment schedule transaction processor
+     */
+    REPAYMENT(Loan.REPAYMENT_ENTITY_GRAPH), //
+    /**
+     * Disbursements, including tranche charges and the disbursement details of multi-tranche loans
+     */
+    DISBURSEMENT(Loan.DISBURSEMENT_ENTITY_GRAPH), //
+    /**
+     * Business steps of the loan close of business
+     */
+    COB(Loan.COB_ENTITY_GRAPH), //
+    /**
+     * Accrual and income transactions
+     */
+    ACCRUAL(Loan.ACCRUAL_ENTITY_GRAPH), //
+    /**
+     * Display of the repayment schedule
+     */
+    SCHEDULE(Loan.SCHEDULE_ENTITY_GRAPH);
+
+    private final String entityGraphName;
+}
@@ -41,6 +41,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -63,6 +64,7 @@ import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamE
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageCursor;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
@@ -94,15 +96,17 @@ public class JournalEntriesApiResource {
     @GET
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
-    @Operation(summary = "List Journal Entries", description = "The list capability of journal entries can support pagination and sorting.\n\n"
+    @Operation(operationId = "retrieveAll", summary = "List Journal Entries", description = "The list capability of journal entries can support pagination and sorting.\n\n"
             + "Example Requests:\n" + "\n" + "journalentries\n" + "\n" + "journalentries?transactionId=PB37X8Y21EQUY4S\n" + "\n"
             + "journalentries?officeId=1&manualEntriesOnly=true&fromDate=1 July 2013&toDate=15 July 2013&dateFormat=dd MMMM yyyy&locale=en\n"
             + "\n" + "journalentries?fields=officeName,glAccountName,transactionDate\n" + "\n" + "journalentries?offset=10&limit=50\n"
             + "\n" + "journalentries?orderBy=transactionId&sortOrder=DESC\n" + "\n" + "journalentries?runningBalance=true\n" + "\n"
-            + "journalentries?transactionDetails=true\n" + "\n" + "journalentries?loanId=12\n" + "\n" + "journalentries?savingsId=24")
+            + "journalentries?transactionDetails=true\n" + "\n" + "journalentries?loanId=12\n" + "\n" + "journalentries?savingsId=24\n"
+            + "\n" + "Keyset pagination: journalentries?limit=50&cursor= (the first page), then journalentries?limit=50&cursor={nextCursor}"
+            + " (pages are ordered by id, so the cursor cannot be combined with orderBy or sortOrder)")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = JournalEntriesApiResourceSwagger.GetJournalEntriesTransactionIdResponse.class))) })
-    public String retrieveAll(@Context final UriInfo uriInfo,
+    public StreamingOutput retrieveAllStreaming(@Context final UriInfo uriInfo,
             @QueryParam("officeId") @Parameter(description = "officeId") final Long officeId,
             @QueryParam("glAccountId") @Parameter(description = "glAccountId") final Long glAccountId,
             @QueryParam("manualEntriesOnly") @Parameter(description = "manualEntriesOnly") final Boolean onlyManualEntries,
@@ -121,8 +125,38 @@ public class JournalEntriesApiResource {
             @QueryParam("loanId") @Parameter(description = "loanId") final Long loanId,
             @QueryParam("savingsId") @Parameter(description = "savingsId") final Long savingsId,
             @QueryParam("runningBalance") @Parameter(description = "runningBalance") final boolean runningBalance,
-            @QueryParam("transactionDetails") @Parameter(description = "transactionDetails") final boolean transactionDetails) {
+            @QueryParam("transactionDetails") @Parameter(description = "transactionDetails") final boolean transactionDetails,
+            @QueryParam("cursor") @Parameter(description = "cursor") final String cursor) {
+
+        final Page<JournalEntryData> glJournalEntries = retrieveJournalEntries(officeId, glAccountId, onlyManualEntries, fromDateParam,
+                toDateParam, submittedOnDateFromParam, submittedOnDateToParam, transactionId, entityType, offset, limit, orderBy, sortOrder,
+                locale, dateFormat, loanId, savingsId, runningBalance, transactionDetails, cursor);
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.apiJsonSerializerService.serializeStreaming(settings, glJournalEntries, RESPONSE_DATA_PARAMETERS);
+    }
+
+    /**
+     * Same list as {@link #retrieveAllStreaming}, serialized into a String for callers that use the response body in
+     * process.
+     */
+    public String retrieveAll(final UriInfo uriInfo, final Long officeId, final Long glAccountId, final Boolean onlyManualEntries,
+            final DateParam fromDateParam, final DateParam toDateParam, final DateParam submittedOnDateFromParam,
+            final DateParam submittedOnDateToParam, final String transactionId, final Integer entityType, final Integer offset,
+            final Integer limit, final String orderBy, final String sortOrder, final String locale, final String dateFormat,
+            final Long loanId, final Long savingsId, final boolean runningBalance, final boolean transactionDetails, final String cursor) {
+
+        final Page<JournalEntryData> glJournalEntries = retrieveJournalEntries(officeId, glAccountId, onlyManualEntries, fromDateParam,
+                toDateParam, submittedOnDateFromParam, submittedOnDateToParam, transactionId, entityType, offset, limit, orderBy, sortOrder,
+                locale, dateFormat, loanId, savingsId, runningBalance, transactionDetails, cursor);
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.apiJsonSerializerService.serialize(settings, glJournalEntries, RESPONSE_DATA_PARAMETERS);
+    }
 
+    private Page<JournalEntryData> retrieveJournalEntries(final Long officeId, final Long glAccountId, final Boolean onlyManualEntries,
+            final DateParam fromDateParam, final DateParam toDateParam, final DateParam submittedOnDateFromParam,
+            final DateParam submittedOnDateToParam, final String transactionId, final Integer entityType, final Integer offset,
+            final Integer limit, final String orderBy, final String sortOrder, final String locale, final String dateFormat,
+            final Long loanId, final Long savingsId, final boolean runningBalance, final boolean transactionDetails, final String cursor) {
         this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermission);
 
         LocalDate fromDate = null;
@@ -143,16 +177,13 @@ public class JournalEntriesApiResource {
             submittedOnDateTo = submittedOnDateToParam.getDate("submittedOnDateTo", dateFormat, locale);
         }
 
-        final SearchParameters searchParameters = SearchParameters.forJournalEntries(officeId, offset, limit, orderBy, sortOrder, loanId,
-                savingsId);
+        final SearchParameters searchParameters = SearchParameters
+                .forJournalEntries(officeId, offset, limit, orderBy, sortOrder, loanId, savingsId).withCursor(PageCursor.decode(cursor));
         JournalEntryAssociationParametersData associationParametersData = new JournalEntryAssociationParametersData(transactionDetails,
                 runningBalance);
 
-        final Page<JournalEntryData> glJournalEntries = this.journalEntryReadPlatformService.retrieveAll(searchParameters, glAccountId,
-                onlyManualEntries, fromDate, toDate, submittedOnDateFrom, submittedOnDateTo, transactionId, entityType,
-                associationParametersData);
-        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
-        return this.apiJsonSerializerService.serialize(settings, glJournalEntries, RESPONSE_DATA_PARAMETERS);
+        return this.journalEntryReadPlatformService.retrieveAll(searchParameters, glAccountId, onlyManualEntries, fromDate, toDate,
+                submittedOnDateFrom, submittedOnDateTo, transactionId, entityType, associationParametersData);
     }
 
     @GET
@@ -237,8 +237,9 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
             final JournalEntryAssociationParametersData associationParametersData) {
 
         GLJournalEntryMapper rm = new GLJournalEntryMapper(associationParametersData);
+        final boolean cursorPaged = searchParameters.isCursorPaged();
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select ").append(sqlGenerator.calcFoundRows()).append(" ");
+        sqlBuilder.append("select ").append(cursorPaged ? "" : sqlGenerator.calcFoundRows()).append(" ");
         sqlBuilder.append(rm.schema());
 
         final Object[] objectArray = new Object[15];
@@ -351,6 +352,13 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
                     " journalEntry.savings_transaction_id in (select id from m_savings_account_transaction where savings_account_id = ?)");
             objectArray[arrayPos] = searchParameters.getSavingsId();
             arrayPos = arrayPos + 1;
+
+            whereClose = " and ";
+        }
+
+        if (cursorPaged) {
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), whereClose, "journalEntry.id",
+                    Arrays.copyOf(objectArray, arrayPos), rm, JournalEntryData::getId, searchParameters);
         }
 
         if (searchParameters.isOrderByRequested()) {
@@ -21,6 +21,7 @@ package org.apache.fineract.accounting.journalentry.service;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.apache.fineract.accounting.provisioning.domain.ProvisioningEntry;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -47,4 +48,9 @@ public interface JournalEntryWritePlatformService {
 
     void revertShareAccountJournalEntries(ArrayList<Long> transactionId, LocalDate transactionDate);
 
+    /**
+     * Runs the action with the loan and savings journal entries it creates written in one flush at the end.
+     */
+    <T> T writeJournalEntriesInBatch(Supplier<T> action);
+
 }
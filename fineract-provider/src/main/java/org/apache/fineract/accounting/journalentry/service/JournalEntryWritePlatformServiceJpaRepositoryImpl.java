@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -465,6 +466,12 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
         }
     }
 
+    @Transactional
+    @Override
+    public <T> T writeJournalEntriesInBatch(final Supplier<T> action) {
+        return this.helper.writeJournalEntriesInBatch(action);
+    }
+
     @Transactional
     @Override
     public void createJournalEntriesForLoan(final Map<String, Object> accountingBridgeData) {
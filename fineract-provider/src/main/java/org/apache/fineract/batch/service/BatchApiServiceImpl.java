@@ -27,7 +27,10 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -48,7 +51,9 @@ import org.apache.fineract.batch.exception.ClientDetailsNotFoundException;
 import org.apache.fineract.batch.exception.ErrorHandler;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.exception.AbstractIdempotentCommandException;
 import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessFailedException;
 import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessSucceedException;
@@ -56,14 +61,22 @@ import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProces
 import org.apache.fineract.infrastructure.core.filters.BatchCallHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchFilter;
 import org.apache.fineract.infrastructure.core.filters.BatchRequestPreprocessor;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionExecution;
 import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * Implementation for {@link BatchApiService} to iterate through all the incoming requests and obtain the appropriate
@@ -87,6 +100,11 @@ public class BatchApiServiceImpl implements BatchApiService {
 
     private final List<BatchRequestPreprocessor> batchPreprocessors;
 
+    private final FineractProperties fineractProperties;
+
+    @Qualifier("batchApiThreadPoolTaskExecutor")
+    private final ThreadPoolTaskExecutor batchApiTaskExecutor;
+
     @PersistenceContext
     private final EntityManager entityManager;
 
@@ -113,19 +131,92 @@ public class BatchApiServiceImpl implements BatchApiService {
             return responseList;
         }
 
-        for (BatchRequestNode rootNode : batchRequestNodes) {
-            if (enclosingTransaction) {
-                this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo, enclosingTransaction);
-            } else {
-                List<BatchResponse> localResponseList = new ArrayList<>();
-                this.callRequestRecursive(rootNode.getRequest(), rootNode, localResponseList, uriInfo, enclosingTransaction);
-                responseList.addAll(localResponseList);
+        final List<BatchRequestPreprocessor> preprocessors = this.batchPreprocessors.stream()
+                .map(preprocessor -> preprocessor.forBatch(requestList)).toList();
+        if (!enclosingTransaction && batchRequestNodes.size() > 1 && isParallelExecutionEnabled()) {
+            responseList.addAll(callRequestsInParallel(batchRequestNodes, preprocessors, uriInfo));
+        } else {
+            for (BatchRequestNode rootNode : batchRequestNodes) {
+                if (enclosingTransaction) {
+                    this.callRequestRecursive(rootNode.getRequest(), rootNode, preprocessors, responseList, uriInfo, enclosingTransaction);
+                } else {
+                    List<BatchResponse> localResponseList = new ArrayList<>();
+                    this.callRequestRecursive(rootNode.getRequest(), rootNode, preprocessors, localResponseList, uriInfo,
+                            enclosingTransaction);
+                    responseList.addAll(localResponseList);
+                }
             }
         }
         Collections.sort(responseList, Comparator.comparing(BatchResponse::getRequestId));
         return responseList;
     }
 
+    private boolean isParallelExecutionEnabled() {
+        return fineractProperties.getApi().getBatch().isParallelExecutionEnabled();
+    }
+
+    /**
+     * Executes the independent request trees concurrently, each root request (and its children) in its own transaction.
+     * The tenant, business date and user context of the calling thread is propagated to the workers, together with its
+     * MDC (e.g. the correlation id) and request attributes.
+     *
+     * @param rootNodes
+     *            the independent root request nodes
+     * @param preprocessors
+     *            the preprocessors prepared for the batch
+     * @param uriInfo
+     *            the uri info of the batch call
+     * @return {@code List<BatchResponse>} the collected responses, not ordered
+     */
+    private List<BatchResponse> callRequestsInParallel(List<BatchRequestNode> rootNodes, List<BatchRequestPreprocessor> preprocessors,
+            UriInfo uriInfo) {
+        final FineractContext fineractContext = ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        final List<Future<List<BatchResponse>>> requestTrees = new ArrayList<>(rootNodes.size());
+        for (BatchRequestNode rootNode : rootNodes) {
+            requestTrees.add(batchApiTaskExecutor.submit(() -> {
+                try {
+                    ThreadLocalContextUtil.init(fineractContext);
+                    SecurityContextHolder.setContext(securityContext);
+                    if (mdcContext != null) {
+                        MDC.setContextMap(mdcContext);
+                    }
+                    RequestContextHolder.setRequestAttributes(requestAttributes);
+                    BatchRequestContextHolder.setEnclosingTransaction(Optional.empty());
+                    List<BatchResponse> localResponseList = new ArrayList<>();
+                    this.callRequestRecursive(rootNode.getRequest(), rootNode, preprocessors, localResponseList, uriInfo, false);
+                    return localResponseList;
+                } finally {
+                    BatchRequestContextHolder.setEnclosingTransaction(Optional.empty());
+                    RequestContextHolder.resetRequestAttributes();
+                    MDC.clear();
+                    SecurityContextHolder.clearContext();
+                    ThreadLocalContextUtil.reset();
+                }
+            }));
+        }
+
+        final List<BatchResponse> responseList = new ArrayList<>();
+        for (Future<List<BatchResponse>> requestTree : requestTrees) {
+            try {
+                responseList.addAll(requestTree.get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the batch requests", ex);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(ex.getCause());
+            }
+        }
+        return responseList;
+    }
+
     /**
      * Executes the request and call child requests recursively.
      *
@@ -133,20 +224,22 @@ public class BatchApiServiceImpl implements BatchApiService {
      *            the current batch request
      * @param requestNode
      *            the batch request holder node
+     * @param preprocessors
+     *            the preprocessors prepared for the batch
      * @param responseList
      *            the collected responses
      * @return {@code BatchResponse}
      */
-    private void callRequestRecursive(BatchRequest request, BatchRequestNode requestNode, List<BatchResponse> responseList, UriInfo uriInfo,
-            boolean enclosingTransaction) {
+    private void callRequestRecursive(BatchRequest request, BatchRequestNode requestNode, List<BatchRequestPreprocessor> preprocessors,
+            List<BatchResponse> responseList, UriInfo uriInfo, boolean enclosingTransaction) {
         // 1. run current node
         BatchResponse response;
         if (enclosingTransaction) {
-            response = executeRequest(request, uriInfo);
+            response = executeRequest(request, preprocessors, uriInfo);
         } else {
             List<BatchResponse> transactionResponse = callInTransaction(
                     transactionTemplate -> transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW),
-                    () -> List.of(executeRequest(request, uriInfo)));
+                    () -> List.of(executeRequest(request, preprocessors, uriInfo)));
             response = transactionResponse.get(0);
         }
         responseList.add(response);
@@ -158,7 +251,7 @@ public class BatchApiServiceImpl implements BatchApiService {
                 } catch (RuntimeException ex) {
                     throw new BatchExecutionException(childNode.getRequest(), ex);
                 }
-                callRequestRecursive(resolvedChildRequest, childNode, responseList, uriInfo, enclosingTransaction);
+                callRequestRecursive(resolvedChildRequest, childNode, preprocessors, responseList, uriInfo, enclosingTransaction);
 
             });
         } else {
@@ -197,14 +290,15 @@ public class BatchApiServiceImpl implements BatchApiService {
      * Execute the request
      *
      * @param request
+     * @param preprocessors
      * @param uriInfo
      * @return
      */
-    private BatchResponse executeRequest(BatchRequest request, UriInfo uriInfo) {
+    private BatchResponse executeRequest(BatchRequest request, List<BatchRequestPreprocessor> preprocessors, UriInfo uriInfo) {
         final CommandStrategy commandStrategy = this.strategyProvider
                 .getCommandStrategy(CommandContext.resource(request.getRelativeUrl()).method(request.getMethod()).build());
         log.debug("Batch request: method [{}], relative url [{}]", request.getMethod(), request.getRelativeUrl());
-        Either<RuntimeException, BatchRequest> preprocessorResult = runPreprocessors(request);
+        Either<RuntimeException, BatchRequest> preprocessorResult = runPreprocessor(preprocessors, request);
         if (preprocessorResult.isLeft()) {
             throw new BatchExecutionException(request, preprocessorResult.getLeft());
         } else {
@@ -237,10 +331,6 @@ public class BatchApiServiceImpl implements BatchApiService {
         }
     }
 
-    private Either<RuntimeException, BatchRequest> runPreprocessors(BatchRequest request) {
-        return runPreprocessor(batchPreprocessors, request);
-    }
-
     private Either<RuntimeException, BatchRequest> runPreprocessor(List<BatchRequestPreprocessor> remainingPreprocessor,
             BatchRequest request) {
         if (remainingPreprocessor.isEmpty()) {
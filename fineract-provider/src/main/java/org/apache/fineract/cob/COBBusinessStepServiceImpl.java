@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.cob;
 
+import io.micrometer.core.instrument.Timer;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -32,6 +33,7 @@ import org.apache.fineract.cob.domain.BatchBusinessStepRepository;
 import org.apache.fineract.cob.exceptions.BusinessStepException;
 import org.apache.fineract.cob.service.ReloaderService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.diagnostics.metrics.FineractMetrics;
 import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
@@ -46,6 +48,8 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class COBBusinessStepServiceImpl implements COBBusinessStepService {
 
+    public static final String BUSINESS_STEP_METRIC = "fineract.cob.business-step";
+
     private final BatchBusinessStepRepository batchBusinessStepRepository;
     private final ApplicationContext applicationContext;
     private final ListableBeanFactory beanFactory;
@@ -53,6 +57,7 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
     private final ConfigurationDomainService configurationDomainService;
 
     private final ReloaderService reloaderService;
+    private final FineractMetrics fineractMetrics;
 
     @SuppressWarnings({ "unchecked" })
     @Override
@@ -68,6 +73,7 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
             }
 
             for (String businessStep : executionMap.values()) {
+                Timer.Sample sample = fineractMetrics.startTimer();
                 try {
                     ThreadLocalContextUtil.setActionContext(ActionContext.COB);
                     COBBusinessStep<S> businessStepBean = (COBBusinessStep<S>) applicationContext.getBean(businessStep);
@@ -78,6 +84,7 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
                 } finally {
                     // Fallback to COB action context after each business step
                     ThreadLocalContextUtil.setActionContext(ActionContext.COB);
+                    fineractMetrics.stopTimer(sample, BUSINESS_STEP_METRIC, "step", businessStep);
                 }
             }
             if (bulkEventEnabled) {
@@ -18,29 +18,42 @@
  */
 package org.apache.fineract.cob.loan;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.exceptions.LoanReadException;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
-import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanLoadingProfile;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.annotation.AfterStep;
+import org.springframework.batch.core.annotation.BeforeChunk;
+import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.item.ItemReader;
 
+/**
+ * Reads the loans of a chunk with one load of the {@link LoanLoadingProfile#COB} profile instead of one per loan. The
+ * loans are loaded by the first read of the chunk, within the chunk transaction, and dropped before the next chunk so
+ * that no loan outlives the transaction it was loaded in.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
 
-    protected final LoanRepository loanRepository;
+    protected final LoanRepositoryWrapper loanRepository;
+    private final int chunkSize;
 
     @Setter(AccessLevel.PROTECTED)
     private List<Long> remainingData;
+    private final Map<Long, Loan> prefetchedLoans = new HashMap<>();
     private Long loanId;
 
     @Override
@@ -48,7 +61,14 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
         try {
             if (remainingData.size() > 0) {
                 loanId = remainingData.remove(0);
-                return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+                if (prefetchedLoans.isEmpty()) {
+                    prefetchLoans();
+                }
+                Loan loan = prefetchedLoans.remove(loanId);
+                if (loan == null) {
+                    throw new LoanNotFoundException(loanId);
+                }
+                return loan;
             }
         } catch (Exception e) {
             throw new LoanReadException(loanId, e);
@@ -57,6 +77,20 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
 
     }
 
+    @BeforeChunk
+    public void beforeChunk(@NotNull ChunkContext chunkContext) {
+        prefetchedLoans.clear();
+    }
+
+    private void prefetchLoans() {
+        List<Long> loanIds = new ArrayList<>();
+        loanIds.add(loanId);
+        loanIds.addAll(remainingData.subList(0, Math.min(chunkSize - 1, remainingData.size())));
+        for (Loan loan : loanRepository.findAllByIds(loanIds, LoanLoadingProfile.COB)) {
+            prefetchedLoans.put(loan.getId(), loan);
+        }
+    }
+
     @AfterStep
     public ExitStatus afterStep(@NotNull StepExecution stepExecution) {
         return ExitStatus.COMPLETED;
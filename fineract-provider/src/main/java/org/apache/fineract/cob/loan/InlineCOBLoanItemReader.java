@@ -20,7 +20,7 @@ package org.apache.fineract.cob.loan;
 
 import java.util.ArrayList;
 import java.util.List;
-import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.annotation.BeforeStep;
@@ -28,8 +28,8 @@ import org.springframework.batch.item.ExecutionContext;
 
 public class InlineCOBLoanItemReader extends AbstractLoanItemReader {
 
-    public InlineCOBLoanItemReader(LoanRepository loanRepository) {
-        super(loanRepository);
+    public InlineCOBLoanItemReader(LoanRepositoryWrapper loanRepository, int chunkSize) {
+        super(loanRepository, chunkSize);
     }
 
     @BeforeStep
@@ -23,11 +23,11 @@ import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.common.InitialisationTasklet;
 import org.apache.fineract.cob.common.ResetContextTasklet;
 import org.apache.fineract.cob.listener.ChunkProcessingLoanItemListener;
-import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.springbatch.PropertyService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
@@ -57,6 +57,8 @@ public class LoanCOBWorkerConfiguration {
     @Autowired
     private LoanRepository loanRepository;
     @Autowired
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+    @Autowired
     private QueueChannel inboundRequests;
     @Autowired
     private COBBusinessStepService cobBusinessStepService;
@@ -67,8 +69,6 @@ public class LoanCOBWorkerConfiguration {
     @Autowired
     private RetrieveLoanIdService retrieveLoanIdService;
 
-    @Autowired
-    private FineractProperties fineractProperties;
     @Autowired
     private LoanLockingService loanLockingService;
 
@@ -126,7 +126,7 @@ public class LoanCOBWorkerConfiguration {
 
     @Bean
     public ApplyLoanLockTasklet applyLock() {
-        return new ApplyLoanLockTasklet(fineractProperties, loanLockingService, retrieveLoanIdService, customJobParameterResolver);
+        return new ApplyLoanLockTasklet(loanLockingService, customJobParameterResolver);
     }
 
     @Bean
@@ -137,7 +137,8 @@ public class LoanCOBWorkerConfiguration {
     @Bean
     @StepScope
     public LoanItemReader cobWorkerItemReader() {
-        return new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver);
+        return new LoanItemReader(loanRepositoryWrapper, propertyService.getChunkSize(JobName.LOAN_COB.name()), retrieveLoanIdService,
+                customJobParameterResolver);
     }
 
     @Bean
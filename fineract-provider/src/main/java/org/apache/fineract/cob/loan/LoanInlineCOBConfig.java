@@ -28,6 +28,7 @@ import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.springbatch.PropertyService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
@@ -53,6 +54,8 @@ public class LoanInlineCOBConfig {
     @Autowired
     private LoanRepository loanRepository;
     @Autowired
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+    @Autowired
     private COBBusinessStepService cobBusinessStepService;
     @Autowired
     private LoanAccountLockRepository accountLockRepository;
@@ -95,7 +98,7 @@ public class LoanInlineCOBConfig {
 
     @Bean
     public InlineCOBLoanItemReader inlineCobWorkerItemReader() {
-        return new InlineCOBLoanItemReader(loanRepository);
+        return new InlineCOBLoanItemReader(loanRepositoryWrapper, propertyService.getChunkSize(JobName.LOAN_COB.name()));
     }
 
     @Bean
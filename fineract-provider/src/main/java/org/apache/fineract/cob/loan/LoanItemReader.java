@@ -24,7 +24,8 @@ import java.util.List;
 import java.util.Objects;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.data.LoanCOBParameter;
-import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.annotation.BeforeStep;
@@ -35,9 +36,9 @@ public class LoanItemReader extends AbstractLoanItemReader {
     private final RetrieveLoanIdService retrieveLoanIdService;
     private final CustomJobParameterResolver customJobParameterResolver;
 
-    public LoanItemReader(LoanRepository loanRepository, RetrieveLoanIdService retrieveLoanIdService,
+    public LoanItemReader(LoanRepositoryWrapper loanRepository, int chunkSize, RetrieveLoanIdService retrieveLoanIdService,
             CustomJobParameterResolver customJobParameterResolver) {
-        super(loanRepository);
+        super(loanRepository, chunkSize);
         this.retrieveLoanIdService = retrieveLoanIdService;
         this.customJobParameterResolver = customJobParameterResolver;
     }
@@ -53,9 +54,11 @@ public class LoanItemReader extends AbstractLoanItemReader {
                 || (loanCOBParameter.getMinLoanId().equals(0L) && loanCOBParameter.getMaxLoanId().equals(0L))) {
             loanIds = Collections.emptyList();
         } else {
+            // only the loans this job locked in the apply lock step, a loan locked by inline COB is processed there
             loanIds = retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter,
                     customJobParameterResolver.getCustomJobParameterById(stepExecution, LoanCOBConstant.IS_CATCH_UP_PARAMETER_NAME)
-                            .map(Boolean::parseBoolean).orElse(false));
+                            .map(Boolean::parseBoolean).orElse(false),
+                    LockOwner.LOAN_COB_CHUNK_PROCESSING);
         }
         setRemainingData(new ArrayList<>(loanIds));
     }
@@ -19,6 +19,7 @@
 package org.apache.fineract.cob.loan;
 
 import java.util.List;
+import org.apache.fineract.cob.data.LoanCOBParameter;
 import org.apache.fineract.cob.domain.LoanAccountLock;
 import org.apache.fineract.cob.domain.LockOwner;
 
@@ -33,4 +34,6 @@ public interface LoanLockingService {
     LoanAccountLock findByLoanIdAndLockOwner(Long loanId, LockOwner lockOwner);
 
     void applyLock(List<Long> loanIds, LockOwner lockOwner);
+
+    void applySoftLock(LoanCOBParameter loanCOBParameter, boolean isCatchUp, LockOwner lockOwner);
 }
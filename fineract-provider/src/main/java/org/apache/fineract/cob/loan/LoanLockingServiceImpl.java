@@ -23,6 +23,7 @@ import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.data.LoanCOBParameter;
 import org.apache.fineract.cob.domain.LoanAccountLock;
 import org.apache.fineract.cob.domain.LoanAccountLockRepository;
 import org.apache.fineract.cob.domain.LockOwner;
@@ -30,27 +31,30 @@ import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 @RequiredArgsConstructor
 @Slf4j
 public class LoanLockingServiceImpl implements LoanLockingService {
 
-    private static final String NORMAL_LOAN_INSERT = """
-                INSERT INTO m_loan_account_locks (loan_id, version, lock_owner, lock_placed_on, lock_placed_on_cob_business_date)
+    private static final String LOAN_LOCK_TABLE = "m_loan_account_locks";
+    private static final String LOAN_LOCK_COLUMNS = "loan_id, version, lock_owner, lock_placed_on, lock_placed_on_cob_business_date";
+    // NOT EXISTS only skips the loans locked before the statement started, a lock inserted concurrently by inline COB
+    // is skipped by the conflict handling of the insert
+    private static final String NORMAL_LOAN_SELECT = """
                 SELECT loan.id, ?, ?, ?, ? FROM m_loan loan
-                    WHERE loan.id NOT IN (SELECT loan_id FROM m_loan_account_locks)
-                    AND loan.id BETWEEN ? AND ?
+                    WHERE loan.id BETWEEN ? AND ?
                     AND loan.loan_status_id IN (100,200,300,303,304)
                     AND (? = loan.last_closed_business_date OR loan.last_closed_business_date IS NULL)
+                    AND NOT EXISTS (SELECT 1 FROM m_loan_account_locks lck WHERE lck.loan_id = loan.id)
             """;
-    private static final String CATCH_UP_LOAN_INSERT = """
-                INSERT INTO m_loan_account_locks (loan_id, version, lock_owner, lock_placed_on, lock_placed_on_cob_business_date)
+    private static final String CATCH_UP_LOAN_SELECT = """
                 SELECT loan.id, ?, ?, ?, ? FROM m_loan loan
-                    WHERE loan.id NOT IN (SELECT loan_id FROM m_loan_account_locks)
-                    AND loan.id BETWEEN ? AND ?
+                    WHERE loan.id BETWEEN ? AND ?
                     AND loan.loan_status_id IN (100,200,300,303,304)
                     AND (? = loan.last_closed_business_date)
+                    AND NOT EXISTS (SELECT 1 FROM m_loan_account_locks lck WHERE lck.loan_id = loan.id)
             """;
 
     private static final String BATCH_LOAN_LOCK_INSERT = """
@@ -60,6 +64,7 @@ public class LoanLockingServiceImpl implements LoanLockingService {
     private final JdbcTemplate jdbcTemplate;
     private final FineractProperties fineractProperties;
     private final LoanAccountLockRepository loanAccountLockRepository;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
 
     @Override
     public void upgradeLock(List<Long> accountsToLock, LockOwner lockOwner) {
@@ -97,6 +102,24 @@ public class LoanLockingServiceImpl implements LoanLockingService {
         });
     }
 
+    @Override
+    public void applySoftLock(LoanCOBParameter loanCOBParameter, boolean isCatchUp, LockOwner lockOwner) {
+        LocalDate cobBusinessDate = ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE);
+        String sql = sqlGenerator.insertIgnoringConflicts(LOAN_LOCK_TABLE, LOAN_LOCK_COLUMNS,
+                isCatchUp ? CATCH_UP_LOAN_SELECT : NORMAL_LOAN_SELECT, "loan_id");
+        int lockedAccounts = jdbcTemplate.update(sql, ps -> {
+            ps.setLong(1, 1);
+            ps.setString(2, lockOwner.name());
+            ps.setObject(3, DateUtils.getOffsetDateTimeOfTenant());
+            ps.setObject(4, cobBusinessDate);
+            ps.setLong(5, loanCOBParameter.getMinLoanId());
+            ps.setLong(6, loanCOBParameter.getMaxLoanId());
+            ps.setObject(7, cobBusinessDate.minusDays(LoanCOBConstant.NUMBER_OF_DAYS_BEHIND));
+        });
+        log.debug("Locked {} loan accounts between {} and {} for {}", lockedAccounts, loanCOBParameter.getMinLoanId(),
+                loanCOBParameter.getMaxLoanId(), lockOwner);
+    }
+
     @Override
     public void deleteByLoanIdInAndLockOwner(List<Long> loanIds, LockOwner lockOwner) {
         loanAccountLockRepository.deleteByLoanIdInAndLockOwner(loanIds, lockOwner);
@@ -32,4 +32,8 @@ public interface CommandSourceRepository extends JpaRepository<CommandSource, Lo
     @Query("delete from CommandSource c where c.status = :status and c.madeOnDate is not null and c.madeOnDate <= :dateForPurgeCriteria")
     void deleteOlderEventsWithStatus(Integer status, OffsetDateTime dateForPurgeCriteria);
 
+    @Modifying(flushAutomatically = true)
+    @Query("update CommandSource c set c.resultStatusCode = :resultStatusCode, c.result = :result where c.id = :id")
+    int updateResult(Long id, Integer resultStatusCode, String result);
+
 }
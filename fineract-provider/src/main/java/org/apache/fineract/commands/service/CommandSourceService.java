@@ -81,6 +81,15 @@ public class CommandSourceService {
         return commandSourceRepository.saveAndFlush(commandSource);
     }
 
+    /**
+     * Stores the final response of an already saved command with a single update statement. Joins the enclosing (batch)
+     * transaction when there is one.
+     */
+    @Transactional
+    public void saveResponse(Long commandSourceId, Integer resultStatusCode, String result) {
+        commandSourceRepository.updateResult(commandSourceId, resultStatusCode, result);
+    }
+
     public ErrorInfo generateErrorException(Throwable t) {
         if (t instanceof final RuntimeException e) {
             return ErrorHandler.handler(e);
@@ -36,6 +36,10 @@ public class IdempotencyKeyResolver {
         return Optional.ofNullable(wrapper.getIdempotencyKey()).orElseGet(() -> getAttribute().orElseGet(idempotencyKeyGenerator::create));
     }
 
+    public boolean isClientSupplied(CommandWrapper wrapper) {
+        return wrapper.getIdempotencyKey() != null || getAttribute().isPresent();
+    }
+
     private Optional<String> getAttribute() {
         return Optional.ofNullable(fineractRequestContextHolder.getAttribute(SynchronousCommandProcessingService.IDEMPOTENCY_KEY_ATTRIBUTE))
                 .map(String::valueOf);
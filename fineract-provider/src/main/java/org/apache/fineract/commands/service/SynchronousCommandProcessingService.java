@@ -25,6 +25,7 @@ import static org.apache.fineract.commands.domain.CommandProcessingResultType.UN
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.Timer;
 import java.lang.reflect.Type;
 import java.time.Instant;
 import java.util.HashMap;
@@ -44,6 +45,7 @@ import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDoma
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.core.diagnostics.metrics.FineractMetrics;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
 import org.apache.fineract.infrastructure.core.exception.AbstractIdempotentCommandException;
@@ -55,6 +57,7 @@ import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
+import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.context.ApplicationContext;
@@ -70,6 +73,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
     public static final String IDEMPOTENCY_KEY_ATTRIBUTE = "IdempotencyKeyAttribute";
     public static final String COMMAND_SOURCE_ID = "commandSourceId";
+    public static final String COMMAND_PROCESSING_METRIC = "fineract.command.processing";
     private final PlatformSecurityContext context;
     private final ApplicationContext applicationContext;
     private final ToApiJsonSerializer<Map<String, Object>> toApiJsonSerializer;
@@ -79,20 +83,42 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final IdempotencyKeyResolver idempotencyKeyResolver;
     private final IdempotencyKeyGenerator idempotencyKeyGenerator;
     private final CommandSourceService commandSourceService;
+    private final HookReadPlatformService hookReadPlatformService;
 
     private final FineractRequestContextHolder fineractRequestContextHolder;
+    private final FineractMetrics fineractMetrics;
     private final Gson gson = GoogleGsonSerializerHelper.createSimpleGson();
 
     @Override
     @Retry(name = "executeCommand", fallbackMethod = "fallbackExecuteCommand")
     public CommandProcessingResult executeCommand(final CommandWrapper wrapper, final JsonCommand command,
             final boolean isApprovedByChecker) {
+        Timer.Sample sample = fineractMetrics.startTimer();
+        String outcome = "failure";
+        try {
+            CommandProcessingResult result = processCommand(wrapper, command, isApprovedByChecker);
+            outcome = "success";
+            return result;
+        } catch (RollbackTransactionAsCommandIsNotApprovedByCheckerException e) {
+            outcome = "awaiting-approval";
+            throw e;
+        } finally {
+            fineractMetrics.stopTimer(sample, COMMAND_PROCESSING_METRIC, "entity", wrapper.entityName(), "action", wrapper.actionName(),
+                    "outcome", outcome);
+        }
+    }
+
+    private CommandProcessingResult processCommand(final CommandWrapper wrapper, final JsonCommand command,
+            final boolean isApprovedByChecker) {
         // Do not store the idempotency key because of the exception handling
         setIdempotencyKeyStoreFlag(false);
 
         final boolean rollbackTransaction = configurationDomainService.isMakerCheckerEnabledForTask(wrapper.taskPermissionName());
         String idempotencyKey = idempotencyKeyResolver.resolve(wrapper);
-        exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey);
+        // a freshly generated key cannot belong to an earlier request
+        if (idempotencyKeyResolver.isClientSupplied(wrapper)) {
+            exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey);
+        }
 
         // Store idempotency key to the request attribute
         CommandSource savedCommandSource;
@@ -109,12 +135,12 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         try {
             result = findCommandHandler(wrapper).processCommand(command);
         } catch (Throwable t) { // NOSONAR
-            CommandSource source = commandSourceService.findCommandSource(wrapper, idempotencyKey);
-            commandSourceService.saveFailed(source);
+            commandSourceService.saveFailed(savedCommandSource);
             publishHookErrorEvent(wrapper, command, t);
             throw t;
         }
-        CommandSource initialCommandSource = commandSourceService.findCommandSource(wrapper, idempotencyKey);
+        // the saved command source is updated as is, there is no need to look it up again
+        CommandSource initialCommandSource = savedCommandSource;
 
         initialCommandSource.setResult(toApiJsonSerializer.serializeResult(result));
         initialCommandSource.updateResourceId(result.getResourceId());
@@ -164,6 +190,9 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     }
 
     private void publishHookErrorEvent(CommandWrapper wrapper, JsonCommand command, Throwable t) {
+        if (!hasHooks(wrapper.entityName(), wrapper.actionName())) {
+            return;
+        }
         ErrorInfo ex = commandSourceService.generateErrorException(t);
         publishHookEvent(wrapper.entityName(), wrapper.actionName(), command, gson.toJson(ex));
     }
@@ -277,8 +306,15 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         return rollbackTransaction;
     }
 
-    private void publishHookEvent(final String entityName, final String actionName, JsonCommand command, final Object result) {
+    private boolean hasHooks(final String entityName, final String actionName) {
+        return !hookReadPlatformService.retrieveHooksByEvent(entityName, actionName).isEmpty();
+    }
 
+    private void publishHookEvent(final String entityName, final String actionName, JsonCommand command, final Object result) {
+        // serializing the payload is not free, skip it when nobody listens to the event
+        if (!hasHooks(entityName, actionName)) {
+            return;
+        }
         try {
             final AppUser appUser = context.authenticatedUser(CommandWrapper.wrap(actionName, entityName, null, null));
 
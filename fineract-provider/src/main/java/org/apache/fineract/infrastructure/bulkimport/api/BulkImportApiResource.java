@@ -23,7 +23,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
@@ -82,6 +84,16 @@ public class BulkImportApiResource {
         return this.toApiJsonSerializer.serialize(settings, importData);
     }
 
+    @POST
+    @Path("{importDocumentId}/resume")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String resumeImport(@PathParam("importDocumentId") final Long importDocumentId) {
+        this.context.authenticatedUser().validateHasPermissionTo("RESUME_" + RESOURCE_NAME_FOR_PERMISSION);
+        final Long resumedImportDocumentId = this.bulkImportWorkbookService.resumeImport(importDocumentId);
+        return this.toApiJsonSerializer.serialize(resumedImportDocumentId);
+    }
+
     @GET
     @Path("getOutputTemplateLocation")
     public String retriveOutputTemplateLocation(@QueryParam("importDocumentId") final String importDocumentId) {
@@ -46,6 +46,18 @@ public final class BulkImportEvent extends FineractEvent {
         return new BulkImportEvent(source, workbook, importId, locale, dateFormat, context);
     }
 
+    /**
+     * Event for an XLSX import, the workbook is streamed from the stored import document instead of being held in memory.
+     */
+    public static BulkImportEvent instance(final Object source, final Long importId, final String locale, final String dateFormat,
+            FineractContext context) {
+        return new BulkImportEvent(source, null, importId, locale, dateFormat, context);
+    }
+
+    public boolean isStreamed() {
+        return workbook == null;
+    }
+
     public Workbook getWorkbook() {
         return workbook;
     }
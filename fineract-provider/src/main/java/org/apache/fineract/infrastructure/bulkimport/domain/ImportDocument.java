@@ -63,12 +63,25 @@ public class ImportDocument extends AbstractPersistableCustom {
     @Column(name = "failure_count", nullable = true)
     private Integer failureCount;
 
+    @Column(name = "last_processed_row", nullable = true)
+    private Integer lastProcessedRow;
+
+    @Column(name = "locale", nullable = true)
+    private String locale;
+
+    @Column(name = "date_format", nullable = true)
+    private String dateFormat;
+
+    @Column(name = "leased_until", nullable = true)
+    private LocalDateTime leasedUntil;
+
     protected ImportDocument() {
 
     }
 
     public static ImportDocument instance(final Document document, final LocalDateTime importTime, final Integer entityType,
-            final AppUser createdBy, final Integer totalRecords) {
+            final AppUser createdBy, final Integer totalRecords, final String locale, final String dateFormat,
+            final LocalDateTime leasedUntil) {
 
         final Boolean completed = Boolean.FALSE;
         final Integer successCount = 0;
@@ -76,12 +89,12 @@ public class ImportDocument extends AbstractPersistableCustom {
         final LocalDateTime endTime = LocalDateTime.now(DateUtils.getDateTimeZoneOfTenant());
 
         return new ImportDocument(document, importTime, endTime, completed, entityType, createdBy, totalRecords, successCount,
-                failureCount);
+                failureCount, locale, dateFormat, leasedUntil);
     }
 
     private ImportDocument(final Document document, final LocalDateTime importTime, final LocalDateTime endTime, Boolean completed,
             final Integer entityType, final AppUser createdBy, final Integer totalRecords, final Integer successCount,
-            final Integer failureCount) {
+            final Integer failureCount, final String locale, final String dateFormat, final LocalDateTime leasedUntil) {
         this.document = document;
         this.importTime = importTime;
         this.endTime = endTime;
@@ -91,7 +104,9 @@ public class ImportDocument extends AbstractPersistableCustom {
         this.totalRecords = totalRecords;
         this.successCount = successCount;
         this.failureCount = failureCount;
-
+        this.locale = locale;
+        this.dateFormat = dateFormat;
+        this.leasedUntil = leasedUntil;
     }
 
     public void update(final LocalDateTime endTime, final Integer successCount, final Integer errorCount) {
@@ -99,6 +114,26 @@ public class ImportDocument extends AbstractPersistableCustom {
         this.completed = Boolean.TRUE;
         this.successCount = successCount;
         this.failureCount = errorCount;
+        this.leasedUntil = null;
+    }
+
+    /**
+     * Records a committed chunk of a streamed import, so that a restarted import continues after the given row, and
+     * renews the lease of the running import.
+     */
+    public void updateProgress(final Integer lastProcessedRow, final Integer successCount, final Integer errorCount,
+            final LocalDateTime leasedUntil) {
+        this.lastProcessedRow = lastProcessedRow;
+        this.successCount = successCount;
+        this.failureCount = errorCount;
+        this.leasedUntil = leasedUntil;
+    }
+
+    /**
+     * Gives up the lease of an import that stopped before completing, so that it can be resumed right away.
+     */
+    public void releaseLease() {
+        this.leasedUntil = null;
     }
 
     public Document getDocument() {
@@ -109,4 +144,28 @@ public class ImportDocument extends AbstractPersistableCustom {
         return this.entityType;
     }
 
+    public boolean isCompleted() {
+        return Boolean.TRUE.equals(this.completed);
+    }
+
+    public Integer getLastProcessedRow() {
+        return this.lastProcessedRow;
+    }
+
+    public Integer getSuccessCount() {
+        return this.successCount;
+    }
+
+    public Integer getFailureCount() {
+        return this.failureCount;
+    }
+
+    public String getLocale() {
+        return this.locale;
+    }
+
+    public String getDateFormat() {
+        return this.dateFormat;
+    }
+
 }
@@ -18,9 +18,21 @@
  */
 package org.apache.fineract.infrastructure.bulkimport.domain;
 
+import java.time.LocalDateTime;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface ImportDocumentRepository extends JpaRepository<ImportDocument, Long>, JpaSpecificationExecutor<ImportDocument> {
-    // no added behaviour
+
+    /**
+     * Leases an incomplete import to the caller, returns 0 when the import is still leased by a running import.
+     */
+    @Transactional
+    @Modifying
+    @Query("update ImportDocument importDocument set importDocument.leasedUntil = :leasedUntil where importDocument.id = :id and importDocument.completed = false and (importDocument.leasedUntil is null or importDocument.leasedUntil <= :now)")
+    int lease(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leasedUntil") LocalDateTime leasedUntil);
 }
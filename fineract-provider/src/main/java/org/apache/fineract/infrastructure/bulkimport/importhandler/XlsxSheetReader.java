@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Event based reader for XLSX sheets. Rows are parsed straight from the sheet XML and handed to the consumer one by
+ * one, so memory use does not grow with the number of rows in the sheet.
+ *
+ * Formulas are not evaluated, a formula cell reads as the result cached in the workbook when it was saved. A formula
+ * cell without a cached result, as written by tools that leave recalculation to the next application opening the file,
+ * is reported through {@link XlsxSheetRow#getUncachedFormulaColumns()} instead of being read as blank.
+ */
+public final class XlsxSheetReader {
+
+    private XlsxSheetReader() {
+
+    }
+
+    public static List<String> getSheetNames(final OPCPackage xlsxPackage) throws IOException {
+        final List<String> sheetNames = new ArrayList<>();
+        try {
+            final XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(xlsxPackage).getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream ignored = sheets.next()) {
+                    sheetNames.add(sheets.getSheetName());
+                }
+            }
+        } catch (OpenXML4JException e) {
+            throw new IOException(e);
+        }
+        return sheetNames;
+    }
+
+    /**
+     * Streams every row of the named sheet to the consumer, in sheet order.
+     *
+     * @return false if the workbook has no sheet with the given name
+     */
+    public static boolean readSheet(final OPCPackage xlsxPackage, final String sheetName, final Consumer<XlsxSheetRow> consumer)
+            throws IOException {
+        try {
+            final XSSFReader reader = new XSSFReader(xlsxPackage);
+            final ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(xlsxPackage);
+            final XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (sheets.getSheetName().equals(sheetName)) {
+                        final XMLReader parser = XMLHelper.newXMLReader();
+                        parser.setContentHandler(new SheetHandler(sharedStrings, consumer));
+                        parser.parse(new InputSource(sheet));
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final Consumer<XlsxSheetRow> consumer;
+        private final StringBuilder text = new StringBuilder();
+        private XlsxSheetRow row;
+        private int nextRowIndex;
+        private int columnIndex;
+        private String cellType;
+        private boolean formula;
+        private boolean collectingText;
+
+        SheetHandler(final ReadOnlySharedStringsTable sharedStrings, final Consumer<XlsxSheetRow> consumer) {
+            this.sharedStrings = sharedStrings;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startElement(final String uri, final String localName, final String qName, final Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    final String rowNumber = attributes.getValue("r");
+                    this.row = new XlsxSheetRow(rowNumber == null ? this.nextRowIndex : Integer.parseInt(rowNumber) - 1);
+                    this.nextRowIndex = this.row.getRowIndex() + 1;
+                    this.columnIndex = -1;
+                break;
+                case "c":
+                    final String cellReference = attributes.getValue("r");
+                    this.columnIndex = cellReference == null ? this.columnIndex + 1 : new CellReference(cellReference).getCol();
+                    this.cellType = attributes.getValue("t");
+                    this.formula = false;
+                    this.text.setLength(0);
+                break;
+                case "f":
+                    this.formula = true;
+                break;
+                case "v":
+                case "t":
+                    this.collectingText = true;
+                break;
+                default:
+                break;
+            }
+        }
+
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    this.collectingText = false;
+                break;
+                case "c":
+                    if (this.formula && this.text.length() == 0) {
+                        this.row.addUncachedFormula(this.columnIndex);
+                    } else {
+                        this.row.setValue(this.columnIndex, cellValue());
+                    }
+                break;
+                case "row":
+                    this.consumer.accept(this.row);
+                    this.row = null;
+                break;
+                default:
+                break;
+            }
+        }
+
+        @Override
+        public void characters(final char[] ch, final int start, final int length) {
+            if (this.collectingText) {
+                this.text.append(ch, start, length);
+            }
+        }
+
+        private Object cellValue() {
+            if (this.text.length() == 0) {
+                return null;
+            }
+            final String value = this.text.toString();
+            if (this.cellType == null || "n".equals(this.cellType)) {
+                return Double.valueOf(value);
+            }
+            switch (this.cellType) {
+                case "s":
+                    return this.sharedStrings.getItemAt(Integer.parseInt(value)).getString();
+                case "b":
+                    return "1".equals(value);
+                case "e":
+                    return null;
+                default:
+                    // inline strings and cached string results of formulas
+                    return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * A single row of a spreadsheet read by {@link XlsxSheetReader}. Cells hold the stored value only, formulas are
+ * represented by their cached result, so the row can be copied into any workbook without an evaluator. Formula cells
+ * saved without a cached result have no value and are listed in {@link #getUncachedFormulaColumns()}.
+ */
+public final class XlsxSheetRow {
+
+    private final int rowIndex;
+    private final Map<Integer, Object> values;
+    private final Set<Integer> uncachedFormulaColumns;
+
+    XlsxSheetRow(final int rowIndex) {
+        this.rowIndex = rowIndex;
+        this.values = new TreeMap<>();
+        this.uncachedFormulaColumns = new TreeSet<>();
+    }
+
+    void setValue(final int columnIndex, final Object value) {
+        if (value != null) {
+            this.values.put(columnIndex, value);
+        }
+    }
+
+    void addUncachedFormula(final int columnIndex) {
+        this.uncachedFormulaColumns.add(columnIndex);
+    }
+
+    public int getRowIndex() {
+        return this.rowIndex;
+    }
+
+    public Object getValue(final int columnIndex) {
+        return this.values.get(columnIndex);
+    }
+
+    public Map<Integer, Object> getValues() {
+        return Collections.unmodifiableMap(this.values);
+    }
+
+    /**
+     * Columns holding a formula whose result was not saved in the workbook, so their value is unknown.
+     */
+    public Set<Integer> getUncachedFormulaColumns() {
+        return Collections.unmodifiableSet(this.uncachedFormulaColumns);
+    }
+
+    public boolean isBlank(final int columnIndex) {
+        if (this.uncachedFormulaColumns.contains(columnIndex)) {
+            return false;
+        }
+        final Object value = this.values.get(columnIndex);
+        return value == null || (value instanceof String && ((String) value).isBlank());
+    }
+
+    public void writeTo(final Row row) {
+        for (Map.Entry<Integer, Object> entry : this.values.entrySet()) {
+            final Object value = entry.getValue();
+            if (value instanceof Double) {
+                row.createCell(entry.getKey()).setCellValue((Double) value);
+            } else if (value instanceof Boolean) {
+                row.createCell(entry.getKey()).setCellValue((Boolean) value);
+            } else {
+                row.createCell(entry.getKey()).setCellValue(value.toString());
+            }
+        }
+    }
+}
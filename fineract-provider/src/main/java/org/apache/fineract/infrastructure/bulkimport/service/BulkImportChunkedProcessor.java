@@ -0,0 +1,484 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.bulkimport.constants.CenterConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.ChartOfAcountsConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.ClientEntityConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.ClientPersonConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.FixedDepositConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.GroupConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.GuarantorConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.JournalEntryConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.LoanConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.LoanRepaymentConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.OfficeConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.RecurringDepositConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.SavingsConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.SharedAccountsConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.StaffConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateImportConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.TransactionConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.UserConstants;
+import org.apache.fineract.infrastructure.bulkimport.data.Count;
+import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocument;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocumentRepository;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.XlsxSheetReader;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.XlsxSheetRow;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports an XLSX workbook without loading its data sheet into memory.
+ *
+ * The data sheet is streamed and cut into chunks of a single row, or of the rows sharing a group value such as the
+ * transaction id of a journal entry. Every chunk is copied into a small in-memory workbook next to the lookup sheets and
+ * passed to the regular {@link ImportHandler}, so the handlers keep their row parsing and validation. The handlers commit
+ * every row on its own, so once a chunk is done its status cells and the progress are stored in one transaction, and its
+ * rows are appended to a streaming output workbook. An interrupted import continues after the last committed row and
+ * writes the stored status of the rows before it. While an import runs it holds a lease on its {@link ImportDocument},
+ * which is renewed with every chunk and keeps the import from being resumed twice.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkImportChunkedProcessor {
+
+    private static final int OUTPUT_ROW_ACCESS_WINDOW = 100;
+    private static final String INSERT_ROW_STATUS = "INSERT INTO m_import_document_row_status"
+            + " (import_document_id, row_index, column_index, status) VALUES (?, ?, ?, ?)";
+    private static final Map<GlobalEntityType, SheetLayout> SHEET_LAYOUTS = new HashMap<>();
+
+    static {
+        final int firstColumn = TemplatePopulateImportConstants.FIRST_COLUMN_INDEX;
+        SHEET_LAYOUTS.put(GlobalEntityType.OFFICES,
+                new SheetLayout(TemplatePopulateImportConstants.OFFICE_SHEET_NAME, firstColumn, OfficeConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.CENTERS,
+                new SheetLayout(TemplatePopulateImportConstants.CENTER_SHEET_NAME, firstColumn, CenterConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.CHART_OF_ACCOUNTS, new SheetLayout(TemplatePopulateImportConstants.CHART_OF_ACCOUNTS_SHEET_NAME,
+                firstColumn, ChartOfAcountsConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.CLIENTS_ENTITY,
+                new SheetLayout(TemplatePopulateImportConstants.CLIENT_ENTITY_SHEET_NAME, firstColumn, ClientEntityConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.CLIENTS_PERSON,
+                new SheetLayout(TemplatePopulateImportConstants.CLIENT_PERSON_SHEET_NAME, firstColumn, ClientPersonConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.FIXED_DEPOSIT_ACCOUNTS,
+                new SheetLayout(TemplatePopulateImportConstants.FIXED_DEPOSIT_SHEET_NAME, firstColumn, FixedDepositConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.FIXED_DEPOSIT_TRANSACTIONS,
+                new SheetLayout(TemplatePopulateImportConstants.FIXED_DEPOSIT_TRANSACTION_SHEET_NAME, TransactionConstants.AMOUNT_COL,
+                        TransactionConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.GROUPS,
+                new SheetLayout(TemplatePopulateImportConstants.GROUP_SHEET_NAME, firstColumn, GroupConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.GUARANTORS, new SheetLayout(TemplatePopulateImportConstants.GUARANTOR_SHEET_NAME,
+                GuarantorConstants.LOAN_ACCOUNT_NO_COL, GuarantorConstants.STATUS_COL));
+        // the lines of one journal entry share a transaction id and must end up in the same chunk
+        SHEET_LAYOUTS.put(GlobalEntityType.GL_JOURNAL_ENTRIES, new SheetLayout(TemplatePopulateImportConstants.JOURNAL_ENTRY_SHEET_NAME,
+                JournalEntryConstants.TRANSACTION_ID_COL, JournalEntryConstants.STATUS_COL, JournalEntryConstants.TRANSACTION_ID_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.LOANS,
+                new SheetLayout(TemplatePopulateImportConstants.LOANS_SHEET_NAME, firstColumn, LoanConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.LOAN_TRANSACTIONS, new SheetLayout(TemplatePopulateImportConstants.LOAN_REPAYMENT_SHEET_NAME,
+                LoanRepaymentConstants.AMOUNT_COL, LoanRepaymentConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS,
+                new SheetLayout(TemplatePopulateImportConstants.RECURRING_DEPOSIT_SHEET_NAME,
+                        TemplatePopulateImportConstants.ROWHEADER_INDEX, RecurringDepositConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS_TRANSACTIONS,
+                new SheetLayout(TemplatePopulateImportConstants.SAVINGS_TRANSACTION_SHEET_NAME, TransactionConstants.AMOUNT_COL,
+                        TransactionConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.SAVINGS_ACCOUNT,
+                new SheetLayout(TemplatePopulateImportConstants.SAVINGS_ACCOUNTS_SHEET_NAME, firstColumn, SavingsConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.SAVINGS_TRANSACTIONS,
+                new SheetLayout(TemplatePopulateImportConstants.SAVINGS_TRANSACTION_SHEET_NAME, TransactionConstants.AMOUNT_COL,
+                        TransactionConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.SHARE_ACCOUNTS, new SheetLayout(TemplatePopulateImportConstants.SHARED_ACCOUNTS_SHEET_NAME,
+                firstColumn, SharedAccountsConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.STAFF,
+                new SheetLayout(TemplatePopulateImportConstants.EMPLOYEE_SHEET_NAME, firstColumn, StaffConstants.STATUS_COL));
+        SHEET_LAYOUTS.put(GlobalEntityType.USERS,
+                new SheetLayout(TemplatePopulateImportConstants.USER_SHEET_NAME, firstColumn, UserConstants.STATUS_COL));
+    }
+
+    private final ImportDocumentRepository importRepository;
+    private final FineractProperties fineractProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Returns the end of a lease on an import document taken at the given time.
+     */
+    public LocalDateTime getLeaseEnd(final LocalDateTime now) {
+        return now.plusSeconds(fineractProperties.getBulkImport().getLeaseSec());
+    }
+
+    /**
+     * Drops the stored row statuses of an import once its output document has been written.
+     */
+    public void discardRowStatuses(final ImportDocument importDocument) {
+        jdbcTemplate.update("DELETE FROM m_import_document_row_status WHERE import_document_id = ?", importDocument.getId());
+    }
+
+    /**
+     * Counts the data rows of the workbook the same way the import handlers do: up to the first row without a value in
+     * the primary column.
+     */
+    public Integer countRows(final GlobalEntityType entityType, final File xlsxFile) throws IOException {
+        final SheetLayout layout = getSheetLayout(entityType);
+        final OPCPackage xlsxPackage = open(xlsxFile);
+        try {
+            final AtomicInteger count = new AtomicInteger();
+            final AtomicBoolean ended = new AtomicBoolean();
+            XlsxSheetReader.readSheet(xlsxPackage, layout.sheetName, row -> {
+                if (row.getRowIndex() == 0 || ended.get()) {
+                    return;
+                }
+                if (row.getRowIndex() != count.get() + 1 || row.isBlank(layout.primaryColumn)) {
+                    ended.set(true);
+                } else {
+                    count.incrementAndGet();
+                }
+            });
+            return count.get();
+        } finally {
+            xlsxPackage.revert();
+        }
+    }
+
+    /**
+     * Imports the rows of the workbook that come after the last row committed for the import document, and writes the
+     * workbook with the status column filled in to the output.
+     */
+    public Count process(final ImportHandler importHandler, final ImportDocument importDocument, final File xlsxFile,
+            final OutputStream output) throws IOException {
+        final SheetLayout layout = getSheetLayout(GlobalEntityType.fromInt(importDocument.getEntityType()));
+        final OPCPackage xlsxPackage = open(xlsxFile);
+        final SXSSFWorkbook outputWorkbook = new SXSSFWorkbook(OUTPUT_ROW_ACCESS_WINDOW);
+        try (XSSFWorkbook chunkWorkbook = new XSSFWorkbook()) {
+            final List<String> sheetNames = XlsxSheetReader.getSheetNames(xlsxPackage);
+            if (!sheetNames.contains(layout.sheetName)) {
+                throw new GeneralPlatformDomainRuleException("error.msg.import.sheet.not.found",
+                        "Uploaded workbook has no sheet named " + layout.sheetName, layout.sheetName);
+            }
+            for (String sheetName : sheetNames) {
+                outputWorkbook.createSheet(sheetName);
+            }
+            for (String sheetName : sheetNames) {
+                if (!sheetName.equals(layout.sheetName)) {
+                    final Sheet lookupSheet = chunkWorkbook.createSheet(sheetName);
+                    final Sheet outputSheet = outputWorkbook.getSheet(sheetName);
+                    XlsxSheetReader.readSheet(xlsxPackage, sheetName, row -> {
+                        row.writeTo(lookupSheet.createRow(row.getRowIndex()));
+                        row.writeTo(outputSheet.createRow(row.getRowIndex()));
+                    });
+                }
+            }
+
+            final ChunkedSheetImport sheetImport = new ChunkedSheetImport(importHandler, importDocument, layout, chunkWorkbook,
+                    outputWorkbook);
+            XlsxSheetReader.readSheet(xlsxPackage, layout.sheetName, sheetImport::accept);
+            sheetImport.finish();
+
+            outputWorkbook.write(output);
+            return Count.instance(sheetImport.successCount, sheetImport.errorCount);
+        } finally {
+            outputWorkbook.dispose();
+            outputWorkbook.close();
+            xlsxPackage.revert();
+        }
+    }
+
+    private static SheetLayout getSheetLayout(final GlobalEntityType entityType) {
+        final SheetLayout layout = SHEET_LAYOUTS.get(entityType);
+        if (layout == null) {
+            throw new GeneralPlatformDomainRuleException("error.msg.unable.to.find.resource", "Unable to find requested resource");
+        }
+        return layout;
+    }
+
+    private static OPCPackage open(final File xlsxFile) throws IOException {
+        try {
+            return OPCPackage.open(xlsxFile, PackageAccess.READ);
+        } catch (InvalidFormatException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static final class SheetLayout {
+
+        private final String sheetName;
+        private final int primaryColumn;
+        private final int statusColumn;
+        private final int groupColumn;
+
+        SheetLayout(final String sheetName, final int primaryColumn, final int statusColumn) {
+            this(sheetName, primaryColumn, statusColumn, -1);
+        }
+
+        SheetLayout(final String sheetName, final int primaryColumn, final int statusColumn, final int groupColumn) {
+            this.sheetName = sheetName;
+            this.primaryColumn = primaryColumn;
+            this.statusColumn = statusColumn;
+            this.groupColumn = groupColumn;
+        }
+    }
+
+    private final class ChunkedSheetImport {
+
+        private final ImportHandler importHandler;
+        private final ImportDocument importDocument;
+        private final SheetLayout layout;
+        private final XSSFWorkbook chunkWorkbook;
+        private final SXSSFWorkbook outputWorkbook;
+        private final Sheet outputSheet;
+        private final int resumeAfterRow;
+        private final Map<Integer, Map<Integer, String>> committedStatuses;
+        private final List<XlsxSheetRow> chunk = new ArrayList<>();
+        private final Map<Short, CellStyle> outputStyles = new HashMap<>();
+        private final Map<IndexedColors, CellStyle> statusStyles = new HashMap<>();
+        private XlsxSheetRow header;
+        private boolean headerWritten;
+        private boolean ended;
+        private int previousRowIndex;
+        private int successCount;
+        private int errorCount;
+
+        ChunkedSheetImport(final ImportHandler importHandler, final ImportDocument importDocument, final SheetLayout layout,
+                final XSSFWorkbook chunkWorkbook, final SXSSFWorkbook outputWorkbook) {
+            this.importHandler = importHandler;
+            this.importDocument = importDocument;
+            this.layout = layout;
+            this.chunkWorkbook = chunkWorkbook;
+            this.outputWorkbook = outputWorkbook;
+            this.outputSheet = outputWorkbook.getSheet(layout.sheetName);
+            this.resumeAfterRow = Objects.requireNonNullElse(importDocument.getLastProcessedRow(), 0);
+            this.committedStatuses = new HashMap<>();
+            if (this.resumeAfterRow > 0) {
+                this.successCount = Objects.requireNonNullElse(importDocument.getSuccessCount(), 0);
+                this.errorCount = Objects.requireNonNullElse(importDocument.getFailureCount(), 0);
+                loadCommittedStatuses();
+            }
+        }
+
+        void accept(final XlsxSheetRow row) {
+            if (row.getRowIndex() == 0) {
+                this.header = row;
+                return;
+            }
+            // like ImportHandlerUtils.getNumberOfRows, the import stops at the first missing row or primary value
+            if (!this.ended && (row.getRowIndex() != this.previousRowIndex + 1 || row.isBlank(this.layout.primaryColumn))) {
+                flush();
+                this.ended = true;
+            }
+            this.previousRowIndex = row.getRowIndex();
+            if (this.ended || row.getRowIndex() <= this.resumeAfterRow) {
+                writeHeader(null);
+                final Row outputRow = this.outputSheet.createRow(row.getRowIndex());
+                row.writeTo(outputRow);
+                writeCommittedStatus(outputRow);
+                return;
+            }
+            if (!this.chunk.isEmpty() && !isSameGroup(this.chunk.get(this.chunk.size() - 1), row)) {
+                flush();
+            }
+            this.chunk.add(row);
+        }
+
+        void finish() {
+            flush();
+            writeHeader(null);
+        }
+
+        private boolean isSameGroup(final XlsxSheetRow previous, final XlsxSheetRow row) {
+            return this.layout.groupColumn >= 0
+                    && Objects.equals(previous.getValue(this.layout.groupColumn), row.getValue(this.layout.groupColumn));
+        }
+
+        private void flush() {
+            if (this.chunk.isEmpty()) {
+                return;
+            }
+            final int existingSheet = this.chunkWorkbook.getSheetIndex(this.layout.sheetName);
+            if (existingSheet >= 0) {
+                this.chunkWorkbook.removeSheetAt(existingSheet);
+            }
+            final Sheet chunkSheet = this.chunkWorkbook.createSheet(this.layout.sheetName);
+            final Row headerRow = chunkSheet.createRow(0);
+            if (this.header != null) {
+                this.header.writeTo(headerRow);
+            }
+            for (int i = 0; i < this.chunk.size(); i++) {
+                this.chunk.get(i).writeTo(chunkSheet.createRow(i + 1));
+            }
+
+            final String uncachedFormula = findUncachedFormula();
+            final Count count;
+            if (uncachedFormula != null) {
+                // the handler would read the formula cell as blank, so the chunk fails instead of importing it
+                final String errorMessage = "Cell " + uncachedFormula + " holds a formula without a calculated value,"
+                        + " open the workbook in a spreadsheet application and save it again to recalculate it";
+                ImportHandlerUtils.writeString(this.layout.statusColumn, headerRow,
+                        TemplatePopulateImportConstants.STATUS_COL_REPORT_HEADER);
+                for (int i = 0; i < this.chunk.size(); i++) {
+                    ImportHandlerUtils.writeErrorMessage(chunkSheet, i + 1, errorMessage, this.layout.statusColumn);
+                }
+                count = Count.instance(0, this.chunk.size());
+            } else {
+                count = this.importHandler.process(this.chunkWorkbook, this.importDocument.getLocale(),
+                        this.importDocument.getDateFormat());
+            }
+            this.successCount += count.getSuccessCount();
+            this.errorCount += count.getErrorCount();
+
+            final List<Object[]> statuses = new ArrayList<>();
+            for (int i = 0; i < this.chunk.size(); i++) {
+                final XlsxSheetRow row = this.chunk.get(i);
+                for (Cell cell : chunkSheet.getRow(i + 1)) {
+                    if (cell.getCellType() == CellType.STRING && !cell.getStringCellValue().equals(row.getValue(cell.getColumnIndex()))) {
+                        statuses.add(new Object[] { this.importDocument.getId(), row.getRowIndex(), cell.getColumnIndex(),
+                                cell.getStringCellValue() });
+                    }
+                }
+            }
+            final int lastProcessedRow = this.chunk.get(this.chunk.size() - 1).getRowIndex();
+            this.importDocument.updateProgress(lastProcessedRow, this.successCount, this.errorCount,
+                    getLeaseEnd(DateUtils.getLocalDateTimeOfTenant()));
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!statuses.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_ROW_STATUS, statuses);
+                }
+                importRepository.saveAndFlush(this.importDocument);
+            });
+
+            writeHeader(headerRow);
+            for (int i = 0; i < this.chunk.size(); i++) {
+                copyRow(chunkSheet.getRow(i + 1), this.outputSheet.createRow(this.chunk.get(i).getRowIndex()));
+            }
+            this.chunk.clear();
+        }
+
+        private String findUncachedFormula() {
+            for (XlsxSheetRow row : this.chunk) {
+                if (!row.getUncachedFormulaColumns().isEmpty()) {
+                    return new CellReference(row.getRowIndex(), row.getUncachedFormulaColumns().iterator().next()).formatAsString();
+                }
+            }
+            return null;
+        }
+
+        private void loadCommittedStatuses() {
+            final List<Map<String, Object>> statuses = jdbcTemplate.queryForList(
+                    "SELECT row_index, column_index, status FROM m_import_document_row_status WHERE import_document_id = ?",
+                    this.importDocument.getId());
+            for (Map<String, Object> status : statuses) {
+                this.committedStatuses
+                        .computeIfAbsent(((Number) status.get("row_index")).intValue(), rowIndex -> new HashMap<>())
+                        .put(((Number) status.get("column_index")).intValue(), (String) status.get("status"));
+            }
+        }
+
+        private void writeCommittedStatus(final Row outputRow) {
+            final Map<Integer, String> statuses = this.committedStatuses.remove(outputRow.getRowNum());
+            if (statuses == null) {
+                return;
+            }
+            for (Map.Entry<Integer, String> status : statuses.entrySet()) {
+                final Cell statusCell = outputRow.createCell(status.getKey());
+                statusCell.setCellValue(status.getValue());
+                // same colours as the import handlers use for imported and failed rows
+                final IndexedColors color = TemplatePopulateImportConstants.STATUS_CELL_IMPORTED.equals(status.getValue())
+                        ? IndexedColors.LIGHT_GREEN
+                        : IndexedColors.RED;
+                statusCell.setCellStyle(this.statusStyles.computeIfAbsent(color, key -> {
+                    final CellStyle style = this.outputWorkbook.createCellStyle();
+                    style.setFillForegroundColor(key.getIndex());
+                    style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+                    return style;
+                }));
+            }
+        }
+
+        private void writeHeader(final Row processedHeader) {
+            if (this.headerWritten) {
+                return;
+            }
+            this.headerWritten = true;
+            final Row outputHeader = this.outputSheet.createRow(0);
+            if (processedHeader != null) {
+                copyRow(processedHeader, outputHeader);
+            } else if (this.header != null) {
+                this.header.writeTo(outputHeader);
+            }
+        }
+
+        private void copyRow(final Row source, final Row target) {
+            for (Cell sourceCell : source) {
+                final Cell targetCell = target.createCell(sourceCell.getColumnIndex());
+                switch (sourceCell.getCellType()) {
+                    case NUMERIC:
+                        targetCell.setCellValue(sourceCell.getNumericCellValue());
+                    break;
+                    case BOOLEAN:
+                        targetCell.setCellValue(sourceCell.getBooleanCellValue());
+                    break;
+                    case STRING:
+                        targetCell.setCellValue(sourceCell.getStringCellValue());
+                    break;
+                    default:
+                    break;
+                }
+                final CellStyle sourceStyle = sourceCell.getCellStyle();
+                if (sourceStyle != null && sourceStyle.getIndex() != 0) {
+                    targetCell.setCellStyle(this.outputStyles.computeIfAbsent(sourceStyle.getIndex(), index -> {
+                        final CellStyle style = this.outputWorkbook.createCellStyle();
+                        style.cloneStyleFrom(sourceStyle);
+                        return style;
+                    }));
+                }
+            }
+        }
+    }
+}
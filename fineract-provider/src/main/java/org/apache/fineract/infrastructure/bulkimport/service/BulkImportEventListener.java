@@ -20,10 +20,16 @@ package org.apache.fineract.infrastructure.bulkimport.service;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashSet;
 import java.util.Set;
+import org.apache.commons.io.FileUtils;
 import org.apache.fineract.infrastructure.bulkimport.data.BulkImportEvent;
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
@@ -35,7 +41,9 @@ import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
 import org.apache.fineract.infrastructure.documentmanagement.command.DocumentCommand;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
 import org.apache.fineract.infrastructure.documentmanagement.domain.Document;
+import org.apache.fineract.infrastructure.documentmanagement.service.DocumentReadPlatformService;
 import org.apache.fineract.infrastructure.documentmanagement.service.DocumentWritePlatformService;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.slf4j.Logger;
@@ -53,14 +61,19 @@ public class BulkImportEventListener implements ApplicationListener<BulkImportEv
     private final ApplicationContext applicationContext;
     private final ImportDocumentRepository importRepository;
     private final DocumentWritePlatformService documentService;
+    private final DocumentReadPlatformService documentReadService;
+    private final BulkImportChunkedProcessor chunkedProcessor;
 
     @Autowired
     public BulkImportEventListener(final TenantDetailsService tenantDetailsService, final ApplicationContext context,
-            final ImportDocumentRepository importRepository, final DocumentWritePlatformService documentService) {
+            final ImportDocumentRepository importRepository, final DocumentWritePlatformService documentService,
+            final DocumentReadPlatformService documentReadService, final BulkImportChunkedProcessor chunkedProcessor) {
         this.tenantDetailsService = tenantDetailsService;
         this.applicationContext = context;
         this.importRepository = importRepository;
         this.documentService = documentService;
+        this.documentReadService = documentReadService;
+        this.chunkedProcessor = chunkedProcessor;
     }
 
     @Override
@@ -133,20 +146,17 @@ public class BulkImportEventListener implements ApplicationListener<BulkImportEv
 
         }
 
+        if (event.isStreamed()) {
+            importStreamed(importHandler, importDocument, entityType);
+            return;
+        }
+
         final Workbook workbook = event.getWorkbook();
         final Count count = importHandler.process(workbook, event.getLocale(), event.getDateFormat());
         importDocument.update(DateUtils.getLocalDateTimeOfTenant(), count.getSuccessCount(), count.getErrorCount());
         this.importRepository.saveAndFlush(importDocument);
 
-        final Set<String> modifiedParams = new HashSet<>();
-        modifiedParams.add("fileName");
-        modifiedParams.add("size");
-        modifiedParams.add("type");
-        modifiedParams.add("location");
-        Document document = importDocument.getDocument();
-
-        DocumentCommand documentCommand = new DocumentCommand(modifiedParams, document.getId(), entityType.name(), null, document.getName(),
-                document.getFileName(), document.getSize(), URLConnection.guessContentTypeFromName(document.getFileName()), null, null);
+        DocumentCommand documentCommand = createOutputDocumentCommand(importDocument.getDocument(), entityType);
 
         final ByteArrayOutputStream bos = new ByteArrayOutputStream();
         try {
@@ -163,4 +173,51 @@ public class BulkImportEventListener implements ApplicationListener<BulkImportEv
         this.documentService.updateDocument(documentCommand, bis);
     }
 
+    private void importStreamed(final ImportHandler importHandler, final ImportDocument importDocument, final GlobalEntityType entityType) {
+        final Document document = importDocument.getDocument();
+        File xlsxFile = null;
+        File outputFile = null;
+        try {
+            xlsxFile = Files.createTempFile("import", ".xlsx").toFile();
+            outputFile = Files.createTempFile("import-output", ".xlsx").toFile();
+            final FileData fileData = this.documentReadService.retrieveFileData(document.getParentEntityType(),
+                    document.getParentEntityId(), document.getId());
+            try (InputStream source = fileData.getByteSource().openStream()) {
+                Files.copy(source, xlsxFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            final Count count;
+            try (OutputStream output = Files.newOutputStream(outputFile.toPath())) {
+                count = this.chunkedProcessor.process(importHandler, importDocument, xlsxFile, output);
+            }
+            importDocument.update(DateUtils.getLocalDateTimeOfTenant(), count.getSuccessCount(), count.getErrorCount());
+            this.importRepository.saveAndFlush(importDocument);
+
+            try (InputStream output = Files.newInputStream(outputFile.toPath())) {
+                this.documentService.updateDocument(createOutputDocumentCommand(document, entityType), output);
+            }
+            this.chunkedProcessor.discardRowStatuses(importDocument);
+        } catch (IOException io) {
+            LOG.error("Problem occurred while streaming import document {}", importDocument.getId(), io);
+        } finally {
+            if (!importDocument.isCompleted()) {
+                importDocument.releaseLease();
+                this.importRepository.saveAndFlush(importDocument);
+            }
+            FileUtils.deleteQuietly(xlsxFile);
+            FileUtils.deleteQuietly(outputFile);
+        }
+    }
+
+    private DocumentCommand createOutputDocumentCommand(final Document document, final GlobalEntityType entityType) {
+        final Set<String> modifiedParams = new HashSet<>();
+        modifiedParams.add("fileName");
+        modifiedParams.add("size");
+        modifiedParams.add("type");
+        modifiedParams.add("location");
+
+        return new DocumentCommand(modifiedParams, document.getId(), entityType.name(), null, document.getName(), document.getFileName(),
+                document.getSize(), URLConnection.guessContentTypeFromName(document.getFileName()), null, null);
+    }
+
 }
@@ -31,6 +31,11 @@ public interface BulkImportWorkbookService {
     Long importWorkbook(String entityType, InputStream inputStream, FormDataContentDisposition fileDetail, String locale,
             String dateFormat);
 
+    /**
+     * Continues an interrupted XLSX import after its last committed row.
+     */
+    Long resumeImport(Long importDocumentId);
+
     Collection<ImportData> getImports(GlobalEntityType type);
 
     DocumentData getOutputTemplateLocation(String importDocumentId);
@@ -25,10 +25,14 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.Locale;
 import javax.ws.rs.core.Response;
 import org.apache.commons.io.IOUtils;
 import org.apache.fineract.infrastructure.bulkimport.data.BulkImportEvent;
@@ -36,6 +40,7 @@ import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
 import org.apache.fineract.infrastructure.bulkimport.data.ImportData;
 import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocument;
 import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocumentRepository;
+import org.apache.fineract.infrastructure.bulkimport.exceptions.ImportDocumentNotFoundException;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
@@ -70,17 +75,20 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
     private final DocumentRepository documentRepository;
     private final ImportDocumentRepository importDocumentRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final BulkImportChunkedProcessor chunkedProcessor;
 
     @Autowired
     public BulkImportWorkbookServiceImpl(final ApplicationContext applicationContext, final PlatformSecurityContext securityContext,
             final DocumentWritePlatformService documentWritePlatformService, final DocumentRepository documentRepository,
-            final ImportDocumentRepository importDocumentRepository, final JdbcTemplate jdbcTemplate) {
+            final ImportDocumentRepository importDocumentRepository, final JdbcTemplate jdbcTemplate,
+            final BulkImportChunkedProcessor chunkedProcessor) {
         this.applicationContext = applicationContext;
         this.securityContext = securityContext;
         this.documentWritePlatformService = documentWritePlatformService;
         this.documentRepository = documentRepository;
         this.importDocumentRepository = importDocumentRepository;
         this.jdbcTemplate = jdbcTemplate;
+        this.chunkedProcessor = chunkedProcessor;
     }
 
     @Override
@@ -96,7 +104,8 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                 final Tika tika = new Tika();
                 final TikaInputStream tikaInputStream = TikaInputStream.get(bis);
                 final String fileType = tika.detect(tikaInputStream);
-                if (!fileType.contains("msoffice") && !fileType.contains("application/vnd.ms-excel")) {
+                final boolean xlsx = isXlsx(fileType, fileDetail.getFileName());
+                if (!xlsx && !fileType.contains("msoffice") && !fileType.contains("application/vnd.ms-excel")) {
                     // We had a problem where we tried to upload the downloaded
                     // file from the import options, it was somehow changed the
                     // extension we use this fix.
@@ -104,7 +113,8 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                             "Uploaded file extension is not recognized.");
 
                 }
-                Workbook workbook = new HSSFWorkbook(clonedInputStream);
+                // XLSX workbooks are streamed by the import itself, only the legacy format is loaded here
+                Workbook workbook = xlsx ? null : new HSSFWorkbook(clonedInputStream);
                 GlobalEntityType entityType = null;
                 int primaryColumn = 0;
                 if (entity.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_PERSON.toString())) {
@@ -165,10 +175,15 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                     entityType = GlobalEntityType.USERS;
                     primaryColumn = 0;
                 } else {
-                    workbook.close();
+                    if (workbook != null) {
+                        workbook.close();
+                    }
                     throw new GeneralPlatformDomainRuleException("error.msg.unable.to.find.resource", "Unable to find requested resource");
 
                 }
+                if (xlsx) {
+                    return publishStreamedEvent(fileDetail, bytes, entityType, locale, dateFormat);
+                }
                 return publishEvent(primaryColumn, fileDetail, bis, entityType, workbook, locale, dateFormat);
             }
             throw new GeneralPlatformDomainRuleException("error.msg.null", "One or more of the given parameters not found");
@@ -180,25 +195,81 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         }
     }
 
+    private static boolean isXlsx(final String fileType, final String fileName) {
+        return fileType.contains("ooxml") || fileType.contains("openxmlformats")
+                || (fileType.contains("zip") && fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx"));
+    }
+
     private Long publishEvent(final Integer primaryColumn, final FormDataContentDisposition fileDetail,
             final InputStream clonedInputStreamWorkbook, final GlobalEntityType entityType, final Workbook workbook, final String locale,
             final String dateFormat) {
 
+        // locale and date format are only kept for streamed imports, which are the ones that can be resumed
+        final ImportDocument importDocument = createImportDocument(fileDetail, clonedInputStreamWorkbook, entityType,
+                ImportHandlerUtils.getNumberOfRows(workbook.getSheetAt(0), primaryColumn), null, null);
+        BulkImportEvent event = BulkImportEvent.instance(this, workbook, importDocument.getId(), locale, dateFormat,
+                ThreadLocalContextUtil.getContext());
+        applicationContext.publishEvent(event);
+        return importDocument.getId();
+    }
+
+    private Long publishStreamedEvent(final FormDataContentDisposition fileDetail, final byte[] bytes, final GlobalEntityType entityType,
+            final String locale, final String dateFormat) throws IOException {
+        final Path xlsxFile = Files.createTempFile("import", ".xlsx");
+        final Integer totalRecords;
+        try {
+            Files.write(xlsxFile, bytes);
+            totalRecords = this.chunkedProcessor.countRows(entityType, xlsxFile.toFile());
+        } finally {
+            Files.deleteIfExists(xlsxFile);
+        }
+
+        final ImportDocument importDocument = createImportDocument(fileDetail, new ByteArrayInputStream(bytes), entityType, totalRecords,
+                locale, dateFormat);
+        BulkImportEvent event = BulkImportEvent.instance(this, importDocument.getId(), locale, dateFormat,
+                ThreadLocalContextUtil.getContext());
+        applicationContext.publishEvent(event);
+        return importDocument.getId();
+    }
+
+    private ImportDocument createImportDocument(final FormDataContentDisposition fileDetail, final InputStream inputStream,
+            final GlobalEntityType entityType, final Integer totalRecords, final String locale, final String dateFormat) {
         final String fileName = fileDetail.getFileName();
 
         final Long documentId = this.documentWritePlatformService.createInternalDocument(
                 DocumentWritePlatformServiceJpaRepositoryImpl.DocumentManagementEntity.IMPORT.name(),
-                this.securityContext.authenticatedUser().getId(), null, clonedInputStreamWorkbook,
-                URLConnection.guessContentTypeFromName(fileName), fileName, null, fileName);
+                this.securityContext.authenticatedUser().getId(), null, inputStream, URLConnection.guessContentTypeFromName(fileName),
+                fileName, null, fileName);
         final Document document = this.documentRepository.findById(documentId).orElse(null);
 
-        final ImportDocument importDocument = ImportDocument.instance(document, DateUtils.getLocalDateTimeOfTenant(), entityType.getValue(),
-                this.securityContext.authenticatedUser(), ImportHandlerUtils.getNumberOfRows(workbook.getSheetAt(0), primaryColumn));
+        final LocalDateTime importTime = DateUtils.getLocalDateTimeOfTenant();
+        final ImportDocument importDocument = ImportDocument.instance(document, importTime, entityType.getValue(),
+                this.securityContext.authenticatedUser(), totalRecords, locale, dateFormat, this.chunkedProcessor.getLeaseEnd(importTime));
         this.importDocumentRepository.saveAndFlush(importDocument);
-        BulkImportEvent event = BulkImportEvent.instance(this, workbook, importDocument.getId(), locale, dateFormat,
-                ThreadLocalContextUtil.getContext());
-        applicationContext.publishEvent(event);
-        return importDocument.getId();
+        return importDocument;
+    }
+
+    @Override
+    public Long resumeImport(final Long importDocumentId) {
+        this.securityContext.authenticatedUser();
+        final ImportDocument importDocument = this.importDocumentRepository.findById(importDocumentId)
+                .orElseThrow(() -> new ImportDocumentNotFoundException(importDocumentId));
+        if (importDocument.isCompleted()) {
+            throw new GeneralPlatformDomainRuleException("error.msg.import.already.completed",
+                    "Import document with identifier " + importDocumentId + " is already completed", importDocumentId);
+        }
+        if (importDocument.getLocale() == null) {
+            throw new GeneralPlatformDomainRuleException("error.msg.import.not.resumable",
+                    "Import document with identifier " + importDocumentId + " can not be resumed", importDocumentId);
+        }
+        final LocalDateTime now = DateUtils.getLocalDateTimeOfTenant();
+        if (this.importDocumentRepository.lease(importDocumentId, now, this.chunkedProcessor.getLeaseEnd(now)) == 0) {
+            throw new GeneralPlatformDomainRuleException("error.msg.import.in.progress",
+                    "Import document with identifier " + importDocumentId + " is being imported", importDocumentId);
+        }
+        applicationContext.publishEvent(BulkImportEvent.instance(this, importDocumentId, importDocument.getLocale(),
+                importDocument.getDateFormat(), ThreadLocalContextUtil.getContext()));
+        return importDocumentId;
     }
 
     @Override
@@ -21,13 +21,12 @@ package org.apache.fineract.infrastructure.campaigns.sms.service;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
+import com.google.common.collect.Lists;
 import com.google.gson.JsonElement;
 import java.io.IOException;
-import java.io.StringReader;
 import java.io.StringWriter;
+import java.sql.PreparedStatement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -52,6 +51,7 @@ import org.apache.fineract.infrastructure.campaigns.sms.exception.SmsCampaignNot
 import org.apache.fineract.infrastructure.campaigns.sms.serialization.SmsCampaignValidator;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.api.JsonQuery;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
@@ -74,13 +74,16 @@ import org.apache.fineract.infrastructure.sms.scheduler.SmsMessageScheduledJobSe
 import org.apache.fineract.portfolio.calendar.service.CalendarUtils;
 import org.apache.fineract.portfolio.client.domain.Client;
 import org.apache.fineract.portfolio.client.domain.ClientRepositoryWrapper;
+import org.apache.fineract.portfolio.client.exception.ClientNotFoundException;
 import org.apache.fineract.portfolio.group.domain.Group;
 import org.apache.fineract.portfolio.group.domain.GroupRepository;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.exception.InvalidLoanTypeException;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.template.service.TemplateMergeService;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -90,6 +93,11 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWritePlatformService {
 
+    private static final String BATCH_SMS_MESSAGE_INSERT = """
+            INSERT INTO sms_messages_outbound (client_id, campaign_id, status_enum, mobile_no, message, submittedon_date, is_notification)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
     private final PlatformSecurityContext context;
 
     private final SmsCampaignRepository smsCampaignRepository;
@@ -103,6 +111,9 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
     private final FromJsonHelper fromJsonHelper;
 
     private final SmsMessageScheduledJobService smsMessageScheduledJobService;
+    private final TemplateMergeService templateMergeService;
+    private final JdbcTemplate jdbcTemplate;
+    private final FineractProperties fineractProperties;
 
     @Transactional
     @Override
@@ -193,21 +204,10 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
                     queryParamForRunReport);
 
             if (runReportObject != null) {
-                for (HashMap<String, Object> entry : runReportObject) {
-                    String textMessage = compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
-                    Integer clientId = (Integer) entry.get("id");
-                    Object mobileNo = entry.get("mobileNo");
-
-                    Client client = clientRepositoryWrapper.findOneWithNotFoundDetection(clientId.longValue());
-                    if (smsCampaignValidator.isValidNotificationOrSms(client, smsCampaign, mobileNo)) {
-                        String mobileNumber = null;
-                        if (mobileNo != null) {
-                            mobileNumber = mobileNo.toString();
-                        }
-                        SmsMessage smsMessage = SmsMessage.pendingSms(null, null, client, null, textMessage, mobileNumber, smsCampaign,
-                                smsCampaign.isNotification());
-                        smsMessageRepository.save(smsMessage);
-                    }
+                // the clients of a chunk are loaded with one query and its messages are inserted with one batch
+                for (List<HashMap<String, Object>> entries : Lists.partition(runReportObject,
+                        fineractProperties.getQuery().getInClauseParameterSizeLimit())) {
+                    insertPendingMessages(smsCampaign, entries);
                 }
             }
         } catch (final IOException e) {
@@ -216,6 +216,50 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
 
     }
 
+    private void insertPendingMessages(final SmsCampaign smsCampaign, final List<HashMap<String, Object>> entries) {
+        final Set<Long> clientIds = new HashSet<>();
+        for (HashMap<String, Object> entry : entries) {
+            clientIds.add(((Number) entry.get("id")).longValue());
+        }
+        final Map<Long, Client> clients = new HashMap<>();
+        for (Client client : clientRepositoryWrapper.findAll(clientIds)) {
+            clients.put(client.getId(), client);
+        }
+
+        final List<SmsMessage> smsMessages = new ArrayList<>(entries.size());
+        for (HashMap<String, Object> entry : entries) {
+            String textMessage = compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
+            Long clientId = ((Number) entry.get("id")).longValue();
+            Object mobileNo = entry.get("mobileNo");
+
+            Client client = clients.get(clientId);
+            if (client == null) {
+                throw new ClientNotFoundException(clientId);
+            }
+            if (smsCampaignValidator.isValidNotificationOrSms(client, smsCampaign, mobileNo)) {
+                String mobileNumber = null;
+                if (mobileNo != null) {
+                    mobileNumber = mobileNo.toString();
+                }
+                smsMessages.add(SmsMessage.pendingSms(null, null, client, null, textMessage, mobileNumber, smsCampaign,
+                        smsCampaign.isNotification()));
+            }
+        }
+
+        if (smsMessages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(BATCH_SMS_MESSAGE_INSERT, smsMessages, smsMessages.size(), (PreparedStatement ps, SmsMessage message) -> {
+            ps.setLong(1, message.getClient().getId());
+            ps.setLong(2, message.getSmsCampaign().getId());
+            ps.setInt(3, message.getStatusType());
+            ps.setString(4, message.getMobileNo());
+            ps.setString(5, message.getMessage());
+            ps.setObject(6, message.getSubmittedOnDate());
+            ps.setBoolean(7, message.isNotification());
+        });
+    }
+
     @Override
     public void insertDirectCampaignIntoSmsOutboundTable(final Loan loan, final SmsCampaign smsCampaign) {
         try {
@@ -242,36 +286,27 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
                 clientSet.add(client);
             }
 
+            Map<Long, List<HashMap<String, Object>>> runReportObjectsByClientId = null;
+            if (clientSet.size() > 1) {
+                // the report runs once for all group members, the triggered reports treat a clientId of -1 as any client
+                queryParamForRunReport.put("clientId", "-1");
+                runReportObjectsByClientId = groupByClientId(
+                        this.getRunReportByServiceImpl(campaignParams.get("reportName"), queryParamForRunReport));
+            }
+
+            final List<SmsMessage> smsMessages = new ArrayList<>();
             for (Client client : clientSet) {
-                campaignParams.put("clientId", client.getId().toString());
-                queryParamForRunReport.put("clientId", client.getId().toString());
-
-                List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
-                        queryParamForRunReport);
-
-                if (runReportObject != null && runReportObject.size() > 0) {
-                    for (HashMap<String, Object> entry : runReportObject) {
-                        String textMessage = this.compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
-                        Object mobileNo = entry.get("mobileNo");
-
-                        if (this.smsCampaignValidator.isValidNotificationOrSms(client, smsCampaign, mobileNo)) {
-                            String mobileNumber = null;
-                            if (mobileNo != null) {
-                                mobileNumber = mobileNo.toString();
-                            }
-                            SmsMessage smsMessage = SmsMessage.pendingSms(null, null, client, null, textMessage, mobileNumber, smsCampaign,
-                                    smsCampaign.isNotification());
-                            smsMessage.setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue());
-                            this.smsMessageRepository.save(smsMessage);
-                            Collection<SmsMessage> messages = new ArrayList<>();
-                            messages.add(smsMessage);
-                            Map<SmsCampaign, Collection<SmsMessage>> smsDataMap = new HashMap<>();
-                            smsDataMap.put(smsCampaign, messages);
-                            this.smsMessageScheduledJobService.sendTriggeredMessages(smsDataMap);
-                        }
-                    }
+                List<HashMap<String, Object>> runReportObject;
+                if (runReportObjectsByClientId != null) {
+                    runReportObject = runReportObjectsByClientId.getOrDefault(client.getId(), List.of());
+                } else {
+                    campaignParams.put("clientId", client.getId().toString());
+                    queryParamForRunReport.put("clientId", client.getId().toString());
+                    runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"), queryParamForRunReport);
                 }
+                addTriggeredMessages(smsMessages, client, smsCampaign, runReportObject);
             }
+            sendTriggeredMessages(smsCampaign, smsMessages);
         } catch (final IOException | RuntimeException e) {
             log.error("Error occured.", e);
         }
@@ -292,28 +327,9 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
             List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
                     queryParamForRunReport);
 
-            if (runReportObject != null && runReportObject.size() > 0) {
-                for (HashMap<String, Object> entry : runReportObject) {
-                    String textMessage = this.compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
-                    Object mobileNo = entry.get("mobileNo");
-
-                    if (this.smsCampaignValidator.isValidNotificationOrSms(client, smsCampaign, mobileNo)) {
-                        String mobileNumber = null;
-                        if (mobileNo != null) {
-                            mobileNumber = mobileNo.toString();
-                        }
-                        SmsMessage smsMessage = SmsMessage.pendingSms(null, null, client, null, textMessage, mobileNumber, smsCampaign,
-                                smsCampaign.isNotification());
-                        smsMessage.setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue());
-                        this.smsMessageRepository.save(smsMessage);
-                        Collection<SmsMessage> messages = new ArrayList<>();
-                        messages.add(smsMessage);
-                        Map<SmsCampaign, Collection<SmsMessage>> smsDataMap = new HashMap<>();
-                        smsDataMap.put(smsCampaign, messages);
-                        this.smsMessageScheduledJobService.sendTriggeredMessages(smsDataMap);
-                    }
-                }
-            }
+            final List<SmsMessage> smsMessages = new ArrayList<>();
+            addTriggeredMessages(smsMessages, client, smsCampaign, runReportObject);
+            sendTriggeredMessages(smsCampaign, smsMessages);
         } catch (final IOException | RuntimeException e) {
             log.error("Error occured.", e);
         }
@@ -333,33 +349,57 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
             List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
                     queryParamForRunReport);
 
-            if (runReportObject != null && runReportObject.size() > 0) {
-                for (HashMap<String, Object> entry : runReportObject) {
-                    String textMessage = this.compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
-                    Object mobileNo = entry.get("mobileNo");
-
-                    if (this.smsCampaignValidator.isValidNotificationOrSms(client, smsCampaign, mobileNo)) {
-                        String mobileNumber = null;
-                        if (mobileNo != null) {
-                            mobileNumber = mobileNo.toString();
-                        }
-                        SmsMessage smsMessage = SmsMessage.pendingSms(null, null, client, null, textMessage, mobileNumber, smsCampaign,
-                                smsCampaign.isNotification());
-                        smsMessage.setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue());
-                        this.smsMessageRepository.save(smsMessage);
-                        Collection<SmsMessage> messages = new ArrayList<>();
-                        messages.add(smsMessage);
-                        Map<SmsCampaign, Collection<SmsMessage>> smsDataMap = new HashMap<>();
-                        smsDataMap.put(smsCampaign, messages);
-                        this.smsMessageScheduledJobService.sendTriggeredMessages(smsDataMap);
-                    }
-                }
-            }
+            final List<SmsMessage> smsMessages = new ArrayList<>();
+            addTriggeredMessages(smsMessages, client, smsCampaign, runReportObject);
+            sendTriggeredMessages(smsCampaign, smsMessages);
         } catch (final IOException | RuntimeException e) {
             log.error("Error occured.", e);
         }
     }
 
+    private Map<Long, List<HashMap<String, Object>>> groupByClientId(final List<HashMap<String, Object>> runReportObject) {
+        final Map<Long, List<HashMap<String, Object>>> runReportObjectsByClientId = new HashMap<>();
+        for (HashMap<String, Object> entry : runReportObject) {
+            if (entry.get("id") instanceof Number clientId) {
+                runReportObjectsByClientId.computeIfAbsent(clientId.longValue(), id -> new ArrayList<>()).add(entry);
+            }
+        }
+        // reports which need a concrete clientId return nothing for -1 and are run per client instead
+        return runReportObjectsByClientId.isEmpty() ? null : runReportObjectsByClientId;
+    }
+
+    private void addTriggeredMessages(final List<SmsMessage> smsMessages, final Client client, final SmsCampaign smsCampaign,
+            final List<HashMap<String, Object>> runReportObject) {
+        if (runReportObject == null) {
+            return;
+        }
+        for (HashMap<String, Object> entry : runReportObject) {
+            String textMessage = this.compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
+            Object mobileNo = entry.get("mobileNo");
+
+            if (this.smsCampaignValidator.isValidNotificationOrSms(client, smsCampaign, mobileNo)) {
+                String mobileNumber = null;
+                if (mobileNo != null) {
+                    mobileNumber = mobileNo.toString();
+                }
+                SmsMessage smsMessage = SmsMessage.pendingSms(null, null, client, null, textMessage, mobileNumber, smsCampaign,
+                        smsCampaign.isNotification());
+                smsMessage.setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue());
+                smsMessages.add(smsMessage);
+            }
+        }
+    }
+
+    private void sendTriggeredMessages(final SmsCampaign smsCampaign, final List<SmsMessage> smsMessages) {
+        if (smsMessages.isEmpty()) {
+            return;
+        }
+        this.smsMessageRepository.saveAll(smsMessages);
+        Map<SmsCampaign, Collection<SmsMessage>> smsDataMap = new HashMap<>();
+        smsDataMap.put(smsCampaign, smsMessages);
+        this.smsMessageScheduledJobService.sendTriggeredMessages(smsDataMap);
+    }
+
     @Transactional
     @Override
     public CommandProcessingResult activateSmsCampaign(Long campaignId, JsonCommand command) {
@@ -431,8 +471,7 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
 
     @Override
     public String compileSmsTemplate(final String textMessageTemplate, final String campaignName, final Map<String, Object> smsParams) {
-        final MustacheFactory mf = new DefaultMustacheFactory();
-        final Mustache mustache = mf.compile(new StringReader(textMessageTemplate), campaignName);
+        final Mustache mustache = this.templateMergeService.getCompiledMustache(campaignName, textMessageTemplate);
 
         final StringWriter stringWriter = new StringWriter();
         mustache.execute(stringWriter, smsParams);
@@ -30,6 +30,7 @@ import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.dataqueries.service.DatatableSchemaRegistry;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,16 +52,18 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
     private final CodeValueRepository codeValueRepository;
     private final CodeRepository codeRepository;
     private final CodeValueCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    private final DatatableSchemaRegistry datatableSchemaRegistry;
 
     @Autowired
     public CodeValueWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context, final CodeRepository codeRepository,
             final CodeValueRepositoryWrapper codeValueRepositoryWrapper, final CodeValueRepository codeValueRepository,
-            final CodeValueCommandFromApiJsonDeserializer fromApiJsonDeserializer) {
+            final CodeValueCommandFromApiJsonDeserializer fromApiJsonDeserializer, final DatatableSchemaRegistry datatableSchemaRegistry) {
         this.context = context;
         this.codeRepository = codeRepository;
         this.codeValueRepositoryWrapper = codeValueRepositoryWrapper;
         this.codeValueRepository = codeValueRepository;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
+        this.datatableSchemaRegistry = datatableSchemaRegistry;
     }
 
     @Transactional
@@ -77,6 +80,7 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
             final Code code = this.codeRepository.findById(codeId).orElseThrow(() -> new CodeNotFoundException(codeId));
             final CodeValue codeValue = CodeValue.fromJson(code, command);
             this.codeValueRepository.saveAndFlush(codeValue);
+            this.datatableSchemaRegistry.invalidate();
 
             return new CommandProcessingResultBuilder() //
                     .withCommandId(command.commandId()) //
@@ -123,6 +127,7 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
 
             if (!changes.isEmpty()) {
                 this.codeValueRepository.saveAndFlush(codeValue);
+                this.datatableSchemaRegistry.invalidate();
             }
 
             return new CommandProcessingResultBuilder() //
@@ -155,6 +160,7 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
             final boolean removed = code.remove(codeValueToDelete);
             if (removed) {
                 this.codeRepository.saveAndFlush(code);
+                this.datatableSchemaRegistry.invalidate();
             }
 
             return new CommandProcessingResultBuilder() //
@@ -30,6 +30,7 @@ import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.dataqueries.service.DatatableSchemaRegistry;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,13 +49,15 @@ public class CodeWritePlatformServiceJpaRepositoryImpl implements CodeWritePlatf
     private final PlatformSecurityContext context;
     private final CodeRepository codeRepository;
     private final CodeCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    private final DatatableSchemaRegistry datatableSchemaRegistry;
 
     @Autowired
     public CodeWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context, final CodeRepository codeRepository,
-            final CodeCommandFromApiJsonDeserializer fromApiJsonDeserializer) {
+            final CodeCommandFromApiJsonDeserializer fromApiJsonDeserializer, final DatatableSchemaRegistry datatableSchemaRegistry) {
         this.context = context;
         this.codeRepository = codeRepository;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
+        this.datatableSchemaRegistry = datatableSchemaRegistry;
     }
 
     @Transactional
@@ -96,6 +99,7 @@ public class CodeWritePlatformServiceJpaRepositoryImpl implements CodeWritePlatf
 
             if (!changes.isEmpty()) {
                 this.codeRepository.saveAndFlush(code);
+                this.datatableSchemaRegistry.invalidate();
             }
 
             return new CommandProcessingResultBuilder() //
@@ -128,6 +132,7 @@ public class CodeWritePlatformServiceJpaRepositoryImpl implements CodeWritePlatf
         try {
             this.codeRepository.delete(code);
             this.codeRepository.flush();
+            this.datatableSchemaRegistry.invalidate();
         } catch (final JpaSystemException | DataIntegrityViolationException dve) {
             throw new PlatformDataIntegrityException("error.msg.cund.unknown.data.integrity.issue",
                     "Unknown data integrity issue with resource: " + dve.getMostSpecificCause(), dve);
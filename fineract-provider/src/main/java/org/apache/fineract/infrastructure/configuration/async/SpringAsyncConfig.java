@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.configuration.async;
 
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHookDeliveryProperties;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,6 +38,28 @@ public class SpringAsyncConfig implements AsyncConfigurer {
         return threadPoolTaskExecutor;
     }
 
+    @Bean(name = "batchApiThreadPoolTaskExecutor")
+    public ThreadPoolTaskExecutor batchApiThreadPoolTaskExecutor(FineractProperties fineractProperties) {
+        int threadCount = Math.max(fineractProperties.getApi().getBatch().getThreadCount(), 1);
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(threadCount);
+        threadPoolTaskExecutor.setMaxPoolSize(threadCount);
+        threadPoolTaskExecutor.setThreadNamePrefix("batchApi");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(name = "hookDeliveryThreadPoolTaskExecutor")
+    public ThreadPoolTaskExecutor hookDeliveryThreadPoolTaskExecutor(FineractProperties fineractProperties) {
+        FineractHookDeliveryProperties properties = fineractProperties.getHooks().getDelivery();
+        int threadCount = Math.max(properties.getThreadCount(), 1);
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(threadCount);
+        threadPoolTaskExecutor.setMaxPoolSize(threadCount);
+        threadPoolTaskExecutor.setQueueCapacity(properties.getQueueCapacity());
+        threadPoolTaskExecutor.setThreadNamePrefix("hookDelivery");
+        return threadPoolTaskExecutor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new CustomAsyncExceptionHandler();
@@ -64,6 +64,18 @@ public class FineractProperties {
 
     private FineractSamplingProperties sampling;
 
+    private FineractStatementProfilerProperties statementProfiler;
+
+    private FineractSearchProperties search;
+
+    private FineractAccountNumberProperties accountNumber;
+
+    private FineractHooksProperties hooks;
+
+    private FineractTenantUpgradeProperties tenantUpgrade;
+
+    private FineractBulkImportProperties bulkImport;
+
     @Getter
     @Setter
     public static class FineractTenantProperties {
@@ -277,6 +289,23 @@ public class FineractProperties {
     public static class FineractJobProperties {
 
         private int stuckRetryThreshold;
+        private FineractLoanDelinquencyClassificationJobProperties loanDelinquencyClassification;
+        private FineractApplyHolidaysToLoansJobProperties applyHolidaysToLoans;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractLoanDelinquencyClassificationJobProperties {
+
+        private int chunkSize;
+        private int threadCount;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractApplyHolidaysToLoansJobProperties {
+
+        private int chunkSize;
     }
 
     @Getter
@@ -306,6 +335,15 @@ public class FineractProperties {
     public static class FineractApiProperties {
 
         private FineractBodyItemSizeLimitProperties bodyItemSizeLimit;
+        private FineractBatchApiProperties batch;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBatchApiProperties {
+
+        private boolean parallelExecutionEnabled;
+        private int threadCount;
     }
 
     @Getter
@@ -334,6 +372,15 @@ public class FineractProperties {
     public static class FineractLoanProperties {
 
         private FineractTransactionProcessorProperties transactionProcessor;
+        private FineractLoanCobFilterProperties cobFilter;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractLoanCobFilterProperties {
+
+        private int upToDateMarkerTtlSeconds;
+        private int upToDateMarkerMaxEntries;
     }
 
     @Getter
@@ -368,4 +415,83 @@ public class FineractProperties {
         private String sampledClasses;
         private int resetPeriodSec;
     }
+
+    @Getter
+    @Setter
+    public static class FineractStatementProfilerProperties {
+
+        private boolean enabled;
+        private int topStatements;
+        private int repeatedStatementThreshold;
+        private int maxProfiles;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSearchProperties {
+
+        private FineractSearchIndexProperties index;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSearchIndexProperties {
+
+        private boolean enabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractAccountNumberProperties {
+
+        private FineractAccountNumberPregenerationProperties pregeneration;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractAccountNumberPregenerationProperties {
+
+        private boolean enabled;
+        private int blockSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHooksProperties {
+
+        private FineractHookDeliveryProperties delivery;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHookDeliveryProperties {
+
+        private int threadCount;
+        private int queueCapacity;
+        private int maxConcurrencyPerHook;
+        private int maxAttempts;
+        private int initialBackoffSec;
+        private int maxBackoffSec;
+        private int leaseSec;
+        private int batchSize;
+        private int maxIdleConnections;
+        private int keepAliveSec;
+        private int connectTimeoutSec;
+        private int readTimeoutSec;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractTenantUpgradeProperties {
+
+        private int threadCount;
+        private boolean upToDateCheckEnabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBulkImportProperties {
+
+        private int leaseSec;
+    }
 }
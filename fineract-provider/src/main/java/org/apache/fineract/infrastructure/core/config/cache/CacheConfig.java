@@ -36,13 +36,14 @@ import org.springframework.context.annotation.Configuration;
 public class CacheConfig {
 
     public static final String CONFIG_BY_NAME_CACHE_NAME = "configByName";
+    public static final String REPORT_DEFINITIONS_CACHE_NAME = "reportDefinitions";
 
     @Bean
     public TransactionBoundCacheManager defaultCacheManager(JCacheCacheManager ehCacheManager) {
         SpecifiedCacheSupportingCacheManager cacheManager = new SpecifiedCacheSupportingCacheManager();
         cacheManager.setNoOpCacheManager(new NoOpCacheManager());
         cacheManager.setDelegateCacheManager(ehCacheManager);
-        cacheManager.setSupportedCaches(CONFIG_BY_NAME_CACHE_NAME);
+        cacheManager.setSupportedCaches(CONFIG_BY_NAME_CACHE_NAME, REPORT_DEFINITIONS_CACHE_NAME);
         return new TransactionBoundCacheManager(cacheManager);
     }
 
@@ -74,6 +75,7 @@ public class CacheConfig {
         cacheManager.createCache("hooks", defaultTemplate);
         cacheManager.createCache("tfConfig", defaultTemplate);
         cacheManager.createCache(CONFIG_BY_NAME_CACHE_NAME, defaultTemplate);
+        cacheManager.createCache(REPORT_DEFINITIONS_CACHE_NAME, defaultTemplate);
 
         javax.cache.configuration.Configuration<Object, Object> accessTokenTemplate = Eh107Configuration.fromEhcacheCacheConfiguration(
                 CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10000))
@@ -81,6 +83,11 @@ public class CacheConfig {
 
         cacheManager.createCache("userTFAccessToken", accessTokenTemplate);
 
+        // hit/miss statistics are exposed as cache metrics
+        for (String cacheName : cacheManager.getCacheNames()) {
+            cacheManager.enableStatistics(cacheName, true);
+        }
+
         return cacheManager;
     }
 }
@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out connections whose statements report their execution time and fetched rows to the
+ * {@link StatementProfiler}. Everything else is passed through to the target DataSource unchanged.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private static final String UNKNOWN_STATEMENT = "<unknown>";
+
+    private final StatementProfiler profiler;
+
+    public ProfilingDataSource(DataSource targetDataSource, StatementProfiler profiler) {
+        super(targetDataSource);
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("equals".equals(method.getName())) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(method.getName())) {
+                return System.identityHashCode(proxy);
+            }
+            Object result = ProfilingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> wrapStatement(Statement.class, result, null);
+                case "prepareStatement" -> wrapStatement(PreparedStatement.class, result, (String) args[0]);
+                case "prepareCall" -> wrapStatement(CallableStatement.class, result, (String) args[0]);
+                default -> result;
+            };
+        }
+
+        private Object wrapStatement(Class<? extends Statement> type, Object statement, String sql) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+                    new StatementHandler((Statement) statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private String batchSql;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("addBatch".equals(name) && args != null && args.length > 0 && batchSql == null) {
+                batchSql = (String) args[0];
+            }
+            if (!name.startsWith("execute")) {
+                Object result = ProfilingDataSource.invoke(target, method, args);
+                return "getResultSet".equals(name) ? wrapResultSet(result, currentSql(args)) : result;
+            }
+            String sql = currentSql(args);
+            long start = System.nanoTime();
+            try {
+                Object result = ProfilingDataSource.invoke(target, method, args);
+                return wrapResultSet(result, sql);
+            } finally {
+                profiler.recordExecution(sql, System.nanoTime() - start);
+            }
+        }
+
+        private String currentSql(Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                return sql;
+            }
+            if (preparedSql != null) {
+                return preparedSql;
+            }
+            return batchSql != null ? batchSql : UNKNOWN_STATEMENT;
+        }
+
+        private Object wrapResultSet(Object result, String sql) {
+            if (!(result instanceof ResultSet resultSet)) {
+                return result;
+            }
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class },
+                    new ResultSetHandler(resultSet, sql));
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final String sql;
+        private long rows;
+
+        private ResultSetHandler(ResultSet target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                flushRows();
+            }
+            Object result = ProfilingDataSource.invoke(target, method, args);
+            if ("next".equals(name) && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if ("next".equals(name)) {
+                flushRows();
+            }
+            return result;
+        }
+
+        private void flushRows() {
+            profiler.recordRows(sql, rows);
+            rows = 0;
+        }
+    }
+}
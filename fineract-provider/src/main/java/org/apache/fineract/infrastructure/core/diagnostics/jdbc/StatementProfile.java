@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.jdbc;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+
+/**
+ * Statements executed in one profiling scope, an API request or a job step. A profile is confined to the thread that
+ * runs the scope while it is open and is only read once it has been closed.
+ */
+@Getter
+public class StatementProfile {
+
+    private final StatementProfileType type;
+    private final String name;
+    private final String correlationId;
+    private final LocalDateTime startedAt;
+    private final long startNanos;
+    private final Map<String, StatementStatistics> statistics = new HashMap<>();
+    private String tenantIdentifier;
+    private long durationNanos;
+    private long statementCount;
+    private long statementNanos;
+    private long rowsFetched;
+
+    public StatementProfile(StatementProfileType type, String name, String correlationId) {
+        this.type = type;
+        this.name = name;
+        this.correlationId = correlationId;
+        this.startedAt = DateUtils.getLocalDateTimeOfSystem();
+        this.startNanos = System.nanoTime();
+    }
+
+    void recordExecution(String normalizedSql, long nanos) {
+        if (tenantIdentifier == null) {
+            FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+            tenantIdentifier = tenant == null ? null : tenant.getTenantIdentifier();
+        }
+        statementCount++;
+        statementNanos += nanos;
+        statistics.computeIfAbsent(normalizedSql, StatementStatistics::new).recordExecution(nanos);
+    }
+
+    void recordRows(String normalizedSql, long rows) {
+        rowsFetched += rows;
+        statistics.computeIfAbsent(normalizedSql, StatementStatistics::new).recordRows(rows);
+    }
+
+    void close() {
+        durationNanos = System.nanoTime() - startNanos;
+    }
+
+    public boolean hasRepeatedStatements(int threshold) {
+        return statistics.values().stream().anyMatch(s -> s.getCount() > threshold);
+    }
+
+    public StatementProfileData toData(int topStatements, int repeatedStatementThreshold) {
+        List<StatementStatisticsData> slowest = statistics.values().stream()
+                .sorted(Comparator.comparingLong(StatementStatistics::getTotalNanos).reversed()).limit(topStatements)
+                .map(StatementStatistics::toData).toList();
+        List<StatementStatisticsData> repeated = statistics.values().stream().filter(s -> s.getCount() > repeatedStatementThreshold)
+                .sorted(Comparator.comparingLong(StatementStatistics::getCount).reversed()).map(StatementStatistics::toData).toList();
+        return new StatementProfileData(type.name(), name, correlationId, tenantIdentifier, startedAt, toMillis(durationNanos),
+                statementCount, toMillis(statementNanos), rowsFetched, slowest, repeated);
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Getter
+    static final class StatementStatistics {
+
+        private final String sql;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long rows;
+
+        StatementStatistics(String sql) {
+            this.sql = sql;
+        }
+
+        void recordExecution(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        void recordRows(long fetched) {
+            rows += fetched;
+        }
+
+        StatementStatisticsData toData() {
+            return new StatementStatisticsData(sql, count, toMillis(totalNanos), toMillis(maxNanos), rows);
+        }
+    }
+}
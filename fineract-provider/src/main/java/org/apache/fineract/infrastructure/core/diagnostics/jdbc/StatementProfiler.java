@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.jdbc;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractStatementProfilerProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the statements executed on the tenant DataSources into the profile of the API request or job step running
+ * on the current thread and keeps the most recent closed profiles in memory.
+ */
+@Component
+@Slf4j
+public class StatementProfiler {
+
+    private static final int MAX_CACHED_NORMALIZED_STATEMENTS = 10_000;
+
+    private final FineractStatementProfilerProperties properties;
+    private final ThreadLocal<Deque<StatementProfile>> openProfiles = new ThreadLocal<>();
+    private final Deque<StatementProfile> recentProfiles = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger recentProfileCount = new AtomicInteger();
+    private final Map<String, String> normalizedStatements = new ConcurrentHashMap<>();
+
+    public StatementProfiler(FineractProperties fineractProperties) {
+        this.properties = fineractProperties.getStatementProfiler();
+    }
+
+    public boolean isEnabled() {
+        return properties != null && properties.isEnabled();
+    }
+
+    public DataSource wrap(DataSource dataSource) {
+        if (!isEnabled()) {
+            return dataSource;
+        }
+        return new ProfilingDataSource(dataSource, this);
+    }
+
+    /**
+     * Opens a profile on the current thread. Scopes may nest, e.g. a partition step executed on the thread of its
+     * manager step, in which case statements are recorded in the innermost profile only.
+     */
+    public void begin(StatementProfileType type, String name, String correlationId) {
+        Deque<StatementProfile> profiles = openProfiles.get();
+        if (profiles == null) {
+            profiles = new ArrayDeque<>();
+            openProfiles.set(profiles);
+        }
+        profiles.push(new StatementProfile(type, name, correlationId));
+    }
+
+    public void end() {
+        Deque<StatementProfile> profiles = openProfiles.get();
+        if (profiles == null) {
+            return;
+        }
+        StatementProfile profile = profiles.pop();
+        if (profiles.isEmpty()) {
+            openProfiles.remove();
+        }
+        profile.close();
+        if (profile.getStatementCount() == 0) {
+            return;
+        }
+        if (profile.hasRepeatedStatements(properties.getRepeatedStatementThreshold())) {
+            log.warn("{} {} executed the same statement more than {} times, correlation id: {}", profile.getType(), profile.getName(),
+                    properties.getRepeatedStatementThreshold(), profile.getCorrelationId());
+        }
+        recentProfiles.addFirst(profile);
+        if (recentProfileCount.incrementAndGet() > properties.getMaxProfiles() && recentProfiles.pollLast() != null) {
+            recentProfileCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the recent profiles of the tenant of the current request, the profiles are kept for all tenants of the
+     * instance.
+     */
+    public List<StatementProfileData> retrieveRecentProfiles(boolean repeatedStatementsOnly) {
+        String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        int threshold = properties.getRepeatedStatementThreshold();
+        return recentProfiles.stream().filter(p -> tenantIdentifier.equals(p.getTenantIdentifier()))
+                .filter(p -> !repeatedStatementsOnly || p.hasRepeatedStatements(threshold))
+                .map(p -> p.toData(properties.getTopStatements(), threshold)).toList();
+    }
+
+    void recordExecution(String sql, long nanos) {
+        StatementProfile profile = currentProfile();
+        if (profile != null) {
+            profile.recordExecution(normalize(sql), nanos);
+        }
+    }
+
+    void recordRows(String sql, long rows) {
+        StatementProfile profile = currentProfile();
+        if (profile != null && rows > 0) {
+            profile.recordRows(normalize(sql), rows);
+        }
+    }
+
+    private StatementProfile currentProfile() {
+        Deque<StatementProfile> profiles = openProfiles.get();
+        return profiles == null ? null : profiles.peek();
+    }
+
+    private String normalize(String sql) {
+        String normalized = normalizedStatements.get(sql);
+        if (normalized == null) {
+            normalized = SqlNormalizer.normalize(sql);
+            if (normalizedStatements.size() >= MAX_CACHED_NORMALIZED_STATEMENTS) {
+                normalizedStatements.clear();
+            }
+            normalizedStatements.put(sql, normalized);
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.jdbc;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.filters.CorrelationHeaderFilter;
+import org.apache.fineract.infrastructure.security.utils.LogParameterEscapeUtil;
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Opens a statement profile for every API request. The profile carries the same correlation id that
+ * {@link CorrelationHeaderFilter} puts into the MDC, which is read from the header as well because the order of the two
+ * filters is not fixed.
+ */
+@Component
+@Conditional(StatementProfilerEnabledCondition.class)
+@RequiredArgsConstructor
+public class StatementProfilingFilter extends OncePerRequestFilter {
+
+    private final StatementProfiler statementProfiler;
+    private final FineractProperties fineractProperties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementProfiler.begin(StatementProfileType.REQUEST, request.getMethod() + " " + request.getRequestURI(),
+                resolveCorrelationId(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statementProfiler.end();
+        }
+    }
+
+    private String resolveCorrelationId(HttpServletRequest request) {
+        String correlationId = MDC.get(CorrelationHeaderFilter.CORRELATION_ID_KEY);
+        FineractProperties.FineractCorrelationProperties correlationProperties = fineractProperties.getCorrelation();
+        if (correlationId == null && correlationProperties.isEnabled()) {
+            String header = request.getHeader(correlationProperties.getHeaderName());
+            if (StringUtils.isNotBlank(header)) {
+                correlationId = LogParameterEscapeUtil.escapeLogMDCParameter(header);
+            }
+        }
+        return correlationId;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.step.AbstractStep;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a statement profile for every execution of a batch step, named after the job and the step. The job execution
+ * id is used as the correlation id so that partitions of the same run can be matched up.
+ */
+@Component
+@Conditional(StatementProfilerEnabledCondition.class)
+@RequiredArgsConstructor
+public class StatementProfilingStepPostProcessor implements BeanPostProcessor {
+
+    private final StatementProfiler statementProfiler;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof AbstractStep step) {
+            step.registerStepExecutionListener(new ProfilingStepExecutionListener());
+        }
+        return bean;
+    }
+
+    private final class ProfilingStepExecutionListener implements StepExecutionListener {
+
+        @Override
+        public void beforeStep(StepExecution stepExecution) {
+            statementProfiler.begin(StatementProfileType.JOB_STEP,
+                    stepExecution.getJobExecution().getJobInstance().getJobName() + "." + stepExecution.getStepName(),
+                    String.valueOf(stepExecution.getJobExecutionId()));
+        }
+
+        @Override
+        public ExitStatus afterStep(StepExecution stepExecution) {
+            statementProfiler.end();
+            return null;
+        }
+    }
+}
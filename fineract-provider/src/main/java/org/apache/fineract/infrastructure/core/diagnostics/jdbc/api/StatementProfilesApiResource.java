@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.jdbc.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.diagnostics.jdbc.StatementProfileData;
+import org.apache.fineract.infrastructure.core.diagnostics.jdbc.StatementProfiler;
+import org.apache.fineract.infrastructure.core.diagnostics.jdbc.StatementProfilerEnabledCondition;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+@Path("/v1/statementprofiles")
+@Consumes({ MediaType.APPLICATION_JSON })
+@Produces({ MediaType.APPLICATION_JSON })
+@Component
+@Conditional(StatementProfilerEnabledCondition.class)
+@Tag(name = "Statement Profiles", description = "Statements executed on the tenant databases by the most recent API requests and job steps of this instance. Only available when fineract.statement-profiler.enabled is set.")
+@RequiredArgsConstructor
+public class StatementProfilesApiResource {
+
+    private static final String RESOURCE_NAME_FOR_PERMISSIONS = "STATEMENT_PROFILE";
+
+    private final PlatformSecurityContext context;
+    private final StatementProfiler statementProfiler;
+    private final DefaultToApiJsonSerializer<StatementProfileData> toApiJsonSerializer;
+
+    @GET
+    @Operation(summary = "Retrieve Statement Profiles", description = "Returns the most recent profiles, newest first, with their slowest statements and the statements executed more often than the configured threshold.\n"
+            + "\n" + "Example Requests:\n" + "\n" + "statementprofiles\n" + "\n" + "statementprofiles?repeatedOnly=true")
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "OK") })
+    public String retrieveAll(
+            @QueryParam("repeatedOnly") @DefaultValue("false") @Parameter(description = "repeatedOnly") final boolean repeatedOnly) {
+
+        this.context.authenticatedUser().validateHasReadPermission(RESOURCE_NAME_FOR_PERMISSIONS);
+
+        return this.toApiJsonSerializer.serialize(this.statementProfiler.retrieveRecentProfiles(repeatedOnly));
+    }
+}
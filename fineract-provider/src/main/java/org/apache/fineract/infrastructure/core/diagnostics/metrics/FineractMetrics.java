@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thin facade over the Micrometer {@link MeterRegistry} that tags every meter with the tenant of the current thread.
+ *
+ * Tags are given as alternating key/value pairs; {@code null} values are reported as {@value #NONE}. Meter names and tag
+ * values must come from a bounded set (entity and action names, job names, business steps...), never from ids.
+ */
+@Component
+@RequiredArgsConstructor
+public class FineractMetrics {
+
+    public static final String TENANT_TAG = "tenant";
+    public static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<List<Object>, AtomicLong> gaugeValues = new ConcurrentHashMap<>();
+
+    public Timer.Sample startTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stopTimer(Timer.Sample sample, String name, String... tags) {
+        sample.stop(meterRegistry.timer(name, tenantTags(tags)));
+    }
+
+    public void recordTime(String name, Duration duration, String... tags) {
+        meterRegistry.timer(name, tenantTags(tags)).record(duration);
+    }
+
+    public void increment(String name, long amount, String... tags) {
+        meterRegistry.counter(name, tenantTags(tags)).increment(amount);
+    }
+
+    public void setGauge(String name, long value, String... tags) {
+        Tags gaugeTags = tenantTags(tags);
+        gaugeValues.computeIfAbsent(Arrays.asList(name, gaugeTags), key -> meterRegistry.gauge(name, gaugeTags, new AtomicLong()))
+                .set(value);
+    }
+
+    private Tags tenantTags(String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Metric tags must be given as key/value pairs");
+        }
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        Tags result = Tags.of(TENANT_TAG, tenant == null ? NONE : tenant.getTenantIdentifier());
+        for (int i = 0; i < tags.length; i += 2) {
+            result = result.and(tags[i], tags[i + 1] == null ? NONE : tags[i + 1]);
+        }
+        return result;
+    }
+}
@@ -19,16 +19,15 @@
 package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core;
 
 import java.time.Duration;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class InMemorySamplingService extends AbstractSamplingService {
 
-    private final Map<String, List<Duration>> timings = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> timings = new ConcurrentHashMap<>();
 
     InMemorySamplingService(int samplingRate) {
         super(samplingRate);
@@ -36,16 +35,15 @@ public class InMemorySamplingService extends AbstractSamplingService {
 
     @Override
     public SamplingData getSamplingData() {
-        return new SamplingData(timings);
+        Map<String, TimingStatistics> statistics = new HashMap<>();
+        timings.forEach((key, histogram) -> statistics.put(key, histogram.getStatistics()));
+        return new SamplingData(statistics);
     }
 
     @Override
     protected void takeSample(String key, Duration duration) {
         try {
-            timings.merge(key, new CopyOnWriteArrayList<>(List.of(duration)), (oldValues, newValue) -> {
-                oldValues.addAll(newValue);
-                return oldValues;
-            });
+            timings.computeIfAbsent(key, k -> new LatencyHistogram()).record(duration);
         } catch (RuntimeException e) {
             log.error("Error while sampling for key [{}]", key, e);
         }
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-memory latency histogram in the spirit of HdrHistogram.
+ *
+ * Durations are counted in log-linear microsecond buckets: values below 128µs exactly, larger ones in 64 buckets per
+ * power of two, so a reported value is never more than 1.6% above the recorded one. Recording is a couple of atomic
+ * updates without locking or allocation, and the memory used does not depend on the number of samples.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKET_COUNT = SUB_BUCKET_COUNT << 1;
+    // durations above 2^41µs (about 25 days) are counted in the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(Duration duration) {
+        long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(duration.toNanos()), 0), MAX_TRACKABLE_VALUE);
+        counts.incrementAndGet(bucketIndex(micros));
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public TimingStatistics getStatistics() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return new TimingStatistics(0, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+        }
+        long max = maxMicros.get();
+        return new TimingStatistics(count, Duration.ofNanos(totalMicros.sum() * 1000 / count), percentile(snapshot, count, max, 50),
+                percentile(snapshot, count, max, 95), percentile(snapshot, count, max, 99), Duration.ofNanos(max * 1000));
+    }
+
+    private static Duration percentile(long[] snapshot, long count, long max, double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(highestValueOf(i), max) * 1000);
+            }
+        }
+        return Duration.ofNanos(max * 1000);
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < LINEAR_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+        return LINEAR_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < LINEAR_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = SUB_BUCKET_BITS + 1 + (index - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKET_COUNT + subBucket) << shift) + (1L << shift) - 1;
+    }
+}
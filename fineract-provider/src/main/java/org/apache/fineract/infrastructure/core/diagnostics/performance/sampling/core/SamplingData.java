@@ -18,17 +18,15 @@
  */
 package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core;
 
-import java.time.Duration;
-import java.util.List;
 import java.util.Map;
 import lombok.Getter;
 
 @Getter
 public class SamplingData {
 
-    private final Map<String, List<Duration>> timings;
+    private final Map<String, TimingStatistics> timings;
 
-    public SamplingData(Map<String, List<Duration>> timings) {
+    public SamplingData(Map<String, TimingStatistics> timings) {
         this.timings = Map.copyOf(timings);
     }
 }
@@ -18,7 +18,10 @@
  */
 package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.support;
 
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -28,12 +31,14 @@ import org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.
 public class SamplingMethodInterceptor implements MethodInterceptor {
 
     private final SamplingService samplingService;
+    private final Map<Method, String> samplingKeys = new ConcurrentHashMap<>();
 
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
         Object aThis = invocation.getThis();
         if (aThis != null) {
-            String samplingKey = invocation.getMethod().getName() + getFormattedArguments(invocation);
+            String samplingKey = samplingKeys.computeIfAbsent(invocation.getMethod(),
+                    method -> method.getName() + getFormattedArguments(method));
             return samplingService.sample(samplingKey, () -> {
                 try {
                     return invocation.proceed();
@@ -46,8 +51,8 @@ public class SamplingMethodInterceptor implements MethodInterceptor {
         }
     }
 
-    private String getFormattedArguments(MethodInvocation invocation) {
-        Class<?>[] parameterTypes = invocation.getMethod().getParameterTypes();
+    private String getFormattedArguments(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
         if (parameterTypes.length == 0) {
             return "";
         } else {
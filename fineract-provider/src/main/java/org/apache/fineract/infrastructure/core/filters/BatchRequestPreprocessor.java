@@ -19,9 +19,22 @@
 package org.apache.fineract.infrastructure.core.filters;
 
 import io.github.resilience4j.core.functions.Either;
+import java.util.List;
 import org.apache.fineract.batch.domain.BatchRequest;
 
 public interface BatchRequestPreprocessor {
 
     Either<RuntimeException, BatchRequest> preprocess(BatchRequest batchRequest);
+
+    /**
+     * Called once with all requests of a batch before the first one is executed, the returned preprocessor is used for
+     * the requests of that batch. Lets a preprocessor do the work for the whole batch at once instead of per request.
+     *
+     * @param batchRequests
+     *            the requests of the batch, relative urls referring to other responses are not resolved yet
+     * @return the preprocessor for the requests of the batch
+     */
+    default BatchRequestPreprocessor forBatch(List<BatchRequest> batchRequests) {
+        return this;
+    }
 }
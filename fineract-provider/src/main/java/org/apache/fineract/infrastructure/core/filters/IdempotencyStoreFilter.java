@@ -33,7 +33,6 @@ import org.apache.commons.lang3.mutable.MutableObject;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.batch.domain.BatchResponse;
 import org.apache.fineract.batch.domain.Header;
-import org.apache.fineract.commands.domain.CommandSourceRepository;
 import org.apache.fineract.commands.service.CommandSourceService;
 import org.apache.fineract.commands.service.SynchronousCommandProcessingService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
@@ -48,7 +47,6 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
 @Component
 public class IdempotencyStoreFilter extends OncePerRequestFilter implements BatchFilter {
 
-    private final CommandSourceRepository commandSourceRepository;
     private final CommandSourceService commandSourceService;
 
     private final FineractProperties fineractProperties;
@@ -70,7 +68,7 @@ public class IdempotencyStoreFilter extends OncePerRequestFilter implements Batc
         boolean isSuccessWithoutStored = isStoreIdempotencyKey(request) && commandId.isPresent() && isAllowedContentTypeResponse(response)
                 && wrapper.getValue() != null;
         if (isSuccessWithoutStored) {
-            storeCommandResult(false, response.getStatus(), Optional.ofNullable(wrapper.getValue())
+            storeCommandResult(response.getStatus(), Optional.ofNullable(wrapper.getValue())
                     .map(ContentCachingResponseWrapper::getContentAsByteArray).map(s -> new String(s, StandardCharsets.UTF_8)).orElse(null),
                     commandId);
         }
@@ -79,16 +77,8 @@ public class IdempotencyStoreFilter extends OncePerRequestFilter implements Batc
         }
     }
 
-    private void storeCommandResult(boolean batch, int response, String body, Optional<Long> commandId) {
-        commandSourceRepository.findById(commandId.get()).ifPresent(commandSource -> {
-            commandSource.setResultStatusCode(response);
-            commandSource.setResult(body);
-            if (batch) {
-                commandSourceService.saveResultNoTransaction(commandSource);
-            } else {
-                commandSourceService.saveResult(commandSource);
-            }
-        });
+    private void storeCommandResult(int response, String body, Optional<Long> commandId) {
+        commandSourceService.saveResponse(commandId.get(), response, body);
     }
 
     private Optional<String> extractIdempotentKeyFromHttpServletRequest(HttpServletRequest request) {
@@ -137,7 +127,7 @@ public class IdempotencyStoreFilter extends OncePerRequestFilter implements Batc
         Optional<Long> commandId = getCommandId(null);
         boolean isSuccessWithoutStored = isStoreIdempotencyKey(null) && commandId.isPresent();
         if (isSuccessWithoutStored) {
-            storeCommandResult(true, result.getStatusCode(), result.getBody(), commandId);
+            storeCommandResult(result.getStatusCode(), result.getBody(), commandId);
         }
         return result;
     }
@@ -18,7 +18,10 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
@@ -55,6 +58,57 @@ public class PaginationHelper {
         return new Page<>(items, totalFilteredRecords);
     }
 
+    /**
+     * Fetches a page using keyset (seek) pagination: the rows are ordered by the id column and the page starts after
+     * the id carried by the cursor, so no offset is scanned. The total is counted only for the first page and then
+     * carried by the cursor.
+     *
+     * @param jt
+     *            the jdbc template
+     * @param sqlFetchRows
+     *            the query, with its filter criteria but without order by and limit
+     * @param conjunction
+     *            {@code " where "} or {@code " and "}, depending on whether the query already has a where clause
+     * @param idColumn
+     *            the unique, indexed id column to seek on (e.g. {@code c.id})
+     * @param args
+     *            the query arguments
+     * @param rowMapper
+     *            the row mapper
+     * @param idExtractor
+     *            extracts the id of a mapped row
+     * @param searchParameters
+     *            the search parameters, having the cursor and the limit
+     */
+    public <E> Page<E> fetchPage(final JdbcTemplate jt, final String sqlFetchRows, final String conjunction, final String idColumn,
+            final Object[] args, final RowMapper<E> rowMapper, final Function<E, Long> idExtractor,
+            final SearchParameters searchParameters) {
+        final PageCursor cursor = searchParameters.getCursor();
+
+        Integer totalFilteredRecords = cursor.getTotalFilteredRecords();
+        if (cursor.isFirstPage()) {
+            totalFilteredRecords = jt.queryForObject(sqlGenerator.countQueryResult(sqlFetchRows), Integer.class, args); // NOSONAR
+        }
+
+        final StringBuilder sqlBuilder = new StringBuilder(sqlFetchRows);
+        final List<Object> params = new ArrayList<>(Arrays.asList(args));
+        if (!cursor.isFirstPage()) {
+            sqlBuilder.append(conjunction).append(idColumn).append(" > ?");
+            params.add(cursor.getLastId());
+        }
+        sqlBuilder.append(" order by ").append(idColumn);
+        if (searchParameters.isLimited()) {
+            sqlBuilder.append(' ').append(sqlGenerator.limit(searchParameters.getLimit()));
+        }
+        final List<E> items = jt.query(sqlBuilder.toString(), rowMapper, params.toArray()); // NOSONAR
+
+        String nextCursor = null;
+        if (searchParameters.isLimited() && items.size() == searchParameters.getLimit()) {
+            nextCursor = PageCursor.of(idExtractor.apply(items.get(items.size() - 1)), totalFilteredRecords).encode();
+        }
+        return new Page<>(items, ObjectUtils.defaultIfNull(totalFilteredRecords, -1), nextCursor);
+    }
+
     public <E> Page<Long> fetchPage(JdbcTemplate jdbcTemplate, String sql, Class<Long> type) {
         final List<Long> items = jdbcTemplate.queryForList(sql, type);
 
@@ -22,10 +22,13 @@ import static org.apache.fineract.infrastructure.core.domain.FineractPlatformTen
 import static org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection.toProtocol;
 
 import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.diagnostics.jdbc.StatementProfiler;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
@@ -48,16 +51,20 @@ public class DataSourcePerTenantServiceFactory {
     private final HikariDataSourceFactory hikariDataSourceFactory;
 
     private final DatabasePasswordEncryptor databasePasswordEncryptor;
+    private final MeterRegistry meterRegistry;
+    private final StatementProfiler statementProfiler;
 
     public DataSourcePerTenantServiceFactory(@Qualifier("hikariTenantDataSource") DataSource tenantDataSource, HikariConfig hikariConfig,
             FineractProperties fineractProperties, ApplicationContext context, HikariDataSourceFactory hikariDataSourceFactory,
-            DatabasePasswordEncryptor databasePasswordEncryptor) {
+            DatabasePasswordEncryptor databasePasswordEncryptor, MeterRegistry meterRegistry, StatementProfiler statementProfiler) {
         this.hikariConfig = hikariConfig;
         this.fineractProperties = fineractProperties;
         this.context = context;
         this.tenantDataSource = tenantDataSource;
         this.hikariDataSourceFactory = hikariDataSourceFactory;
         this.databasePasswordEncryptor = databasePasswordEncryptor;
+        this.meterRegistry = meterRegistry;
+        this.statementProfiler = statementProfiler;
     }
 
     public DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnection) {
@@ -101,6 +108,8 @@ public class DataSourcePerTenantServiceFactory {
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MBean-(JMX)-Monitoring-and-Management
         config.setRegisterMbeans(true);
+        // pool usage per tenant, tagged with the pool name
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MySQL-Configuration
         // These are the properties for each Tenant DB; the same configuration
@@ -108,7 +117,8 @@ public class DataSourcePerTenantServiceFactory {
         // for the all Tenants DB -->
         config.setDataSourceProperties(hikariConfig.getDataSourceProperties());
 
-        return hikariDataSourceFactory.create(config);
+        // no-op unless fineract.statement-profiler.enabled is set
+        return statementProfiler.wrap(hikariDataSourceFactory.create(config));
     }
 
     private int getMaxPoolSize(FineractPlatformTenantConnection tenantConnection) {
@@ -139,6 +139,20 @@ public class DatabaseSpecificSQLGenerator {
         }
     }
 
+    /**
+     * Insert of the rows of a select that skips the rows conflicting with an existing row on the unique column instead
+     * of failing the statement.
+     */
+    public String insertIgnoringConflicts(String table, String columns, String select, String uniqueColumn) {
+        if (databaseTypeResolver.isMySQL()) {
+            return format("INSERT IGNORE INTO %s (%s) %s", table, columns, select);
+        } else if (databaseTypeResolver.isPostgreSQL()) {
+            return format("INSERT INTO %s (%s) %s ON CONFLICT (%s) DO NOTHING", table, columns, select, uniqueColumn);
+        } else {
+            throw new IllegalStateException("Database type is not supported for insert ignore " + databaseTypeResolver.databaseType());
+        }
+    }
+
     public String lastInsertId() {
         if (databaseTypeResolver.isMySQL()) {
             return "LAST_INSERT_ID()";
@@ -149,6 +163,27 @@ public class DatabaseSpecificSQLGenerator {
         }
     }
 
+    public String castDate(String sql) {
+        if (databaseTypeResolver.isMySQL()) {
+            return format("DATE(%s)", sql);
+        } else if (databaseTypeResolver.isPostgreSQL()) {
+            return format("CAST(%s AS DATE)", sql);
+        } else {
+            throw new IllegalStateException("Database type is not supported for casting to date " + databaseTypeResolver.databaseType());
+        }
+    }
+
+    public String castTimestamp(String sql) {
+        if (databaseTypeResolver.isMySQL()) {
+            return format("TIMESTAMP(%s)", sql);
+        } else if (databaseTypeResolver.isPostgreSQL()) {
+            return format("CAST(%s AS TIMESTAMP)", sql);
+        } else {
+            throw new IllegalStateException(
+                    "Database type is not supported for casting to timestamp " + databaseTypeResolver.databaseType());
+        }
+    }
+
     public String castChar(String sql) {
         if (databaseTypeResolver.isMySQL()) {
             return format("CAST(%s AS CHAR)", sql);
@@ -18,12 +18,15 @@
  */
 package org.apache.fineract.infrastructure.core.service.migration;
 
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import javax.sql.DataSource;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseIndependentQueryService;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 
@@ -50,6 +53,16 @@ public class TenantDatabaseStateVerifier {
         return dbQueryService.isTablePresent(dataSource, "schema_version");
     }
 
+    /**
+     * Returns the changesets recorded in the Liquibase changelog table, identified by file, id, author and checksum.
+     */
+    public Set<String> getAppliedChangeSets(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return new HashSet<>(jdbcTemplate.query("SELECT filename, id, author, md5sum FROM DATABASECHANGELOG",
+                (rs, rowNum) -> String.join("::", rs.getString("filename"), rs.getString("id"), rs.getString("author"),
+                        rs.getString("md5sum"))));
+    }
+
     public boolean isLiquibaseDisabled() {
         return !liquibaseProperties.isEnabled();
     }
@@ -21,10 +21,21 @@ package org.apache.fineract.infrastructure.core.service.migration;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import javax.sql.DataSource;
+import liquibase.Scope;
+import liquibase.ThreadLocalScopeManager;
 import liquibase.change.custom.CustomTaskChange;
 import liquibase.exception.LiquibaseException;
 import liquibase.integration.spring.SpringLiquibase;
@@ -33,6 +44,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.boot.FineractProfiles;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.MultiException;
 import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -51,6 +63,7 @@ public class TenantDatabaseUpgradeService implements InitializingBean {
     private static final String INITIAL_SWITCH_CONTEXT = "initial_switch";
     private static final String TENANT_DB_CONTEXT = "tenant_db";
     private static final String CUSTOM_CHANGELOG_CONTEXT = "custom_changelog";
+    private static final AtomicBoolean THREAD_LOCAL_SCOPES = new AtomicBoolean();
 
     private final TenantDetailsService tenantDetailsService;
     @Qualifier("hikariTenantDataSource")
@@ -75,14 +88,27 @@ public class TenantDatabaseUpgradeService implements InitializingBean {
                 return;
             }
         }
+        if (fineractProperties.getTenantUpgrade().getThreadCount() > 1) {
+            useThreadLocalScopes();
+        }
         try {
             upgradeTenantStore();
             upgradeIndividualTenants();
-        } catch (LiquibaseException e) {
+        } catch (LiquibaseException | MultiException e) {
             throw new RuntimeException("Error while migrating the schema", e);
         }
     }
 
+    /**
+     * The default scope manager of Liquibase shares one scope between every thread, the tenants can only be upgraded in
+     * parallel with a scope per thread. The scope manager is global, so it is replaced once, before the first upgrade.
+     */
+    private static void useThreadLocalScopes() {
+        if (THREAD_LOCAL_SCOPES.compareAndSet(false, true)) {
+            Scope.setScopeManager(new ThreadLocalScopeManager());
+        }
+    }
+
     private boolean notLiquibaseOnlyMode() {
         List<String> activeProfiles = Arrays.asList(environment.getActiveProfiles());
         return !activeProfiles.contains(FineractProfiles.LIQUIBASE_ONLY);
@@ -121,17 +147,78 @@ public class TenantDatabaseUpgradeService implements InitializingBean {
 
     }
 
-    private void upgradeIndividualTenants() throws LiquibaseException {
+    /**
+     * Upgrades the first tenant on its own and then the others in parallel, on fineract.tenant-upgrade.thread-count
+     * threads. The changesets applied to the first tenant are what every up to date tenant has, the other tenants which
+     * already have all of them are not handed over to Liquibase at all.
+     *
+     * A failing tenant does not stop the upgrade of the other ones, the failures are thrown once every tenant has been
+     * processed.
+     */
+    private void upgradeIndividualTenants() throws LiquibaseException, MultiException {
         log.info("Upgrading all tenants");
         List<FineractPlatformTenant> tenants = tenantDetailsService.findAllTenants();
         if (isNotEmpty(tenants)) {
-            for (FineractPlatformTenant tenant : tenants) {
-                upgradeIndividualTenant(tenant);
+            List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+            Set<String> upToDateChangeSets = upgradeIsolatedTenant(tenants.get(0), Set.of(), failures);
+            List<FineractPlatformTenant> otherTenants = tenants.subList(1, tenants.size());
+            int threadCount = Math.min(Math.max(fineractProperties.getTenantUpgrade().getThreadCount(), 1), Math.max(otherTenants.size(), 1));
+            if (threadCount == 1) {
+                for (FineractPlatformTenant tenant : otherTenants) {
+                    upgradeIsolatedTenant(tenant, upToDateChangeSets, failures);
+                }
+            } else {
+                upgradeTenantsInParallel(otherTenants, upToDateChangeSets, failures, threadCount);
             }
+            throwFailures(failures);
         }
         log.info("Tenant upgrades have finished");
     }
 
+    private void upgradeTenantsInParallel(List<FineractPlatformTenant> tenants, Set<String> upToDateChangeSets, List<Throwable> failures,
+            int threadCount) {
+        List<Callable<Set<String>>> upgrades = new ArrayList<>();
+        for (FineractPlatformTenant tenant : tenants) {
+            upgrades.add(() -> upgradeIsolatedTenant(tenant, upToDateChangeSets, failures));
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            executorService.invokeAll(upgrades);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while upgrading the tenants", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Set<String> upgradeIsolatedTenant(FineractPlatformTenant tenant, Set<String> upToDateChangeSets, List<Throwable> failures) {
+        try {
+            return upgradeIndividualTenant(tenant, upToDateChangeSets);
+        } catch (Exception e) {
+            log.error("Upgrade for tenant {} has failed", tenant.getTenantIdentifier(), e);
+            failures.add(e);
+            return Set.of();
+        }
+    }
+
+    private void throwFailures(List<Throwable> failures) throws LiquibaseException, MultiException {
+        if (failures.isEmpty()) {
+            return;
+        }
+        if (failures.size() > 1) {
+            throw new MultiException(failures);
+        }
+        Throwable failure = failures.get(0);
+        if (failure instanceof LiquibaseException liquibaseException) {
+            throw liquibaseException;
+        }
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        throw new MultiException(failures);
+    }
+
     /**
      * Upgrade each tenant's database
      *
@@ -139,23 +226,46 @@ public class TenantDatabaseUpgradeService implements InitializingBean {
      * migration (it was introduced as part of v4.21.0)
      *
      * @param tenant
+     * @param upToDateChangeSets
+     *            the changesets of an up to date tenant, empty when not known
+     * @return the changesets applied to the tenant, empty when the up to date check is disabled
      * @throws LiquibaseException
      */
-    private void upgradeIndividualTenant(FineractPlatformTenant tenant) throws LiquibaseException {
+    private Set<String> upgradeIndividualTenant(FineractPlatformTenant tenant, Set<String> upToDateChangeSets) throws LiquibaseException {
         log.info("Upgrade for tenant {} has started", tenant.getTenantIdentifier());
         DataSource tenantDataSource = tenantDataSourceFactory.create(tenant);
-        if (databaseStateVerifier.isFirstLiquibaseMigration(tenantDataSource)) {
-            ExtendedSpringLiquibase liquibase = liquibaseFactory.create(tenantDataSource, TENANT_DB_CONTEXT, INITIAL_SWITCH_CONTEXT,
-                    tenant.getTenantIdentifier());
-            applyInitialLiquibase(tenantDataSource, liquibase, tenant.getTenantIdentifier(),
-                    (ds) -> !databaseStateVerifier.isTenantOnLatestUpgradableVersion(ds));
-        }
-        SpringLiquibase tenantLiquibase = liquibaseFactory.create(tenantDataSource, TENANT_DB_CONTEXT, tenant.getTenantIdentifier());
-        tenantLiquibase.afterPropertiesSet();
-        SpringLiquibase customChangelogLiquibase = liquibaseFactory.create(tenantDataSource, TENANT_DB_CONTEXT, CUSTOM_CHANGELOG_CONTEXT,
-                tenant.getTenantIdentifier());
-        customChangelogLiquibase.afterPropertiesSet();
-        log.info("Upgrade for tenant {} has finished", tenant.getTenantIdentifier());
+        try {
+            boolean upToDateCheckEnabled = fineractProperties.getTenantUpgrade().isUpToDateCheckEnabled();
+            if (databaseStateVerifier.isFirstLiquibaseMigration(tenantDataSource)) {
+                ExtendedSpringLiquibase liquibase = liquibaseFactory.create(tenantDataSource, TENANT_DB_CONTEXT, INITIAL_SWITCH_CONTEXT,
+                        tenant.getTenantIdentifier());
+                applyInitialLiquibase(tenantDataSource, liquibase, tenant.getTenantIdentifier(),
+                        (ds) -> !databaseStateVerifier.isTenantOnLatestUpgradableVersion(ds));
+            } else if (upToDateCheckEnabled && !upToDateChangeSets.isEmpty()
+                    && databaseStateVerifier.getAppliedChangeSets(tenantDataSource).containsAll(upToDateChangeSets)) {
+                log.info("Tenant {} is up to date, skipping the upgrade", tenant.getTenantIdentifier());
+                return upToDateChangeSets;
+            }
+            SpringLiquibase tenantLiquibase = liquibaseFactory.create(tenantDataSource, TENANT_DB_CONTEXT, tenant.getTenantIdentifier());
+            tenantLiquibase.afterPropertiesSet();
+            SpringLiquibase customChangelogLiquibase = liquibaseFactory.create(tenantDataSource, TENANT_DB_CONTEXT,
+                    CUSTOM_CHANGELOG_CONTEXT, tenant.getTenantIdentifier());
+            customChangelogLiquibase.afterPropertiesSet();
+            log.info("Upgrade for tenant {} has finished", tenant.getTenantIdentifier());
+            return upToDateCheckEnabled ? databaseStateVerifier.getAppliedChangeSets(tenantDataSource) : Set.of();
+        } finally {
+            close(tenantDataSource);
+        }
+    }
+
+    private void close(DataSource dataSource) {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                log.warn("Tenant data source could not be closed", e);
+            }
+        }
     }
 
     private void applyInitialLiquibase(DataSource dataSource, ExtendedSpringLiquibase liquibase, String id,
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Per-tenant in-memory registry of datatable column headers, so that datatable reads and writes do not have to query
+ * the database catalog (information_schema) every time.
+ *
+ * Every tenant database holds a schema version in m_datatable_schema_version which is bumped after datatable DDL and
+ * code (value) changes. The cached schemas of a tenant are dropped as soon as a newer version is seen, which keeps the
+ * nodes of a cluster in sync without any messaging.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatatableSchemaRegistry {
+
+    private static final String VERSION_SQL = "SELECT version FROM m_datatable_schema_version WHERE id = 1";
+    private static final String BUMP_VERSION_SQL = "UPDATE m_datatable_schema_version SET version = version + 1 WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final Map<String, TenantSchemas> schemasByTenant = new ConcurrentHashMap<>();
+
+    public List<ResultsetColumnHeaderData> getColumnHeaders(String datatable, Function<String, List<ResultsetColumnHeaderData>> loader) {
+        // the version has to be read before loading, a concurrent change is then picked up by the next call
+        Map<String, List<ResultsetColumnHeaderData>> columnHeaders = currentSchemas().columnHeaders;
+        List<ResultsetColumnHeaderData> cached = columnHeaders.get(datatable);
+        if (cached == null) {
+            cached = List.copyOf(loader.apply(datatable));
+            columnHeaders.putIfAbsent(datatable, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Marks the datatable schemas of the current tenant as changed. The version is bumped once the current transaction
+     * has completed, in its own transaction: MySQL commits DDL implicitly, so a failing command may still have changed
+     * the schema.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    bumpVersion();
+                }
+            });
+        } else {
+            bumpVersion();
+        }
+    }
+
+    private void bumpVersion() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(BUMP_VERSION_SQL));
+        schemasByTenant.remove(getTenantIdentifier());
+    }
+
+    private TenantSchemas currentSchemas() {
+        long version = jdbcTemplate.queryForObject(VERSION_SQL, Long.class);
+        return schemasByTenant.compute(getTenantIdentifier(),
+                (tenant, schemas) -> schemas == null || schemas.version < version ? new TenantSchemas(version) : schemas);
+    }
+
+    private String getTenantIdentifier() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+
+    private static final class TenantSchemas {
+
+        private final long version;
+        private final Map<String, List<ResultsetColumnHeaderData>> columnHeaders = new ConcurrentHashMap<>();
+
+        private TenantSchemas(long version) {
+            this.version = version;
+        }
+    }
+}
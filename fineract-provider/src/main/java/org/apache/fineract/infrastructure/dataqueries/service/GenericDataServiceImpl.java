@@ -51,11 +51,17 @@ public class GenericDataServiceImpl implements GenericDataService {
     private final RoutingDataSource dataSource;
     private final DatabaseIndependentQueryService databaseIndependentQueryService;
     private final DatatableKeywordGenerator datatableKeywordGenerator;
+    private final DatatableSchemaRegistry datatableSchemaRegistry;
 
     @Override
     public GenericResultsetData fillGenericResultSet(final String sql) {
+        return fillGenericResultSet(sql, new Object[0]);
+    }
+
+    @Override
+    public GenericResultsetData fillGenericResultSet(final String sql, final Object... args) {
         try {
-            final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql); // NOSONAR
+            final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql, args); // NOSONAR
 
             final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>();
             final List<ResultsetRowData> resultsetDataRows = new ArrayList<>();
@@ -206,6 +212,10 @@ public class GenericDataServiceImpl implements GenericDataService {
 
     @Override
     public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String datatable) {
+        return datatableSchemaRegistry.getColumnHeaders(datatable, this::loadResultsetColumnHeaders);
+    }
+
+    private List<ResultsetColumnHeaderData> loadResultsetColumnHeaders(final String datatable) {
         final SqlRowSet columnDefinitions = getDatatableMetaData(datatable);
         final List<IndexDetail> indexDefinitions = getDatatableIndexData(datatable);
 
@@ -284,9 +294,6 @@ public class GenericDataServiceImpl implements GenericDataService {
         }
     }
 
-    /*
-     * Candidate for using caching there to get allowed 'column values' from code/codevalue tables
-     */
     private List<ResultsetColumnValueData> retrieveColumnValues(final String codeName) {
 
         final List<ResultsetColumnValueData> columnValues = new ArrayList<>();
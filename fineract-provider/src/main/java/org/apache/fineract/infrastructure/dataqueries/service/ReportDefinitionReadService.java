@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.dataqueries.exception.ReportNotFoundException;
+import org.apache.fineract.infrastructure.security.service.SqlInjectionPreventerService;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.stereotype.Service;
+
+/**
+ * Looks up stored report definitions. Both lookups run on every report execution, so their results are cached per
+ * tenant and evicted whenever a report is created, updated or deleted.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportDefinitionReadService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GenericDataService genericDataService;
+    private final SqlInjectionPreventerService sqlInjectionPreventerService;
+
+    @Cacheable(value = "reportDefinitions", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#type + ':' + #name)")
+    public ReportSqlTemplate retrieveReportSqlTemplate(final String name, final String type) {
+        final String encodedName = sqlInjectionPreventerService.encodeSql(name);
+        final String encodedType = sqlInjectionPreventerService.encodeSql(type);
+
+        final String inputSql = "select " + encodedType + "_sql as the_sql from stretchy_" + encodedType + " where " + encodedType
+                + "_name = ?";
+
+        final String inputSqlWrapped = this.genericDataService.wrapSQL(inputSql);
+
+        // the return statement contains the exact sql required
+        final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(inputSqlWrapped, encodedName);
+
+        if (rs.next() && rs.getString("the_sql") != null) {
+            return ReportSqlTemplate.parse(rs.getString("the_sql"));
+        }
+        throw new ReportNotFoundException(encodedName);
+    }
+
+    @Cacheable(value = "reportDefinitions", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('reportType:' + #reportName + ':' + #isSelfServiceUserReport)")
+    public String retrieveReportType(final String reportName, final boolean isSelfServiceUserReport) {
+        final String sql = "SELECT coalesce(report_type,'') AS report_type FROM stretchy_report WHERE report_name = ? AND self_service_user_report = ?";
+
+        final String sqlWrapped = this.genericDataService.wrapSQL(sql);
+
+        final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sqlWrapped, reportName, isSelfServiceUserReport);
+
+        if (rs.next()) {
+            return rs.getString("report_type");
+        }
+        throw new ReportNotFoundException(reportName);
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.springframework.jdbc.core.SqlParameterValue;
+
+/**
+ * Report SQL parsed once into literal text and {@code ${parameter}} / current date placeholders.
+ *
+ * Binding a template produces SQL text that only depends on the report and on where its parameters appear, while the
+ * values go to the statement as bind variables. Repeated runs of a report therefore reuse the same prepared statement.
+ * A parameter is bound when it stands alone in the SQL or is the whole content of a single quoted literal; anywhere else
+ * (inside a longer literal, part of an identifier, non numeric bare values) the value is substituted into the text as
+ * before.
+ */
+public final class ReportSqlTemplate implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String CURRENT_DATE_PARAMETER = "${currentDate}";
+    private static final String NOW_FUNCTION = "NOW()";
+    private static final String[] CURRENT_DATE_FUNCTIONS = { "curdate()", "CURRENT_DATE" };
+    private static final Pattern INTEGER = Pattern.compile("-?\\d{1,18}");
+    private static final Pattern DECIMAL = Pattern.compile("-?\\d+\\.\\d+");
+
+    private final String sql;
+    private final List<Segment> segments;
+
+    private ReportSqlTemplate(final String sql, final List<Segment> segments) {
+        this.sql = sql;
+        this.segments = segments;
+    }
+
+    public static ReportSqlTemplate parse(final String sql) {
+        final List<Segment> segments = new ArrayList<>();
+        final StringBuilder text = new StringBuilder();
+        char quote = 0;
+        int i = 0;
+        while (i < sql.length()) {
+            final char c = sql.charAt(i);
+            if (quote == 0 && (c == '\'' || c == '"' || c == '`')) {
+                quote = c;
+            } else if (quote != 0 && c == quote) {
+                quote = 0;
+            } else if (c == '$' && sql.startsWith("${", i) && sql.indexOf('}', i) > 0) {
+                final int end = sql.indexOf('}', i) + 1;
+                final String name = sql.substring(i, end);
+                if (quote == '\'' && isWholeLiteral(sql, i, end)) {
+                    text.setLength(text.length() - 1);
+                    addText(segments, text);
+                    segments.add(new Segment(SegmentType.QUOTED_PARAMETER, name));
+                    quote = 0;
+                    i = end + 1;
+                } else {
+                    addText(segments, text);
+                    final boolean standalone = quote == 0 && !isIdentifierPart(sql, i - 1) && !isIdentifierPart(sql, end);
+                    segments.add(new Segment(standalone ? SegmentType.PARAMETER : SegmentType.EMBEDDED_PARAMETER, name));
+                    i = end;
+                }
+                continue;
+            } else if (quote == 0 && isIdentifierPart(sql, i - 1)) {
+                text.append(c);
+                i++;
+                continue;
+            } else if (quote == 0 && sql.regionMatches(true, i, NOW_FUNCTION, 0, NOW_FUNCTION.length())) {
+                addText(segments, text);
+                segments.add(new Segment(SegmentType.NOW, NOW_FUNCTION));
+                i += NOW_FUNCTION.length();
+                continue;
+            } else if (quote == 0) {
+                final String function = currentDateFunctionAt(sql, i);
+                if (function != null) {
+                    addText(segments, text);
+                    segments.add(new Segment(SegmentType.CURRENT_DATE, function));
+                    i += function.length();
+                    continue;
+                }
+            }
+            text.append(c);
+            i++;
+        }
+        addText(segments, text);
+        return new ReportSqlTemplate(sql, Collections.unmodifiableList(segments));
+    }
+
+    /**
+     * The report SQL as stored, without any substitution.
+     */
+    public String getSql() {
+        return this.sql;
+    }
+
+    /**
+     * Binds the parameter values, keyed by their {@code ${name}} placeholder.
+     *
+     * @param stringSqlType
+     *            JDBC type used for values bound in place of quoted literals, an untyped one lets the database coerce
+     *            them the way it coerces literals
+     */
+    public BoundSql bind(final Map<String, String> parameters, final DatabaseSpecificSQLGenerator sqlGenerator, final int stringSqlType) {
+        final StringBuilder boundSql = new StringBuilder(this.sql.length());
+        final List<Object> arguments = new ArrayList<>();
+        for (Segment segment : this.segments) {
+            final String value = parameters.get(segment.text);
+            switch (segment.type) {
+                case TEXT:
+                    boundSql.append(segment.text);
+                break;
+                case QUOTED_PARAMETER:
+                    if (value == null && CURRENT_DATE_PARAMETER.equals(segment.text)) {
+                        boundSql.append('\'').append(sqlGenerator.currentBusinessDate()).append('\'');
+                    } else if (value == null) {
+                        boundSql.append('\'').append(segment.text).append('\'');
+                    } else {
+                        boundSql.append('?');
+                        arguments.add(new SqlParameterValue(stringSqlType, value));
+                    }
+                break;
+                case PARAMETER:
+                    if (value == null && CURRENT_DATE_PARAMETER.equals(segment.text)) {
+                        bindCurrentDate(boundSql, arguments, sqlGenerator);
+                    } else if (value != null && INTEGER.matcher(value).matches()) {
+                        boundSql.append('?');
+                        arguments.add(new SqlParameterValue(Types.BIGINT, Long.valueOf(value)));
+                    } else if (value != null && DECIMAL.matcher(value).matches()) {
+                        boundSql.append('?');
+                        arguments.add(new SqlParameterValue(Types.DECIMAL, new BigDecimal(value)));
+                    } else {
+                        boundSql.append(substitute(segment.text, value, sqlGenerator));
+                    }
+                break;
+                case EMBEDDED_PARAMETER:
+                    boundSql.append(substitute(segment.text, value, sqlGenerator));
+                break;
+                case CURRENT_DATE:
+                    bindCurrentDate(boundSql, arguments, sqlGenerator);
+                break;
+                case NOW:
+                    boundSql.append(sqlGenerator.castTimestamp("?"));
+                    arguments.add(new SqlParameterValue(Types.VARCHAR,
+                            DateUtils.getLocalDateTimeOfSystem().format(DateUtils.DEFAULT_DATETIME_FORMATTER)));
+                break;
+            }
+        }
+        return new BoundSql(boundSql.toString(), arguments.toArray());
+    }
+
+    private static void bindCurrentDate(final StringBuilder boundSql, final List<Object> arguments,
+            final DatabaseSpecificSQLGenerator sqlGenerator) {
+        boundSql.append(sqlGenerator.castDate("?"));
+        arguments.add(new SqlParameterValue(Types.VARCHAR, DateUtils.getBusinessLocalDate().format(DateUtils.DEFAULT_DATE_FORMATTER)));
+    }
+
+    private static String substitute(final String placeholder, final String value, final DatabaseSpecificSQLGenerator sqlGenerator) {
+        if (value != null) {
+            return value;
+        }
+        return CURRENT_DATE_PARAMETER.equals(placeholder) ? sqlGenerator.currentBusinessDate() : placeholder;
+    }
+
+    private static boolean isWholeLiteral(final String sql, final int start, final int end) {
+        return start >= 1 && sql.charAt(start - 1) == '\'' && (start < 2 || sql.charAt(start - 2) != '\'') && end < sql.length()
+                && sql.charAt(end) == '\'' && (end + 1 >= sql.length() || sql.charAt(end + 1) != '\'');
+    }
+
+    private static boolean isIdentifierPart(final String sql, final int index) {
+        if (index < 0 || index >= sql.length()) {
+            return false;
+        }
+        final char c = sql.charAt(index);
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '$';
+    }
+
+    private static String currentDateFunctionAt(final String sql, final int index) {
+        for (String function : CURRENT_DATE_FUNCTIONS) {
+            if (sql.regionMatches(true, index, function, 0, function.length()) && !isIdentifierPart(sql, index + function.length())) {
+                return function;
+            }
+        }
+        return null;
+    }
+
+    private static void addText(final List<Segment> segments, final StringBuilder text) {
+        if (text.length() > 0) {
+            segments.add(new Segment(SegmentType.TEXT, text.toString()));
+            text.setLength(0);
+        }
+    }
+
+    private enum SegmentType {
+        TEXT, PARAMETER, QUOTED_PARAMETER, EMBEDDED_PARAMETER, CURRENT_DATE, NOW
+    }
+
+    private static final class Segment implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SegmentType type;
+        private final String text;
+
+        Segment(final SegmentType type, final String text) {
+            this.type = type;
+            this.text = text;
+        }
+    }
+
+    /**
+     * SQL text with {@code ?} markers and the arguments to bind to them, in order.
+     */
+    public static final class BoundSql {
+
+        private final String sql;
+        private final Object[] arguments;
+
+        BoundSql(final String sql, final Object[] arguments) {
+            this.sql = sql;
+            this.arguments = arguments;
+        }
+
+        public String getSql() {
+            return this.sql;
+        }
+
+        public Object[] getArguments() {
+            return this.arguments;
+        }
+    }
+}
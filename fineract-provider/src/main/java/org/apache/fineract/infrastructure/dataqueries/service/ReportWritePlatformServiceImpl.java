@@ -47,6 +47,7 @@ import org.apache.fineract.useradministration.exception.PermissionNotFoundExcept
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
@@ -80,6 +81,7 @@ public class ReportWritePlatformServiceImpl implements ReportWritePlatformServic
     }
 
     @Transactional
+    @CacheEvict(value = "reportDefinitions", allEntries = true)
     @Override
     public CommandProcessingResult createReport(final JsonCommand command) {
 
@@ -112,6 +114,7 @@ public class ReportWritePlatformServiceImpl implements ReportWritePlatformServic
     }
 
     @Transactional
+    @CacheEvict(value = "reportDefinitions", allEntries = true)
     @Override
     public CommandProcessingResult updateReport(final Long reportId, final JsonCommand command) {
 
@@ -152,6 +155,7 @@ public class ReportWritePlatformServiceImpl implements ReportWritePlatformServic
     }
 
     @Transactional
+    @CacheEvict(value = "reportDefinitions", allEntries = true)
     @Override
     public CommandProcessingResult deleteReport(final Long reportId) {
 
@@ -23,6 +23,7 @@ import static java.util.stream.Collectors.toMap;
 import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
 
 import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.OffsetDateTime;
@@ -34,6 +35,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.avro.MessageV1;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.diagnostics.metrics.FineractMetrics;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
@@ -54,12 +56,17 @@ import org.springframework.stereotype.Component;
 @Component
 public class SendAsynchronousEventsTasklet implements Tasklet {
 
+    public static final String SEND_METRIC = "fineract.external-events.send";
+    public static final String SENT_EVENTS_METRIC = "fineract.external-events.sent";
+    public static final String PENDING_EVENTS_METRIC = "fineract.external-events.pending";
+
     private final FineractProperties fineractProperties;
     private final ExternalEventRepository repository;
     private final ExternalEventProducer eventProducer;
     private final MessageFactory messageFactory;
     private final ByteBufferConverter byteBufferConverter;
     private final ConfigurationDomainService configurationDomainService;
+    private final FineractMetrics fineractMetrics;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
@@ -68,6 +75,7 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
                 List<ExternalEventView> events = getQueuedEventsBatch();
                 log.debug("Queued events size: {}", events.size());
                 sendEvents(events);
+                recordPendingEvents(events.size());
             }
         } catch (Exception e) {
             log.error("Error occurred while processing events: ", e);
@@ -89,8 +97,17 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
     private void sendEvents(List<ExternalEventView> queuedEvents) {
         Map<Long, List<byte[]>> partitions = generatePartitions(queuedEvents);
         List<Long> eventIds = queuedEvents.stream().map(ExternalEventView::getId).toList();
+        Timer.Sample sample = fineractMetrics.startTimer();
         sendEventsToProducer(partitions);
+        fineractMetrics.stopTimer(sample, SEND_METRIC);
         markEventsAsSent(eventIds);
+        fineractMetrics.increment(SENT_EVENTS_METRIC, eventIds.size());
+    }
+
+    private void recordPendingEvents(int sentEvents) {
+        // a partial batch drained the outbox, only count the backlog when there may be one
+        long pendingEvents = sentEvents < getBatchSize() ? 0 : repository.countByStatus(ExternalEventStatus.TO_BE_SENT);
+        fineractMetrics.setGauge(PENDING_EVENTS_METRIC, pendingEvents);
     }
 
     private void sendEventsToProducer(Map<Long, List<byte[]>> partitions) {
@@ -33,6 +33,8 @@ public interface ExternalEventRepository extends JpaRepository<ExternalEvent, Lo
 
     List<ExternalEventView> findByStatusOrderById(ExternalEventStatus status, Pageable batchSize);
 
+    long countByStatus(ExternalEventStatus status);
+
     @Modifying(flushAutomatically = true)
     @Query("delete from ExternalEvent e where e.status = :status and e.businessDate <= :dateForPurgeCriteria")
     void deleteOlderEventsWithSentStatus(ExternalEventStatus status, LocalDate dateForPurgeCriteria);
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.domain;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+
+/**
+ * A hook event waiting to be delivered to one hook. Delivered events are deleted, the ones which could not be delivered
+ * after the maximum number of attempts are kept with {@link HookDeliveryStatus#FAILED} status.
+ */
+@Entity
+@Table(name = "m_hook_delivery")
+@Getter
+@NoArgsConstructor
+public class HookDelivery extends AbstractPersistableCustom {
+
+    private static final int LAST_ERROR_MAX_LENGTH = 500;
+
+    @Column(name = "hook_id", nullable = false)
+    private Long hookId;
+
+    @Column(name = "entity_name", nullable = false)
+    private String entityName;
+
+    @Column(name = "action_name", nullable = false)
+    private String actionName;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private HookDeliveryStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", nullable = true)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    /**
+     * Creates a delivery which is leased to the creating node for the given duration, it is only picked up by the retry
+     * job when the node could not send it in time.
+     */
+    public HookDelivery(Long hookId, String entityName, String actionName, String payload, Duration lease) {
+        this.hookId = hookId;
+        this.entityName = entityName;
+        this.actionName = actionName;
+        this.payload = payload;
+        this.status = HookDeliveryStatus.PENDING;
+        this.attempts = 0;
+        this.createdAt = DateUtils.getOffsetDateTimeOfTenantWithMostPrecision();
+        this.nextAttemptAt = this.createdAt.plus(lease);
+    }
+
+    /**
+     * Records a failed attempt. The next attempt is delayed exponentially, starting from the initial backoff and capped
+     * at the maximum backoff, until the maximum number of attempts is reached.
+     */
+    public void attemptFailed(String error, int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this.attempts++;
+        this.lastError = StringUtils.abbreviate(error, LAST_ERROR_MAX_LENGTH);
+        if (this.attempts >= maxAttempts) {
+            this.status = HookDeliveryStatus.FAILED;
+            return;
+        }
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(this.attempts - 1, 30));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        this.nextAttemptAt = DateUtils.getOffsetDateTimeOfTenantWithMostPrecision().plus(backoff);
+    }
+}
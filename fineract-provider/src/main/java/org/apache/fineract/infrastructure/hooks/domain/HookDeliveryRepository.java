@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.domain;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface HookDeliveryRepository extends JpaRepository<HookDelivery, Long> {
+
+    @Query("select delivery from HookDelivery delivery where delivery.status = org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus.PENDING and delivery.nextAttemptAt <= :now order by delivery.id")
+    List<HookDelivery> findDueDeliveries(@Param("now") OffsetDateTime now, Pageable pageable);
+
+    /**
+     * Leases a due delivery to the calling node, returns 0 when another node got it first.
+     */
+    @Transactional
+    @Modifying
+    @Query("update HookDelivery delivery set delivery.nextAttemptAt = :leasedUntil where delivery.id = :id and delivery.status = org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus.PENDING and delivery.nextAttemptAt <= :now")
+    int lease(@Param("id") Long id, @Param("now") OffsetDateTime now, @Param("leasedUntil") OffsetDateTime leasedUntil);
+}
@@ -26,8 +26,7 @@ import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
-import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
-import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.apache.fineract.infrastructure.hooks.service.HookDeliveryService;
 import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.stereotype.Service;
@@ -37,8 +36,8 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class FineractHookListener implements HookListener {
 
-    private final HookProcessorProvider hookProcessorProvider;
     private final HookReadPlatformService hookReadPlatformService;
+    private final HookDeliveryService hookDeliveryService;
 
     @Override
     public void onApplicationEvent(final HookEvent event) {
@@ -55,15 +54,14 @@ public class FineractHookListener implements HookListener {
         final List<Hook> hooks = hookReadPlatformService.retrieveHooksByEvent(hookEventSource.getEntityName(),
                 hookEventSource.getActionName());
 
-        for (final Hook hook : hooks) {
-            final HookProcessor processor = hookProcessorProvider.getProcessor(hook);
-            try {
-                processor.process(hook, payload, entityName, actionName, fineractContext);
-            } catch (Throwable e) {
-                log.error("Hook {} failed in HookProcessor {} for tenantIdentifier/user {}/{}, entityName: {}, actionName: {}, payload {} ",
-                        hook.getId(), processor.getClass().getSimpleName(), fineractContext.getTenantContext().getTenantIdentifier(),
-                        appUser.getDisplayName(), entityName, actionName, payload, e);
-            }
+        if (hooks.isEmpty()) {
+            return;
+        }
+        try {
+            hookDeliveryService.enqueue(hooks, entityName, actionName, payload);
+        } catch (Exception e) {
+            log.error("Hooks could not be enqueued for tenantIdentifier/user {}/{}, entityName: {}, actionName: {}, payload {} ",
+                    fineractContext.getTenantContext().getTenantIdentifier(), appUser.getDisplayName(), entityName, actionName, payload, e);
         }
     }
 }
@@ -18,21 +18,29 @@
  */
 package org.apache.fineract.infrastructure.hooks.processor;
 
+import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHookDeliveryProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import retrofit2.Call;
-import retrofit2.Callback;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -67,16 +75,27 @@ public final class ProcessorHelper {
     private final boolean insecureHttpClient = Boolean.getBoolean("fineract.insecureHttpClient");
     private final SSLContext insecureSSLContext;
 
-    public ProcessorHelper() throws KeyManagementException, NoSuchAlgorithmException {
+    /**
+     * Shared by all hooks, so that connections (and TLS sessions) to the same host are pooled and reused between
+     * deliveries.
+     */
+    private final OkHttpClient client;
+    private final Map<String, WebHookService> webHookServices = new ConcurrentHashMap<>();
+
+    public ProcessorHelper(final FineractProperties fineractProperties) throws KeyManagementException, NoSuchAlgorithmException {
         if (insecureHttpClient) {
             insecureSSLContext = createInsecureSSLContext();
         } else {
             insecureSSLContext = null;
         }
+        client = createClient(fineractProperties.getHooks().getDelivery());
     }
 
-    private OkHttpClient createClient() {
+    private OkHttpClient createClient(final FineractHookDeliveryProperties properties) {
         var okBuilder = new OkHttpClient.Builder();
+        okBuilder.connectionPool(new ConnectionPool(properties.getMaxIdleConnections(), properties.getKeepAliveSec(), TimeUnit.SECONDS));
+        okBuilder.connectTimeout(Duration.ofSeconds(properties.getConnectTimeoutSec()));
+        okBuilder.readTimeout(Duration.ofSeconds(properties.getReadTimeoutSec()));
         if (insecureHttpClient) {
             configureInsecureClient(okBuilder);
         }
@@ -96,24 +115,24 @@ public final class ProcessorHelper {
         return insecureSSLContext;
     }
 
-    @SuppressWarnings("rawtypes")
-    public Callback createCallback(final String url) {
-        return new Callback() {
-
-            @Override
-            public void onResponse(@SuppressWarnings("unused") Call call, retrofit2.Response response) {
-                LOG.debug("URL: {} - Status: {}", url, response.code());
-            }
-
-            @Override
-            public void onFailure(@SuppressWarnings("unused") Call call, Throwable t) {
-                LOG.error("URL: {} - Retrofit failure occurred", url, t);
-            }
-        };
+    /**
+     * Executes the call on the current thread, so that the hook delivery can be retried when the subscriber could not
+     * be reached or did not answer with a 2xx status.
+     */
+    public <T> Response<T> execute(final Call<T> call, final String url) throws IOException {
+        final Response<T> response = call.execute();
+        LOG.debug("URL: {} - Status: {}", url, response.code());
+        if (!response.isSuccessful()) {
+            throw new IOException("URL: " + url + " - Unexpected status " + response.code());
+        }
+        return response;
     }
 
     public WebHookService createWebHookService(final String url) {
-        final OkHttpClient client = createClient();
+        return webHookServices.computeIfAbsent(url, this::buildWebHookService);
+    }
+
+    private WebHookService buildWebHookService(final String url) {
         final Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
         retrofitBuilder.baseUrl(url);
         retrofitBuilder.client(client);
@@ -121,21 +140,4 @@ public final class ProcessorHelper {
         final Retrofit retrofit = retrofitBuilder.build();
         return retrofit.create(WebHookService.class);
     }
-
-    @SuppressWarnings("rawtypes")
-    public Callback createCallback(final String url, String payload) {
-
-        return new Callback() {
-
-            @Override
-            public void onResponse(@SuppressWarnings("unused") Call call, retrofit2.Response response) {
-                LOG.debug("URL: {} - Status: {}", url, response.code());
-            }
-
-            @Override
-            public void onFailure(@SuppressWarnings("unused") Call call, Throwable t) {
-                LOG.error("URL: {} - Retrofit failure occured", url, t);
-            }
-        };
-    }
 }
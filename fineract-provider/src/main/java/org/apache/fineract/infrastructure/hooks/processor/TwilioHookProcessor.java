@@ -37,7 +37,6 @@ import org.apache.fineract.portfolio.client.domain.Client;
 import org.apache.fineract.portfolio.client.domain.ClientRepositoryWrapper;
 import org.apache.fineract.template.service.TemplateMergeService;
 import org.springframework.stereotype.Service;
-import retrofit2.Callback;
 
 @Service
 @RequiredArgsConstructor
@@ -57,14 +56,11 @@ public class TwilioHookProcessor implements HookProcessor {
         sendRequest(smsProviderData, payload, entityName, actionName, hook, context);
     }
 
-    @SuppressWarnings("unchecked")
     private void sendRequest(final SmsProviderData smsProviderData, final String payload, String entityName, String actionName,
             final Hook hook, final FineractContext context) throws IOException {
 
-        final WebHookService service = processorHelper.createWebHookService(smsProviderData.getUrl());
-
-        @SuppressWarnings("rawtypes")
-        final Callback callback = processorHelper.createCallback(smsProviderData.getUrl());
+        final String url = smsProviderData.getUrl();
+        final WebHookService service = processorHelper.createWebHookService(url);
 
         String apiKey = this.hookConfigurationRepository.findOneByHookIdAndFieldName(hook.getId(), apiKeyName);
         if (apiKey == null) {
@@ -72,7 +68,7 @@ public class TwilioHookProcessor implements HookProcessor {
             smsProviderData.setEndpoint(System.getProperty("baseUrl"));
             smsProviderData.setTenantId(context.getTenantContext().getTenantIdentifier());
             smsProviderData.setMifosToken(context.getAuthTokenContext());
-            apiKey = service.sendSmsBridgeConfigRequest(smsProviderData).execute().body();
+            apiKey = processorHelper.execute(service.sendSmsBridgeConfigRequest(smsProviderData), url).body();
             final HookConfiguration apiKeyEntry = HookConfiguration.createNew(hook, "string", apiKeyName, apiKey);
             this.hookConfigurationRepository.save(apiKeyEntry);
         }
@@ -89,8 +85,9 @@ public class TwilioHookProcessor implements HookProcessor {
             } else {
                 json = JsonParser.parseString(payload).getAsJsonObject();
             }
-            service.sendSmsBridgeRequest(entityName, actionName, context.getTenantContext().getTenantIdentifier(), apiKey, json)
-                    .enqueue(callback);
+            processorHelper.execute(
+                    service.sendSmsBridgeRequest(entityName, actionName, context.getTenantContext().getTenantIdentifier(), apiKey, json),
+                    url);
         }
     }
 
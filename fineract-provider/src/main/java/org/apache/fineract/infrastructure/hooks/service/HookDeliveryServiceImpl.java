@@ -0,0 +1,264 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHookDeliveryProperties;
+import org.apache.fineract.infrastructure.core.diagnostics.metrics.FineractMetrics;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the hook deliveries on a worker pool. At most max-concurrency-per-hook deliveries of the same hook are in
+ * flight on a node, the others wait in memory for their turn, so a slow subscriber cannot occupy every worker. The
+ * deliveries are stored before they are dispatched and are leased to the node which sends them, a delivery lost with a
+ * stopped node is picked up again by the Send Hook Deliveries job once its lease has expired.
+ *
+ * Deliveries stored within a transaction are dispatched after its commit, so the workers can read them. The per hook
+ * bookkeeping is dropped as soon as the hook has no delivery running or waiting, removed hooks do not leave it behind.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HookDeliveryServiceImpl implements HookDeliveryService {
+
+    public static final String HOOK_DELIVERY_METRIC = "fineract.hook.delivery";
+
+    private final HookDeliveryRepository hookDeliveryRepository;
+    private final HookRepository hookRepository;
+    private final HookProcessorProvider hookProcessorProvider;
+    private final FineractProperties fineractProperties;
+    private final FineractMetrics fineractMetrics;
+    @Qualifier("hookDeliveryThreadPoolTaskExecutor")
+    private final ThreadPoolTaskExecutor hookDeliveryExecutor;
+    private final Map<String, HookSlot> hookSlots = new ConcurrentHashMap<>();
+
+    @Override
+    public void enqueue(final List<Hook> hooks, final String entityName, final String actionName, final String payload) {
+        final Duration lease = Duration.ofSeconds(getProperties().getLeaseSec());
+        final List<HookDelivery> deliveries = hooks.stream()
+                .map(hook -> new HookDelivery(hook.getId(), entityName, actionName, payload, lease)).toList();
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final List<HookDelivery> savedDeliveries = hookDeliveryRepository.saveAll(deliveries);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    dispatch(savedDeliveries, context, entityName, actionName);
+                }
+            });
+        } else {
+            dispatch(savedDeliveries, context, entityName, actionName);
+        }
+    }
+
+    private void dispatch(final List<HookDelivery> deliveries, final FineractContext context, final String entityName,
+            final String actionName) {
+        try {
+            for (final HookDelivery delivery : deliveries) {
+                dispatch(delivery, context);
+            }
+        } catch (TaskRejectedException e) {
+            log.warn("Hook delivery workers are busy, the deliveries of {}/{} are left to the Send Hook Deliveries job", entityName,
+                    actionName);
+        }
+    }
+
+    @Override
+    public int dispatchDueDeliveries() {
+        final FineractHookDeliveryProperties properties = getProperties();
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        int dispatched = 0;
+        List<HookDelivery> dueDeliveries;
+        do {
+            final OffsetDateTime now = DateUtils.getOffsetDateTimeOfTenantWithMostPrecision();
+            final OffsetDateTime leasedUntil = now.plusSeconds(properties.getLeaseSec());
+            dueDeliveries = hookDeliveryRepository.findDueDeliveries(now, PageRequest.of(0, properties.getBatchSize()));
+            for (final HookDelivery delivery : dueDeliveries) {
+                // leasing moves the delivery out of the due ones, so every page is a new one
+                if (hookDeliveryRepository.lease(delivery.getId(), now, leasedUntil) == 0) {
+                    continue;
+                }
+                try {
+                    dispatch(delivery, context);
+                } catch (TaskRejectedException e) {
+                    log.warn("Hook delivery workers are busy, {} deliveries were dispatched", dispatched);
+                    return dispatched;
+                }
+                dispatched++;
+            }
+        } while (dueDeliveries.size() == properties.getBatchSize());
+        return dispatched;
+    }
+
+    private void dispatch(final HookDelivery delivery, final FineractContext context) {
+        final FineractHookDeliveryProperties properties = getProperties();
+        final String slotKey = context.getTenantContext().getTenantIdentifier() + ":" + delivery.getHookId();
+        final Long deliveryId = delivery.getId();
+        final Runnable[] task = new Runnable[1];
+        final Admission[] admission = new Admission[1];
+        // admitted under the map's lock, so an idle slot cannot be evicted while a delivery is being added to it
+        final HookSlot slot = hookSlots.compute(slotKey, (key, existing) -> {
+            final HookSlot current = existing != null ? existing
+                    : new HookSlot(key, Math.max(properties.getMaxConcurrencyPerHook(), 1), Math.max(properties.getQueueCapacity(), 1));
+            task[0] = () -> deliver(deliveryId, context, current);
+            admission[0] = current.admit(task[0]);
+            return current;
+        });
+        switch (admission[0]) {
+            case RUNNING -> submit(task[0], slot);
+            // a running delivery may have finished in the meantime
+            case WAITING -> drain(slot);
+            case REJECTED -> log.debug("Too many deliveries are waiting for hook {}, delivery {} is left to the Send Hook Deliveries job",
+                    delivery.getHookId(), deliveryId);
+        }
+    }
+
+    private void submit(final Runnable task, final HookSlot slot) {
+        try {
+            hookDeliveryExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            slot.permits.release();
+            evictIfIdle(slot);
+            throw e;
+        }
+    }
+
+    private void evictIfIdle(final HookSlot slot) {
+        hookSlots.computeIfPresent(slot.key, (key, current) -> current == slot && current.isIdle() ? null : current);
+    }
+
+    private void drain(final HookSlot slot) {
+        while (!slot.waiting.isEmpty() && slot.permits.tryAcquire()) {
+            final Runnable next = slot.waiting.poll();
+            if (next == null) {
+                slot.permits.release();
+            } else {
+                try {
+                    submit(next, slot);
+                } catch (TaskRejectedException e) {
+                    log.warn("Hook delivery workers are busy, a waiting delivery is left to the Send Hook Deliveries job");
+                }
+            }
+        }
+    }
+
+    private void deliver(final Long deliveryId, final FineractContext context, final HookSlot slot) {
+        try {
+            ThreadLocalContextUtil.init(context);
+            deliver(deliveryId, context);
+        } catch (Exception e) {
+            log.error("Hook delivery {} could not be processed", deliveryId, e);
+        } finally {
+            ThreadLocalContextUtil.reset();
+            slot.permits.release();
+            drain(slot);
+            evictIfIdle(slot);
+        }
+    }
+
+    private void deliver(final Long deliveryId, final FineractContext context) {
+        final HookDelivery delivery = hookDeliveryRepository.findById(deliveryId).orElse(null);
+        if (delivery == null || delivery.getStatus() != HookDeliveryStatus.PENDING) {
+            return;
+        }
+        final Hook hook = hookRepository.findById(delivery.getHookId()).orElse(null);
+        final HookProcessor processor = hook == null ? null : hookProcessorProvider.getProcessor(hook);
+        if (processor == null || !Boolean.TRUE.equals(hook.getIsActive())) {
+            hookDeliveryRepository.delete(delivery);
+            return;
+        }
+        final Timer.Sample sample = fineractMetrics.startTimer();
+        try {
+            processor.process(hook, delivery.getPayload(), delivery.getEntityName(), delivery.getActionName(), context);
+            hookDeliveryRepository.delete(delivery);
+            fineractMetrics.stopTimer(sample, HOOK_DELIVERY_METRIC, "outcome", "success");
+        } catch (Exception e) {
+            final FineractHookDeliveryProperties properties = getProperties();
+            delivery.attemptFailed(e.toString(), properties.getMaxAttempts(), Duration.ofSeconds(properties.getInitialBackoffSec()),
+                    Duration.ofSeconds(properties.getMaxBackoffSec()));
+            hookDeliveryRepository.save(delivery);
+            fineractMetrics.stopTimer(sample, HOOK_DELIVERY_METRIC, "outcome", "failure");
+            log.warn("Hook {} failed in HookProcessor {}, attempt {} of delivery {}, entityName: {}, actionName: {}", hook.getId(),
+                    processor.getClass().getSimpleName(), delivery.getAttempts(), deliveryId, delivery.getEntityName(),
+                    delivery.getActionName(), e);
+        }
+    }
+
+    private FineractHookDeliveryProperties getProperties() {
+        return fineractProperties.getHooks().getDelivery();
+    }
+
+    private enum Admission {
+        RUNNING, WAITING, REJECTED
+    }
+
+    private static final class HookSlot {
+
+        private final String key;
+        private final int maxConcurrency;
+        private final Semaphore permits;
+        private final BlockingQueue<Runnable> waiting;
+
+        private HookSlot(String key, int maxConcurrency, int maxWaiting) {
+            this.key = key;
+            this.maxConcurrency = maxConcurrency;
+            this.permits = new Semaphore(maxConcurrency);
+            this.waiting = new LinkedBlockingQueue<>(maxWaiting);
+        }
+
+        private Admission admit(Runnable task) {
+            if (permits.tryAcquire()) {
+                return Admission.RUNNING;
+            }
+            return waiting.offer(task) ? Admission.WAITING : Admission.REJECTED;
+        }
+
+        private boolean isIdle() {
+            return waiting.isEmpty() && permits.availablePermits() == maxConcurrency;
+        }
+    }
+}
@@ -24,22 +24,26 @@ import com.google.common.collect.Lists;
 import io.github.resilience4j.core.functions.Either;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.batch.domain.BatchRequest;
-import org.apache.fineract.cob.data.LoanIdAndLastClosedBusinessDate;
+import org.apache.fineract.cob.data.LoanIdAndLockOwner;
+import org.apache.fineract.cob.domain.LoanAccountLock;
+import org.apache.fineract.cob.domain.LoanAccountLockRepository;
 import org.apache.fineract.cob.service.InlineLoanCOBExecutorServiceImpl;
-import org.apache.fineract.cob.service.LoanAccountLockService;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.data.ApiGlobalErrorResponse;
@@ -68,22 +72,20 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class LoanCOBApiFilter extends OncePerRequestFilter implements BatchRequestPreprocessor {
 
     private final GLIMAccountInfoRepository glimAccountInfoRepository;
-    private final LoanAccountLockService loanAccountLockService;
     private final PlatformSecurityContext context;
     private final InlineLoanCOBExecutorServiceImpl inlineLoanCOBExecutorService;
     private final LoanRepository loanRepository;
     private final FineractProperties fineractProperties;
+    private final LoanCOBUpToDateMarkers upToDateMarkers;
+    private final LoanAccountLockRepository loanAccountLockRepository;
 
     private final LoanRescheduleRequestRepository loanRescheduleRequestRepository;
 
     private static final List<HttpMethod> HTTP_METHODS = List.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE);
 
-    public static final Pattern IGNORE_LOAN_PATH_PATTERN = Pattern.compile("/v[1-9][0-9]*/loans/catch-up");
-    public static final Pattern LOAN_PATH_PATTERN = Pattern.compile("/v[1-9][0-9]*/(?:reschedule)?loans/(?:external-id/)?([^/?]+).*");
-
-    public static final Pattern LOAN_GLIMACCOUNT_PATH_PATTERN = Pattern.compile("/v[1-9][0-9]*/loans/glimAccount/(\\d+).*");
-    private static final Predicate<String> URL_FUNCTION = s -> LOAN_PATH_PATTERN.matcher(s).find()
-            || LOAN_GLIMACCOUNT_PATH_PATTERN.matcher(s).find();
+    public static final Pattern LOAN_ROUTE_PATTERN = Pattern.compile("/v[1-9][0-9]*/(?:loans/glimAccount/(?<glimId>\\d+)"
+            + "|(?<reschedule>reschedule)?loans/(?<external>external-id/)?(?<id>[^/?]+)).*");
+    private static final String CATCH_UP_PATH_SEGMENT = "catch-up";
     private static final String JOB_NAME = "INLINE_LOAN_COB";
 
     private final PlatformTransactionManager transactionManager;
@@ -108,10 +110,49 @@ public class LoanCOBApiFilter extends OncePerRequestFilter implements BatchReque
         }
     }
 
+    /**
+     * The loan a request path refers to, resolved with a single match of {@link #LOAN_ROUTE_PATTERN}.
+     */
+    private static final class LoanRoute {
+
+        private final boolean glim;
+        private final boolean reschedule;
+        private final boolean external;
+        private final String id;
+
+        private LoanRoute(boolean glim, boolean reschedule, boolean external, String id) {
+            this.glim = glim;
+            this.reschedule = reschedule;
+            this.external = external;
+            this.id = id;
+        }
+
+        private static LoanRoute match(String pathInfo, String method) {
+            if (StringUtils.isBlank(pathInfo) || !HTTP_METHODS.contains(HttpMethod.valueOf(method))) {
+                return null;
+            }
+            Matcher matcher = LOAN_ROUTE_PATTERN.matcher(pathInfo);
+            if (!matcher.matches()) {
+                return null;
+            }
+            if (matcher.group("glimId") != null) {
+                return new LoanRoute(true, false, false, matcher.group("glimId"));
+            }
+            boolean reschedule = matcher.group("reschedule") != null;
+            boolean external = matcher.group("external") != null;
+            String id = matcher.group("id");
+            if (!reschedule && !external && CATCH_UP_PATH_SEGMENT.equals(id)) {
+                return null;
+            }
+            return new LoanRoute(false, reschedule, external, id);
+        }
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        if (!isOnApiList(request.getPathInfo(), request.getMethod())) {
+        LoanRoute route = LoanRoute.match(request.getPathInfo(), request.getMethod());
+        if (route == null) {
             proceed(filterChain, request, response);
         } else {
             try {
@@ -120,10 +161,7 @@ public class LoanCOBApiFilter extends OncePerRequestFilter implements BatchReque
                     proceed(filterChain, request, response);
                 } else {
                     try {
-                        List<Long> loanIds = calculateRelevantLoanIds(request.getPathInfo());
-                        if (!loanIds.isEmpty() && isLoanBehind(loanIds)) {
-                            executeInlineCob(loanIds);
-                        }
+                        checkLoans(getLoanIdList(route));
                         proceed(filterChain, request, response);
                     } catch (LoanIdsHardLockedException e) {
                         Reject.reject(e.getLoanIdFromRequest(), HttpStatus.SC_CONFLICT).toServletResponse(response);
@@ -135,31 +173,68 @@ public class LoanCOBApiFilter extends OncePerRequestFilter implements BatchReque
         }
     }
 
-    private boolean isLoanBehind(List<Long> loanIds) {
-        List<LoanIdAndLastClosedBusinessDate> loanIdAndLastClosedBusinessDates = new ArrayList<>();
-        List<List<Long>> partitions = Lists.partition(loanIds, fineractProperties.getQuery().getInClauseParameterSizeLimit());
-        partitions.forEach(partition -> loanIdAndLastClosedBusinessDates.addAll(loanRepository
-                .findAllNonClosedLoansBehindByLoanIds(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE), partition)));
-        return CollectionUtils.isNotEmpty(loanIdAndLastClosedBusinessDates);
+    /**
+     * Rejects the request when one of the loans is locked and runs inline COB when one of them is behind.
+     */
+    private void checkLoans(List<Long> loanIds) {
+        List<Long> lockedLoanIds = findLockedLoansOrCatchUp(loanIds);
+        if (!lockedLoanIds.isEmpty()) {
+            throw new LoanIdsHardLockedException(lockedLoanIds.get(0));
+        }
     }
 
-    private List<Long> calculateRelevantLoanIds(String pathInfo) {
+    /**
+     * Returns the locked loans, or runs inline COB when none is locked and one of them is behind, using one query for all
+     * loans that are not already known to be up to date for the current COB business date. Loans known to be up to date
+     * only skip the check whether they are behind, their locks are still looked up.
+     */
+    private List<Long> findLockedLoansOrCatchUp(List<Long> loanIds) {
+        if (loanIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        LocalDate cobBusinessDate = ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE);
+        List<Long> loanIdsToCheck = upToDateMarkers.filterNotKnownUpToDate(loanIds, cobBusinessDate);
+        List<Long> lockedLoanIds = new ArrayList<>();
+        if (loanIdsToCheck.size() < loanIds.size()) {
+            lockedLoanIds.addAll(findLocked(loanIds.stream().filter(loanId -> !loanIdsToCheck.contains(loanId)).toList()));
+        }
+        if (loanIdsToCheck.isEmpty()) {
+            return lockedLoanIds;
+        }
+        List<LoanIdAndLockOwner> lockedOrBehindLoans = new ArrayList<>();
+        List<List<Long>> partitions = Lists.partition(loanIdsToCheck, fineractProperties.getQuery().getInClauseParameterSizeLimit());
+        partitions.forEach(
+                partition -> lockedOrBehindLoans.addAll(loanRepository.findAllLockedOrBehindByLoanIds(cobBusinessDate, partition)));
+        for (LoanIdAndLockOwner loan : lockedOrBehindLoans) {
+            if (loan.getLockOwner() != null) {
+                lockedLoanIds.add(loan.getId());
+            }
+        }
+        if (!lockedLoanIds.isEmpty()) {
+            return lockedLoanIds;
+        }
+        if (!lockedOrBehindLoans.isEmpty()) {
+            executeInlineCob(loanIdsToCheck);
+        }
+        upToDateMarkers.markUpToDate(loanIdsToCheck, cobBusinessDate);
+        return lockedLoanIds;
+    }
 
-        List<Long> loanIds = getLoanIdList(pathInfo);
-        if (isLoanHardLocked(loanIds)) {
-            throw new LoanIdsHardLockedException(loanIds.get(0));
-        } else {
-            return loanIds;
+    private List<Long> findLocked(List<Long> loanIds) {
+        List<Long> lockedLoanIds = new ArrayList<>();
+        List<List<Long>> partitions = Lists.partition(loanIds, fineractProperties.getQuery().getInClauseParameterSizeLimit());
+        for (List<Long> partition : partitions) {
+            loanAccountLockRepository.findAllByLoanIdIn(partition).stream().map(LoanAccountLock::getLoanId).forEach(lockedLoanIds::add);
         }
+        return lockedLoanIds;
     }
 
-    private List<Long> getLoanIdList(String pathInfo) {
-        boolean isGlim = isGlim(pathInfo);
-        Long loanIdFromRequest = getLoanId(isGlim, pathInfo);
+    private List<Long> getLoanIdList(LoanRoute route) {
+        Long loanIdFromRequest = getLoanId(route);
         if (loanIdFromRequest == null) {
             return Collections.emptyList();
         }
-        if (isGlim) {
+        if (route.glim) {
             return getGlimChildLoanIds(loanIdFromRequest);
         } else {
             return Collections.singletonList(loanIdFromRequest);
@@ -184,72 +259,100 @@ public class LoanCOBApiFilter extends OncePerRequestFilter implements BatchReque
         }
     }
 
-    private boolean isLoanHardLocked(List<Long> loanIds) {
-        return loanIds.stream().anyMatch(loanAccountLockService::isLoanHardLocked);
-    }
-
     private void proceed(FilterChain filterChain, HttpServletRequest request, HttpServletResponse response)
             throws IOException, ServletException {
         filterChain.doFilter(request, response);
     }
 
-    private Long getLoanId(boolean isGlim, String pathInfo) {
-        if (!isGlim) {
-            String id = LOAN_PATH_PATTERN.matcher(pathInfo).replaceAll("$1");
-            if (isExternal(pathInfo)) {
-                String externalId = id;
-                return loanRepository.findIdByExternalId(new ExternalId(externalId));
-            } else if (isRescheduleLoans(pathInfo)) {
-                return loanRescheduleRequestRepository.getLoanIdByRescheduleRequestId(Long.valueOf(id)).orElse(null);
-            } else if (StringUtils.isNumeric(id)) {
-                return Long.valueOf(id);
-            } else {
-                return null;
-            }
+    private Long getLoanId(LoanRoute route) {
+        if (route.glim) {
+            return Long.valueOf(route.id);
+        } else if (route.external) {
+            return loanRepository.findIdByExternalId(new ExternalId(route.id));
+        } else if (route.reschedule) {
+            return loanRescheduleRequestRepository.getLoanIdByRescheduleRequestId(Long.valueOf(route.id)).orElse(null);
+        } else if (StringUtils.isNumeric(route.id)) {
+            return Long.valueOf(route.id);
         } else {
-            return Long.valueOf(LOAN_GLIMACCOUNT_PATH_PATTERN.matcher(pathInfo).replaceAll("$1"));
+            return null;
         }
     }
 
-    private boolean isExternal(String pathInfo) {
-        return LOAN_PATH_PATTERN.matcher(pathInfo).matches() && pathInfo.contains("external-id");
+    @Override
+    public Either<RuntimeException, BatchRequest> preprocess(BatchRequest batchRequest) {
+        return preprocess(batchRequest, Collections.emptySet(), Collections.emptySet());
     }
 
-    private boolean isRescheduleLoans(String pathInfo) {
-        return LOAN_PATH_PATTERN.matcher(pathInfo).matches() && pathInfo.contains("/v1/rescheduleloans/");
+    /**
+     * Checks the loans of all requests of the batch with one combined lock and lag query. The requests then only check
+     * the loans that could not be resolved up front, e.g. the ones referred to through the response of an earlier
+     * request, and fail when they touch a loan that was locked.
+     */
+    @Override
+    public BatchRequestPreprocessor forBatch(List<BatchRequest> batchRequests) {
+        TransactionTemplate tr = new TransactionTemplate(transactionManager);
+        tr.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        try {
+            return tr.execute(status -> {
+                if (isBypassUser()) {
+                    return this;
+                }
+                Set<Long> loanIds = new LinkedHashSet<>();
+                for (BatchRequest batchRequest : batchRequests) {
+                    loanIds.addAll(getResolvableLoanIdList(batchRequest));
+                }
+                if (loanIds.isEmpty()) {
+                    return this;
+                }
+                Set<Long> lockedLoanIds = new HashSet<>(findLockedLoansOrCatchUp(new ArrayList<>(loanIds)));
+                // inline COB did not run when a loan is locked, the other loans are checked by their requests
+                Set<Long> checkedLoanIds = lockedLoanIds.isEmpty() ? loanIds : Collections.emptySet();
+                return batchRequest -> preprocess(batchRequest, checkedLoanIds, lockedLoanIds);
+            });
+        } catch (RuntimeException e) {
+            // e.g. an unauthenticated user, left to the requests to report
+            return this;
+        }
     }
 
-    private boolean isOnApiList(String pathInfo, String method) {
-        if (StringUtils.isBlank(pathInfo)) {
-            return false;
+    private List<Long> getResolvableLoanIdList(BatchRequest batchRequest) {
+        if (batchRequest.getRelativeUrl() == null || batchRequest.getRelativeUrl().contains("$.")) {
+            return Collections.emptyList();
+        }
+        try {
+            LoanRoute route = matchBatchRequest(batchRequest);
+            return route == null ? Collections.emptyList() : getLoanIdList(route);
+        } catch (RuntimeException e) {
+            return Collections.emptyList();
         }
-        return HTTP_METHODS.contains(HttpMethod.valueOf(method)) && !IGNORE_LOAN_PATH_PATTERN.matcher(pathInfo).find()
-                && URL_FUNCTION.test(pathInfo);
     }
 
-    private boolean isGlim(String pathInfo) {
-        return LOAN_GLIMACCOUNT_PATH_PATTERN.matcher(pathInfo).matches();
+    private LoanRoute matchBatchRequest(BatchRequest batchRequest) {
+        String relativeUrl = "/" + batchRequest.getRelativeUrl();
+        if (!isRelativeUrlVersioned(batchRequest.getRelativeUrl())) {
+            // to support pre-versioned relative paths
+            relativeUrl = "/v1/" + batchRequest.getRelativeUrl();
+        }
+        return LoanRoute.match(relativeUrl, batchRequest.getMethod());
     }
 
-    @Override
-    public Either<RuntimeException, BatchRequest> preprocess(BatchRequest batchRequest) {
+    private Either<RuntimeException, BatchRequest> preprocess(BatchRequest batchRequest, Set<Long> checkedLoanIds,
+            Set<Long> lockedLoanIds) {
         TransactionTemplate tr = new TransactionTemplate(transactionManager);
         tr.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
         return tr.execute(status -> {
             try {
-                String method = batchRequest.getMethod();
-                String relativeUrl = "/" + batchRequest.getRelativeUrl();
-                if (!isRelativeUrlVersioned(batchRequest.getRelativeUrl())) {
-                    // to support pre-versioned relative paths
-                    relativeUrl = "/v1/" + batchRequest.getRelativeUrl();
-                }
-                if (isOnApiList(relativeUrl, method)) {
+                LoanRoute route = matchBatchRequest(batchRequest);
+                if (route != null) {
                     boolean bypassUser = isBypassUser();
                     if (!bypassUser) {
-                        List<Long> result = calculateRelevantLoanIds(relativeUrl);
-                        if (!result.isEmpty() && isLoanBehind(result)) {
-                            executeInlineCob(result);
+                        List<Long> loanIds = getLoanIdList(route);
+                        for (Long loanId : loanIds) {
+                            if (lockedLoanIds.contains(loanId)) {
+                                throw new LoanIdsHardLockedException(loanId);
+                            }
                         }
+                        checkLoans(loanIds.stream().filter(loanId -> !checkedLoanIds.contains(loanId)).toList());
                     }
                 }
             } catch (LoanNotFoundException e) {
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.filter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers, per tenant, the loans that were found neither locked nor behind for a COB business date, so that repeated
+ * requests for the same loan skip the check whether the loan is behind and needs inline COB. Locks are still checked on
+ * every request. A marker is only valid for the COB date it was recorded for and only for a short time.
+ */
+@Component
+public class LoanCOBUpToDateMarkers {
+
+    private final Map<String, TenantMarkers> markersByTenant = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    @Autowired
+    public LoanCOBUpToDateMarkers(FineractProperties fineractProperties) {
+        this(Duration.ofSeconds(fineractProperties.getLoan().getCobFilter().getUpToDateMarkerTtlSeconds()),
+                fineractProperties.getLoan().getCobFilter().getUpToDateMarkerMaxEntries());
+    }
+
+    LoanCOBUpToDateMarkers(Duration ttl, int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the loans that are not known to be up to date for the given COB business date.
+     */
+    public List<Long> filterNotKnownUpToDate(List<Long> loanIds, LocalDate cobBusinessDate) {
+        TenantMarkers tenantMarkers = getTenantMarkers(cobBusinessDate);
+        long now = System.currentTimeMillis();
+        List<Long> result = new ArrayList<>(loanIds.size());
+        for (Long loanId : loanIds) {
+            Long expiresAt = tenantMarkers.expiryByLoanId.get(loanId);
+            if (expiresAt == null || expiresAt <= now) {
+                result.add(loanId);
+            }
+        }
+        return result;
+    }
+
+    public void markUpToDate(Collection<Long> loanIds, LocalDate cobBusinessDate) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        TenantMarkers tenantMarkers = getTenantMarkers(cobBusinessDate);
+        if (tenantMarkers.expiryByLoanId.size() + loanIds.size() > maxEntries) {
+            tenantMarkers.expiryByLoanId.clear();
+        }
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        loanIds.forEach(loanId -> tenantMarkers.expiryByLoanId.put(loanId, expiresAt));
+    }
+
+    private TenantMarkers getTenantMarkers(LocalDate cobBusinessDate) {
+        // markers of an earlier COB date are dropped together once the COB date advances
+        return markersByTenant.compute(ThreadLocalContextUtil.getTenant().getTenantIdentifier(),
+                (tenantIdentifier, markers) -> markers != null && markers.cobBusinessDate.equals(cobBusinessDate) ? markers
+                        : new TenantMarkers(cobBusinessDate));
+    }
+
+    private static final class TenantMarkers {
+
+        private final LocalDate cobBusinessDate;
+        private final Map<Long, Long> expiryByLoanId = new ConcurrentHashMap<>();
+
+        private TenantMarkers(LocalDate cobBusinessDate) {
+            this.cobBusinessDate = cobBusinessDate;
+        }
+    }
+}
@@ -18,12 +18,14 @@
  */
 package org.apache.fineract.infrastructure.jobs.service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.HashMap;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.businessdate.service.BusinessDateReadPlatformService;
+import org.apache.fineract.infrastructure.core.diagnostics.metrics.FineractMetrics;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
@@ -49,11 +51,14 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SchedulerJobListener implements JobListener {
 
+    public static final String JOB_EXECUTION_METRIC = "fineract.job.execution";
+
     private final String name = SchedulerServiceConstants.DEFAULT_LISTENER_NAME;
     private final SchedularWritePlatformService schedularService;
     private final AppUserRepositoryWrapper userRepository;
     private final GrantedAuthoritiesMapper authoritiesMapper = new NullAuthoritiesMapper();
     private final BusinessDateReadPlatformService businessDateReadPlatformService;
+    private final FineractMetrics fineractMetrics;
     private int stackTraceLevel = 0;
 
     @Override
@@ -121,6 +126,8 @@ public class SchedulerJobListener implements JobListener {
         // scheduledJobDetails.addRunHistory(runHistory);
 
         this.schedularService.saveOrUpdate(scheduledJobDetails, runHistory);
+        fineractMetrics.recordTime(JOB_EXECUTION_METRIC, Duration.ofMillis(context.getJobRunTime()), "job",
+                scheduledJobDetails.getJobName(), "status", status);
 
     }
 
@@ -43,6 +43,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.commands.domain.CommandWrapper;
@@ -60,6 +61,7 @@ import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer
 import org.apache.fineract.infrastructure.core.service.CommandParameterUtil;
 import org.apache.fineract.infrastructure.core.service.ExternalIdFactory;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageCursor;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.portfolio.accountdetails.data.AccountSummaryCollectionData;
@@ -130,12 +132,14 @@ public class ClientsApiResource {
     @GET
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
-    @Operation(summary = "List Clients", description = "The list capability of clients can support pagination and sorting.\n\n"
+    @Operation(operationId = "retrieveAll", summary = "List Clients", description = "The list capability of clients can support pagination and sorting.\n\n"
             + "Example Requests:\n" + "\n" + "clients\n" + "\n" + "clients?fields=displayName,officeName,timeline\n" + "\n"
-            + "clients?offset=10&limit=50\n" + "\n" + "clients?orderBy=displayName&sortOrder=DESC")
+            + "clients?offset=10&limit=50\n" + "\n" + "clients?orderBy=displayName&sortOrder=DESC\n" + "\n"
+            + "Keyset pagination: clients?limit=50&cursor= (the first page), then clients?limit=50&cursor={nextCursor}"
+            + " (pages are ordered by id, so the cursor cannot be combined with orderBy or sortOrder)")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = ClientsApiResourceSwagger.GetClientsResponse.class))) })
-    public String retrieveAll(@Context final UriInfo uriInfo,
+    public StreamingOutput retrieveAllStreaming(@Context final UriInfo uriInfo,
             @QueryParam("sqlSearch") @Parameter(description = "sqlSearch") final String sqlSearch,
             @QueryParam("officeId") @Parameter(description = "officeId") final Long officeId,
             @QueryParam("externalId") @Parameter(description = "externalId") final String externalId,
@@ -148,10 +152,24 @@ public class ClientsApiResource {
             @QueryParam("limit") @Parameter(description = "limit") final Integer limit,
             @QueryParam("orderBy") @Parameter(description = "orderBy") final String orderBy,
             @QueryParam("sortOrder") @Parameter(description = "sortOrder") final String sortOrder,
-            @QueryParam("orphansOnly") @Parameter(description = "orphansOnly") final Boolean orphansOnly) {
+            @QueryParam("orphansOnly") @Parameter(description = "orphansOnly") final Boolean orphansOnly,
+            @QueryParam("cursor") @Parameter(description = "cursor") final String cursor) {
+
+        return retrieveAllStreaming(uriInfo, sqlSearch, officeId, externalId, displayName, firstname, lastname, status, hierarchy, offset,
+                limit, orderBy, sortOrder, orphansOnly, false, cursor);
+    }
+
+    /**
+     * Same list as {@link #retrieveAllStreaming}, serialized into a String for callers that use the response body in
+     * process.
+     */
+    public String retrieveAll(final UriInfo uriInfo, final String sqlSearch, final Long officeId, final String externalId,
+            final String displayName, final String firstname, final String lastname, final String status, final String hierarchy,
+            final Integer offset, final Integer limit, final String orderBy, final String sortOrder, final Boolean orphansOnly,
+            final String cursor) {
 
         return retrieveAll(uriInfo, sqlSearch, officeId, externalId, displayName, firstname, lastname, status, hierarchy, offset, limit,
-                orderBy, sortOrder, orphansOnly, false);
+                orderBy, sortOrder, orphansOnly, false, cursor);
     }
 
     @GET
@@ -443,15 +461,35 @@ public class ClientsApiResource {
     public String retrieveAll(final UriInfo uriInfo, final String sqlSearch, final Long officeId, final String externalId,
             final String displayName, final String firstname, final String lastname, final String status, final String hierarchy,
             final Integer offset, final Integer limit, final String orderBy, final String sortOrder, final Boolean orphansOnly,
-            final boolean isSelfUser) {
-        context.authenticatedUser().validateHasReadPermission(ClientApiConstants.CLIENT_RESOURCE_NAME);
-        final SearchParameters searchParameters = SearchParameters.forClients(sqlSearch, officeId, externalId, displayName, firstname,
-                lastname, status, hierarchy, offset, limit, orderBy, sortOrder, orphansOnly, isSelfUser);
-        final Page<ClientData> clientData = clientReadPlatformService.retrieveAll(searchParameters);
+            final boolean isSelfUser, final String cursor) {
+        final Page<ClientData> clientData = retrieveClients(sqlSearch, officeId, externalId, displayName, firstname, lastname, status,
+                hierarchy, offset, limit, orderBy, sortOrder, orphansOnly, isSelfUser, cursor);
         final ApiRequestJsonSerializationSettings settings = apiRequestParameterHelper.process(uriInfo.getQueryParameters());
         return toApiJsonSerializer.serialize(settings, clientData, ClientApiConstants.CLIENT_RESPONSE_DATA_PARAMETERS);
     }
 
+    public StreamingOutput retrieveAllStreaming(final UriInfo uriInfo, final String sqlSearch, final Long officeId,
+            final String externalId, final String displayName, final String firstname, final String lastname, final String status,
+            final String hierarchy, final Integer offset, final Integer limit, final String orderBy, final String sortOrder,
+            final Boolean orphansOnly, final boolean isSelfUser, final String cursor) {
+        final Page<ClientData> clientData = retrieveClients(sqlSearch, officeId, externalId, displayName, firstname, lastname, status,
+                hierarchy, offset, limit, orderBy, sortOrder, orphansOnly, isSelfUser, cursor);
+        final ApiRequestJsonSerializationSettings settings = apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return toApiJsonSerializer.serializeStreaming(settings, clientData, ClientApiConstants.CLIENT_RESPONSE_DATA_PARAMETERS);
+    }
+
+    private Page<ClientData> retrieveClients(final String sqlSearch, final Long officeId, final String externalId,
+            final String displayName, final String firstname, final String lastname, final String status, final String hierarchy,
+            final Integer offset, final Integer limit, final String orderBy, final String sortOrder, final Boolean orphansOnly,
+            final boolean isSelfUser, final String cursor) {
+        context.authenticatedUser().validateHasReadPermission(ClientApiConstants.CLIENT_RESOURCE_NAME);
+        final SearchParameters searchParameters = SearchParameters
+                .forClients(sqlSearch, officeId, externalId, displayName, firstname, lastname, status, hierarchy, offset, limit, orderBy,
+                        sortOrder, orphansOnly, isSelfUser)
+                .withCursor(PageCursor.decode(cursor));
+        return clientReadPlatformService.retrieveAll(searchParameters);
+    }
+
     private ClientData retrieveClientData(final Long clientId, final boolean staffInSelectedOfficeOnly, final boolean isTemplate) {
         ClientData clientData = clientReadPlatformService.retrieveOne(clientId);
         if (isTemplate) {
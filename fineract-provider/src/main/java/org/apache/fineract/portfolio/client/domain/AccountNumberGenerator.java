@@ -40,6 +40,10 @@ import org.springframework.stereotype.Component;
 /**
  * Example {@link AccountNumberGenerator} for clients that takes an entities auto generated database id and zero fills
  * it ensuring the identifier is always of a given <code>maxLength</code>.
+ *
+ * When account number pre-generation is enabled, client, loan and savings account numbers are built from the
+ * {@link AccountNumberSequence} instead, so they can be generated before the entity is inserted. They keep coming from
+ * the sequence after pre-generation is switched off again, once the sequence has issued numbers.
  */
 @Component
 @AllArgsConstructor
@@ -59,35 +63,40 @@ public class AccountNumberGenerator {
     private final ClientRepository clientRepository;
     private final LoanRepository loanRepository;
     private final SavingsAccountRepository savingsAccountRepository;
+    private final AccountNumberSequence accountNumberSequence;
+
+    /**
+     * @return true when client, loan and savings account numbers can be generated before the entity is saved
+     */
+    public boolean isPregenerationEnabled() {
+        return this.accountNumberSequence.isEnabled();
+    }
 
     public String generate(Client client, AccountNumberFormat accountNumberFormat) {
         Map<String, String> propertyMap = new HashMap<>();
-        propertyMap.put(ID, client.getId().toString());
         propertyMap.put(OFFICE_NAME, client.getOffice().getName());
         propertyMap.put(ENTITY_TYPE, "client");
         CodeValue clientType = client.clientType();
         if (clientType != null) {
             propertyMap.put(CLIENT_TYPE, clientType.getLabel());
         }
-        return generateAccountNumber(propertyMap, accountNumberFormat);
+        return generateAccountNumber(propertyMap, client.getId(), accountNumberFormat);
     }
 
     public String generate(Loan loan, AccountNumberFormat accountNumberFormat) {
         Map<String, String> propertyMap = new HashMap<>();
-        propertyMap.put(ID, loan.getId().toString());
         propertyMap.put(OFFICE_NAME, loan.getOffice().getName());
         propertyMap.put(LOAN_PRODUCT_SHORT_NAME, loan.loanProduct().getShortName());
         propertyMap.put(ENTITY_TYPE, "loan");
-        return generateAccountNumber(propertyMap, accountNumberFormat);
+        return generateAccountNumber(propertyMap, loan.getId(), accountNumberFormat);
     }
 
     public String generate(SavingsAccount savingsAccount, AccountNumberFormat accountNumberFormat) {
         Map<String, String> propertyMap = new HashMap<>();
-        propertyMap.put(ID, savingsAccount.getId().toString());
         propertyMap.put(OFFICE_NAME, savingsAccount.office().getName());
         propertyMap.put(SAVINGS_PRODUCT_SHORT_NAME, savingsAccount.savingsProduct().getShortName());
         propertyMap.put(ENTITY_TYPE, "savingsAccount");
-        return generateAccountNumber(propertyMap, accountNumberFormat);
+        return generateAccountNumber(propertyMap, savingsAccount.getId(), accountNumberFormat);
     }
 
     public String generate(ShareAccount shareaccount, AccountNumberFormat accountNumberFormat) {
@@ -97,6 +106,23 @@ public class AccountNumberGenerator {
         return generateAccountNumber(propertyMap, accountNumberFormat);
     }
 
+    /**
+     * Generates from the database id, or from the {@link AccountNumberSequence} when it is issuing numbers, in which case
+     * the entity does not need to be saved first and its id may still be null.
+     */
+    private String generateAccountNumber(Map<String, String> propertyMap, Long id, AccountNumberFormat accountNumberFormat) {
+        if (!this.accountNumberSequence.isIssuing(propertyMap.get(ENTITY_TYPE))) {
+            propertyMap.put(ID, id.toString());
+            return generateAccountNumber(propertyMap, accountNumberFormat);
+        }
+        String accountNumber;
+        do { // skip sequence values whose account number is already taken, e.g. entered manually
+            propertyMap.put(ID, Long.toString(this.accountNumberSequence.next(propertyMap.get(ENTITY_TYPE))));
+            accountNumber = generateAccountNumber(propertyMap, accountNumberFormat);
+        } while (checkAccountNumberConflict(propertyMap, accountNumberFormat, accountNumber));
+        return accountNumber;
+    }
+
     private String generateAccountNumber(Map<String, String> propertyMap, AccountNumberFormat accountNumberFormat) {
         int accountMaxLength = AccountNumberGenerator.maxLength;
         String accountNumber = StringUtils.leftPad(propertyMap.get(ID), accountMaxLength, '0');
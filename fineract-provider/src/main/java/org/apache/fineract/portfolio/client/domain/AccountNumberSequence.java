@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.client.domain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out the identifiers used in place of the database id when client, loan and savings account numbers are
+ * generated before the entity is inserted.
+ *
+ * Values are reserved from <code>m_account_number_sequence</code> in blocks of
+ * <code>fineract.account-number.pregeneration.block-size</code>, each block in its own transaction, and then served
+ * from memory per tenant. A reserved block never starts below the highest id of the entity table, so numbers handed
+ * out here stay clear of the ones generated from ids before the feature was enabled. Values of a block that is not
+ * used up before a restart are skipped.
+ *
+ * Once a block has been reserved the sequence row is marked as issued, and the sequence keeps being used for that entity
+ * type even if the feature is switched off again: later database ids would otherwise produce account numbers that the
+ * sequence already handed out. Whether the sequence has issued numbers is looked up once per tenant and entity type
+ * and then kept, so all nodes of a cluster have to run with the same setting: a node with the feature disabled only
+ * notices numbers issued by another node after a restart.
+ */
+@Component
+public class AccountNumberSequence {
+
+    private static final Map<String, String> ENTITY_TABLES = Map.of("client", "m_client", "loan", "m_loan", "savingsAccount",
+            "m_savings_account");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> issuedSequences = new ConcurrentHashMap<>();
+
+    public AccountNumberSequence(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            FineractProperties fineractProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        FineractProperties.FineractAccountNumberPregenerationProperties pregeneration = fineractProperties.getAccountNumber() == null
+                ? null
+                : fineractProperties.getAccountNumber().getPregeneration();
+        this.enabled = pregeneration != null && pregeneration.isEnabled();
+        this.blockSize = pregeneration == null ? 1 : Math.max(1, pregeneration.getBlockSize());
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * @param entityType
+     *            one of <code>client</code>, <code>loan</code> or <code>savingsAccount</code>
+     * @return true when account numbers of the entity type must come from this sequence, because the feature is enabled
+     *         or because the sequence already issued numbers for the current tenant
+     */
+    public boolean isIssuing(String entityType) {
+        if (this.enabled) {
+            return true;
+        }
+        if (!ENTITY_TABLES.containsKey(entityType)) {
+            return false;
+        }
+        String key = sequenceKey(entityType);
+        Boolean issued = this.issuedSequences.get(key);
+        if (issued == null) {
+            issued = Boolean.TRUE.equals(this.jdbcTemplate
+                    .queryForObject("SELECT issued FROM m_account_number_sequence WHERE entity_type = ?", Boolean.class, entityType));
+            this.issuedSequences.putIfAbsent(key, issued);
+        }
+        return issued;
+    }
+
+    /**
+     * @param entityType
+     *            one of <code>client</code>, <code>loan</code> or <code>savingsAccount</code>
+     * @return the next unused identifier for the entity type of the current tenant
+     */
+    public long next(String entityType) {
+        if (!ENTITY_TABLES.containsKey(entityType)) {
+            throw new IllegalArgumentException("No account number sequence for entity type " + entityType);
+        }
+        Block block = this.blocks.computeIfAbsent(sequenceKey(entityType), k -> new Block());
+        synchronized (block) {
+            if (block.next >= block.end) {
+                block.next = reserveBlock(entityType);
+                block.end = block.next + this.blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    private long reserveBlock(String entityType) {
+        long blockStart = this.transactionTemplate.execute(status -> {
+            Long nextValue = this.jdbcTemplate.queryForObject(
+                    "SELECT next_value FROM m_account_number_sequence WHERE entity_type = ? FOR UPDATE", Long.class, entityType);
+            Long maxId = this.jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + ENTITY_TABLES.get(entityType),
+                    Long.class);
+            long blockStart = Math.max(nextValue, maxId + 1);
+            this.jdbcTemplate.update("UPDATE m_account_number_sequence SET next_value = ?, issued = true WHERE entity_type = ?",
+                    blockStart + this.blockSize, entityType);
+            return blockStart;
+        });
+        this.issuedSequences.put(sequenceKey(entityType), Boolean.TRUE);
+        return blockStart;
+    }
+
+    private static String sequenceKey(String entityType) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + entityType;
+    }
+
+    private static final class Block {
+
+        private long next;
+        private long end;
+    }
+}
@@ -187,7 +187,8 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
         // }
         List<Object> paramList = new ArrayList<>(Arrays.asList(underHierarchySearchString, underHierarchySearchString));
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        final boolean cursorPaged = searchParameters != null && searchParameters.isCursorPaged();
+        sqlBuilder.append("select ").append(cursorPaged ? "" : sqlGenerator.calcFoundRows() + " ");
         sqlBuilder.append(this.clientToDataMapper.schema());
         sqlBuilder.append(" where (o.hierarchy like ? or transferToOffice.hierarchy like ?) ");
 
@@ -204,6 +205,11 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
                 sqlBuilder.append(" and (").append(extraCriteria).append(")");
             }
 
+            if (cursorPaged) {
+                return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), " and ", "c.id", paramList.toArray(),
+                        this.clientToDataMapper, ClientData::getId, searchParameters);
+            }
+
             if (searchParameters.isOrderByRequested()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
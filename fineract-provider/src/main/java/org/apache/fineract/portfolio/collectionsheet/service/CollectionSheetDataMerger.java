@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.collectionsheet.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.fineract.portfolio.collectionsheet.data.IndividualClientData;
+import org.apache.fineract.portfolio.collectionsheet.data.IndividualCollectionSheetLoanFlatData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGClientData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGGroupData;
+import org.apache.fineract.portfolio.collectionsheet.data.LoanDueData;
+import org.apache.fineract.portfolio.collectionsheet.data.SavingsDueData;
+import org.apache.fineract.portfolio.savings.data.SavingsProductData;
+
+/**
+ * Merges the separately queried loan and savings dues of a collection sheet. Groups and clients are looked up by their
+ * id in hash indexes so the merge stays linear in the number of clients of the sheet.
+ */
+final class CollectionSheetDataMerger {
+
+    private CollectionSheetDataMerger() {}
+
+    /**
+     * Adds the savings dues of the groups to the groups with loan dues, groups and clients without loans are appended
+     * in their order.
+     */
+    static void mergeSavingsGroups(final Collection<JLGGroupData> groupsWithSavingsData, final List<JLGGroupData> groupsWithLoanData) {
+        final Map<Long, JLGGroupData> groupsById = new LinkedHashMap<>();
+        for (final JLGGroupData groupLoanData : groupsWithLoanData) {
+            groupsById.putIfAbsent(groupLoanData.getGroupId(), groupLoanData);
+        }
+        for (final JLGGroupData groupSavingsData : groupsWithSavingsData) {
+            final JLGGroupData groupLoanData = groupsById.get(groupSavingsData.getGroupId());
+            if (groupLoanData != null) {
+                mergeSavingsClients(groupSavingsData, groupLoanData);
+            } else {
+                groupsWithLoanData.add(groupSavingsData);
+                groupsById.put(groupSavingsData.getGroupId(), groupSavingsData);
+            }
+        }
+    }
+
+    private static void mergeSavingsClients(final JLGGroupData groupSavingsData, final JLGGroupData groupLoanData) {
+        final List<JLGClientData> clientsLoanData = (List<JLGClientData>) groupLoanData.getClients();
+        final Map<Long, JLGClientData> clientsById = new LinkedHashMap<>();
+        for (final JLGClientData clientLoanData : clientsLoanData) {
+            clientsById.putIfAbsent(clientLoanData.getClientId(), clientLoanData);
+        }
+        for (final JLGClientData clientSavingsData : groupSavingsData.getClients()) {
+            final JLGClientData clientLoanData = clientsById.get(clientSavingsData.getClientId());
+            if (clientLoanData != null) {
+                clientLoanData.setSavings(clientSavingsData.getSavings());
+            } else {
+                clientsLoanData.add(clientSavingsData);
+                clientsById.put(clientSavingsData.getClientId(), clientSavingsData);
+            }
+        }
+    }
+
+    /**
+     * The distinct savings products of the savings dues, in the order they first occur.
+     */
+    static Collection<SavingsProductData> savingsProducts(final Collection<JLGGroupData> groupsWithSavingsData) {
+        final Set<SavingsProductData> savingsProducts = new LinkedHashSet<>();
+        for (final JLGGroupData groupSavingsData : groupsWithSavingsData) {
+            for (final JLGClientData clientSavingsData : groupSavingsData.getClients()) {
+                for (final SavingsDueData savingsDueData : clientSavingsData.getSavings()) {
+                    final SavingsProductData savingsProduct = SavingsProductData.lookup(savingsDueData.productId(),
+                            savingsDueData.productName());
+                    savingsProduct.setDepositAccountType(savingsDueData.getDepositAccountType());
+                    savingsProducts.add(savingsProduct);
+                }
+            }
+        }
+        return new ArrayList<>(savingsProducts);
+    }
+
+    /**
+     * Adds the loan dues, ordered by client, to the clients with savings dues, clients without savings are appended.
+     */
+    static void mergeLoans(final Collection<IndividualCollectionSheetLoanFlatData> loanFlatDatas,
+            final List<IndividualClientData> clientDatas) {
+        final Map<Long, IndividualClientData> clientsById = new LinkedHashMap<>();
+        for (final IndividualClientData clientData : clientDatas) {
+            clientsById.putIfAbsent(clientData.getClientId(), clientData);
+        }
+        IndividualClientData currentClient = null;
+        for (final IndividualCollectionSheetLoanFlatData loanFlatData : loanFlatDatas) {
+            if (currentClient == null || !currentClient.getClientId().equals(loanFlatData.getClientId())) {
+                currentClient = clientsById.get(loanFlatData.getClientId());
+                if (currentClient == null) {
+                    currentClient = loanFlatData.getClientData();
+                    clientDatas.add(currentClient);
+                    clientsById.put(currentClient.getClientId(), currentClient);
+                }
+                currentClient.setLoans(new ArrayList<LoanDueData>());
+            }
+            currentClient.addLoans(loanFlatData.getLoanDueData());
+        }
+    }
+}
@@ -66,7 +66,6 @@ import org.apache.fineract.portfolio.meeting.attendance.service.AttendanceDropdo
 import org.apache.fineract.portfolio.meeting.attendance.service.AttendanceEnumerations;
 import org.apache.fineract.portfolio.paymenttype.data.PaymentTypeData;
 import org.apache.fineract.portfolio.paymenttype.service.PaymentTypeReadPlatformService;
-import org.apache.fineract.portfolio.savings.data.SavingsProductData;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
@@ -379,77 +378,14 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
                 .query(mandatorySavingsExtractor.collectionSheetSchema(false), namedParameters, mandatorySavingsExtractor);
 
         // merge savings data into loan data
-        mergeSavingsGroupDataIntoCollectionsheetData(groupsWithSavingsData, collectionSheetData);
+        CollectionSheetDataMerger.mergeSavingsGroups(groupsWithSavingsData, (List<JLGGroupData>) collectionSheetData.getGroups());
 
         collectionSheetData = JLGCollectionSheetData.withSavingsProducts(collectionSheetData,
-                retrieveSavingsProducts(groupsWithSavingsData));
+                CollectionSheetDataMerger.savingsProducts(groupsWithSavingsData));
 
         return collectionSheetData;
     }
 
-    private void mergeSavingsGroupDataIntoCollectionsheetData(final Collection<JLGGroupData> groupsWithSavingsData,
-            final JLGCollectionSheetData collectionSheetData) {
-        final List<JLGGroupData> groupsWithLoanData = (List<JLGGroupData>) collectionSheetData.getGroups();
-        for (JLGGroupData groupSavingsData : groupsWithSavingsData) {
-            if (groupsWithLoanData.contains(groupSavingsData)) {
-                mergeGroup(groupSavingsData, groupsWithLoanData);
-            } else {
-                groupsWithLoanData.add(groupSavingsData);
-            }
-        }
-
-    }
-
-    private void mergeGroup(final JLGGroupData groupSavingsData, final List<JLGGroupData> groupsWithLoanData) {
-        final int index = groupsWithLoanData.indexOf(groupSavingsData);
-
-        if (index < 0) {
-            return;
-        }
-
-        JLGGroupData groupLoanData = groupsWithLoanData.get(index);
-        List<JLGClientData> clientsLoanData = (List<JLGClientData>) groupLoanData.getClients();
-        List<JLGClientData> clientsSavingsData = (List<JLGClientData>) groupSavingsData.getClients();
-
-        for (JLGClientData clientSavingsData : clientsSavingsData) {
-            if (clientsLoanData.contains(clientSavingsData)) {
-                mergeClient(clientSavingsData, clientsLoanData);
-            } else {
-                clientsLoanData.add(clientSavingsData);
-            }
-        }
-    }
-
-    private void mergeClient(final JLGClientData clientSavingsData, List<JLGClientData> clientsLoanData) {
-        final int index = clientsLoanData.indexOf(clientSavingsData);
-
-        if (index < 0) {
-            return;
-        }
-
-        JLGClientData clientLoanData = clientsLoanData.get(index);
-        clientLoanData.setSavings(clientSavingsData.getSavings());
-    }
-
-    private Collection<SavingsProductData> retrieveSavingsProducts(Collection<JLGGroupData> groupsWithSavingsData) {
-        List<SavingsProductData> savingsProducts = new ArrayList<>();
-        for (JLGGroupData groupSavingsData : groupsWithSavingsData) {
-            Collection<JLGClientData> clientsSavingsData = groupSavingsData.getClients();
-            for (JLGClientData clientSavingsData : clientsSavingsData) {
-                Collection<SavingsDueData> savingsDatas = clientSavingsData.getSavings();
-                for (SavingsDueData savingsDueData : savingsDatas) {
-                    final SavingsProductData savingsProduct = SavingsProductData.lookup(savingsDueData.productId(),
-                            savingsDueData.productName());
-                    savingsProduct.setDepositAccountType(savingsDueData.getDepositAccountType());
-                    if (!savingsProducts.contains(savingsProduct)) {
-                        savingsProducts.add(savingsProduct);
-                    }
-                }
-            }
-        }
-        return savingsProducts;
-    }
-
     @Override
     public JLGCollectionSheetData generateCenterCollectionSheet(final Long centerId, final JsonQuery query) {
 
@@ -483,10 +419,10 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
                 .query(mandatorySavingsExtractor.collectionSheetSchema(true), namedParameters, mandatorySavingsExtractor);
 
         // merge savings data into loan data
-        mergeSavingsGroupDataIntoCollectionsheetData(groupsWithSavingsData, collectionSheetData);
+        CollectionSheetDataMerger.mergeSavingsGroups(groupsWithSavingsData, (List<JLGGroupData>) collectionSheetData.getGroups());
 
         collectionSheetData = JLGCollectionSheetData.withSavingsProducts(collectionSheetData,
-                retrieveSavingsProducts(groupsWithSavingsData));
+                CollectionSheetDataMerger.savingsProducts(groupsWithSavingsData));
 
         return collectionSheetData;
     }
@@ -713,7 +649,7 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
                 .query(mandatorySavingsExtractor.collectionSheetSchema(), namedParameters, mandatorySavingsExtractor);
 
         // merge savings data into loan data
-        mergeLoanData(collectionSheetFlatDatas, (List<IndividualClientData>) clientData);
+        CollectionSheetDataMerger.mergeLoans(collectionSheetFlatDatas, (List<IndividualClientData>) clientData);
 
         final Collection<PaymentTypeData> paymentOptions = this.paymentTypeReadPlatformService.retrieveAllPaymentTypes();
 
@@ -880,28 +816,4 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
             return clientData;
         }
     }
-
-    private void mergeLoanData(final Collection<IndividualCollectionSheetLoanFlatData> loanFlatDatas,
-            List<IndividualClientData> clientDatas) {
-
-        IndividualClientData clientSavingsData = null;
-        for (IndividualCollectionSheetLoanFlatData loanFlatData : loanFlatDatas) {
-            IndividualClientData clientData = loanFlatData.getClientData();
-            if (clientSavingsData == null || !clientSavingsData.equals(clientData)) {
-                if (clientDatas.contains(clientData)) {
-                    final int index = clientDatas.indexOf(clientData);
-                    if (index < 0) {
-                        return;
-                    }
-                    clientSavingsData = clientDatas.get(index);
-                    clientSavingsData.setLoans(new ArrayList<LoanDueData>());
-                } else {
-                    clientSavingsData = clientData;
-                    clientSavingsData.setLoans(new ArrayList<LoanDueData>());
-                    clientDatas.add(clientSavingsData);
-                }
-            }
-            clientSavingsData.addLoans(loanFlatData.getLoanDueData());
-        }
-    }
 }
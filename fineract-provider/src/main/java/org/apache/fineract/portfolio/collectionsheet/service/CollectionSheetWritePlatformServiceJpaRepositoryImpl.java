@@ -24,9 +24,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.portfolio.collectionsheet.command.CollectionSheetBulkDisbursalCommand;
 import org.apache.fineract.portfolio.collectionsheet.command.CollectionSheetBulkRepaymentCommand;
 import org.apache.fineract.portfolio.collectionsheet.data.CollectionSheetTransactionDataValidator;
@@ -56,6 +58,8 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
     private final DepositAccountWritePlatformService accountWritePlatformService;
     private final PaymentDetailAssembler paymentDetailAssembler;
     private final PaymentDetailWritePlatformService paymentDetailWritePlatformService;
+    private final BusinessEventNotifierService businessEventNotifierService;
+    private final JournalEntryWritePlatformService journalEntryWritePlatformService;
 
     @Autowired
     public CollectionSheetWritePlatformServiceJpaRepositoryImpl(final LoanWritePlatformService loanWritePlatformService,
@@ -64,7 +68,9 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
             final CollectionSheetTransactionDataValidator transactionDataValidator,
             final MeetingWritePlatformService meetingWritePlatformService, final DepositAccountAssembler accountAssembler,
             final DepositAccountWritePlatformService accountWritePlatformService, final PaymentDetailAssembler paymentDetailAssembler,
-            final PaymentDetailWritePlatformService paymentDetailWritePlatformService) {
+            final PaymentDetailWritePlatformService paymentDetailWritePlatformService,
+            final BusinessEventNotifierService businessEventNotifierService,
+            final JournalEntryWritePlatformService journalEntryWritePlatformService) {
         this.loanWritePlatformService = loanWritePlatformService;
         this.bulkRepaymentCommandFromApiJsonDeserializer = bulkRepaymentCommandFromApiJsonDeserializer;
         this.bulkDisbursalCommandFromApiJsonDeserializer = bulkDisbursalCommandFromApiJsonDeserializer;
@@ -74,6 +80,8 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
         this.accountWritePlatformService = accountWritePlatformService;
         this.paymentDetailAssembler = paymentDetailAssembler;
         this.paymentDetailWritePlatformService = paymentDetailWritePlatformService;
+        this.businessEventNotifierService = businessEventNotifierService;
+        this.journalEntryWritePlatformService = journalEntryWritePlatformService;
     }
 
     @Override
@@ -91,11 +99,7 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
         }
 
         final PaymentDetail paymentDetail = this.paymentDetailWritePlatformService.createAndPersistPaymentDetail(command, changes);
-        changes.putAll(updateBulkRepayments(command, paymentDetail));
-
-        changes.putAll(updateBulkDisbursals(command));
-
-        changes.putAll(updateBulkMandatorySavingsDuePayments(command, paymentDetail));
+        changes.putAll(updateBulkTransactions(command, paymentDetail));
 
         this.meetingWritePlatformService.updateCollectionSheetAttendance(command);
 
@@ -122,11 +126,7 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
 
         final PaymentDetail paymentDetail = null;
 
-        changes.putAll(updateBulkRepayments(command, paymentDetail));
-
-        changes.putAll(updateBulkDisbursals(command));
-
-        changes.putAll(updateBulkMandatorySavingsDuePayments(command, paymentDetail));
+        changes.putAll(updateBulkTransactions(command, paymentDetail));
 
         return new CommandProcessingResultBuilder() //
                 .withCommandId(command.commandId()) //
@@ -135,6 +135,28 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
                 .with(changes).with(changes).build();
     }
 
+    private Map<String, Object> updateBulkTransactions(final JsonCommand command, final PaymentDetail paymentDetail) {
+        final Map<String, Object> changes = new HashMap<>();
+        // the external events of the whole sheet are posted together as a single bulk event, and its journal entries are
+        // written in one flush
+        try {
+            this.businessEventNotifierService.startExternalEventRecording();
+            this.journalEntryWritePlatformService.writeJournalEntriesInBatch(() -> {
+                changes.putAll(updateBulkRepayments(command, paymentDetail));
+
+                changes.putAll(updateBulkDisbursals(command));
+
+                changes.putAll(updateBulkMandatorySavingsDuePayments(command, paymentDetail));
+                return changes;
+            });
+            this.businessEventNotifierService.stopExternalEventRecording();
+        } catch (RuntimeException e) {
+            this.businessEventNotifierService.resetEventRecording();
+            throw e;
+        }
+        return changes;
+    }
+
     private Map<String, Object> updateBulkRepayments(final JsonCommand command, final PaymentDetail paymentDetail) {
         final Map<String, Object> changes = new HashMap<>();
         final CollectionSheetBulkRepaymentCommand bulkRepaymentCommand = this.bulkRepaymentCommandFromApiJsonDeserializer
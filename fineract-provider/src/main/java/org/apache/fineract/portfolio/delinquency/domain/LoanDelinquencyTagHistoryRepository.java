@@ -19,6 +19,7 @@
 package org.apache.fineract.portfolio.delinquency.domain;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
@@ -40,4 +41,6 @@ public interface LoanDelinquencyTagHistoryRepository
 
     List<LoanDelinquencyTagHistory> findByLoan(Loan loan);
 
+    List<LoanDelinquencyTagHistory> findByLoanIdInAndLiftedOnDateIsNull(Collection<Long> loanIds);
+
 }
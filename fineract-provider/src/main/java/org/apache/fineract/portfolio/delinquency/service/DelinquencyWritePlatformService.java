@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.delinquency.service;
 
+import java.util.Collection;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyData;
@@ -47,4 +48,10 @@ public interface DelinquencyWritePlatformService {
 
     void applyDelinquencyTagToLoan(LoanScheduleDelinquencyData loanDelinquencyData);
 
+    /**
+     * Classifies a page of loans (without Chargeback transactions) using a single aggregate over their overdue
+     * installments and writes the Delinquency Tag history changes in one batch.
+     */
+    void applyDelinquencyTagToLoans(Collection<Long> loanIds);
+
 }
@@ -20,12 +20,18 @@ package org.apache.fineract.portfolio.delinquency.service;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
@@ -51,8 +57,10 @@ import org.apache.fineract.portfolio.delinquency.exception.DelinquencyRangeInval
 import org.apache.fineract.portfolio.delinquency.validator.DelinquencyBucketParseAndValidator;
 import org.apache.fineract.portfolio.delinquency.validator.DelinquencyRangeParseAndValidator;
 import org.apache.fineract.portfolio.loanaccount.data.CollectionData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyAggregateData;
 import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyData;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallmentRepository;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRepository;
 import org.springframework.stereotype.Service;
@@ -73,6 +81,7 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
     private final LoanProductRepository loanProductRepository;
     private final BusinessEventNotifierService businessEventNotifierService;
     private final LoanDelinquencyDomainService loanDelinquencyDomainService;
+    private final LoanRepaymentScheduleInstallmentRepository loanRepaymentScheduleInstallmentRepository;
 
     @Override
     public CommandProcessingResult createDelinquencyRange(JsonCommand command) {
@@ -178,6 +187,81 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
         }
     }
 
+    @Override
+    public void applyDelinquencyTagToLoans(final Collection<Long> loanIds) {
+        if (loanIds.isEmpty()) {
+            return;
+        }
+        final LocalDate businessDate = DateUtils.getBusinessLocalDate();
+        final Collection<LoanScheduleDelinquencyAggregateData> overdueData = this.loanRepaymentScheduleInstallmentRepository
+                .fetchLoanScheduleDelinquencyAggregateData(loanIds, businessDate);
+        log.debug("Were found {} overdue items for {} loans", overdueData.size(), loanIds.size());
+
+        // Resolve the target Delinquency Range per loan, the loans without overdue installments go out from Delinquency
+        final Map<Long, List<DelinquencyRange>> rangesByBucket = new HashMap<>();
+        this.repositoryBucket.findAllById(overdueData.stream().map(LoanScheduleDelinquencyAggregateData::getDelinquencyBucketId)
+                .filter(Objects::nonNull).collect(Collectors.toSet())).forEach(delinquencyBucket -> rangesByBucket
+                        .put(delinquencyBucket.getId(), sortDelinquencyRangesByMinAge(new ArrayList<>(delinquencyBucket.getRanges()))));
+        final Map<Long, DelinquencyRange> targetRanges = new HashMap<>();
+        final Set<Long> unclassifiedLoanIds = new HashSet<>();
+        for (LoanScheduleDelinquencyAggregateData data : overdueData) {
+            long overdueDays = Math.max(DateUtils.getDifferenceInDays(data.getOverdueSinceDate(), businessDate), 0L);
+            long delinquentDays = overdueDays - (data.getGraceOnArrearsAgeing() == null ? 0 : data.getGraceOnArrearsAgeing());
+            if (delinquentDays <= 0) {
+                continue;
+            }
+            List<DelinquencyRange> ranges = rangesByBucket.getOrDefault(data.getDelinquencyBucketId(), List.of());
+            DelinquencyRange delinquencyRange = findDelinquencyRange(ranges, delinquentDays);
+            if (delinquencyRange == null) {
+                // Same as the single loan classification: no range found keeps the current Delinquency Tag
+                unclassifiedLoanIds.add(data.getLoanId());
+            } else {
+                log.debug("Loan {} with delinquency range {} with {} days", data.getLoanId(), delinquencyRange.getClassification(),
+                        delinquentDays);
+                targetRanges.put(data.getLoanId(), delinquencyRange);
+            }
+        }
+
+        // Compare against the current (not lifted) Delinquency Tags of the page
+        final Map<Long, LoanDelinquencyTagHistory> currentTags = this.loanDelinquencyTagRepository
+                .findByLoanIdInAndLiftedOnDateIsNull(loanIds).stream()
+                .collect(Collectors.toMap(tag -> tag.getLoan().getId(), Function.identity()));
+        final List<Long> changedLoanIds = new ArrayList<>();
+        for (Long loanId : loanIds) {
+            if (unclassifiedLoanIds.contains(loanId)) {
+                continue;
+            }
+            final LoanDelinquencyTagHistory currentTag = currentTags.get(loanId);
+            final DelinquencyRange targetRange = targetRanges.get(loanId);
+            final Long currentRangeId = currentTag == null ? null : currentTag.getDelinquencyRange().getId();
+            final Long targetRangeId = targetRange == null ? null : targetRange.getId();
+            if (!Objects.equals(currentRangeId, targetRangeId)) {
+                changedLoanIds.add(loanId);
+            }
+        }
+        if (changedLoanIds.isEmpty()) {
+            return;
+        }
+
+        final List<LoanDelinquencyTagHistory> loanDelinquencyTagHistory = new ArrayList<>();
+        final List<Loan> changedLoans = this.loanRepository.findAllByIds(changedLoanIds);
+        for (Loan loan : changedLoans) {
+            final LoanDelinquencyTagHistory loanDelinquencyTagPrev = currentTags.get(loan.getId());
+            if (loanDelinquencyTagPrev != null) {
+                loanDelinquencyTagPrev.setLiftedOnDate(businessDate);
+                loanDelinquencyTagHistory.add(loanDelinquencyTagPrev);
+            }
+            final DelinquencyRange delinquencyRange = targetRanges.get(loan.getId());
+            if (delinquencyRange != null) {
+                loanDelinquencyTagHistory.add(new LoanDelinquencyTagHistory(delinquencyRange, loan, businessDate, null));
+            }
+        }
+        this.loanDelinquencyTagRepository.saveAllAndFlush(loanDelinquencyTagHistory);
+        for (Loan loan : changedLoans) {
+            businessEventNotifierService.notifyPostBusinessEvent(new LoanDelinquencyRangeChangeBusinessEvent(loan));
+        }
+    }
+
     @Override
     public void removeDelinquencyTagToLoan(final Loan loan) {
         setLoanDelinquencyTag(loan, null);
@@ -329,6 +413,16 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
         return changes;
     }
 
+    private DelinquencyRange findDelinquencyRange(final List<DelinquencyRange> sortedRanges, long overdueDays) {
+        for (final DelinquencyRange delinquencyRange : sortedRanges) {
+            if (delinquencyRange.getMinimumAgeDays() <= overdueDays
+                    && (delinquencyRange.getMaximumAgeDays() == null || delinquencyRange.getMaximumAgeDays() >= overdueDays)) {
+                return delinquencyRange;
+            }
+        }
+        return null;
+    }
+
     private Map<String, Object> setLoanDelinquencyTag(Loan loan, Long delinquencyRangeId) {
         Map<String, Object> changes = new HashMap<>();
         List<LoanDelinquencyTagHistory> loanDelinquencyTagHistory = new ArrayList<>();
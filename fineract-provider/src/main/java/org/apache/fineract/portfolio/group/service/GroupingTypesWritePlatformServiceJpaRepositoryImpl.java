@@ -49,7 +49,11 @@ import org.apache.fineract.infrastructure.dataqueries.data.EntityTables;
 import org.apache.fineract.infrastructure.dataqueries.data.StatusEnum;
 import org.apache.fineract.infrastructure.dataqueries.service.EntityDatatableChecksWritePlatformService;
 import org.apache.fineract.infrastructure.event.business.domain.group.CentersCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.CentersDeleteBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.CentersUpdateBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.group.GroupsCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.GroupsDeleteBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.GroupsUpdateBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.domain.Office;
@@ -342,7 +346,11 @@ public class GroupingTypesWritePlatformServiceJpaRepositoryImpl implements Group
 
         this.fromApiJsonDeserializer.validateForUpdateCenter(command, centerId);
 
-        return updateGroupingType(centerId, command, GroupTypes.CENTER);
+        CommandProcessingResult commandProcessingResult = updateGroupingType(centerId, command, GroupTypes.CENTER);
+
+        businessEventNotifierService.notifyPostBusinessEvent(new CentersUpdateBusinessEvent(commandProcessingResult));
+
+        return commandProcessingResult;
     }
 
     @Transactional
@@ -351,7 +359,11 @@ public class GroupingTypesWritePlatformServiceJpaRepositoryImpl implements Group
 
         this.fromApiJsonDeserializer.validateForUpdateGroup(command, groupId);
 
-        return updateGroupingType(groupId, command, GroupTypes.GROUP);
+        CommandProcessingResult commandProcessingResult = updateGroupingType(groupId, command, GroupTypes.GROUP);
+
+        businessEventNotifierService.notifyPostBusinessEvent(new GroupsUpdateBusinessEvent(commandProcessingResult));
+
+        return commandProcessingResult;
     }
 
     private CommandProcessingResult updateGroupingType(final Long groupId, final JsonCommand command, final GroupTypes groupingType) {
@@ -561,11 +573,17 @@ public class GroupingTypesWritePlatformServiceJpaRepositoryImpl implements Group
 
             this.groupRepository.delete(groupForDelete);
             this.groupRepository.flush();
-            return new CommandProcessingResultBuilder() //
+            final CommandProcessingResult commandProcessingResult = new CommandProcessingResultBuilder() //
                     .withOfficeId(groupForDelete.getId()) //
                     .withGroupId(groupForDelete.officeId()) //
                     .withEntityId(groupForDelete.getId()) //
                     .build();
+            if (groupForDelete.isCenter()) {
+                businessEventNotifierService.notifyPostBusinessEvent(new CentersDeleteBusinessEvent(commandProcessingResult));
+            } else {
+                businessEventNotifierService.notifyPostBusinessEvent(new GroupsDeleteBusinessEvent(commandProcessingResult));
+            }
+            return commandProcessingResult;
         } catch (final JpaSystemException | DataIntegrityViolationException dve) {
             Throwable throwable = ExceptionUtils.getRootCause(dve.getCause());
             log.error("Error occured.", throwable);
@@ -56,6 +56,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.commands.domain.CommandWrapper;
@@ -81,6 +82,7 @@ import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.CommandParameterUtil;
 import org.apache.fineract.infrastructure.core.service.ExternalIdFactory;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageCursor;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.dataqueries.api.DataTableApiConstant;
 import org.apache.fineract.infrastructure.dataqueries.data.DatatableData;
@@ -454,12 +456,14 @@ public class LoansApiResource {
     @GET
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
-    @Operation(summary = "List Loans", description = "The list capability of loans can support pagination and sorting.\n"
+    @Operation(operationId = "retrieveAll", summary = "List Loans", description = "The list capability of loans can support pagination and sorting.\n"
             + "Example Requests:\n" + "\n" + "loans\n" + "\n" + "loans?fields=accountNo\n" + "\n" + "loans?offset=10&limit=50\n" + "\n"
-            + "loans?orderBy=accountNo&sortOrder=DESC")
+            + "loans?orderBy=accountNo&sortOrder=DESC\n" + "\n"
+            + "Keyset pagination: loans?limit=50&cursor= (the first page), then loans?limit=50&cursor={nextCursor}"
+            + " (pages are ordered by id, so the cursor cannot be combined with orderBy or sortOrder)")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = LoansApiResourceSwagger.GetLoansResponse.class))) })
-    public String retrieveAll(@Context final UriInfo uriInfo,
+    public StreamingOutput retrieveAllStreaming(@Context final UriInfo uriInfo,
             @QueryParam("sqlSearch") @Parameter(description = "sqlSearch") final String sqlSearch,
             @QueryParam("externalId") @Parameter(description = "externalId") final String externalId,
             // @QueryParam("underHierarchy") final String hierarchy,
@@ -467,19 +471,40 @@ public class LoansApiResource {
             @QueryParam("limit") @Parameter(description = "limit") final Integer limit,
             @QueryParam("orderBy") @Parameter(description = "orderBy") final String orderBy,
             @QueryParam("sortOrder") @Parameter(description = "sortOrder") final String sortOrder,
-            @QueryParam("accountNo") @Parameter(description = "accountNo") final String accountNo) {
+            @QueryParam("accountNo") @Parameter(description = "accountNo") final String accountNo,
+            @QueryParam("cursor") @Parameter(description = "cursor") final String cursor) {
 
-        this.context.authenticatedUser().validateHasReadPermission(RESOURCE_NAME_FOR_PERMISSIONS);
+        final Page<LoanAccountData> loanBasicDetails = retrieveLoans(sqlSearch, externalId, offset, limit, orderBy, sortOrder, accountNo,
+                cursor);
 
-        final SearchParameters searchParameters = SearchParameters.forLoans(sqlSearch, externalId, offset, limit, orderBy, sortOrder,
-                accountNo);
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serializeStreaming(settings, loanBasicDetails, LOAN_DATA_PARAMETERS);
+    }
+
+    /**
+     * Same list as {@link #retrieveAllStreaming}, serialized into a String for callers that use the response body in
+     * process.
+     */
+    public String retrieveAll(final UriInfo uriInfo, final String sqlSearch, final String externalId, final Integer offset,
+            final Integer limit, final String orderBy, final String sortOrder, final String accountNo, final String cursor) {
 
-        final Page<LoanAccountData> loanBasicDetails = this.loanReadPlatformService.retrieveAll(searchParameters);
+        final Page<LoanAccountData> loanBasicDetails = retrieveLoans(sqlSearch, externalId, offset, limit, orderBy, sortOrder, accountNo,
+                cursor);
 
         final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
         return this.toApiJsonSerializer.serialize(settings, loanBasicDetails, LOAN_DATA_PARAMETERS);
     }
 
+    private Page<LoanAccountData> retrieveLoans(final String sqlSearch, final String externalId, final Integer offset, final Integer limit,
+            final String orderBy, final String sortOrder, final String accountNo, final String cursor) {
+        this.context.authenticatedUser().validateHasReadPermission(RESOURCE_NAME_FOR_PERMISSIONS);
+
+        final SearchParameters searchParameters = SearchParameters
+                .forLoans(sqlSearch, externalId, offset, limit, orderBy, sortOrder, accountNo).withCursor(PageCursor.decode(cursor));
+
+        return this.loanReadPlatformService.retrieveAll(searchParameters);
+    }
+
     @POST
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
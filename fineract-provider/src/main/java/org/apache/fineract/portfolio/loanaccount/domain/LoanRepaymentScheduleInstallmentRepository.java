@@ -21,7 +21,7 @@ package org.apache.fineract.portfolio.loanaccount.domain;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
-import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyAggregateData;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -30,36 +30,27 @@ public interface LoanRepaymentScheduleInstallmentRepository
         extends JpaRepository<LoanRepaymentScheduleInstallment, Long>, JpaSpecificationExecutor<LoanRepaymentScheduleInstallment> {
 
     @Query("""
-            SELECT new org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyData(
-                lrs.loan.id,
-                min(lrs.dueDate),
-                0L,
-                lrs.loan
-            ) FROM LoanRepaymentScheduleInstallment lrs
+            SELECT DISTINCT lrs.loan.id FROM LoanRepaymentScheduleInstallment lrs
             WHERE lrs.loan.loanStatus = :loanStatus AND
             lrs.dueDate <= :businessDate AND
             lrs.obligationsMet = :obligationsMet AND
             lrs.loan.loanProduct.delinquencyBucket IS NOT NULL
-            GROUP BY lrs.loan
             """)
-    Collection<LoanScheduleDelinquencyData> fetchLoanScheduleDataByDueDateAndObligationsMet(Integer loanStatus, LocalDate businessDate,
-            boolean obligationsMet);
+    List<Long> fetchLoanIdsByDueDateAndObligationsMet(Integer loanStatus, LocalDate businessDate, boolean obligationsMet);
 
     @Query("""
-            SELECT new org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyData(
+            SELECT new org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyAggregateData(
                 lrs.loan.id,
                 min(lrs.dueDate),
-                0L,
-                lrs.loan
+                lrs.loan.loanProduct.delinquencyBucket.id,
+                lrs.loan.loanProduct.loanProductRelatedDetail.graceOnArrearsAgeing
             ) FROM LoanRepaymentScheduleInstallment lrs
-            WHERE lrs.loan.loanStatus = :loanStatus AND
-            lrs.dueDate <= :businessDate AND
-            lrs.obligationsMet = :obligationsMet AND
-            lrs.loan.loanProduct.delinquencyBucket IS NOT NULL AND
-            lrs.loan.id NOT IN :loanIds
-            GROUP BY lrs.loan
+            WHERE lrs.loan.id IN :loanIds AND
+            lrs.dueDate < :businessDate AND
+            lrs.obligationsMet = false
+            GROUP BY lrs.loan.id, lrs.loan.loanProduct.delinquencyBucket.id,
+            lrs.loan.loanProduct.loanProductRelatedDetail.graceOnArrearsAgeing
             """)
-    Collection<LoanScheduleDelinquencyData> fetchLoanScheduleDataByDueDateAndObligationsMet(Integer loanStatus, LocalDate businessDate,
-            boolean obligationsMet, List<Long> loanIds);
+    List<LoanScheduleDelinquencyAggregateData> fetchLoanScheduleDelinquencyAggregateData(Collection<Long> loanIds, LocalDate businessDate);
 
 }
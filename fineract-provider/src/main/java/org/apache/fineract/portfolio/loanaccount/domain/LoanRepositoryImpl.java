@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.AttributeNode;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Subgraph;
+import javax.persistence.TypedQuery;
+import org.eclipse.persistence.annotations.BatchFetchType;
+import org.eclipse.persistence.config.QueryHints;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class LoanRepositoryImpl implements LoanRepositoryCustom {
+
+    private static final String LOAD_GRAPH_HINT = "javax.persistence.loadgraph";
+    private static final String LOAN_ALIAS = "l";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Loan> findById(final Long id, final LoanLoadingProfile profile) {
+        return findAllByIds(List.of(id), profile).stream().findFirst();
+    }
+
+    /**
+     * The entity graph of the profile is used as load graph, and every collection of it, nested ones included, is batch
+     * fetched by joining the loan query. Loading the loans costs one query plus one per collection of the profile no
+     * matter how many loans are read.
+     */
+    @Override
+    public List<Loan> findAllByIds(final Collection<Long> ids, final LoanLoadingProfile profile) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        EntityGraph<?> entityGraph = entityManager.getEntityGraph(profile.getEntityGraphName());
+        TypedQuery<Loan> query = entityManager.createQuery("select l from Loan l where l.id in :ids", Loan.class) //
+                .setParameter("ids", ids) //
+                .setHint(LOAD_GRAPH_HINT, entityGraph) //
+                .setHint(QueryHints.BATCH_TYPE, BatchFetchType.JOIN);
+        batchFetchPaths(LOAN_ALIAS, entityGraph.getAttributeNodes()).forEach(path -> query.setHint(QueryHints.BATCH, path));
+        return query.getResultList();
+    }
+
+    static List<String> batchFetchPaths(final String prefix, final List<AttributeNode<?>> attributeNodes) {
+        List<String> paths = new ArrayList<>();
+        for (AttributeNode<?> attributeNode : attributeNodes) {
+            String path = prefix + "." + attributeNode.getAttributeName();
+            paths.add(path);
+            for (Subgraph<?> subgraph : attributeNode.getSubgraphs().values()) {
+                paths.addAll(batchFetchPaths(path, subgraph.getAttributeNodes()));
+            }
+        }
+        return paths;
+    }
+}
@@ -29,6 +29,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -59,6 +60,12 @@ public class LoanRepositoryWrapper {
         return loan;
     }
 
+    // Loads the collections of the profile up front, the rest stays lazy
+    @Transactional(readOnly = true)
+    public Loan findOneWithNotFoundDetection(final Long id, final LoanLoadingProfile profile) {
+        return this.repository.findById(id, profile).orElseThrow(() -> new LoanNotFoundException(id));
+    }
+
     // Root Entities are enough
     public Collection<Loan> findActiveLoansByLoanIdAndGroupId(Long clientId, Long groupId) {
         final Collection<Integer> loanStatuses = new ArrayList<>(Arrays.asList(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(),
@@ -113,7 +120,8 @@ public class LoanRepositoryWrapper {
     }
 
     public List<LoanRepaymentScheduleInstallment> getLoanRepaymentScheduleInstallments(final Long loanId) {
-        final Loan loan = this.repository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+        final Loan loan = this.repository.findById(loanId, LoanLoadingProfile.SCHEDULE)
+                .orElseThrow(() -> new LoanNotFoundException(loanId));
         return loan.getRepaymentScheduleInstallments();
     }
 
@@ -193,6 +201,24 @@ public class LoanRepositoryWrapper {
         return loans;
     }
 
+    // Root entities are enough, collections are loaded lazily if needed
+    @Transactional(readOnly = true)
+    public List<Loan> findAllByIds(final Collection<Long> ids) {
+        List<Loan> loans = new ArrayList<>();
+        List<List<Long>> partitions = Lists.partition(ids.stream().toList(), fineractProperties.getQuery().getInClauseParameterSizeLimit());
+        partitions.forEach(partition -> loans.addAll(this.repository.findAllById(partition)));
+        return loans;
+    }
+
+    // Loads the collections of the profile for all loans of a partition with one query per collection
+    @Transactional(readOnly = true)
+    public List<Loan> findAllByIds(final Collection<Long> ids, final LoanLoadingProfile profile) {
+        List<Loan> loans = new ArrayList<>();
+        List<List<Long>> partitions = Lists.partition(ids.stream().toList(), fineractProperties.getQuery().getInClauseParameterSizeLimit());
+        partitions.forEach(partition -> loans.addAll(this.repository.findAllByIds(partition, profile)));
+        return loans;
+    }
+
     // This method is not used
     public List<Long> getLoansDisbursedAfter(@Param("disbursalDate") LocalDate disbursalDate) {
         return this.repository.getLoansDisbursedAfter(disbursalDate);
@@ -222,6 +248,14 @@ public class LoanRepositoryWrapper {
         return loans;
     }
 
+    // Loans with installments due in a date range, a page of ids greater than afterLoanId in id order
+    public List<Long> findIdsByOfficeIdsAndLoanStatusAndInstallmentDueBetween(final Collection<Long> officeIds,
+            final Collection<Integer> loanStatuses, final LocalDate fromDate, final LocalDate toDate, final Long afterLoanId,
+            final int pageSize) {
+        return this.repository.findIdsByOfficeIdsAndLoanStatusAndInstallmentDueBetween(officeIds, loanStatuses, fromDate, toDate,
+                afterLoanId, PageRequest.of(0, pageSize));
+    }
+
     public List<Long> findActiveLoansLoanProductIdsByClient(@Param("clientId") Long clientId, @Param("loanStatus") Integer loanStatus) {
         return this.repository.findActiveLoansLoanProductIdsByClient(clientId, loanStatus);
     }
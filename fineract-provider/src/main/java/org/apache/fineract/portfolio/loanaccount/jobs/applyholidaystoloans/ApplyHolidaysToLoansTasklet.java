@@ -27,6 +27,7 @@ import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanRescheduledDueHolidayBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.organisation.holiday.domain.Holiday;
@@ -45,6 +46,9 @@ import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -56,6 +60,8 @@ public class ApplyHolidaysToLoansTasklet implements Tasklet {
     private final LoanRepositoryWrapper loanRepositoryWrapper;
     private final LoanUtilService loanUtilService;
     private final BusinessEventNotifierService businessEventNotifierService;
+    private final PlatformTransactionManager transactionManager;
+    private final FineractProperties fineractProperties;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
@@ -68,6 +74,7 @@ public class ApplyHolidaysToLoansTasklet implements Tasklet {
         final Collection<Integer> loanStatuses = new ArrayList<>(Arrays.asList(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(),
                 LoanStatus.APPROVED.getValue(), LoanStatus.ACTIVE.getValue()));
         final List<Holiday> holidays = holidayRepository.findUnprocessed();
+        final int chunkSize = Math.max(fineractProperties.getJob().getApplyHolidaysToLoans().getChunkSize(), 1);
 
         for (final Holiday holiday : holidays) {
             final Set<Office> offices = holiday.getOffices();
@@ -76,19 +83,34 @@ public class ApplyHolidaysToLoansTasklet implements Tasklet {
                 officeIds.add(office.getId());
             }
 
-            final List<Loan> loans = new ArrayList<>();
-            loans.addAll(loanRepositoryWrapper.findByClientOfficeIdsAndLoanStatus(officeIds, loanStatuses));
-            // FIXME: AA optimize to get all client and group loans belongs to an office id
-            loans.addAll(loanRepositoryWrapper.findByGroupOfficeIdsAndLoanStatus(officeIds, loanStatuses));
+            // Only loans with an installment due within the holiday are affected, they are loaded and saved chunk by chunk
+            // in their own transactions so the persistence context stays bounded
+            Long afterLoanId = 0L;
+            List<Long> loanIds;
+            do {
+                loanIds = loanRepositoryWrapper.findIdsByOfficeIdsAndLoanStatusAndInstallmentDueBetween(officeIds, loanStatuses,
+                        holiday.getFromDate(), holiday.getToDate(), afterLoanId, chunkSize);
+                if (!loanIds.isEmpty()) {
+                    applyHolidayToLoans(loanIds, holiday);
+                    afterLoanId = loanIds.get(loanIds.size() - 1);
+                }
+            } while (loanIds.size() == chunkSize);
+            holiday.setProcessed(true);
+        }
+        holidayRepository.save(holidays);
+        return RepeatStatus.FINISHED;
+    }
 
+    private void applyHolidayToLoans(List<Long> loanIds, Holiday holiday) {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> {
+            final List<Loan> loans = loanRepositoryWrapper.findAllByIds(loanIds);
             for (final Loan loan : loans) {
                 applyHolidayToRepaymentScheduleDates(loan, holiday);
             }
             loanRepositoryWrapper.save(loans);
-            holiday.isProcessed();
-        }
-        holidayRepository.save(holidays);
-        return RepeatStatus.FINISHED;
+        });
     }
 
     public void applyHolidayToRepaymentScheduleDates(Loan loan, Holiday holiday) {
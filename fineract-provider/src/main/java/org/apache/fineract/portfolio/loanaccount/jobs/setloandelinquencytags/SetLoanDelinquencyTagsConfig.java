@@ -19,6 +19,7 @@
 package org.apache.fineract.portfolio.loanaccount.jobs.setloandelinquencytags;
 
 import lombok.AllArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.portfolio.delinquency.service.DelinquencyWritePlatformService;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallmentRepository;
@@ -30,6 +31,10 @@ import org.springframework.batch.core.configuration.annotation.StepBuilderFactor
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 @AllArgsConstructor
@@ -41,6 +46,8 @@ public class SetLoanDelinquencyTagsConfig {
     private DelinquencyWritePlatformService delinquencyWritePlatformService;
     private LoanRepaymentScheduleInstallmentRepository loanRepaymentScheduleInstallmentRepository;
     private LoanTransactionRepository loanTransactionRepository;
+    private PlatformTransactionManager transactionManager;
+    private FineractProperties fineractProperties;
 
     @Bean
     public Step setLoanDelinquencyTagsStep() {
@@ -53,10 +60,23 @@ public class SetLoanDelinquencyTagsConfig {
                 .incrementer(new RunIdIncrementer()).build();
     }
 
+    @Bean
+    public ThreadPoolTaskExecutor setLoanDelinquencyTagsTaskExecutor() {
+        int threadCount = Math.max(fineractProperties.getJob().getLoanDelinquencyClassification().getThreadCount(), 1);
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(threadCount);
+        threadPoolTaskExecutor.setMaxPoolSize(threadCount);
+        threadPoolTaskExecutor.setThreadNamePrefix("loanDelinquencyTags");
+        return threadPoolTaskExecutor;
+    }
+
     @Bean
     public SetLoanDelinquencyTagsTasklet setLoanDelinquencyTagsTasklet() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int chunkSize = Math.max(fineractProperties.getJob().getLoanDelinquencyClassification().getChunkSize(), 1);
         return new SetLoanDelinquencyTagsTasklet(delinquencyWritePlatformService, loanRepaymentScheduleInstallmentRepository,
-                loanTransactionRepository);
+                loanTransactionRepository, transactionTemplate, setLoanDelinquencyTagsTaskExecutor(), chunkSize);
     }
 
 }
@@ -18,13 +18,18 @@
  */
 package org.apache.fineract.portfolio.loanaccount.jobs.setloandelinquencytags;
 
+import com.google.common.collect.Lists;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.delinquency.service.DelinquencyWritePlatformService;
@@ -37,6 +42,8 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -45,6 +52,9 @@ public class SetLoanDelinquencyTagsTasklet implements Tasklet {
     private final DelinquencyWritePlatformService delinquencyWritePlatformService;
     private final LoanRepaymentScheduleInstallmentRepository loanRepaymentScheduleInstallmentRepository;
     private final LoanTransactionRepository loanTransactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor taskExecutor;
+    private final int chunkSize;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
@@ -57,25 +67,22 @@ public class SetLoanDelinquencyTagsTasklet implements Tasklet {
         // Read Loan Ids with Loan Transaction Charge back
         Collection<LoanScheduleDelinquencyData> loanScheduleDelinquencyData = this.loanTransactionRepository
                 .fetchLoanTransactionsByTypeAndLessOrEqualDate(LoanTransactionType.CHARGEBACK.getValue(), businessDate);
-        List<Long> processedLoans = applyDelinquencyTagToLoans(loanScheduleDelinquencyData);
+        Set<Long> processedLoans = applyDelinquencyTagToLoans(loanScheduleDelinquencyData);
         log.debug("{}: Records affected by setLoanDelinquencyTags: {}", ThreadLocalContextUtil.getTenant().getName(),
                 processedLoans.size());
 
-        // Read Loan Ids with overdue installments
-        if (processedLoans.isEmpty()) {
-            loanScheduleDelinquencyData = this.loanRepaymentScheduleInstallmentRepository
-                    .fetchLoanScheduleDataByDueDateAndObligationsMet(LoanStatus.ACTIVE.getValue(), businessDate, false);
-        } else {
-            loanScheduleDelinquencyData = this.loanRepaymentScheduleInstallmentRepository
-                    .fetchLoanScheduleDataByDueDateAndObligationsMet(LoanStatus.ACTIVE.getValue(), businessDate, false, processedLoans);
-        }
-        processedLoans = applyDelinquencyTagToLoans(loanScheduleDelinquencyData);
+        // Read Loan Ids with overdue installments, these are classified page by page on parallel workers
+        List<Long> loanIds = this.loanRepaymentScheduleInstallmentRepository
+                .fetchLoanIdsByDueDateAndObligationsMet(LoanStatus.ACTIVE.getValue(), businessDate, false).stream()
+                .filter(loanId -> !processedLoans.contains(loanId)).toList();
+        log.debug("Were found {} loans with overdue installments", loanIds.size());
+        applyDelinquencyTagToLoansInPages(loanIds);
 
         return RepeatStatus.FINISHED;
     }
 
-    private List<Long> applyDelinquencyTagToLoans(Collection<LoanScheduleDelinquencyData> loanScheduleDelinquencyData) {
-        List<Long> processedLoans = new ArrayList<>();
+    private Set<Long> applyDelinquencyTagToLoans(Collection<LoanScheduleDelinquencyData> loanScheduleDelinquencyData) {
+        Set<Long> processedLoans = new HashSet<>();
 
         log.debug("Were found {} items", loanScheduleDelinquencyData.size());
         for (LoanScheduleDelinquencyData loanDelinquencyData : loanScheduleDelinquencyData) {
@@ -95,4 +102,26 @@ public class SetLoanDelinquencyTagsTasklet implements Tasklet {
         return processedLoans;
     }
 
+    private void applyDelinquencyTagToLoansInPages(List<Long> loanIds) throws Exception {
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final List<Future<?>> pages = new ArrayList<>();
+        for (List<Long> page : Lists.partition(loanIds, chunkSize)) {
+            pages.add(taskExecutor.submit(() -> applyDelinquencyTagToLoanPage(context, page)));
+        }
+        // Wait for every page, the first failure fails the step
+        for (Future<?> page : pages) {
+            page.get();
+        }
+    }
+
+    private void applyDelinquencyTagToLoanPage(FineractContext context, List<Long> loanIds) {
+        try {
+            ThreadLocalContextUtil.init(context);
+            transactionTemplate.executeWithoutResult(status -> delinquencyWritePlatformService.applyDelinquencyTagToLoans(loanIds));
+            log.debug("Processed page of {} loans", loanIds.size());
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
 }
@@ -66,8 +66,10 @@ import org.apache.fineract.infrastructure.entityaccess.domain.FineractEntityToEn
 import org.apache.fineract.infrastructure.entityaccess.exception.NotOfficeSpecificProductException;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanApprovedBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanDeletedBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanRejectedBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanUndoApprovalBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanUpdatedBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.staff.domain.Staff;
@@ -320,6 +322,13 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
                 }
             }
 
+            // with pre-generation a non GLIM loan is inserted once, already carrying its account number
+            if (newLoanApplication.isAccountNumberRequiresAutoGeneration() && newLoanApplication.getLoanType() != 4
+                    && this.accountNumberGenerator.isPregenerationEnabled()) {
+                final AccountNumberFormat accountNumberFormat = this.accountNumberFormatRepository
+                        .findByAccountType(EntityAccountType.LOAN);
+                newLoanApplication.updateAccountNo(this.accountNumberGenerator.generate(newLoanApplication, accountNumberFormat));
+            }
             this.loanRepositoryWrapper.saveAndFlush(newLoanApplication);
 
             if (loanProduct.isInterestRecalculationEnabled()) {
@@ -1167,6 +1176,8 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
 
             }
 
+            businessEventNotifierService.notifyPostBusinessEvent(new LoanUpdatedBusinessEvent(existingLoanApplication));
+
             return new CommandProcessingResultBuilder() //
                     .withEntityId(loanId) //
                     .withEntityExternalId(existingLoanApplication.getExternalId()) //
@@ -1240,6 +1251,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
             loanCollateralManagement.setClientCollateralManagement(clientCollateralManagement);
         }
 
+        businessEventNotifierService.notifyPostBusinessEvent(new LoanDeletedBusinessEvent(loan));
         this.loanRepositoryWrapper.delete(loanId);
 
         return new CommandProcessingResultBuilder() //
@@ -305,8 +305,9 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         final String hierarchySearchString = hierarchy + "%";
         final LoanMapper loanMapper = new LoanMapper(sqlGenerator, delinquencyReadPlatformService);
 
+        final boolean cursorPaged = searchParameters != null && searchParameters.isCursorPaged();
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        sqlBuilder.append("select ").append(cursorPaged ? "" : sqlGenerator.calcFoundRows() + " ");
         sqlBuilder.append(loanMapper.loanSchema());
 
         // TODO - for time being this will data scope list of loans returned to
@@ -350,6 +351,11 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
                 arrayPos = arrayPos + 1;
             }
 
+            if (cursorPaged) {
+                return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), " and ", "l.id",
+                        Arrays.copyOf(extraCriterias.toArray(), arrayPos), loanMapper, LoanAccountData::getId, searchParameters);
+            }
+
             if (searchParameters.isOrderByRequested()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -31,6 +31,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -146,6 +147,7 @@ import org.apache.fineract.portfolio.loanaccount.domain.LoanDisbursementDetails;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanDisbursementDetailsRepository;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanEvent;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanLifecycleStateMachine;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanLoadingProfile;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallmentRepository;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleTransactionProcessorFactory;
@@ -166,6 +168,7 @@ import org.apache.fineract.portfolio.loanaccount.exception.InvalidLoanTransactio
 import org.apache.fineract.portfolio.loanaccount.exception.InvalidPaidInAdvanceAmountException;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanForeclosureException;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanMultiDisbursementException;
+import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanOfficerAssignmentException;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanOfficerUnassignmentException;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanTransactionNotFoundException;
@@ -284,7 +287,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
             this.loanEventApiJsonValidator.validateDisbursementWithPostDatedChecks(command.json(), loanId);
         }
 
-        Loan loan = this.loanAssembler.assembleFrom(loanId);
+        Loan loan = this.loanAssembler.assembleFrom(loanId, LoanLoadingProfile.DISBURSEMENT);
         // Fail fast if client/group is not active or actual loan status disallows disbursal
         checkClientOrGroupActive(loan);
 
@@ -682,7 +685,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         final LocalDate rescheduledRepaymentDate = null;
 
         for (final SingleDisbursalCommand singleLoanDisbursalCommand : disbursalCommand) {
-            Loan loan = this.loanAssembler.assembleFrom(singleLoanDisbursalCommand.getLoanId());
+            Loan loan = this.loanAssembler.assembleFrom(singleLoanDisbursalCommand.getLoanId(), LoanLoadingProfile.DISBURSEMENT);
             final LocalDate actualDisbursementDate = command.localDateValueOfParameterNamed("actualDisbursementDate");
 
             // validate ActualDisbursement Date Against Expected Disbursement
@@ -956,7 +959,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         if (!txnExternalId.isEmpty()) {
             changes.put(LoanApiConstants.externalIdParameterName, txnExternalId);
         }
-        Loan loan = this.loanAssembler.assembleFrom(loanId);
+        Loan loan = this.loanAssembler.assembleFrom(loanId, LoanLoadingProfile.REPAYMENT);
         final PaymentDetail paymentDetail = this.paymentDetailWritePlatformService.createAndPersistPaymentDetail(command, changes);
         final Boolean isHolidayValidationDone = false;
         final HolidayDetailDTO holidayDetailDto = null;
@@ -1007,35 +1010,38 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         }
         List<Long> transactionIds = new ArrayList<>();
         boolean isAccountTransfer = false;
-        HolidayDetailDTO holidayDetailDTO = null;
-        boolean isHolidayValidationDone = false;
+        final boolean isHolidayValidationDone = true;
+
+        // load every loan of the sheet once, and the holidays once per office and repayment date, instead of loan by loan
+        final Map<Long, Loan> loans = findLoansOfBulkRepayment(repaymentCommand);
         final boolean allowTransactionsOnHoliday = this.configurationDomainService.allowTransactionsOnHolidayEnabled();
+        final boolean allowTransactionsOnNonWorkingDay = this.configurationDomainService.allowTransactionsOnNonWorkingDayEnabled();
+        final boolean isHolidayEnabled = this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled();
+        final boolean isExternalIdAutoGenerationEnabled = this.configurationDomainService.isExternalIdAutoGenerationEnabled();
+        final WorkingDays workingDays = this.workingDaysRepository.findOne();
+        final Map<Long, Map<LocalDate, HolidayDetailDTO>> holidayDetailsByOfficeAndDate = new HashMap<>();
+
         for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommand) {
             if (singleLoanRepaymentCommand != null) {
-                Loan loan = this.loanRepositoryWrapper.findOneWithNotFoundDetection(singleLoanRepaymentCommand.getLoanId());
-                final List<Holiday> holidays = this.holidayRepository.findByOfficeIdAndGreaterThanDate(loan.getOfficeId(),
-                        singleLoanRepaymentCommand.getTransactionDate());
-                final WorkingDays workingDays = this.workingDaysRepository.findOne();
-                final boolean allowTransactionsOnNonWorkingDay = this.configurationDomainService.allowTransactionsOnNonWorkingDayEnabled();
-                boolean isHolidayEnabled;
-                isHolidayEnabled = this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled();
-                holidayDetailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays, allowTransactionsOnHoliday,
-                        allowTransactionsOnNonWorkingDay);
+                final Loan loan = loans.get(singleLoanRepaymentCommand.getLoanId());
+                final HolidayDetailDTO holidayDetailDTO = holidayDetailsByOfficeAndDate
+                        .computeIfAbsent(loan.getOfficeId(), officeId -> new HashMap<>())
+                        .computeIfAbsent(singleLoanRepaymentCommand.getTransactionDate(),
+                                transactionDate -> new HolidayDetailDTO(isHolidayEnabled,
+                                        this.holidayRepository.findByOfficeIdAndGreaterThanDate(loan.getOfficeId(), transactionDate),
+                                        workingDays, allowTransactionsOnHoliday, allowTransactionsOnNonWorkingDay));
                 loan.validateRepaymentDateIsOnHoliday(singleLoanRepaymentCommand.getTransactionDate(),
                         holidayDetailDTO.isAllowTransactionsOnHoliday(), holidayDetailDTO.getHolidays());
                 loan.validateRepaymentDateIsOnNonWorkingDay(singleLoanRepaymentCommand.getTransactionDate(),
                         holidayDetailDTO.getWorkingDays(), holidayDetailDTO.isAllowTransactionsOnNonWorkingDay());
-                isHolidayValidationDone = true;
-                break;
             }
-
         }
         for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommand) {
             if (singleLoanRepaymentCommand != null) {
-                final Loan loan = this.loanAssembler.assembleFrom(singleLoanRepaymentCommand.getLoanId());
+                final Loan loan = loans.get(singleLoanRepaymentCommand.getLoanId());
                 final PaymentDetail paymentDetail = singleLoanRepaymentCommand.getPaymentDetail();
                 ExternalId externalId = singleLoanRepaymentCommand.getExternalId();
-                if (externalId.isEmpty() && configurationDomainService.isExternalIdAutoGenerationEnabled()) {
+                if (externalId.isEmpty() && isExternalIdAutoGenerationEnabled) {
                     externalId = ExternalId.generate();
                 }
                 if (paymentDetail != null && paymentDetail.getId() == null) {
@@ -1045,7 +1051,8 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
                 LoanTransaction loanTransaction = this.loanAccountDomainService.makeRepayment(LoanTransactionType.REPAYMENT, loan,
                         bulkRepaymentCommand.getTransactionDate(), singleLoanRepaymentCommand.getTransactionAmount(), paymentDetail,
                         bulkRepaymentCommand.getNote(), externalId, isRecoveryRepayment, chargeRefundChargeType, isAccountTransfer,
-                        holidayDetailDTO, isHolidayValidationDone);
+                        holidayDetailsByOfficeAndDate.get(loan.getOfficeId()).get(singleLoanRepaymentCommand.getTransactionDate()),
+                        isHolidayValidationDone);
                 transactionIds.add(loanTransaction.getId());
             }
         }
@@ -1053,6 +1060,27 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         return changes;
     }
 
+    private Map<Long, Loan> findLoansOfBulkRepayment(final SingleRepaymentCommand[] repaymentCommand) {
+        final Set<Long> loanIds = new LinkedHashSet<>();
+        for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommand) {
+            if (singleLoanRepaymentCommand != null) {
+                loanIds.add(singleLoanRepaymentCommand.getLoanId());
+            }
+        }
+        final Map<Long, Loan> loans = new HashMap<>();
+        for (final Loan loan : this.loanRepositoryWrapper.findAllByIds(loanIds)) {
+            loan.initializeLazyCollections();
+            this.loanAssembler.setHelpers(loan);
+            loans.put(loan.getId(), loan);
+        }
+        for (final Long loanId : loanIds) {
+            if (!loans.containsKey(loanId)) {
+                throw new LoanNotFoundException(loanId);
+            }
+        }
+        return loans;
+    }
+
     @Transactional
     @Override
     public CommandProcessingResult adjustLoanTransaction(final Long loanId, final Long transactionId, final JsonCommand command) {
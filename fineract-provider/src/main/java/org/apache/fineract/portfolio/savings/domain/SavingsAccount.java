@@ -319,6 +319,29 @@ public class SavingsAccount extends AbstractPersistableCustom {
     protected SavingsHelper savingsHelper;
     @Transient
     protected List<SavingsAccountTransaction> savingsAccountTransactions = new ArrayList<>();
+    /**
+     * Earliest transaction date whose running balance may be out of date, {@code null} when nothing was added, reversed
+     * or changed since the daily balances were last recalculated. Persisted so that a change saved without a
+     * recalculation is still covered by the next one.
+     */
+    @Column(name = "daily_balances_stale_from", nullable = true)
+    private LocalDate dailyBalancesStaleFrom;
+    /**
+     * Last persisted transaction whose running balance was derived over the whole transaction list from a zero opening
+     * balance, {@code null} when unknown. The first recalculation of a loaded account continues after it, code paths
+     * writing running balances on their own clear it.
+     */
+    @Column(name = "daily_balances_derived_till_txn_id", nullable = true)
+    private Long dailyBalancesDerivedTillTransactionId;
+    /**
+     * Opening balance and transaction list (with or without pivot config) of the last daily balance recalculation of
+     * this instance, {@code null} until the first one. Besides the persisted marker above, only the running balances
+     * derived by this instance are trusted as a starting point.
+     */
+    @Transient
+    private Money dailyBalancesDerivedFromOpeningBalance;
+    @Transient
+    private boolean dailyBalancesDerivedWithPivotConfig;
 
     @Column(name = "deposit_type_enum", insertable = false, updatable = false)
     private Integer depositType;
@@ -455,6 +478,7 @@ public class SavingsAccount extends AbstractPersistableCustom {
 
     public void setSavingsAccountTransactions(final List<SavingsAccountTransaction> savingsAccountTransactions) {
         this.savingsAccountTransactions.addAll(savingsAccountTransactions);
+        this.dailyBalancesDerivedFromOpeningBalance = null;
     }
 
     public List<SavingsAccountTransaction> getSavingsAccountTransactionsWithPivotConfig() {
@@ -990,8 +1014,26 @@ public class SavingsAccount extends AbstractPersistableCustom {
             accountTransactionsSorted = retrieveListOfTransactions();
         }
 
+        // running balances derived before the first stale transaction are still valid, only the transactions from there
+        // on are recalculated starting from the running balance of the last active transaction before it. Without a
+        // derivation by this instance or a persisted marker the whole history is recalculated.
+        final int recalculateFromIndex = findDailyBalancesRecalculationStart(accountTransactionsSorted, openingAccountBalance,
+                backdatedTxnsAllowedTill);
+        LocalDate recalculateFromDate = null;
+        if (recalculateFromIndex > 0) {
+            final SavingsAccountTransaction lastUnchangedTransaction = findLastActiveTransactionBefore(accountTransactionsSorted,
+                    recalculateFromIndex);
+            if (lastUnchangedTransaction != null) {
+                runningBalance = lastUnchangedTransaction.getRunningBalance(this.currency);
+            }
+            recalculateFromDate = recalculateFromIndex < accountTransactionsSorted.size()
+                    ? accountTransactionsSorted.get(recalculateFromIndex).transactionLocalDate()
+                    : LocalDate.MAX;
+        }
+
         boolean isTransactionsModified = false;
-        for (final SavingsAccountTransaction transaction : accountTransactionsSorted) {
+        for (final SavingsAccountTransaction transaction : accountTransactionsSorted.subList(recalculateFromIndex,
+                accountTransactionsSorted.size())) {
             if (transaction.isReversed() || transaction.isReversalTransaction()) {
                 transaction.zeroBalanceFields();
             } else {
@@ -1015,9 +1057,7 @@ public class SavingsAccount extends AbstractPersistableCustom {
                 }
 
                 runningBalance = runningBalance.plus(transactionAmount);
-                if (!transaction.getRunningBalance(transactionAmount.getCurrency()).isEqualTo(transactionAmount)) {
-                    transaction.updateRunningBalance(runningBalance);
-                }
+                transaction.updateRunningBalance(runningBalance);
                 if (overdraftAmount.isZero() && runningBalance.isLessThanZero() && !transaction.isAmountOnHold()) {
                     overdraftAmount = overdraftAmount.plus(runningBalance.getAmount().negate());
                 }
@@ -1065,11 +1105,122 @@ public class SavingsAccount extends AbstractPersistableCustom {
                 accountTransactionsSorted = retrieveListOfTransactions();
             }
         }
-        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate);
+        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate, recalculateFromDate);
+        this.dailyBalancesStaleFrom = null;
+        this.dailyBalancesDerivedFromOpeningBalance = openingAccountBalance.copy();
+        this.dailyBalancesDerivedWithPivotConfig = backdatedTxnsAllowedTill;
+        this.dailyBalancesDerivedTillTransactionId = isDailyBalancesMarkerApplicable(openingAccountBalance, backdatedTxnsAllowedTill)
+                ? findLastPersistedActiveTransactionId(accountTransactionsSorted)
+                : null;
+    }
+
+    private boolean isDailyBalancesDerivedFrom(final Money openingAccountBalance, final boolean backdatedTxnsAllowedTill) {
+        return this.dailyBalancesDerivedFromOpeningBalance != null && this.dailyBalancesDerivedWithPivotConfig == backdatedTxnsAllowedTill
+                && this.dailyBalancesDerivedFromOpeningBalance.isEqualTo(openingAccountBalance);
+    }
+
+    /**
+     * The persisted marker only covers recalculations over the whole transaction list from a zero opening balance, the
+     * pivot config recalculates a subset from the balance on the pivot date.
+     */
+    private boolean isDailyBalancesMarkerApplicable(final Money openingAccountBalance, final boolean backdatedTxnsAllowedTill) {
+        return !backdatedTxnsAllowedTill && openingAccountBalance.isZero();
+    }
+
+    /**
+     * Index of the first transaction whose running balance has to be recalculated, 0 when the whole history has to be
+     * recalculated and the size of the list when all persisted running balances are still current.
+     */
+    private int findDailyBalancesRecalculationStart(final List<SavingsAccountTransaction> accountTransactionsSorted,
+            final Money openingAccountBalance, final boolean backdatedTxnsAllowedTill) {
+        int fromIndex;
+        if (isDailyBalancesDerivedFrom(openingAccountBalance, backdatedTxnsAllowedTill)) {
+            fromIndex = accountTransactionsSorted.size();
+        } else if (isDailyBalancesMarkerApplicable(openingAccountBalance, backdatedTxnsAllowedTill)
+                && this.dailyBalancesDerivedTillTransactionId != null) {
+            // loaded account, the transactions after the marked one were added since the last recalculation
+            fromIndex = findDerivedTillTransactionIndex(accountTransactionsSorted) + 1;
+        } else {
+            return 0;
+        }
+        if (this.dailyBalancesStaleFrom != null) {
+            // transactions are sorted by date first, find the first one on or after the stale date
+            int low = 0;
+            int high = accountTransactionsSorted.size();
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (accountTransactionsSorted.get(middle).transactionLocalDate().isBefore(this.dailyBalancesStaleFrom)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            fromIndex = Math.min(fromIndex, low);
+        }
+        final SavingsAccountTransaction lastUnchangedTransaction = findLastActiveTransactionBefore(accountTransactionsSorted, fromIndex);
+        return lastUnchangedTransaction == null ? 0 : fromIndex;
+    }
+
+    /**
+     * Index of the marked transaction, -1 when it is no longer part of the list or was reversed since.
+     */
+    private int findDerivedTillTransactionIndex(final List<SavingsAccountTransaction> accountTransactionsSorted) {
+        for (int i = accountTransactionsSorted.size() - 1; i >= 0; i--) {
+            final SavingsAccountTransaction transaction = accountTransactionsSorted.get(i);
+            if (this.dailyBalancesDerivedTillTransactionId.equals(transaction.getId())) {
+                return transaction.isNotReversed() && !transaction.isReversalTransaction() ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Transactions without an id are only flushed after the recalculation, the marker stays on the last persisted one
+     * and the next recalculation starts after it.
+     */
+    private Long findLastPersistedActiveTransactionId(final List<SavingsAccountTransaction> accountTransactionsSorted) {
+        for (int i = accountTransactionsSorted.size() - 1; i >= 0; i--) {
+            final SavingsAccountTransaction transaction = accountTransactionsSorted.get(i);
+            if (transaction.getId() != null && transaction.isNotReversed() && !transaction.isReversalTransaction()) {
+                return transaction.getId();
+            }
+        }
+        return null;
+    }
+
+    private SavingsAccountTransaction findLastActiveTransactionBefore(final List<SavingsAccountTransaction> accountTransactionsSorted,
+            final int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            final SavingsAccountTransaction transaction = accountTransactionsSorted.get(i);
+            if (transaction.isNotReversed() && !transaction.isReversalTransaction()) {
+                return transaction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Marks the daily balances of the account as out of date from the given transaction date on, the next
+     * recalculation starts from the last transaction before it instead of the whole history.
+     */
+    public void markDailyBalancesStaleFrom(final LocalDate transactionDate) {
+        if (this.dailyBalancesStaleFrom == null || transactionDate.isBefore(this.dailyBalancesStaleFrom)) {
+            this.dailyBalancesStaleFrom = transactionDate;
+        }
     }
 
     protected void resetAccountTransactionsEndOfDayBalances(final List<SavingsAccountTransaction> accountTransactionsSorted,
             final LocalDate interestPostingUpToDate) {
+        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate, null);
+    }
+
+    /**
+     * Resets the end of day balances of the transactions dated on or after <code>recalculateFromDate</code> and of the
+     * last transaction before it, whose balance now ends the day before its successor. All transactions are reset when
+     * the date is null.
+     */
+    protected void resetAccountTransactionsEndOfDayBalances(final List<SavingsAccountTransaction> accountTransactionsSorted,
+            final LocalDate interestPostingUpToDate, final LocalDate recalculateFromDate) {
         // loop over transactions in reverse
         LocalDate endOfBalanceDate = interestPostingUpToDate;
         for (int i = accountTransactionsSorted.size() - 1; i >= 0; i--) {
@@ -1080,6 +1231,9 @@ public class SavingsAccount extends AbstractPersistableCustom {
                 // this transactions transaction date is end of balance date for
                 // previous transaction.
                 endOfBalanceDate = transaction.transactionLocalDate().minusDays(1);
+                if (recalculateFromDate != null && transaction.transactionLocalDate().isBefore(recalculateFromDate)) {
+                    break;
+                }
             }
         }
     }
@@ -2957,10 +3111,12 @@ public class SavingsAccount extends AbstractPersistableCustom {
 
     public void addTransaction(final SavingsAccountTransaction transaction) {
         this.transactions.add(transaction);
+        markDailyBalancesStaleFrom(transaction.transactionLocalDate());
     }
 
     public void addTransactionToExisting(final SavingsAccountTransaction transaction) {
         this.savingsAccountTransactions.add(transaction);
+        markDailyBalancesStaleFrom(transaction.transactionLocalDate());
     }
 
     public void setStatus(final Integer status) {
@@ -3278,11 +3434,11 @@ public class SavingsAccount extends AbstractPersistableCustom {
                 transaction.getAmount(this.getCurrency()).getAmount());
         transaction.getSavingsAccountChargesPaid().add(chargePaidBy);
         if (backdatedTxnsAllowedTill) {
-            this.savingsAccountTransactions.add(transaction);
+            addTransactionToExisting(transaction);
             this.summary.updateSummaryWithPivotConfig(this.currency, this.savingsAccountTransactionSummaryWrapper, transaction,
                     this.savingsAccountTransactions);
         } else {
-            this.transactions.add(transaction);
+            addTransaction(transaction);
         }
     }
 
@@ -3569,7 +3725,7 @@ public class SavingsAccount extends AbstractPersistableCustom {
         LocalDate transactionDate = DateUtils.getBusinessLocalDate();
         if (this.getSummary().getAccountBalance(this.getCurrency()).isGreaterThanZero()) {
             SavingsAccountTransaction transaction = SavingsAccountTransaction.escheat(this, transactionDate, appUser, postInterestAsOnDate);
-            this.transactions.add(transaction);
+            addTransaction(transaction);
         }
         recalculateDailyBalances(Money.zero(this.currency), transactionDate, false, postReversals);
         this.summary.updateSummary(this.currency, this.savingsAccountTransactionSummaryWrapper, this.transactions);
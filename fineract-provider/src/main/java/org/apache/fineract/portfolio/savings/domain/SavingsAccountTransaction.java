@@ -402,6 +402,7 @@ public final class SavingsAccountTransaction extends AbstractPersistableCustom {
 
     public void reverse() {
         this.reversed = true;
+        markDailyBalancesStale();
     }
 
     public Money getAmount(final MonetaryCurrency currency) {
@@ -504,6 +505,10 @@ public final class SavingsAccountTransaction extends AbstractPersistableCustom {
         this.balanceNumberOfDays = null;
     }
 
+    public boolean hasRunningBalance() {
+        return this.runningBalance != null;
+    }
+
     public void updateRunningBalance(final Money balance) {
         this.runningBalance = balance.getAmount();
     }
@@ -850,6 +855,13 @@ public final class SavingsAccountTransaction extends AbstractPersistableCustom {
 
     public void updateAmount(final Money amount) {
         this.amount = amount.getAmount();
+        markDailyBalancesStale();
+    }
+
+    private void markDailyBalancesStale() {
+        if (this.savingsAccount != null) {
+            this.savingsAccount.markDailyBalancesStaleFrom(this.dateOf);
+        }
     }
 
     public Integer getTypeOf() {
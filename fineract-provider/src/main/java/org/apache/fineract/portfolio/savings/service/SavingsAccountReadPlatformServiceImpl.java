@@ -185,8 +185,9 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         final String hierarchy = currentUser.getOffice().getHierarchy();
         final String hierarchySearchString = hierarchy + "%";
 
+        final boolean cursorPaged = searchParameters != null && searchParameters.isCursorPaged();
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        sqlBuilder.append("select ").append(cursorPaged ? "" : sqlGenerator.calcFoundRows() + " ");
         sqlBuilder.append(this.savingAccountMapper.schema());
 
         sqlBuilder.append(" join m_office o on o.id = c.office_id");
@@ -213,6 +214,10 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
                 objectArray[arrayPos] = searchParameters.getOfficeId();
                 arrayPos = arrayPos + 1;
             }
+            if (cursorPaged) {
+                return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), " and ", "sa.id",
+                        Arrays.copyOf(objectArray, arrayPos), this.savingAccountMapper, SavingsAccountData::getId, searchParameters);
+            }
             if (searchParameters.isOrderByRequested()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
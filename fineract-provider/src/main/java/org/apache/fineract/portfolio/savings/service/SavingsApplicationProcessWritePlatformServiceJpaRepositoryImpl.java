@@ -173,7 +173,16 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
             final AppUser submittedBy = this.context.authenticatedUser();
 
             final SavingsAccount account = this.savingAccountAssembler.assembleFrom(command, submittedBy);
-            this.savingAccountRepository.save(account);
+            // with pre-generation a non GSIM account is inserted once, already carrying its account number
+            if (account.isAccountNumberRequiresAutoGeneration() && account.getAccountTypes() != 5
+                    && this.accountNumberGenerator.isPregenerationEnabled()) {
+                final AccountNumberFormat accountNumberFormat = this.accountNumberFormatRepository
+                        .findByAccountType(EntityAccountType.SAVINGS);
+                account.updateAccountNo(this.accountNumberGenerator.generate(account, accountNumberFormat));
+                this.savingAccountRepository.saveAndFlush(account);
+            } else {
+                this.savingAccountRepository.save(account);
+            }
             String accountNumber = "";
             GroupSavingsIndividualMonitoring gsimAccount = null;
             BigDecimal applicationId = BigDecimal.ZERO;
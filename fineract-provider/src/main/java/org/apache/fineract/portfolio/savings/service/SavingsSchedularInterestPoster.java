@@ -267,7 +267,8 @@ public class SavingsSchedularInterestPoster implements Callable<Void> {
         query.append("total_interest_earned_derived=?, total_interest_posted_derived=?, total_withdrawal_fees_derived=?, ");
         query.append("total_fees_charge_derived=?, total_penalty_charge_derived=?, total_annual_fees_derived=?, ");
         query.append("account_balance_derived=?, total_overdraft_interest_derived=?, total_withhold_tax_derived=?, ");
-        query.append("last_interest_calculation_date=?, interest_posted_till_date=? where id=? ");
+        // running balances are written here as well, the next recalculation of the account starts from scratch
+        query.append("last_interest_calculation_date=?, interest_posted_till_date=?, daily_balances_derived_till_txn_id=null where id=? ");
         return query.toString();
     }
 
@@ -0,0 +1,341 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientDeleteBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientUpdateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.deposit.FixedDepositAccountCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.deposit.RecurringDepositAccountCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.CentersCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.CentersDeleteBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.CentersUpdateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.GroupsCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.GroupsDeleteBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.GroupsUpdateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanDeletedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanUpdatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.share.ShareAccountCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.data.SearchData;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Inverted index of the search terms, stored in {@code m_search_index_term}.
+ *
+ * Every searchable value is indexed lower cased as a whole and split into words, so a search is an index range scan
+ * on the term prefix instead of a full scan of the entity tables. The matching entities are then loaded by their ids,
+ * hence the returned data is always up to date, only the matching relies on the index. Unlike the {@code LIKE} search
+ * a term matches from the start of a value or of one of its words, not from its middle.
+ *
+ * Clients, groups, centers and loans are (re)indexed from their create, update and delete business events, the other
+ * entities from their create events. Indexing runs after the commit and its failures are only logged, the Rebuild Search
+ * Index job (re)indexes all entities.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "fineract.search.index.enabled", havingValue = "true")
+public class InvertedSearchIndex implements SearchIndex {
+
+    static final int MAX_TERM_LENGTH = 100;
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+    private static final String WORD_SEPARATOR = "[^\\p{L}\\p{N}]+";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final BusinessEventNotifierService businessEventNotifierService;
+    private final PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    public void addListeners() {
+        businessEventNotifierService.addPostBusinessEventListener(ClientCreateBusinessEvent.class,
+                event -> index(SearchEntityType.CLIENT, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(ClientUpdateBusinessEvent.class,
+                event -> index(SearchEntityType.CLIENT, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(ClientDeleteBusinessEvent.class,
+                event -> index(SearchEntityType.CLIENT, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(GroupsCreateBusinessEvent.class,
+                event -> index(SearchEntityType.GROUP, event.get().getResourceId()));
+        businessEventNotifierService.addPostBusinessEventListener(GroupsUpdateBusinessEvent.class,
+                event -> index(SearchEntityType.GROUP, event.get().getResourceId()));
+        businessEventNotifierService.addPostBusinessEventListener(GroupsDeleteBusinessEvent.class,
+                event -> index(SearchEntityType.GROUP, event.get().getResourceId()));
+        businessEventNotifierService.addPostBusinessEventListener(CentersCreateBusinessEvent.class,
+                event -> index(SearchEntityType.GROUP, event.get().getResourceId()));
+        businessEventNotifierService.addPostBusinessEventListener(CentersUpdateBusinessEvent.class,
+                event -> index(SearchEntityType.GROUP, event.get().getResourceId()));
+        businessEventNotifierService.addPostBusinessEventListener(CentersDeleteBusinessEvent.class,
+                event -> index(SearchEntityType.GROUP, event.get().getResourceId()));
+        businessEventNotifierService.addPostBusinessEventListener(LoanCreatedBusinessEvent.class,
+                event -> index(SearchEntityType.LOAN, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(LoanUpdatedBusinessEvent.class,
+                event -> index(SearchEntityType.LOAN, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(LoanDeletedBusinessEvent.class,
+                event -> index(SearchEntityType.LOAN, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(SavingsCreateBusinessEvent.class,
+                event -> index(SearchEntityType.SAVING, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(FixedDepositAccountCreateBusinessEvent.class,
+                event -> index(SearchEntityType.SAVING, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(RecurringDepositAccountCreateBusinessEvent.class,
+                event -> index(SearchEntityType.SAVING, event.get().getId()));
+        businessEventNotifierService.addPostBusinessEventListener(ShareAccountCreateBusinessEvent.class,
+                event -> index(SearchEntityType.SHARE, event.get().getId()));
+    }
+
+    @Override
+    public Collection<SearchData> search(final SearchConditions searchConditions, final String hierarchy) {
+        final String query = normalize(searchConditions.getSearchQuery());
+        final List<String> entityTypes = Arrays.stream(SearchEntityType.values())
+                .filter(entityType -> entityType.isRequested(searchConditions)).map(SearchEntityType::name).toList();
+        if (query == null || entityTypes.isEmpty()) {
+            return List.of();
+        }
+
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("entityTypes", entityTypes);
+        params.addValue("hierarchy", hierarchy + "%");
+        final StringBuilder sql = new StringBuilder("select t.entity_type as entityType, t.entity_id as entityId")
+                .append(" from m_search_index_term t")
+                .append(" where t.entity_type in (:entityTypes) and (t.office_hierarchy is null or t.office_hierarchy like :hierarchy)");
+        if (searchConditions.getExactMatch()) {
+            sql.append(" and t.full_value = :fullValue and t.term = :term");
+            params.addValue("fullValue", true);
+            params.addValue("term", query);
+        } else {
+            sql.append(" and t.term like :term");
+            params.addValue("term", escapeLike(query) + "%");
+        }
+        sql.append(" group by t.entity_type, t.entity_id order by t.entity_id desc ").append(sqlGenerator.limit(MAX_RESULTS));
+
+        final Map<SearchEntityType, List<Long>> hits = new EnumMap<>(SearchEntityType.class);
+        namedParameterJdbcTemplate.query(sql.toString(), params, rs -> {
+            hits.computeIfAbsent(SearchEntityType.valueOf(rs.getString("entityType")), key -> new ArrayList<>())
+                    .add(JdbcSupport.getLong(rs, "entityId"));
+        });
+
+        // load the current data of the matches, the hierarchy is checked again as the indexed one might be stale
+        final List<SearchData> result = new ArrayList<>();
+        final SearchDataMapper rm = new SearchDataMapper();
+        hits.forEach((entityType, ids) -> {
+            final MapSqlParameterSource resultParams = new MapSqlParameterSource();
+            resultParams.addValue("hierarchy", hierarchy + "%");
+            resultParams.addValue("ids", ids);
+            final String resultSql = entityType.resultSql() + " and " + entityType.getIdColumn() + " in (:ids) order by "
+                    + entityType.getIdColumn() + " desc";
+            result.addAll(namedParameterJdbcTemplate.query(resultSql, resultParams, rm));
+        });
+        return result;
+    }
+
+    @Override
+    public void index(final SearchEntityType entityType, final Long entityId) {
+        if (entityId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    indexEntitySafely(entityType, entityId);
+                }
+            });
+        } else {
+            indexEntitySafely(entityType, entityId);
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        for (SearchEntityType entityType : SearchEntityType.values()) {
+            Long lastId = 0L;
+            while (lastId != null) {
+                lastId = indexChunk(entityType, lastId);
+            }
+            log.info("Rebuilt the search index of {}", entityType);
+        }
+    }
+
+    /**
+     * The entity is already committed, a failing index update must not fail the business operation. The terms of the
+     * entity remain stale until the next index update of the entity or the next run of the Rebuild Search Index job.
+     */
+    private void indexEntitySafely(final SearchEntityType entityType, final Long entityId) {
+        try {
+            indexEntity(entityType, entityId);
+        } catch (RuntimeException e) {
+            log.error("Failed to update the search index of {} {}, it is fixed by the next Rebuild Search Index job", entityType,
+                    entityId, e);
+        }
+    }
+
+    private void indexEntity(final SearchEntityType entityType, final Long entityId) {
+        newTransactionTemplate().executeWithoutResult(status -> {
+            final List<SearchIndexDocument> documents = jdbcTemplate.query(
+                    entityType.documentSql() + " where " + entityType.getIdColumn() + " = ?", // NOSONAR
+                    new SearchIndexDocumentMapper(entityType), entityId);
+            jdbcTemplate.update("delete from m_search_index_term where entity_type = ? and entity_id = ?", entityType.name(), entityId);
+            insertTerms(entityType, documents);
+        });
+    }
+
+    /**
+     * Replaces the terms of the next {@link #REBUILD_CHUNK_SIZE} entities after the given id, the terms of the deleted
+     * entities in between are removed too.
+     *
+     * @return the id of the last entity of the chunk, {@code null} if there are no more entities
+     */
+    private Long indexChunk(final SearchEntityType entityType, final Long afterId) {
+        return newTransactionTemplate().execute(status -> {
+            final String idColumn = entityType.getIdColumn();
+            final List<SearchIndexDocument> documents = jdbcTemplate.query(
+                    entityType.documentSql() + " where " + idColumn + " > ? order by " + idColumn + " " // NOSONAR
+                            + sqlGenerator.limit(REBUILD_CHUNK_SIZE),
+                    new SearchIndexDocumentMapper(entityType), afterId);
+
+            Long lastId = null;
+            if (documents.size() < REBUILD_CHUNK_SIZE) {
+                jdbcTemplate.update("delete from m_search_index_term where entity_type = ? and entity_id > ?", entityType.name(), afterId);
+            } else {
+                lastId = documents.get(documents.size() - 1).entityId;
+                jdbcTemplate.update("delete from m_search_index_term where entity_type = ? and entity_id > ? and entity_id <= ?",
+                        entityType.name(), afterId, lastId);
+            }
+            insertTerms(entityType, documents);
+            return lastId;
+        });
+    }
+
+    private void insertTerms(final SearchEntityType entityType, final List<SearchIndexDocument> documents) {
+        final List<Object[]> terms = new ArrayList<>();
+        for (SearchIndexDocument document : documents) {
+            document.terms.forEach((term, fullValue) -> terms
+                    .add(new Object[] { entityType.name(), document.entityId, term, fullValue, document.hierarchy }));
+        }
+        if (!terms.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "insert into m_search_index_term (entity_type, entity_id, term, full_value, office_hierarchy) values (?, ?, ?, ?, ?)",
+                    terms);
+        }
+    }
+
+    private TransactionTemplate newTransactionTemplate() {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+
+    /**
+     * The terms of a value: the whole value and its words, lower cased.
+     *
+     * @return the terms, mapped to whether they are the whole value
+     */
+    static Map<String, Boolean> terms(final Collection<String> values) {
+        final Map<String, Boolean> terms = new LinkedHashMap<>();
+        for (String value : values) {
+            final String normalized = normalize(value);
+            if (normalized == null) {
+                continue;
+            }
+            terms.put(normalized, Boolean.TRUE);
+            final Set<String> words = new LinkedHashSet<>(Arrays.asList(normalized.split(WORD_SEPARATOR)));
+            for (String word : words) {
+                if (!word.isEmpty()) {
+                    terms.putIfAbsent(word, Boolean.FALSE);
+                }
+            }
+        }
+        return terms;
+    }
+
+    static String normalize(final String value) {
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        return StringUtils.left(value.trim().toLowerCase(Locale.ROOT), MAX_TERM_LENGTH);
+    }
+
+    private static String escapeLike(final String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static final class SearchIndexDocument {
+
+        private final Long entityId;
+        private final String hierarchy;
+        private final Map<String, Boolean> terms;
+
+        SearchIndexDocument(final Long entityId, final String hierarchy, final Map<String, Boolean> terms) {
+            this.entityId = entityId;
+            this.hierarchy = hierarchy;
+            this.terms = terms;
+        }
+    }
+
+    private static final class SearchIndexDocumentMapper implements RowMapper<SearchIndexDocument> {
+
+        private final SearchEntityType entityType;
+
+        SearchIndexDocumentMapper(final SearchEntityType entityType) {
+            this.entityType = entityType;
+        }
+
+        @Override
+        public SearchIndexDocument mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final List<String> values = new ArrayList<>();
+            for (int i = 0; i < this.entityType.getSearchColumns().size(); i++) {
+                values.add(rs.getString("value" + i));
+            }
+            return new SearchIndexDocument(JdbcSupport.getLong(rs, "entityId"), rs.getString("hierarchy"), terms(values));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.portfolio.client.domain.ClientEnumerations;
+import org.apache.fineract.portfolio.group.domain.GroupingTypeEnumerations;
+import org.apache.fineract.portfolio.loanaccount.data.LoanStatusEnumData;
+import org.apache.fineract.portfolio.loanproduct.service.LoanEnumerations;
+import org.apache.fineract.portfolio.savings.service.SavingsEnumerations;
+import org.apache.fineract.portfolio.search.data.SearchData;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Maps the rows selected by {@link SearchEntityType#resultSql()}.
+ */
+final class SearchDataMapper implements RowMapper<SearchData> {
+
+    @Override
+    public SearchData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+        final Long entityId = JdbcSupport.getLong(rs, "entityId");
+        final String entityAccountNo = rs.getString("entityAccountNo");
+        final String entityExternalId = rs.getString("entityExternalId");
+        final String entityName = rs.getString("entityName");
+        final String entityType = rs.getString("entityType");
+        final Long parentId = JdbcSupport.getLong(rs, "parentId");
+        final String parentName = rs.getString("parentName");
+        final String entityMobileNo = rs.getString("entityMobileNo");
+        final Integer entityStatusEnum = JdbcSupport.getInteger(rs, "entityStatusEnum");
+        final String parentType = rs.getString("parentType");
+        final Integer subEntityTypeValue = JdbcSupport.getInteger(rs, "subEntityType");
+        final EnumOptionData subEntityTypeCode = SavingsEnumerations.depositType(subEntityTypeValue);
+
+        EnumOptionData entityStatus = new EnumOptionData(0L, "", "");
+
+        if (entityType.equalsIgnoreCase("client") || entityType.equalsIgnoreCase("clientidentifier")) {
+            entityStatus = ClientEnumerations.status(entityStatusEnum);
+        }
+
+        else if (entityType.equalsIgnoreCase("group") || entityType.equalsIgnoreCase("center")) {
+            entityStatus = GroupingTypeEnumerations.status(entityStatusEnum);
+        }
+
+        else if (entityType.equalsIgnoreCase("loan")) {
+            LoanStatusEnumData loanStatusEnumData = LoanEnumerations.status(entityStatusEnum);
+
+            entityStatus = LoanEnumerations.status(loanStatusEnumData);
+        }
+
+        return new SearchData(entityId, entityAccountNo, entityExternalId, entityName, entityType, parentId, parentName, parentType,
+                entityMobileNo, entityStatus, subEntityTypeCode.getCode());
+    }
+}
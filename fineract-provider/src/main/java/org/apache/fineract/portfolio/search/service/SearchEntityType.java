@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.List;
+import java.util.function.Function;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+
+/**
+ * The entities covered by the global search, with the SQL fragments selecting their search results and their searchable
+ * columns.
+ */
+public enum SearchEntityType {
+
+    CLIENT(SearchConditions::isClientSearch, "c.id",
+            "'CLIENT' as entityType, c.id as entityId, c.display_name as entityName, c.external_id as entityExternalId, c.account_no as entityAccountNo "
+                    + " , c.office_id as parentId, o.name as parentName, c.mobile_no as entityMobileNo,c.status_enum as entityStatusEnum, null as subEntityType, null as parentType ",
+            " m_client c join m_office o on o.id = c.office_id ", "o.hierarchy like :hierarchy",
+            List.of("c.account_no", "c.display_name", "c.external_id", "c.mobile_no")), //
+    LOAN(SearchConditions::isLoanSeach, "l.id",
+            "'LOAN' as entityType, l.id as entityId, pl.name as entityName, l.external_id as entityExternalId, l.account_no as entityAccountNo "
+                    + " , coalesce(c.id,g.id) as parentId, coalesce(c.display_name,g.display_name) as parentName, null as entityMobileNo, l.loan_status_id as entityStatusEnum, null as subEntityType, CASE WHEN g.id is null THEN 'client' ELSE 'group' END as parentType ",
+            " m_loan l left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id ",
+            "(o.hierarchy IS NULL OR o.hierarchy like :hierarchy)", List.of("l.account_no", "l.external_id")), //
+    SAVING(SearchConditions::isSavingSeach, "s.id",
+            "'SAVING' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
+                    + " , coalesce(c.id,g.id) as parentId, coalesce(c.display_name,g.display_name) as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, s.deposit_type_enum as subEntityType, CASE WHEN g.id is null THEN 'client' ELSE 'group' END as parentType ",
+            " m_savings_account s left join m_client c on s.client_id = c.id left join m_group g ON s.group_id = g.id left join m_office o on o.id = c.office_id left join m_savings_product sp on sp.id=s.product_id ",
+            "(o.hierarchy IS NULL OR o.hierarchy like :hierarchy)", List.of("s.account_no", "s.external_id")), //
+    SHARE(SearchConditions::isShareSeach, "s.id",
+            "'SHARE' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
+                    + " , c.id as parentId, c.display_name as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, null as subEntityType, 'client' as parentType ",
+            " m_share_account s left join m_client c on s.client_id = c.id left join m_office o on o.id = c.office_id left join m_share_product sp on sp.id=s.product_id ",
+            "(o.hierarchy IS NULL OR o.hierarchy like :hierarchy)", List.of("s.account_no", "s.external_id")), //
+    CLIENTIDENTIFIER(SearchConditions::isClientIdentifierSearch, "ci.id",
+            "'CLIENTIDENTIFIER' as entityType, ci.id as entityId, ci.document_key as entityName, "
+                    + " null as entityExternalId, null as entityAccountNo, c.id as parentId, c.display_name as parentName,null as entityMobileNo, c.status_enum as entityStatusEnum, null as subEntityType, null as parentType ",
+            " m_client_identifier ci join m_client c on ci.client_id=c.id join m_office o on o.id = c.office_id ", "o.hierarchy like :hierarchy",
+            List.of("ci.document_key")), //
+    GROUP(SearchConditions::isGroupSearch, "g.id",
+            "CASE WHEN g.level_id=1 THEN 'CENTER' ELSE 'GROUP' END as entityType, g.id as entityId, g.display_name as entityName, g.external_id as entityExternalId, g.account_no as entityAccountNo, "
+                    + " g.office_id as parentId, o.name as parentName, null as entityMobileNo, g.status_enum as entityStatusEnum, null as subEntityType, null as parentType ",
+            " m_group g join m_office o on o.id = g.office_id ", "o.hierarchy like :hierarchy",
+            List.of("g.account_no", "g.display_name", "g.external_id", "g.id"));
+
+    private final Function<SearchConditions, Boolean> requested;
+    private final String idColumn;
+    private final String resultColumns;
+    private final String from;
+    private final String hierarchyCondition;
+    private final List<String> searchColumns;
+
+    SearchEntityType(final Function<SearchConditions, Boolean> requested, final String idColumn, final String resultColumns,
+            final String from, final String hierarchyCondition, final List<String> searchColumns) {
+        this.requested = requested;
+        this.idColumn = idColumn;
+        this.resultColumns = resultColumns;
+        this.from = from;
+        this.hierarchyCondition = hierarchyCondition;
+        this.searchColumns = searchColumns;
+    }
+
+    public boolean isRequested(final SearchConditions searchConditions) {
+        return Boolean.TRUE.equals(this.requested.apply(searchConditions));
+    }
+
+    /**
+     * Selects the search results of this entity type visible for the {@code :hierarchy} parameter, further criteria are
+     * appended with {@code and}.
+     */
+    public String resultSql() {
+        return "select " + this.resultColumns + " from " + this.from + " where " + this.hierarchyCondition;
+    }
+
+    /**
+     * Selects the id, the office hierarchy and the searchable values of this entity type.
+     */
+    public String documentSql() {
+        final StringBuilder sql = new StringBuilder("select ").append(this.idColumn).append(" as entityId, o.hierarchy as hierarchy");
+        for (int i = 0; i < this.searchColumns.size(); i++) {
+            sql.append(", ").append(this.searchColumns.get(i)).append(" as value").append(i);
+        }
+        return sql.append(" from ").append(this.from).toString();
+    }
+
+    public String getIdColumn() {
+        return this.idColumn;
+    }
+
+    public List<String> getSearchColumns() {
+        return this.searchColumns;
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.Collection;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.data.SearchData;
+
+/**
+ * Matches the global search query against the account numbers, external ids, names, mobile numbers and identifier
+ * document keys of the entities listed in {@link SearchEntityType}.
+ *
+ * The implementation is selected by the {@code fineract.search.index.enabled} property: by default the tables are
+ * scanned with {@code LIKE} on every search, otherwise an inverted index of search terms is used, which has to be
+ * built by the Rebuild Search Index job and is then kept up to date from the business events.
+ */
+public interface SearchIndex {
+
+    /**
+     * Only the first results are returned to the search box.
+     */
+    int MAX_RESULTS = 50;
+
+    /**
+     * Searches the entities requested by the search conditions, restricted to the office hierarchy of the user.
+     *
+     * @param searchConditions
+     *            the search conditions
+     * @param hierarchy
+     *            the office hierarchy of the user
+     * @return at most {@link #MAX_RESULTS} matching entities
+     */
+    Collection<SearchData> search(SearchConditions searchConditions, String hierarchy);
+
+    /**
+     * (Re)indexes a created or modified entity, once the current transaction is committed.
+     */
+    void index(SearchEntityType entityType, Long entityId);
+
+    /**
+     * Rebuilds the whole index of the current tenant.
+     */
+    void rebuild();
+}
@@ -25,19 +25,12 @@ import java.sql.SQLException;
 import java.util.Collection;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
-import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.data.OfficeData;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
-import org.apache.fineract.portfolio.client.domain.ClientEnumerations;
-import org.apache.fineract.portfolio.group.domain.GroupingTypeEnumerations;
-import org.apache.fineract.portfolio.loanaccount.data.LoanStatusEnumData;
 import org.apache.fineract.portfolio.loanproduct.data.LoanProductData;
-import org.apache.fineract.portfolio.loanproduct.service.LoanEnumerations;
 import org.apache.fineract.portfolio.loanproduct.service.LoanProductReadPlatformService;
-import org.apache.fineract.portfolio.savings.service.SavingsEnumerations;
 import org.apache.fineract.portfolio.search.SearchConstants;
 import org.apache.fineract.portfolio.search.data.AdHocQuerySearchConditions;
 import org.apache.fineract.portfolio.search.data.AdHocSearchQueryData;
@@ -57,131 +50,14 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
     private final PlatformSecurityContext context;
     private final LoanProductReadPlatformService loanProductReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
-    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final SearchIndex searchIndex;
 
     @Override
     public Collection<SearchData> retriveMatchingData(final SearchConditions searchConditions) {
         final AppUser currentUser = context.authenticatedUser();
         final String hierarchy = currentUser.getOffice().getHierarchy();
 
-        final SearchMapper rm = new SearchMapper();
-
-        final MapSqlParameterSource params = new MapSqlParameterSource();
-        params.addValue("hierarchy", hierarchy + "%");
-        if (searchConditions.getExactMatch()) {
-            params.addValue("search", searchConditions.getSearchQuery());
-        } else {
-            params.addValue("search", "%" + searchConditions.getSearchQuery() + "%");
-        }
-        return namedParameterJdbcTemplate.query(searchSchema(searchConditions), params, rm);
-    }
-
-    public String searchSchema(final SearchConditions searchConditions) {
-
-        final String union = " union ";
-        final String clientMatchSql = " (select 'CLIENT' as entityType, c.id as entityId, c.display_name as entityName, c.external_id as entityExternalId, c.account_no as entityAccountNo "
-                + " , c.office_id as parentId, o.name as parentName, c.mobile_no as entityMobileNo,c.status_enum as entityStatusEnum, null as subEntityType, null as parentType "
-                + " from m_client c join m_office o on o.id = c.office_id where o.hierarchy like :hierarchy and (c.account_no like :search or c.display_name like :search or c.external_id like :search or c.mobile_no like :search)) "
-                + " order by c.id desc";
-
-        final String loanMatchSql = " (select 'LOAN' as entityType, l.id as entityId, pl.name as entityName, l.external_id as entityExternalId, l.account_no as entityAccountNo "
-                + " , coalesce(c.id,g.id) as parentId, coalesce(c.display_name,g.display_name) as parentName, null as entityMobileNo, l.loan_status_id as entityStatusEnum, null as subEntityType, CASE WHEN g.id is null THEN 'client' ELSE 'group' END as parentType "
-                + " from m_loan l left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (l.account_no like :search or l.external_id like :search)) "
-                + " order by l.id desc";
-
-        final String savingMatchSql = " (select 'SAVING' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
-                + " , coalesce(c.id,g.id) as parentId, coalesce(c.display_name,g.display_name) as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, s.deposit_type_enum as subEntityType, CASE WHEN g.id is null THEN 'client' ELSE 'group' END as parentType "
-                + " from m_savings_account s left join m_client c on s.client_id = c.id left join m_group g ON s.group_id = g.id left join m_office o on o.id = c.office_id left join m_savings_product sp on sp.id=s.product_id "
-                + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (s.account_no like :search or s.external_id like :search)) "
-                + " order by s.id desc";
-
-        final String shareMatchSql = " (select 'SHARE' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
-                + " , c.id as parentId, c.display_name as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, null as subEntityType, 'client' as parentType "
-                + " from m_share_account s left join m_client c on s.client_id = c.id left join m_office o on o.id = c.office_id left join m_share_product sp on sp.id=s.product_id "
-                + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (s.account_no like :search or s.external_id like :search)) "
-                + " order by s.id desc";
-
-        final String clientIdentifierMatchSql = " (select 'CLIENTIDENTIFIER' as entityType, ci.id as entityId, ci.document_key as entityName, "
-                + " null as entityExternalId, null as entityAccountNo, c.id as parentId, c.display_name as parentName,null as entityMobileNo, c.status_enum as entityStatusEnum, null as subEntityType, null as parentType "
-                + " from m_client_identifier ci join m_client c on ci.client_id=c.id join m_office o on o.id = c.office_id "
-                + " where o.hierarchy like :hierarchy and ci.document_key like :search ) " + " order by ci.id desc";
-
-        final String groupMatchSql = " (select CASE WHEN g.level_id=1 THEN 'CENTER' ELSE 'GROUP' END as entityType, g.id as entityId, g.display_name as entityName, g.external_id as entityExternalId, g.account_no as entityAccountNo, "
-                + " g.office_id as parentId, o.name as parentName, null as entityMobileNo, g.status_enum as entityStatusEnum, null as subEntityType, null as parentType "
-                + " from m_group g join m_office o on o.id = g.office_id where o.hierarchy like :hierarchy and (g.account_no like :search or g.display_name like :search or g.external_id like :search or g.id like :search )) "
-                + " order by g.id desc";
-
-        final StringBuilder sql = new StringBuilder();
-
-        if (searchConditions.isClientSearch()) {
-            sql.append(clientMatchSql).append(union);
-        }
-
-        if (searchConditions.isLoanSeach()) {
-            sql.append(loanMatchSql).append(union);
-        }
-
-        if (searchConditions.isSavingSeach()) {
-            sql.append(savingMatchSql).append(union);
-        }
-
-        if (searchConditions.isShareSeach()) {
-            sql.append(shareMatchSql).append(union);
-        }
-
-        if (searchConditions.isClientIdentifierSearch()) {
-            sql.append(clientIdentifierMatchSql).append(union);
-        }
-
-        if (searchConditions.isGroupSearch()) {
-            sql.append(groupMatchSql).append(union);
-        }
-
-        // remove last occurrence of "union all" string
-        sql.replace(sql.lastIndexOf(union), sql.length(), "");
-
-        // only get the first 50 rows in case of searcing
-        sql.append(" ").append(sqlGenerator.limit(50, 0));
-        return sql.toString();
-    }
-
-    private static final class SearchMapper implements RowMapper<SearchData> {
-
-        @Override
-        public SearchData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
-            final Long entityId = JdbcSupport.getLong(rs, "entityId");
-            final String entityAccountNo = rs.getString("entityAccountNo");
-            final String entityExternalId = rs.getString("entityExternalId");
-            final String entityName = rs.getString("entityName");
-            final String entityType = rs.getString("entityType");
-            final Long parentId = JdbcSupport.getLong(rs, "parentId");
-            final String parentName = rs.getString("parentName");
-            final String entityMobileNo = rs.getString("entityMobileNo");
-            final Integer entityStatusEnum = JdbcSupport.getInteger(rs, "entityStatusEnum");
-            final String parentType = rs.getString("parentType");
-            final Integer subEntityTypeValue = JdbcSupport.getInteger(rs, "subEntityType");
-            final EnumOptionData subEntityTypeCode = SavingsEnumerations.depositType(subEntityTypeValue);
-
-            EnumOptionData entityStatus = new EnumOptionData(0L, "", "");
-
-            if (entityType.equalsIgnoreCase("client") || entityType.equalsIgnoreCase("clientidentifier")) {
-                entityStatus = ClientEnumerations.status(entityStatusEnum);
-            }
-
-            else if (entityType.equalsIgnoreCase("group") || entityType.equalsIgnoreCase("center")) {
-                entityStatus = GroupingTypeEnumerations.status(entityStatusEnum);
-            }
-
-            else if (entityType.equalsIgnoreCase("loan")) {
-                LoanStatusEnumData loanStatusEnumData = LoanEnumerations.status(entityStatusEnum);
-
-                entityStatus = LoanEnumerations.status(loanStatusEnumData);
-            }
-
-            return new SearchData(entityId, entityAccountNo, entityExternalId, entityName, entityType, parentId, parentName, parentType,
-                    entityMobileNo, entityStatus, subEntityTypeCode.getCode());
-        }
-
+        return searchIndex.search(searchConditions, hierarchy);
     }
 
     @Override
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.data.SearchData;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Searches the entity tables directly with {@code LIKE '%query%'}, there is no index to maintain.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "fineract.search.index.enabled", havingValue = "false")
+public class SqlLikeSearchIndex implements SearchIndex {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+
+    @Override
+    public Collection<SearchData> search(final SearchConditions searchConditions, final String hierarchy) {
+        final List<SearchEntityType> entityTypes = Arrays.stream(SearchEntityType.values())
+                .filter(entityType -> entityType.isRequested(searchConditions)).toList();
+        if (entityTypes.isEmpty()) {
+            return List.of();
+        }
+
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("hierarchy", hierarchy + "%");
+        if (searchConditions.getExactMatch()) {
+            params.addValue("search", searchConditions.getSearchQuery());
+        } else {
+            params.addValue("search", "%" + searchConditions.getSearchQuery() + "%");
+        }
+        return namedParameterJdbcTemplate.query(searchSchema(entityTypes), params, new SearchDataMapper());
+    }
+
+    private String searchSchema(final List<SearchEntityType> entityTypes) {
+        final String sql = entityTypes.stream().map(SqlLikeSearchIndex::matchSql).collect(Collectors.joining(" union "));
+        // only get the first 50 rows in case of searcing
+        return sql + " " + sqlGenerator.limit(MAX_RESULTS, 0);
+    }
+
+    private static String matchSql(final SearchEntityType entityType) {
+        final String criteria = entityType.getSearchColumns().stream().map(column -> column + " like :search")
+                .collect(Collectors.joining(" or "));
+        return " (" + entityType.resultSql() + " and (" + criteria + ")) order by " + entityType.getIdColumn() + " desc";
+    }
+
+    @Override
+    public void index(final SearchEntityType entityType, final Long entityId) {
+        // nothing to maintain, the tables are searched directly
+    }
+
+    @Override
+    public void rebuild() {
+        log.info("The search index is disabled, there is nothing to rebuild");
+    }
+}
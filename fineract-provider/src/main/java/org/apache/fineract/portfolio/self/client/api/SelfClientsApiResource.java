@@ -40,6 +40,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.data.UploadRequest;
@@ -75,12 +76,12 @@ public class SelfClientsApiResource {
     @GET
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
-    @Operation(summary = "List Clients associated to the user", description = "The list capability of clients can support pagination and sorting.\n\n"
+    @Operation(operationId = "retrieveAll", summary = "List Clients associated to the user", description = "The list capability of clients can support pagination and sorting.\n\n"
             + "Example Requests:\n" + "\n" + "self/clients\n" + "\n" + "self/clients?fields=displayName,officeName\n" + "\n"
             + "self/clients?offset=10&limit=50\n" + "\n" + "self/clients?orderBy=displayName&sortOrder=DESC")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = SelfClientsApiResourceSwagger.GetSelfClientsResponse.class))) })
-    public String retrieveAll(@Context final UriInfo uriInfo,
+    public StreamingOutput retrieveAllStreaming(@Context final UriInfo uriInfo,
             @QueryParam("displayName") @Parameter(description = "displayName") final String displayName,
             @QueryParam("firstName") @Parameter(description = "firstName") final String firstname,
             @QueryParam("lastName") @Parameter(description = "lastName") final String lastname,
@@ -90,13 +91,29 @@ public class SelfClientsApiResource {
             @QueryParam("orderBy") @Parameter(description = "orderBy") final String orderBy,
             @QueryParam("sortOrder") @Parameter(description = "sortOrder") final String sortOrder) {
 
+        final String sqlSearch = null;
+        final Long officeId = null;
+        final String externalId = null;
+        final String hierarchy = null;
+        final Boolean orphansOnly = null;
+        return this.clientApiResource.retrieveAllStreaming(uriInfo, sqlSearch, officeId, externalId, displayName, firstname, lastname,
+                status, hierarchy, offset, limit, orderBy, sortOrder, orphansOnly, true, null);
+    }
+
+    /**
+     * Same list as {@link #retrieveAllStreaming}, serialized into a String for callers that use the response body in
+     * process.
+     */
+    public String retrieveAll(final UriInfo uriInfo, final String displayName, final String firstname, final String lastname,
+            final Integer offset, final String status, final Integer limit, final String orderBy, final String sortOrder) {
+
         final String sqlSearch = null;
         final Long officeId = null;
         final String externalId = null;
         final String hierarchy = null;
         final Boolean orphansOnly = null;
         return this.clientApiResource.retrieveAll(uriInfo, sqlSearch, officeId, externalId, displayName, firstname, lastname, status,
-                hierarchy, offset, limit, orderBy, sortOrder, orphansOnly, true);
+                hierarchy, offset, limit, orderBy, sortOrder, orphansOnly, true, null);
     }
 
     @GET
@@ -36,7 +36,11 @@ import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -55,8 +59,25 @@ import org.springframework.stereotype.Service;
 @Service
 public class TemplateMergeService {
 
+    private static final int MAX_CACHED_TEMPLATES = 256;
+
     private final FineractProperties fineractProperties;
 
+    private final MustacheFactory mustacheFactory = new DefaultMustacheFactory();
+
+    // Compiled templates and mappers keyed by name and text, so an updated template is compiled again on its next merge
+    private final Map<List<String>, Mustache> compiledTemplates = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<List<String>, Mustache> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    });
+
+    private volatile List<Pattern> regexWhitelistPatterns;
+
     // TODO Replace this with appropriate alternative available in Guava
     private static String getStringFromInputStream(final InputStream is) {
         final StringBuilder sb = new StringBuilder();
@@ -77,8 +98,7 @@ public class TemplateMergeService {
     public String compile(final Template template, final Map<String, Object> scopes) {
         scopes.put("static", new TemplateFunctions());
 
-        final MustacheFactory mf = new DefaultMustacheFactory();
-        final Mustache mustache = mf.compile(new StringReader(template.getText()), template.getName());
+        final Mustache mustache = getCompiledMustache(template.getName(), template.getText());
 
         getCompiledMapFromMappers(template.getMappersAsMap(), scopes);
 
@@ -90,12 +110,18 @@ public class TemplateMergeService {
         return stringWriter.toString();
     }
 
-    private Map<String, Object> getCompiledMapFromMappers(final Map<String, String> data, final Map<String, Object> scopes) {
-        final MustacheFactory mf = new DefaultMustacheFactory();
+    /**
+     * Returns the compiled template for the given text, compiling it only if it is not cached yet.
+     */
+    public Mustache getCompiledMustache(final String name, final String text) {
+        return this.compiledTemplates.computeIfAbsent(Arrays.asList(name, text),
+                key -> this.mustacheFactory.compile(new StringReader(text), name));
+    }
 
+    private Map<String, Object> getCompiledMapFromMappers(final Map<String, String> data, final Map<String, Object> scopes) {
         if (data != null) {
             for (final Map.Entry<String, String> entry : data.entrySet()) {
-                final Mustache mappersMustache = mf.compile(new StringReader(entry.getValue()), "");
+                final Mustache mappersMustache = getCompiledMustache("", entry.getValue());
                 final StringWriter stringWriter = new StringWriter();
 
                 mappersMustache.execute(stringWriter, scopes);
@@ -131,15 +157,11 @@ public class TemplateMergeService {
         if (fineractProperties.getTemplate() != null && fineractProperties.getTemplate().isRegexWhitelistEnabled()) {
             boolean whitelisted = false;
 
-            if (fineractProperties.getTemplate().getRegexWhitelist() != null
-                    && !fineractProperties.getTemplate().getRegexWhitelist().isEmpty()) {
-                for (String urlPattern : fineractProperties.getTemplate().getRegexWhitelist()) {
-                    Pattern pattern = Pattern.compile(urlPattern);
-                    Matcher matcher = pattern.matcher(url);
-                    if (matcher.matches()) {
-                        whitelisted = true;
-                        break;
-                    }
+            for (Pattern pattern : getRegexWhitelistPatterns()) {
+                Matcher matcher = pattern.matcher(url);
+                if (matcher.matches()) {
+                    whitelisted = true;
+                    break;
                 }
             }
 
@@ -179,6 +201,16 @@ public class TemplateMergeService {
         return connection;
     }
 
+    private List<Pattern> getRegexWhitelistPatterns() {
+        List<Pattern> patterns = this.regexWhitelistPatterns;
+        if (patterns == null) {
+            final List<String> regexWhitelist = fineractProperties.getTemplate().getRegexWhitelist();
+            patterns = regexWhitelist == null ? List.of() : regexWhitelist.stream().map(Pattern::compile).toList();
+            this.regexWhitelistPatterns = patterns;
+        }
+        return patterns;
+    }
+
     @SuppressWarnings("unchecked")
     private void expandMapArrays(Object value) {
         if (value instanceof Map) {
@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AccountingProcessorHelperTest {
+
+    private static final LocalDate TRANSACTION_DATE = LocalDate.of(2023, 3, 6);
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private LoanTransactionRepository loanTransactionRepository;
+
+    @InjectMocks
+    private AccountingProcessorHelper underTest;
+
+    private final Office office = mock(Office.class);
+    private final GLAccount account = mock(GLAccount.class);
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        final HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, TRANSACTION_DATE);
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void journalEntriesAreFlushedOneByOneOutsideOfABatch() {
+        // when
+        postRepayment();
+
+        // then
+        verify(this.journalEntryRepository, times(2)).saveAndFlush(any(JournalEntry.class));
+        verify(this.journalEntryRepository, never()).save(any(JournalEntry.class));
+    }
+
+    @Test
+    void journalEntriesOfABatchAreFlushedOnceAtTheEnd() {
+        // when
+        final Integer result = this.underTest.writeJournalEntriesInBatch(() -> {
+            postRepayment();
+            postRepayment();
+            verify(this.journalEntryRepository, never()).flush();
+            return 4;
+        });
+
+        // then
+        assertThat(result).isEqualTo(4);
+        verify(this.journalEntryRepository, times(4)).save(any(JournalEntry.class));
+        verify(this.journalEntryRepository, never()).saveAndFlush(any(JournalEntry.class));
+        verify(this.journalEntryRepository, times(1)).flush();
+    }
+
+    @Test
+    void nestedBatchIsFlushedByTheOutermostOne() {
+        // when
+        this.underTest.writeJournalEntriesInBatch(() -> this.underTest.writeJournalEntriesInBatch(() -> {
+            postRepayment();
+            return null;
+        }));
+
+        // then
+        verify(this.journalEntryRepository, times(2)).save(any(JournalEntry.class));
+        verify(this.journalEntryRepository, times(1)).flush();
+    }
+
+    @Test
+    void failedBatchIsNotFlushedAndLaterEntriesAreFlushedAgain() {
+        // when
+        assertThatThrownBy(() -> this.underTest.writeJournalEntriesInBatch(() -> {
+            postRepayment();
+            throw new IllegalStateException("repayment failed");
+        })).isInstanceOf(IllegalStateException.class);
+        postRepayment();
+
+        // then
+        verify(this.journalEntryRepository, never()).flush();
+        verify(this.journalEntryRepository, times(2)).save(any(JournalEntry.class));
+        verify(this.journalEntryRepository, times(2)).saveAndFlush(any(JournalEntry.class));
+    }
+
+    private void postRepayment() {
+        this.underTest.createCreditJournalEntryOrReversalForLoan(this.office, "USD", 1L, "10", TRANSACTION_DATE, BigDecimal.TEN, false,
+                this.account);
+        this.underTest.createCreditJournalEntryOrReversalForLoan(this.office, "USD", 1L, "10", TRANSACTION_DATE, BigDecimal.TEN, true,
+                this.account);
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.ws.rs.core.UriInfo;
+import org.apache.fineract.batch.command.CommandStrategy;
+import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.filters.CorrelationHeaderFilter;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@ExtendWith(MockitoExtension.class)
+class BatchApiServiceImplTest {
+
+    @Mock
+    private CommandStrategyProvider strategyProvider;
+    @Mock
+    private ResolutionHelper resolutionHelper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private UriInfo uriInfo;
+
+    private final Map<Long, String> executingThreads = new ConcurrentHashMap<>();
+    private final Map<Long, String> correlationIds = new ConcurrentHashMap<>();
+    private final Map<Long, RequestAttributes> requestAttributes = new ConcurrentHashMap<>();
+    private ThreadPoolTaskExecutor batchApiTaskExecutor;
+    private FineractProperties.FineractBatchApiProperties batchProperties;
+    private BatchApiServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        batchProperties = new FineractProperties.FineractBatchApiProperties();
+        batchProperties.setParallelExecutionEnabled(true);
+        FineractProperties.FineractApiProperties apiProperties = new FineractProperties.FineractApiProperties();
+        apiProperties.setBatch(batchProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setApi(apiProperties);
+        batchApiTaskExecutor = new ThreadPoolTaskExecutor();
+        batchApiTaskExecutor.setCorePoolSize(3);
+        batchApiTaskExecutor.setThreadNamePrefix("batch-api-test-");
+        batchApiTaskExecutor.initialize();
+        underTest = new BatchApiServiceImpl(strategyProvider, resolutionHelper, transactionManager, List.of(), List.of(),
+                fineractProperties, batchApiTaskExecutor, entityManager);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchApiTaskExecutor.shutdown();
+        RequestContextHolder.resetRequestAttributes();
+        MDC.clear();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testIndependentTreesAreReturnedInRequestOrder() throws Exception {
+        // given
+        CountDownLatch laterTreesDone = new CountDownLatch(2);
+        givenRequestTrees(1L, 2L, 3L);
+        givenCommand(request -> {
+            if (request.getRequestId() == 1L) {
+                laterTreesDone.await(5, TimeUnit.SECONDS);
+            } else {
+                laterTreesDone.countDown();
+            }
+            return ok(request);
+        });
+
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(requests(1L, 2L, 3L), uriInfo);
+
+        // then
+        assertThat(responses).extracting(BatchResponse::getRequestId).containsExactly(1L, 2L, 3L);
+        assertThat(responses).extracting(BatchResponse::getStatusCode).containsOnly(200);
+        assertThat(executingThreads.values()).allMatch(thread -> thread.startsWith("batch-api-test-"));
+    }
+
+    @Test
+    void testFailingTreeDoesNotAffectTheOthers() {
+        // given
+        givenRequestTrees(1L, 2L, 3L);
+        givenCommand(request -> {
+            if (request.getRequestId() == 2L) {
+                throw new IllegalStateException("fail");
+            }
+            return ok(request);
+        });
+
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(requests(1L, 2L, 3L), uriInfo);
+
+        // then
+        assertThat(responses).extracting(BatchResponse::getRequestId).containsExactly(1L, 2L, 3L);
+        assertThat(responses).extracting(BatchResponse::getStatusCode).containsExactly(200, 500, 200);
+    }
+
+    @Test
+    void testWorkersInheritCorrelationIdAndRequestAttributes() {
+        // given
+        MDC.put(CorrelationHeaderFilter.CORRELATION_ID_KEY, "correlation-1");
+        RequestAttributes callerAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(callerAttributes);
+        givenRequestTrees(1L, 2L);
+        givenCommand(this::ok);
+
+        // when
+        underTest.handleBatchRequestsWithoutEnclosingTransaction(requests(1L, 2L), uriInfo);
+
+        // then
+        assertThat(correlationIds).containsOnly(Map.entry(1L, "correlation-1"), Map.entry(2L, "correlation-1"));
+        assertThat(requestAttributes.values()).containsOnly(callerAttributes);
+    }
+
+    @Test
+    void testTreesRunSequentiallyOnTheCallerWhenParallelExecutionIsDisabled() {
+        // given
+        batchProperties.setParallelExecutionEnabled(false);
+        givenRequestTrees(1L, 2L, 3L);
+        givenCommand(this::ok);
+
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(requests(1L, 2L, 3L), uriInfo);
+
+        // then
+        assertThat(responses).extracting(BatchResponse::getRequestId).containsExactly(1L, 2L, 3L);
+        assertThat(executingThreads.values()).containsOnly(Thread.currentThread().getName());
+    }
+
+    private void givenRequestTrees(Long... requestIds) {
+        List<BatchRequestNode> nodes = requests(requestIds).stream().map(request -> {
+            BatchRequestNode node = new BatchRequestNode();
+            node.setRequest(request);
+            return node;
+        }).toList();
+        when(resolutionHelper.getDependingRequests(any())).thenReturn(nodes);
+    }
+
+    private void givenCommand(RequestHandler handler) {
+        CommandStrategy commandStrategy = (request, uriInfo) -> {
+            executingThreads.put(request.getRequestId(), Thread.currentThread().getName());
+            String correlationId = MDC.get(CorrelationHeaderFilter.CORRELATION_ID_KEY);
+            if (correlationId != null) {
+                correlationIds.put(request.getRequestId(), correlationId);
+            }
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null) {
+                requestAttributes.put(request.getRequestId(), attributes);
+            }
+            try {
+                return handler.handle(request);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        };
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+    }
+
+    private BatchResponse ok(BatchRequest request) {
+        BatchResponse response = new BatchResponse();
+        response.setRequestId(request.getRequestId());
+        response.setStatusCode(200);
+        return response;
+    }
+
+    private List<BatchRequest> requests(Long... requestIds) {
+        return Arrays.stream(requestIds)
+                .map(requestId -> new BatchRequest().setRequestId(requestId).setRelativeUrl("clients").setMethod("POST")).toList();
+    }
+
+    @FunctionalInterface
+    private interface RequestHandler {
+
+        BatchResponse handle(BatchRequest request) throws InterruptedException;
+    }
+}
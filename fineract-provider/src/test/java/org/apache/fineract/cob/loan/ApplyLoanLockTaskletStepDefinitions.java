@@ -21,6 +21,8 @@ package org.apache.fineract.cob.loan;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -29,14 +31,11 @@ import io.cucumber.java8.En;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Optional;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.data.LoanCOBParameter;
-import org.apache.fineract.cob.domain.LoanAccountLock;
 import org.apache.fineract.cob.domain.LockOwner;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
-import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.mockito.ArgumentCaptor;
@@ -48,16 +47,12 @@ import org.springframework.batch.repeat.RepeatStatus;
 
 public class ApplyLoanLockTaskletStepDefinitions implements En {
 
-    ArgumentCaptor<List> valueCaptor = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<LoanCOBParameter> loanCOBParameterCaptor = ArgumentCaptor.forClass(LoanCOBParameter.class);
     ArgumentCaptor<LockOwner> lockOwnerValueCaptor = ArgumentCaptor.forClass(LockOwner.class);
     private LoanLockingService loanLockingService = mock(LoanLockingService.class);
-    private FineractProperties fineractProperties = mock(FineractProperties.class);
-    private FineractProperties.FineractQueryProperties fineractQueryProperties = mock(FineractProperties.FineractQueryProperties.class);
-    private RetrieveLoanIdService retrieveLoanIdService = mock(RetrieveLoanIdService.class);
 
     private CustomJobParameterResolver customJobParameterResolver = mock(CustomJobParameterResolver.class);
-    private ApplyLoanLockTasklet applyLoanLockTasklet = new ApplyLoanLockTasklet(fineractProperties, loanLockingService,
-            retrieveLoanIdService, customJobParameterResolver);
+    private ApplyLoanLockTasklet applyLoanLockTasklet = new ApplyLoanLockTasklet(loanLockingService, customJobParameterResolver);
     private RepeatStatus resultItem;
     private StepContribution stepContribution;
 
@@ -71,26 +66,14 @@ public class ApplyLoanLockTaskletStepDefinitions implements En {
             ExecutionContext executionContext = new ExecutionContext();
             LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 4L);
             executionContext.put(LoanCOBConstant.LOAN_COB_PARAMETER, loanCOBParameter);
-            lenient().when(
-                    retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
-                    .thenReturn(List.of(1L, 2L, 3L, 4L));
             stepExecution.setExecutionContext(executionContext);
             stepContribution = new StepContribution(stepExecution);
 
             if ("error".equals(action)) {
-                lenient().when(fineractProperties.getQuery()).thenReturn(fineractQueryProperties);
-                lenient().when(fineractQueryProperties.getInClauseParameterSizeLimit()).thenReturn(65000);
-                lenient().when(loanLockingService.findAllByLoanIdIn(Mockito.anyList())).thenThrow(new RuntimeException("fail"));
-            } else {
-                LoanAccountLock lock1 = new LoanAccountLock(1L, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.now(ZoneId.systemDefault()));
-                LoanAccountLock lock3 = new LoanAccountLock(3L, LockOwner.LOAN_INLINE_COB_PROCESSING,
-                        LocalDate.now(ZoneId.systemDefault()));
-                List<LoanAccountLock> accountLocks = List.of(lock1, lock3);
-                lenient().when(fineractProperties.getQuery()).thenReturn(fineractQueryProperties);
-                lenient().when(fineractQueryProperties.getInClauseParameterSizeLimit()).thenReturn(65000);
-                lenient().when(loanLockingService.findAllByLoanIdIn(Mockito.anyList())).thenReturn(accountLocks);
+                doThrow(new RuntimeException("fail")).when(loanLockingService).applySoftLock(any(LoanCOBParameter.class), anyBoolean(),
+                        any(LockOwner.class));
             }
-            lenient().when(customJobParameterResolver.getCustomJobParameterSet(any())).thenReturn(Optional.empty());
+            lenient().when(customJobParameterResolver.getCustomJobParameterById(any(), any())).thenReturn(Optional.empty());
 
         });
 
@@ -100,9 +83,10 @@ public class ApplyLoanLockTaskletStepDefinitions implements En {
 
         Then("ApplyLoanLockTasklet.execute result should match", () -> {
             assertEquals(RepeatStatus.FINISHED, resultItem);
-            verify(loanLockingService, Mockito.times(1)).applyLock(valueCaptor.capture(), lockOwnerValueCaptor.capture());
-            List<Long> values = valueCaptor.getValue();
-            assertEquals(2L, values.get(0));
+            verify(loanLockingService, Mockito.times(1)).applySoftLock(loanCOBParameterCaptor.capture(), Mockito.eq(false),
+                    lockOwnerValueCaptor.capture());
+            assertEquals(1L, loanCOBParameterCaptor.getValue().getMinLoanId());
+            assertEquals(4L, loanCOBParameterCaptor.getValue().getMaxLoanId());
             assertEquals(LockOwner.LOAN_COB_CHUNK_PROCESSING, lockOwnerValueCaptor.getValue());
         });
 
@@ -22,37 +22,47 @@ import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.google.common.base.Splitter;
 import io.cucumber.java8.En;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.data.LoanCOBParameter;
+import org.apache.fineract.cob.domain.LockOwner;
 import org.apache.fineract.cob.exceptions.LoanReadException;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
-import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanLoadingProfile;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.item.ExecutionContext;
 
 public class LoanItemReaderStepDefinitions implements En {
 
-    private LoanRepository loanRepository = mock(LoanRepository.class);
+    private static final int CHUNK_SIZE = 2;
+
+    private LoanRepositoryWrapper loanRepository = mock(LoanRepositoryWrapper.class);
 
     private RetrieveLoanIdService retrieveLoanIdService = mock(RetrieveLoanIdService.class);
 
     private CustomJobParameterResolver customJobParameterResolver = mock(CustomJobParameterResolver.class);
 
-    private LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver);
+    private LoanItemReader loanItemReader = new LoanItemReader(loanRepository, CHUNK_SIZE, retrieveLoanIdService,
+            customJobParameterResolver);
 
     private Loan loan = mock(Loan.class);
 
@@ -78,9 +88,8 @@ public class LoanItemReaderStepDefinitions implements En {
             stepExecutionContext.put(LoanCOBConstant.LOAN_COB_PARAMETER, loanCOBParameter);
             stepExecution.setExecutionContext(stepExecutionContext);
 
-            lenient().when(
-                    this.retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
-                    .thenReturn(splitAccounts);
+            lenient().when(this.retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter,
+                    false, LockOwner.LOAN_COB_CHUNK_PROCESSING)).thenReturn(splitAccounts);
 
             HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
             LocalDate businessDate = LocalDate.now(ZoneId.systemDefault());
@@ -91,18 +100,33 @@ public class LoanItemReaderStepDefinitions implements En {
 
             loanItemReader.beforeStep(stepExecution);
 
-            lenient().when(this.loanRepository.findById(1L)).thenReturn(Optional.of(loan));
-            lenient().when(this.loanRepository.findById(-1L)).thenThrow(new RuntimeException("fail"));
+            lenient().when(this.loanRepository.findAllByIds(anyCollection(), eq(LoanLoadingProfile.COB))).thenAnswer(invocation -> {
+                Collection<Long> ids = invocation.getArgument(0);
+                if (ids.contains(-1L)) {
+                    throw new RuntimeException("fail");
+                }
+                return ids.stream().map(this::givenLoan).toList();
+            });
         });
 
         When("LoanItemReader.read method executed", () -> {
             resultItem = this.loanItemReader.read();
         });
 
+        When("LoanItemReader.read method executed {int} times", (Integer times) -> {
+            for (int i = 0; i < times; i++) {
+                resultItem = this.loanItemReader.read();
+            }
+        });
+
         Then("The LoanItemReader.read result should match", () -> {
             assertEquals(loan, resultItem);
         });
 
+        Then("The loans should be loaded with {int} queries", (Integer queries) -> {
+            verify(this.loanRepository, times(queries)).findAllByIds(anyCollection(), eq(LoanLoadingProfile.COB));
+        });
+
         Then("The LoanItemReader.read result null", () -> {
             assertNull(resultItem);
         });
@@ -113,4 +137,10 @@ public class LoanItemReaderStepDefinitions implements En {
             });
         });
     }
+
+    private Loan givenLoan(Long loanId) {
+        Loan result = loanId.equals(1L) ? loan : mock(Loan.class);
+        lenient().when(result.getId()).thenReturn(loanId);
+        return result;
+    }
 }
@@ -101,6 +101,14 @@ public class CommandSourceServiceTest {
         Assertions.assertEquals(actual, captured);
     }
 
+    @Test
+    public void testSaveResponseUpdatesWithoutLoading() {
+        underTest.saveResponse(1L, 200, "{}");
+
+        Mockito.verify(commandSourceRepository).updateResult(1L, 200, "{}");
+        Mockito.verifyNoMoreInteractions(commandSourceRepository);
+    }
+
     @Test
     public void testGenerateErrorException() {
         ErrorInfo result = underTest.generateErrorException(new CodeNotFoundException("foo"));
@@ -81,4 +81,17 @@ public class IdempotencyKeyResolverTest {
         String resolvedIdk = underTest.resolve(wrapper);
         Assertions.assertEquals(idk, resolvedIdk);
     }
+
+    @Test
+    public void testIPKIsClientSuppliedFromRequest() {
+        fineractRequestContextHolder.setAttribute(SynchronousCommandProcessingService.IDEMPOTENCY_KEY_ATTRIBUTE, "bar");
+        CommandWrapper wrapper = CommandWrapper.wrap("act", "ent", 1L, 1L);
+        Assertions.assertTrue(underTest.isClientSupplied(wrapper));
+    }
+
+    @Test
+    public void testIPKIsNotClientSuppliedWhenGenerated() {
+        CommandWrapper wrapper = CommandWrapper.wrap("act", "ent", 1L, 1L);
+        Assertions.assertFalse(underTest.isClientSupplied(wrapper));
+    }
 }
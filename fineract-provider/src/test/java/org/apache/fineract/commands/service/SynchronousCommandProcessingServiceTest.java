@@ -18,9 +18,12 @@
  */
 package org.apache.fineract.commands.service;
 
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.fineract.commands.domain.CommandProcessingResultType;
@@ -31,8 +34,11 @@ import org.apache.fineract.commands.provider.CommandHandlerProvider;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.diagnostics.metrics.FineractMetrics;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.junit.jupiter.api.Assertions;
@@ -67,10 +73,17 @@ public class SynchronousCommandProcessingServiceTest {
     private IdempotencyKeyGenerator idempotencyKeyGenerator;
     @Mock
     private CommandSourceService commandSourceService;
+    @Mock
+    private HookReadPlatformService hookReadPlatformService;
 
     @Spy
     private FineractRequestContextHolder fineractRequestContextHolder;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private FineractMetrics fineractMetrics = new FineractMetrics(meterRegistry);
+
     @InjectMocks
     private SynchronousCommandProcessingService underTest;
 
@@ -114,8 +127,13 @@ public class SynchronousCommandProcessingServiceTest {
         verify(commandSourceService).saveInitial(commandWrapper, jsonCommand, appUser, idk);
         verify(commandSource).setStatus(CommandProcessingResultType.PROCESSED.getValue());
         verify(commandSourceService).saveResult(commandSource);
+        // generated idempotency key, no hooks: no extra command source lookups and no hook event
+        verify(commandSourceService, never()).findCommandSource(Mockito.any(), Mockito.any());
+        verify(applicationContext, never()).publishEvent(Mockito.any());
 
         Assertions.assertEquals(commandProcessingResult, actualCommandProcessingResult);
+        Assertions.assertEquals(1, meterRegistry.get(SynchronousCommandProcessingService.COMMAND_PROCESSING_METRIC)
+                .tag("outcome", "success").timer().count());
     }
 
     @Test
@@ -138,7 +156,9 @@ public class SynchronousCommandProcessingServiceTest {
         when(configurationDomainService.isMakerCheckerEnabledForTask(Mockito.any())).thenReturn(false);
         String idk = "idk";
         when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(idempotencyKeyResolver.isClientSupplied(commandWrapper)).thenReturn(true);
         when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(null);
+        when(hookReadPlatformService.retrieveHooksByEvent(Mockito.any(), Mockito.any())).thenReturn(List.of(Mockito.mock(Hook.class)));
 
         AppUser appUser = Mockito.mock(AppUser.class);
         when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
@@ -153,6 +173,10 @@ public class SynchronousCommandProcessingServiceTest {
         });
 
         verify(commandSourceService).saveInitial(commandWrapper, jsonCommand, appUser, idk);
+        verify(commandSourceService).findCommandSource(commandWrapper, idk);
+        verify(commandSourceService).saveFailed(commandSource);
         verify(commandSourceService).generateErrorException(runtimeException);
+        Assertions.assertEquals(1, meterRegistry.get(SynchronousCommandProcessingService.COMMAND_PROCESSING_METRIC)
+                .tag("outcome", "failure").timer().count());
     }
 }
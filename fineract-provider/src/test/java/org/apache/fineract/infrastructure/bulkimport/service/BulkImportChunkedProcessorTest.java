@@ -0,0 +1,293 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.bulkimport.constants.OfficeConstants;
+import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateImportConstants;
+import org.apache.fineract.infrastructure.bulkimport.data.Count;
+import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocument;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocumentRepository;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportChunkedProcessorTest {
+
+    private static final int STATUS_COL = 5;
+    private static final Long IMPORT_DOCUMENT_ID = 7L;
+
+    @Mock
+    private ImportDocumentRepository importRepository;
+    @Mock
+    private ImportDocument importDocument;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @TempDir
+    private Path tempDir;
+
+    private final RecordingImportHandler importHandler = new RecordingImportHandler();
+    private BulkImportChunkedProcessor underTest;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        FineractProperties fineractProperties = new FineractProperties();
+        FineractProperties.FineractBulkImportProperties bulkImportProperties = new FineractProperties.FineractBulkImportProperties();
+        bulkImportProperties.setLeaseSec(300);
+        fineractProperties.setBulkImport(bulkImportProperties);
+        underTest = new BulkImportChunkedProcessor(importRepository, fineractProperties, jdbcTemplate,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void processImportsTheSheetRowByRowAndWritesTheStatusOfEveryRow() throws IOException {
+        // given
+        File xlsx = writeOfficeWorkbook("Head", "Branch 1", "Branch 2", "Branch 3", "Branch 4");
+        givenImportDocument(null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        Count count = underTest.process(importHandler, importDocument, xlsx, output);
+
+        // then
+        assertThat(count.getSuccessCount()).isEqualTo(5);
+        assertThat(importHandler.chunks).containsExactly(List.of("Head"), List.of("Branch 1"), List.of("Branch 2"), List.of("Branch 3"),
+                List.of("Branch 4"));
+        InOrder progress = inOrder(importDocument, jdbcTemplate, importRepository);
+        for (int rowIndex = 1; rowIndex <= 5; rowIndex++) {
+            progress.verify(importDocument).updateProgress(eq(rowIndex), eq(rowIndex), eq(0), any());
+            progress.verify(jdbcTemplate).batchUpdate(anyString(), ArgumentMatchers.<List<Object[]>>any());
+            progress.verify(importRepository).saveAndFlush(importDocument);
+        }
+        verify(transactionManager, times(5)).commit(any());
+
+        try (Workbook result = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            Sheet offices = result.getSheet(TemplatePopulateImportConstants.OFFICE_SHEET_NAME);
+            assertThat(offices.getRow(0).getCell(STATUS_COL).getStringCellValue())
+                    .isEqualTo(TemplatePopulateImportConstants.STATUS_COL_REPORT_HEADER);
+            for (int rowIndex = 1; rowIndex <= 5; rowIndex++) {
+                assertThat(offices.getRow(rowIndex).getCell(STATUS_COL).getStringCellValue())
+                        .isEqualTo(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
+            }
+            assertThat(result.getSheet("Extras").getRow(0).getCell(0).getStringCellValue()).isEqualTo("lookup");
+        }
+    }
+
+    @Test
+    void processContinuesAfterTheLastCommittedRowAndKeepsTheStatusOfTheCommittedRows() throws IOException {
+        // given
+        File xlsx = writeOfficeWorkbook("Head", "Branch 1", "Branch 2", "Branch 3", "Branch 4");
+        givenImportDocument(4);
+        when(importDocument.getSuccessCount()).thenReturn(3);
+        when(importDocument.getFailureCount()).thenReturn(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(IMPORT_DOCUMENT_ID))).thenReturn(List.of(
+                rowStatus(1, TemplatePopulateImportConstants.STATUS_CELL_IMPORTED),
+                rowStatus(2, TemplatePopulateImportConstants.STATUS_CELL_IMPORTED), rowStatus(3, "Office name already exists"),
+                rowStatus(4, TemplatePopulateImportConstants.STATUS_CELL_IMPORTED)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        Count count = underTest.process(importHandler, importDocument, xlsx, output);
+
+        // then
+        assertThat(importHandler.chunks).containsExactly(List.of("Branch 4"));
+        assertThat(count.getSuccessCount()).isEqualTo(4);
+        assertThat(count.getErrorCount()).isEqualTo(1);
+        verify(importDocument).updateProgress(eq(5), eq(4), eq(1), any());
+
+        try (Workbook result = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            Sheet offices = result.getSheet(TemplatePopulateImportConstants.OFFICE_SHEET_NAME);
+            for (int rowIndex : new int[] { 1, 2, 4, 5 }) {
+                Cell status = offices.getRow(rowIndex).getCell(STATUS_COL);
+                assertThat(status.getStringCellValue()).isEqualTo(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
+                assertThat(status.getCellStyle().getFillForegroundColor()).isEqualTo(IndexedColors.LIGHT_GREEN.getIndex());
+            }
+            Cell failed = offices.getRow(3).getCell(STATUS_COL);
+            assertThat(failed.getStringCellValue()).isEqualTo("Office name already exists");
+            assertThat(failed.getCellStyle().getFillForegroundColor()).isEqualTo(IndexedColors.RED.getIndex());
+        }
+    }
+
+    @Test
+    void processStopsAtTheFirstRowWithoutPrimaryValue() throws IOException {
+        // given
+        File xlsx = writeOfficeWorkbook("Head", "Branch 1", null, "Branch 3");
+        givenImportDocument(null);
+
+        // when
+        underTest.process(importHandler, importDocument, xlsx, OutputStream.nullOutputStream());
+
+        // then
+        assertThat(importHandler.chunks).containsExactly(List.of("Head"), List.of("Branch 1"));
+    }
+
+    @Test
+    void countRowsCountsUpToTheFirstRowWithoutPrimaryValue() throws IOException {
+        // given
+        File xlsx = writeOfficeWorkbook("Head", "Branch 1", "Branch 2", null, "Branch 4");
+
+        // when
+        Integer rows = underTest.countRows(GlobalEntityType.OFFICES, xlsx);
+
+        // then
+        assertThat(rows).isEqualTo(3);
+    }
+
+    @Test
+    void processStoresTheStatusOfTheRowsTheHandlerChanged() throws IOException {
+        // given
+        File xlsx = writeOfficeWorkbook("Head");
+        givenImportDocument(null);
+
+        // when
+        underTest.process(importHandler, importDocument, xlsx, OutputStream.nullOutputStream());
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> statuses = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), statuses.capture());
+        assertThat(statuses.getValue()).containsExactly(
+                new Object[] { IMPORT_DOCUMENT_ID, 1, STATUS_COL, TemplatePopulateImportConstants.STATUS_CELL_IMPORTED });
+    }
+
+    @Test
+    void processFailsTheRowOfAFormulaSavedWithoutCalculatedValue() throws IOException {
+        // given
+        File xlsx = writeOfficeWorkbook("Head", "=CONCATENATE(\"Branch\", \" 1\")", "Branch 2");
+        givenImportDocument(null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        Count count = underTest.process(importHandler, importDocument, xlsx, output);
+
+        // then
+        assertThat(importHandler.chunks).containsExactly(List.of("Head"), List.of("Branch 2"));
+        assertThat(count.getSuccessCount()).isEqualTo(2);
+        assertThat(count.getErrorCount()).isEqualTo(1);
+        verify(importDocument).updateProgress(eq(2), eq(1), eq(1), any());
+
+        try (Workbook result = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            Cell failed = result.getSheet(TemplatePopulateImportConstants.OFFICE_SHEET_NAME).getRow(2).getCell(OfficeConstants.STATUS_COL);
+            assertThat(failed.getStringCellValue()).startsWith("Cell A3 holds a formula without a calculated value");
+            assertThat(failed.getCellStyle().getFillForegroundColor()).isEqualTo(IndexedColors.RED.getIndex());
+        }
+    }
+
+    private static Map<String, Object> rowStatus(int rowIndex, String status) {
+        return Map.of("row_index", rowIndex, "column_index", STATUS_COL, "status", status);
+    }
+
+    private void givenImportDocument(Integer lastProcessedRow) {
+        when(importDocument.getId()).thenReturn(IMPORT_DOCUMENT_ID);
+        when(importDocument.getEntityType()).thenReturn(GlobalEntityType.OFFICES.getValue());
+        when(importDocument.getLastProcessedRow()).thenReturn(lastProcessedRow);
+        when(importDocument.getLocale()).thenReturn("en");
+        when(importDocument.getDateFormat()).thenReturn("dd MMMM yyyy");
+    }
+
+    private File writeOfficeWorkbook(String... officeNames) throws IOException {
+        File file = Files.createTempFile(tempDir, "offices", ".xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file.toPath())) {
+            Sheet offices = workbook.createSheet(TemplatePopulateImportConstants.OFFICE_SHEET_NAME);
+            offices.createRow(0).createCell(0).setCellValue("Office Name*");
+            for (int i = 0; i < officeNames.length; i++) {
+                Row row = offices.createRow(i + 1);
+                if (officeNames[i] != null && officeNames[i].startsWith("=")) {
+                    row.createCell(0).setCellFormula(officeNames[i].substring(1));
+                } else if (officeNames[i] != null) {
+                    row.createCell(0).setCellValue(officeNames[i]);
+                }
+                row.createCell(1).setCellValue(i + 1);
+            }
+            workbook.createSheet("Extras").createRow(0).createCell(0).setCellValue("lookup");
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    private static final class RecordingImportHandler implements ImportHandler {
+
+        private final List<List<String>> chunks = new ArrayList<>();
+
+        @Override
+        public Count process(Workbook workbook, String locale, String dateFormat) {
+            Sheet offices = workbook.getSheet(TemplatePopulateImportConstants.OFFICE_SHEET_NAME);
+            assertThat(workbook.getSheet("Extras")).isNotNull();
+            List<String> names = new ArrayList<>();
+            int rows = ImportHandlerUtils.getNumberOfRows(offices, 0);
+            for (int rowIndex = 1; rowIndex <= rows; rowIndex++) {
+                names.add(ImportHandlerUtils.readAsString(0, offices.getRow(rowIndex)));
+                ImportHandlerUtils.writeString(STATUS_COL, offices.getRow(rowIndex), TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
+            }
+            ImportHandlerUtils.writeString(STATUS_COL, offices.getRow(0), TemplatePopulateImportConstants.STATUS_COL_REPORT_HEADER);
+            chunks.add(names);
+            return Count.instance(names.size(), 0);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.bulkimport.data.BulkImportEvent;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocument;
+import org.apache.fineract.infrastructure.bulkimport.domain.ImportDocumentRepository;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.documentmanagement.domain.DocumentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.service.DocumentWritePlatformService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportWorkbookServiceImplTest {
+
+    private static final Long IMPORT_DOCUMENT_ID = 7L;
+
+    @Mock
+    private ApplicationContext applicationContext;
+    @Mock
+    private PlatformSecurityContext securityContext;
+    @Mock
+    private DocumentWritePlatformService documentWritePlatformService;
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private ImportDocumentRepository importDocumentRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private BulkImportChunkedProcessor chunkedProcessor;
+    @Mock
+    private ImportDocument importDocument;
+    @InjectMocks
+    private BulkImportWorkbookServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        when(importDocumentRepository.findById(IMPORT_DOCUMENT_ID)).thenReturn(Optional.of(importDocument));
+        when(importDocument.getLocale()).thenReturn("en");
+        when(chunkedProcessor.getLeaseEnd(any())).thenAnswer(invocation -> invocation.<LocalDateTime>getArgument(0).plusSeconds(300));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void resumeImportLeasesTheImportBeforeStartingIt() {
+        // given
+        when(importDocumentRepository.lease(eq(IMPORT_DOCUMENT_ID), any(), any())).thenReturn(1);
+
+        // when
+        Long importDocumentId = underTest.resumeImport(IMPORT_DOCUMENT_ID);
+
+        // then
+        assertThat(importDocumentId).isEqualTo(IMPORT_DOCUMENT_ID);
+        verify(applicationContext).publishEvent(any(BulkImportEvent.class));
+    }
+
+    @Test
+    void resumeImportRejectsAnImportThatIsStillRunning() {
+        // given
+        when(importDocumentRepository.lease(eq(IMPORT_DOCUMENT_ID), any(), any())).thenReturn(0);
+
+        // when
+        assertThatThrownBy(() -> underTest.resumeImport(IMPORT_DOCUMENT_ID)).isInstanceOf(GeneralPlatformDomainRuleException.class)
+                .hasFieldOrPropertyWithValue("globalisationMessageCode", "error.msg.import.in.progress");
+
+        // then
+        verify(applicationContext, never()).publishEvent(any(BulkImportEvent.class));
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.campaigns.sms.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.fineract.infrastructure.campaigns.sms.domain.SmsCampaign;
+import org.apache.fineract.infrastructure.campaigns.sms.domain.SmsCampaignRepository;
+import org.apache.fineract.infrastructure.campaigns.sms.serialization.SmsCampaignValidator;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.dataqueries.domain.ReportRepository;
+import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
+import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessage;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessageRepository;
+import org.apache.fineract.infrastructure.sms.scheduler.SmsMessageScheduledJobService;
+import org.apache.fineract.portfolio.client.domain.Client;
+import org.apache.fineract.portfolio.client.domain.ClientRepositoryWrapper;
+import org.apache.fineract.portfolio.group.domain.Group;
+import org.apache.fineract.portfolio.group.domain.GroupRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.template.service.TemplateMergeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SmsCampaignWritePlatformServiceJpaImplTest {
+
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private SmsCampaignRepository smsCampaignRepository;
+    @Mock
+    private SmsCampaignValidator smsCampaignValidator;
+    @Mock
+    private ReportRepository reportRepository;
+    @Mock
+    private SmsMessageRepository smsMessageRepository;
+    @Mock
+    private ClientRepositoryWrapper clientRepositoryWrapper;
+    @Mock
+    private GroupRepository groupRepository;
+    @Mock
+    private ReadReportingService readReportingService;
+    @Mock
+    private GenericDataService genericDataService;
+    @Mock
+    private FromJsonHelper fromJsonHelper;
+    @Mock
+    private SmsMessageScheduledJobService smsMessageScheduledJobService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private SmsCampaign smsCampaign;
+
+    private SmsCampaignWritePlatformServiceJpaImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractQueryProperties queryProperties = new FineractProperties.FineractQueryProperties();
+        queryProperties.setInClauseParameterSizeLimit(2);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setQuery(queryProperties);
+        underTest = new SmsCampaignWritePlatformServiceJpaImpl(context, smsCampaignRepository, smsCampaignValidator, reportRepository,
+                smsMessageRepository, clientRepositoryWrapper, groupRepository, readReportingService, genericDataService, fromJsonHelper,
+                smsMessageScheduledJobService, new TemplateMergeService(fineractProperties), jdbcTemplate, fineractProperties);
+
+        given(smsCampaign.getId()).willReturn(7L);
+        given(smsCampaign.getParamValue()).willReturn("{\"reportName\":\"Campaign Report\"}");
+        given(smsCampaign.getCampaignName()).willReturn("campaign");
+        given(smsCampaign.getMessage()).willReturn("Hello {{firstname}}");
+        given(smsCampaignValidator.isValidNotificationOrSms(any(), any(), any())).willReturn(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDirectCampaignLoadsClientsAndInsertsMessagesPerChunk() {
+        // given
+        givenReportResult("[{\"id\":1,\"firstname\":\"Ann\",\"mobileNo\":\"111\"},{\"id\":2,\"firstname\":\"Bob\",\"mobileNo\":\"222\"},"
+                + "{\"id\":3,\"firstname\":\"Cid\",\"mobileNo\":\"333\"}]");
+        Client first = client(1L);
+        Client second = client(2L);
+        Client third = client(3L);
+        given(clientRepositoryWrapper.findAll(Set.of(1L, 2L))).willReturn(List.of(first, second));
+        given(clientRepositoryWrapper.findAll(Set.of(3L))).willReturn(List.of(third));
+        ArgumentCaptor<Collection<SmsMessage>> messages = ArgumentCaptor.forClass(Collection.class);
+        // when
+        underTest.insertDirectCampaignIntoSmsOutboundTable(smsCampaign);
+        // then
+        verify(clientRepositoryWrapper, times(2)).findAll(anyCollection());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), messages.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(messages.getAllValues().stream().flatMap(Collection::stream).map(SmsMessage::getMessage)).containsExactly("Hello Ann",
+                "Hello Bob", "Hello Cid");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTriggeredGroupLoanCampaignRunsReportOnceForAllMembers() {
+        // given
+        givenReportResult("[{\"id\":1,\"firstname\":\"Ann\",\"mobileNo\":\"111\"},{\"id\":2,\"firstname\":\"Bob\",\"mobileNo\":\"222\"}]");
+        Loan loan = mock(Loan.class);
+        given(loan.getId()).willReturn(10L);
+        given(loan.isGroupLoan()).willReturn(true);
+        given(loan.getGroupId()).willReturn(20L);
+        Set<Client> members = Set.of(client(1L), client(2L));
+        Group group = mock(Group.class);
+        given(group.getId()).willReturn(20L);
+        given(group.getClientMembers()).willReturn(members);
+        given(groupRepository.findById(20L)).willReturn(Optional.of(group));
+        ArgumentCaptor<Map<String, String>> reportParams = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Map<SmsCampaign, Collection<SmsMessage>>> sent = ArgumentCaptor.forClass(Map.class);
+        // when
+        underTest.insertDirectCampaignIntoSmsOutboundTable(loan, smsCampaign);
+        // then
+        verify(readReportingService).retrieveGenericResultSetForSmsEmailCampaign(eq("Campaign Report"), eq("report"),
+                reportParams.capture());
+        assertThat(reportParams.getValue()).containsEntry("clientId", "-1").containsEntry("loanId", "10");
+        verify(smsMessageScheduledJobService).sendTriggeredMessages(sent.capture());
+        assertThat(sent.getValue().get(smsCampaign)).extracting(SmsMessage::getMessage).containsExactlyInAnyOrder("Hello Ann",
+                "Hello Bob");
+    }
+
+    private void givenReportResult(String json) {
+        given(genericDataService.generateJsonFromGenericResultsetData(any())).willReturn(json);
+    }
+
+    private Client client(Long id) {
+        Client client = mock(Client.class);
+        given(client.getId()).willReturn(id);
+        return client;
+    }
+}
@@ -29,12 +29,15 @@ import static org.mockito.Mockito.verify;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.util.Properties;
 import javax.sql.DataSource;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.diagnostics.jdbc.StatementProfiler;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
 import org.apache.fineract.infrastructure.core.service.database.DataSourcePerTenantServiceFactory;
@@ -112,6 +115,12 @@ public class DataSourcePerTenantServiceFactoryTest {
     @Mock
     private DatabasePasswordEncryptor databasePasswordEncryptor;
 
+    @Mock
+    private MeterRegistry meterRegistry;
+
+    @Mock
+    private StatementProfiler statementProfiler;
+
     @InjectMocks
     private DataSourcePerTenantServiceFactory underTest;
 
@@ -155,6 +164,7 @@ public class DataSourcePerTenantServiceFactoryTest {
         given(tenantHikariConfig.isAutoCommit()).willReturn(MASTER_DB_AUTO_COMMIT_ENABLED);
 
         given(hikariDataSourceFactory.create(any())).willReturn(mock(HikariDataSource.class));
+        given(statementProfiler.wrap(any())).willAnswer(invocation -> invocation.getArgument(0));
 
         FineractProperties.FineractConfigProperties configProperties = new FineractProperties.FineractConfigProperties();
         configProperties.setMinPoolSize(-1);
@@ -200,6 +210,7 @@ public class DataSourcePerTenantServiceFactoryTest {
         assertEquals(MASTER_DB_DRIVER_CLASS_NAME, hikariConfig.getDriverClassName());
         assertEquals(MASTER_DB_CONN_TEST_QUERY, hikariConfig.getConnectionTestQuery());
         assertEquals(MASTER_DB_AUTO_COMMIT_ENABLED, hikariConfig.isAutoCommit());
+        assertTrue(hikariConfig.getMetricsTrackerFactory() instanceof MicrometerMetricsTrackerFactory);
     }
 
     @Test
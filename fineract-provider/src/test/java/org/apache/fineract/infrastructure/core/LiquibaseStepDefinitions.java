@@ -22,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -31,6 +32,8 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import io.cucumber.java8.En;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.sql.DataSource;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
@@ -65,6 +68,12 @@ public class LiquibaseStepDefinitions implements En {
     private List<FineractPlatformTenant> allTenants;
     private SchemaUpgradeNeededException executionException;
     private DataSource defaultTenantDataSource;
+    private FineractPlatformTenant secondTenant;
+    private DataSource secondTenantDataSource;
+    private ExtendedSpringLiquibase secondTenantLiquibase;
+    private FineractPlatformTenant thirdTenant;
+    private ExtendedSpringLiquibase thirdTenantLiquibase;
+    private final AtomicReference<Thread> thirdTenantUpgradeThread = new AtomicReference<>();
     private Environment environment;
 
     public LiquibaseStepDefinitions() {
@@ -97,6 +106,22 @@ public class LiquibaseStepDefinitions implements En {
             given(databaseStateVerifier.isTenantOnLatestUpgradableVersion(defaultTenantDataSource)).willReturn(false);
         });
 
+        Given("A second tenant with every changeset of the default tenant applied", () -> {
+            initializeSecondTenant(Set.of("changeset"));
+        });
+        Given("A second tenant with missing changesets", () -> {
+            initializeSecondTenant(Set.of());
+        });
+        Given("A previously Flyway migrated second tenant database on an earlier version", () -> {
+            initializeSecondTenant(Set.of());
+            given(databaseStateVerifier.isFirstLiquibaseMigration(secondTenantDataSource)).willReturn(true);
+            given(databaseStateVerifier.isFlywayPresent(secondTenantDataSource)).willReturn(true);
+            given(databaseStateVerifier.isTenantOnLatestUpgradableVersion(secondTenantDataSource)).willReturn(false);
+        });
+        Given("A third tenant with missing changesets", () -> {
+            initializeThirdTenant();
+        });
+
         When("The database migration process is executed", () -> {
             try {
                 tenantDatabaseUpgradeService.afterPropertiesSet();
@@ -141,6 +166,31 @@ public class LiquibaseStepDefinitions implements En {
             verify(tenantLiquibase).afterPropertiesSet();
         });
 
+        Then("The second tenant is not upgraded", () -> {
+            verify(tenantLiquibase).afterPropertiesSet();
+            verifyNoInteractions(secondTenantLiquibase);
+        });
+
+        Then("The second tenant gets upgraded", () -> {
+            verify(tenantLiquibase).afterPropertiesSet();
+            verify(secondTenantLiquibase).afterPropertiesSet();
+        });
+
+        Then("The second tenant upgrade fails with a schema upgrade needed, the default tenant gets upgraded", () -> {
+            assertThat(executionException).isNotNull();
+            verify(tenantLiquibase).afterPropertiesSet();
+            verifyNoInteractions(secondTenantLiquibase);
+        });
+
+        Then("The second tenant upgrade fails with a schema upgrade needed, the default and the third tenant get upgraded", () -> {
+            assertThat(executionException).isNotNull();
+            verify(tenantLiquibase).afterPropertiesSet();
+            verifyNoInteractions(secondTenantLiquibase);
+            verify(thirdTenantLiquibase).afterPropertiesSet();
+            // the second and the third tenant were upgraded on the thread pool
+            assertThat(thirdTenantUpgradeThread.get()).isNotNull().isNotSameAs(Thread.currentThread());
+        });
+
         Then("The tenant store and the default tenant gets synced and then upgraded", () -> {
             verify(initialTenantStoreLiquibase).changeLogSync();
             verify(tenantStoreLiquibase).afterPropertiesSet();
@@ -149,6 +199,41 @@ public class LiquibaseStepDefinitions implements En {
         });
     }
 
+    private void initializeSecondTenant(Set<String> appliedChangeSets) {
+        secondTenant = mock(FineractPlatformTenant.class);
+        given(secondTenant.getTenantIdentifier()).willReturn("secondTenant");
+        secondTenantDataSource = mock(DataSource.class);
+        secondTenantLiquibase = mock(ExtendedSpringLiquibase.class);
+
+        given(tenantDetailsService.findAllTenants()).willReturn(List.of(defaultTenant, secondTenant));
+        given(tenantDataSourceFactory.create(secondTenant)).willReturn(secondTenantDataSource);
+        given(databaseStateVerifier.getAppliedChangeSets(defaultTenantDataSource)).willReturn(Set.of("changeset"));
+        given(databaseStateVerifier.getAppliedChangeSets(secondTenantDataSource)).willReturn(appliedChangeSets);
+        given(liquibaseFactory.create(secondTenantDataSource, "tenant_db", "initial_switch", "secondTenant"))
+                .willReturn(mock(ExtendedSpringLiquibase.class));
+        given(liquibaseFactory.create(secondTenantDataSource, "tenant_db", "secondTenant")).willReturn(secondTenantLiquibase);
+        given(liquibaseFactory.create(secondTenantDataSource, "tenant_db", "custom_changelog", "secondTenant"))
+                .willReturn(mock(ExtendedSpringLiquibase.class));
+    }
+
+    private void initializeThirdTenant() throws Exception {
+        thirdTenant = mock(FineractPlatformTenant.class);
+        given(thirdTenant.getTenantIdentifier()).willReturn("thirdTenant");
+        DataSource thirdTenantDataSource = mock(DataSource.class);
+        thirdTenantLiquibase = mock(ExtendedSpringLiquibase.class);
+        doAnswer(invocation -> {
+            thirdTenantUpgradeThread.set(Thread.currentThread());
+            return null;
+        }).when(thirdTenantLiquibase).afterPropertiesSet();
+
+        given(tenantDetailsService.findAllTenants()).willReturn(List.of(defaultTenant, secondTenant, thirdTenant));
+        given(tenantDataSourceFactory.create(thirdTenant)).willReturn(thirdTenantDataSource);
+        given(databaseStateVerifier.getAppliedChangeSets(thirdTenantDataSource)).willReturn(Set.of());
+        given(liquibaseFactory.create(thirdTenantDataSource, "tenant_db", "thirdTenant")).willReturn(thirdTenantLiquibase);
+        given(liquibaseFactory.create(thirdTenantDataSource, "tenant_db", "custom_changelog", "thirdTenant"))
+                .willReturn(mock(ExtendedSpringLiquibase.class));
+    }
+
     private void initializeLiquibase(boolean liquibaseEnabled) {
         tenantDataSourceFactory = mock(TenantDataSourceFactory.class);
         tenantDetailsService = mock(TenantDetailsService.class);
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SqlNormalizerTest {
+
+    @Test
+    void shouldReplaceLiteralsAndCollapseWhitespace() {
+        // given
+        String sql = "select l.id from m_loan l\n  where l.client_id = 42 and l.external_id = 'abc''d' and l.principal > 10.5";
+
+        // when
+        String normalized = SqlNormalizer.normalize(sql);
+
+        // then
+        assertThat(normalized).isEqualTo("select l.id from m_loan l where l.client_id = ? and l.external_id = ? and l.principal > ?");
+    }
+
+    @Test
+    void shouldKeepDigitsInIdentifiers() {
+        // given
+        String sql = "select t1.id from m_loan_arrears_aging t1 where t1.overdue_since_date_derived is not null";
+
+        // when
+        String normalized = SqlNormalizer.normalize(sql);
+
+        // then
+        assertThat(normalized).isEqualTo(sql);
+    }
+
+    @Test
+    void shouldCollapseInListsOfAnyLength() {
+        // given
+        String shortList = "select * from m_loan where id in (?, ?)";
+        String longList = "select * from m_loan where id IN (1,2,3,4)";
+
+        // when
+        String normalizedShort = SqlNormalizer.normalize(shortList);
+        String normalizedLong = SqlNormalizer.normalize(longList);
+
+        // then
+        assertThat(normalizedShort).isEqualTo("select * from m_loan where id in (?)");
+        assertThat(normalizedLong).isEqualTo(normalizedShort);
+    }
+}
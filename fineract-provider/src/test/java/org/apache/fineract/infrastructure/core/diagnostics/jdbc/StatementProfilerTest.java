@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractStatementProfilerProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatementProfilerTest {
+
+    private StatementProfiler underTest;
+
+    @BeforeEach
+    void setUp() {
+        FineractStatementProfilerProperties profilerProperties = new FineractStatementProfilerProperties();
+        profilerProperties.setEnabled(true);
+        profilerProperties.setTopStatements(1);
+        profilerProperties.setRepeatedStatementThreshold(2);
+        profilerProperties.setMaxProfiles(2);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setStatementProfiler(profilerProperties);
+        underTest = new StatementProfiler(fineractProperties);
+        givenTenant("default");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void shouldRecordStatementsAndRowsOfTheOpenProfile() throws SQLException {
+        // given
+        DataSource dataSource = underTest.wrap(givenDataSourceReturningRows("select * from m_loan_charge where loan_id = ?", 2));
+
+        // when
+        underTest.begin(StatementProfileType.REQUEST, "GET /fineract-provider/api/v1/loans", "correlation-1");
+        for (int i = 0; i < 3; i++) {
+            readAll(dataSource, "select * from m_loan_charge where loan_id = ?");
+        }
+        underTest.end();
+
+        // then
+        List<StatementProfileData> profiles = underTest.retrieveRecentProfiles(false);
+        assertThat(profiles).hasSize(1);
+        StatementProfileData profile = profiles.get(0);
+        assertThat(profile.getCorrelationId()).isEqualTo("correlation-1");
+        assertThat(profile.getStatementCount()).isEqualTo(3);
+        assertThat(profile.getRowsFetched()).isEqualTo(6);
+        assertThat(profile.getSlowestStatements()).hasSize(1);
+        assertThat(profile.getRepeatedStatements()).singleElement()
+                .satisfies(s -> assertThat(s.getSql()).isEqualTo("select * from m_loan_charge where loan_id = ?"))
+                .satisfies(s -> assertThat(s.getCount()).isEqualTo(3));
+    }
+
+    @Test
+    void shouldOnlyReturnProfilesWithRepeatedStatementsWhenRequested() throws SQLException {
+        // given
+        DataSource dataSource = underTest.wrap(givenDataSourceReturningRows("select * from m_loan where id = ?", 1));
+
+        // when
+        underTest.begin(StatementProfileType.JOB_STEP, "LOAN_COB.loanCOBWorkerStep", "1");
+        readAll(dataSource, "select * from m_loan where id = ?");
+        underTest.end();
+
+        // then
+        assertThat(underTest.retrieveRecentProfiles(false)).hasSize(1);
+        assertThat(underTest.retrieveRecentProfiles(true)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepOnlyTheMostRecentProfiles() throws SQLException {
+        // given
+        DataSource dataSource = underTest.wrap(givenDataSourceReturningRows("select 1", 1));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            underTest.begin(StatementProfileType.REQUEST, "request-" + i, null);
+            readAll(dataSource, "select 1");
+            underTest.end();
+        }
+
+        // then
+        assertThat(underTest.retrieveRecentProfiles(false)).extracting(StatementProfileData::getName).containsExactly("request-2",
+                "request-1");
+    }
+
+    @Test
+    void shouldOnlyReturnTheProfilesOfTheCurrentTenant() throws SQLException {
+        // given
+        DataSource dataSource = underTest.wrap(givenDataSourceReturningRows("select 1", 1));
+        for (String tenantIdentifier : List.of("default", "other")) {
+            givenTenant(tenantIdentifier);
+            underTest.begin(StatementProfileType.REQUEST, "request-" + tenantIdentifier, null);
+            readAll(dataSource, "select 1");
+            underTest.end();
+        }
+
+        // when
+        givenTenant("default");
+        List<StatementProfileData> defaultProfiles = underTest.retrieveRecentProfiles(false);
+        givenTenant("other");
+        List<StatementProfileData> otherProfiles = underTest.retrieveRecentProfiles(false);
+
+        // then
+        assertThat(defaultProfiles).extracting(StatementProfileData::getName).containsExactly("request-default");
+        assertThat(otherProfiles).extracting(StatementProfileData::getName).containsExactly("request-other");
+    }
+
+    @Test
+    void shouldNotWrapDataSourceWhenDisabled() {
+        // given
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setStatementProfiler(new FineractStatementProfilerProperties());
+        DataSource dataSource = mock(DataSource.class);
+
+        // when
+        DataSource result = new StatementProfiler(fineractProperties).wrap(dataSource);
+
+        // then
+        assertThat(result).isSameAs(dataSource);
+    }
+
+    private void givenTenant(String tenantIdentifier) {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, tenantIdentifier, tenantIdentifier, "Asia/Kolkata", null));
+    }
+
+    private DataSource givenDataSourceReturningRows(String sql, int rows) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.prepareStatement(sql)).willAnswer(invocation -> {
+            PreparedStatement statement = mock(PreparedStatement.class);
+            ResultSet resultSet = mock(ResultSet.class);
+            given(statement.executeQuery()).willReturn(resultSet);
+            AtomicInteger remaining = new AtomicInteger(rows);
+            given(resultSet.next()).willAnswer(next -> remaining.getAndDecrement() > 0);
+            return statement;
+        });
+        return dataSource;
+    }
+
+    private void readAll(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(sql);
+                ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                // drain
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.diagnostics.performance.sampling.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.data.Percentage;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverRecordedValuesWithinPrecision() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long micros = random.nextLong(1L << 41);
+            int index = LatencyHistogram.bucketIndex(micros);
+            assertThat(index).isBetween(0, LatencyHistogram.BUCKET_COUNT - 1);
+            assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(micros).isLessThanOrEqualTo(micros + micros / 64);
+        }
+        assertThat(LatencyHistogram.bucketIndex((1L << 41) - 1)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    void testStatisticsMatchExactPercentiles() {
+        // given
+        Random random = new Random(7);
+        long[] micros = new long[10_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < micros.length; i++) {
+            // log-normal like spread between a few microseconds and seconds
+            micros[i] = (long) Math.exp(2 + random.nextDouble() * 12);
+            histogram.record(Duration.ofNanos(micros[i] * 1000));
+        }
+        Arrays.sort(micros);
+        // when
+        TimingStatistics statistics = histogram.getStatistics();
+        // then
+        assertThat(statistics.getCount()).isEqualTo(micros.length);
+        assertThat(statistics.getMax()).isEqualTo(Duration.ofNanos(micros[micros.length - 1] * 1000));
+        long exactMean = Arrays.stream(micros).sum() / micros.length;
+        assertThat(statistics.getMean().toNanos() / 1000).isCloseTo(exactMean, Percentage.withPercentage(0.1));
+        assertThat(statistics.getPercentile50().toNanos() / 1000).isCloseTo(micros[4_999], Percentage.withPercentage(1.6));
+        assertThat(statistics.getPercentile95().toNanos() / 1000).isCloseTo(micros[9_499], Percentage.withPercentage(1.6));
+        assertThat(statistics.getPercentile99().toNanos() / 1000).isCloseTo(micros[9_899], Percentage.withPercentage(1.6));
+    }
+
+    @Test
+    void testConcurrentRecordingKeepsAllSamples() throws InterruptedException {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        // when
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(Duration.ofMillis(i % 100));
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        // then
+        TimingStatistics statistics = histogram.getStatistics();
+        assertThat(statistics.getCount()).isEqualTo(40_000);
+        assertThat(statistics.getMax()).isEqualTo(Duration.ofMillis(99));
+    }
+
+    @Test
+    void testEmptyHistogramReportsZeroes() {
+        TimingStatistics statistics = new LatencyHistogram().getStatistics();
+
+        assertThat(statistics.getCount()).isZero();
+        assertThat(statistics.getPercentile99()).isEqualTo(Duration.ZERO);
+    }
+}
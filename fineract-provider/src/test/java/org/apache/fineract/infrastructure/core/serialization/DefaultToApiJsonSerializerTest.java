@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.Gson;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.apache.fineract.infrastructure.core.service.Page;
+import org.junit.jupiter.api.Test;
+
+class DefaultToApiJsonSerializerTest {
+
+    private static final Set<String> SUPPORTED_PARAMETERS = Set.of("id", "displayName", "officeName");
+
+    private final GoogleGsonSerializerHelper helper = new GoogleGsonSerializerHelper();
+    private final DefaultToApiJsonSerializer<Item> serializer = new DefaultToApiJsonSerializer<>(
+            new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson(),
+            new ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson(), new CommandProcessingResultJsonSerializer(), helper);
+
+    @Test
+    void partialResponseSerializerIsReusedForTheSameFields() {
+        // given
+        final Gson first = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                Set.of("id", "displayName"));
+
+        // when
+        final Gson second = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                Set.of("displayName", "id"));
+        final Gson pretty = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, true,
+                Set.of("id", "displayName"));
+        final Gson other = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                Set.of("id"));
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(pretty).isNotSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("id")))
+                .isSameAs(helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("id")));
+    }
+
+    @Test
+    void cachedSerializerStillRejectsUnsupportedParameters() {
+        // given
+        helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false, Set.of("id"));
+
+        // when / then
+        assertThrows(UnsupportedParameterException.class, () -> helper
+                .createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false, Set.of("id", "unknown")));
+    }
+
+    @Test
+    void streamingOutputMatchesStringSerialization() throws IOException {
+        // given
+        final Page<Item> page = page(10, 20);
+        final ApiRequestJsonSerializationSettings partial = settings(Set.of("id", "displayName"));
+        final ApiRequestJsonSerializationSettings full = settings(Set.of());
+
+        // when
+        final ByteArrayOutputStream partialOutput = new ByteArrayOutputStream();
+        serializer.serializeStreaming(partial, page, SUPPORTED_PARAMETERS).write(partialOutput);
+        final ByteArrayOutputStream fullOutput = new ByteArrayOutputStream();
+        serializer.serializeStreaming(full, page, SUPPORTED_PARAMETERS).write(fullOutput);
+
+        // then
+        assertThat(partialOutput.toString(StandardCharsets.UTF_8)).isEqualTo(serializer.serialize(partial, page, SUPPORTED_PARAMETERS))
+                .doesNotContain("officeName");
+        assertThat(fullOutput.toString(StandardCharsets.UTF_8)).isEqualTo(serializer.serialize(full, page, SUPPORTED_PARAMETERS));
+    }
+
+    @Test
+    void streamingWritesRowsBeforeTheLastRowIsFetched() throws IOException {
+        // given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final RecordingItems items = new RecordingItems(2000, 500, output);
+        final Page<Item> page = new Page<>(items, items.size());
+
+        // when
+        serializer.serializeStreaming(settings(Set.of("id", "displayName")), page, SUPPORTED_PARAMETERS).write(output);
+
+        // then
+        assertThat(items.writtenBeforeLastRow).isPositive();
+        assertThat(output.size()).isGreaterThan(items.writtenBeforeLastRow);
+    }
+
+    private static ApiRequestJsonSerializationSettings settings(final Set<String> fields) {
+        return new ApiRequestJsonSerializationSettings(false, fields, false, false, false);
+    }
+
+    private static Page<Item> page(final int size, final int nameLength) {
+        final String name = "x".repeat(nameLength);
+        final List<Item> items = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            items.add(new Item(i, name, "Head Office"));
+        }
+        return new Page<>(items, size);
+    }
+
+    /**
+     * Page rows that record how much of the response was already written when the last row is fetched.
+     */
+    private static final class RecordingItems extends AbstractList<Item> {
+
+        private final int size;
+        private final String name;
+        private final ByteArrayOutputStream output;
+        private int writtenBeforeLastRow = -1;
+
+        RecordingItems(final int size, final int nameLength, final ByteArrayOutputStream output) {
+            this.size = size;
+            this.name = "x".repeat(nameLength);
+            this.output = output;
+        }
+
+        @Override
+        public Item get(final int index) {
+            if (index == this.size - 1) {
+                this.writtenBeforeLastRow = this.output.size();
+            }
+            return new Item((long) index, this.name, "Head Office");
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+
+    private static final class Item {
+
+        private final Long id;
+        private final String displayName;
+        private final String officeName;
+
+        Item(final Long id, final String displayName, final String officeName) {
+            this.id = id;
+            this.displayName = displayName;
+            this.officeName = officeName;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.junit.jupiter.api.Test;
+
+class PageCursorTest {
+
+    @Test
+    public void testDecodeReturnsNullWhenNoCursorIsRequested() {
+        // given
+        // when
+        PageCursor result = PageCursor.decode(null);
+        // then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void testDecodeReturnsFirstPageForEmptyCursor() {
+        // given
+        // when
+        PageCursor result = PageCursor.decode("");
+        // then
+        assertThat(result.isFirstPage()).isTrue();
+        assertThat(result.getLastId()).isNull();
+        assertThat(result.getTotalFilteredRecords()).isNull();
+    }
+
+    @Test
+    public void testEncodedCursorCanBeDecoded() {
+        // given
+        String encoded = PageCursor.of(1234L, 5678).encode();
+        // when
+        PageCursor result = PageCursor.decode(encoded);
+        // then
+        assertThat(result.isFirstPage()).isFalse();
+        assertThat(result.getLastId()).isEqualTo(1234L);
+        assertThat(result.getTotalFilteredRecords()).isEqualTo(5678);
+    }
+
+    @Test
+    public void testDecodeRejectsInvalidCursor() {
+        // given
+        String invalid = "not a cursor";
+        // when & then
+        assertThatThrownBy(() -> PageCursor.decode(invalid)).isInstanceOf(PlatformApiDataValidationException.class);
+    }
+
+    @Test
+    public void testCursorCannotBeCombinedWithOrdering() {
+        // given
+        SearchParameters searchParameters = SearchParameters.forPagination(null, 10, "displayName", "DESC");
+        // when & then
+        assertThatThrownBy(() -> searchParameters.withCursor(PageCursor.decode(""))).isInstanceOf(PlatformApiDataValidationException.class);
+    }
+
+    @Test
+    public void testOrderingIsKeptWithoutCursor() {
+        // given
+        SearchParameters searchParameters = SearchParameters.forPagination(null, 10, "displayName", "DESC");
+        // when
+        SearchParameters result = searchParameters.withCursor(PageCursor.decode(null));
+        // then
+        assertThat(result.isCursorPaged()).isFalse();
+        assertThat(result.getOrderBy()).isEqualTo("displayName");
+    }
+}
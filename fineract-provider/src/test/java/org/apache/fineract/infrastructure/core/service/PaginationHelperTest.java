@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+class PaginationHelperTest {
+
+    private static final String SQL = "select c.id from m_client c where c.office_id = ?";
+    private static final RowMapper<Long> ID_MAPPER = (rs, rowNum) -> rs.getLong("id");
+
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+
+    private RecordingJdbcTemplate jdbcTemplate;
+    private PaginationHelper underTest;
+
+    @BeforeEach
+    void setUp() {
+        when(databaseTypeResolver.isPostgreSQL()).thenReturn(true);
+        jdbcTemplate = new RecordingJdbcTemplate();
+        underTest = new PaginationHelper(new DatabaseSpecificSQLGenerator(databaseTypeResolver), databaseTypeResolver);
+    }
+
+    @Test
+    void testFirstKeysetPageCountsTheTotalAndReturnsTheNextCursor() {
+        // given
+        jdbcTemplate.total = 5;
+        jdbcTemplate.rows = List.of(1L, 2L);
+        SearchParameters searchParameters = SearchParameters.forPagination(null, 2, null, null).withCursor(PageCursor.decode(""));
+
+        // when
+        Page<Long> page = underTest.fetchPage(jdbcTemplate, SQL, " and ", "c.id", new Object[] { 1L }, ID_MAPPER, id -> id,
+                searchParameters);
+
+        // then
+        assertThat(jdbcTemplate.countQueries).containsExactly("SELECT COUNT(*) FROM (" + SQL + ") AS temp");
+        assertThat(jdbcTemplate.queries).containsExactly(SQL + " order by c.id LIMIT 2 OFFSET 0");
+        assertThat(jdbcTemplate.queryArgs).containsExactly(List.of(1L));
+        assertThat(page.getPageItems()).containsExactly(1L, 2L);
+        assertThat(page.getTotalFilteredRecords()).isEqualTo(5);
+        PageCursor nextCursor = PageCursor.decode(page.getNextCursor());
+        assertThat(nextCursor.getLastId()).isEqualTo(2L);
+        assertThat(nextCursor.getTotalFilteredRecords()).isEqualTo(5);
+    }
+
+    @Test
+    void testFollowingKeysetPageSeeksAfterTheCursorWithoutCounting() {
+        // given
+        jdbcTemplate.rows = List.of(3L, 4L);
+        SearchParameters searchParameters = SearchParameters.forPagination(null, 2, null, null)
+                .withCursor(PageCursor.decode(PageCursor.of(2L, 5).encode()));
+
+        // when
+        Page<Long> page = underTest.fetchPage(jdbcTemplate, SQL, " and ", "c.id", new Object[] { 1L }, ID_MAPPER, id -> id,
+                searchParameters);
+
+        // then
+        assertThat(jdbcTemplate.countQueries).isEmpty();
+        assertThat(jdbcTemplate.queries).containsExactly(SQL + " and c.id > ? order by c.id LIMIT 2 OFFSET 0");
+        assertThat(jdbcTemplate.queryArgs).containsExactly(List.of(1L, 2L));
+        assertThat(page.getPageItems()).containsExactly(3L, 4L);
+        assertThat(page.getTotalFilteredRecords()).isEqualTo(5);
+        assertThat(PageCursor.decode(page.getNextCursor()).getLastId()).isEqualTo(4L);
+    }
+
+    @Test
+    void testLastKeysetPageHasNoNextCursor() {
+        // given
+        jdbcTemplate.rows = List.of(5L);
+        SearchParameters searchParameters = SearchParameters.forPagination(null, 2, null, null)
+                .withCursor(PageCursor.decode(PageCursor.of(4L, 5).encode()));
+
+        // when
+        Page<Long> page = underTest.fetchPage(jdbcTemplate, SQL, " and ", "c.id", new Object[] { 1L }, ID_MAPPER, id -> id,
+                searchParameters);
+
+        // then
+        assertThat(page.getPageItems()).containsExactly(5L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private static final class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final List<String> countQueries = new ArrayList<>();
+        private final List<String> queries = new ArrayList<>();
+        private final List<List<Object>> queryArgs = new ArrayList<>();
+        private Integer total;
+        private List<Long> rows = List.of();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            countQueries.add(sql);
+            return (T) total;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            queries.add(sql);
+            queryArgs.add(Arrays.asList(args));
+            return (List<T>) rows;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Function;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class DatatableSchemaRegistryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Function<String, List<ResultsetColumnHeaderData>> loader;
+
+    @InjectMocks
+    private DatatableSchemaRegistry underTest;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testColumnHeadersAreLoadedOncePerVersion() {
+        // given
+        List<ResultsetColumnHeaderData> columnHeaders = List.of(mock(ResultsetColumnHeaderData.class));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        when(loader.apply("dt_test")).thenReturn(columnHeaders);
+        // when
+        List<ResultsetColumnHeaderData> first = underTest.getColumnHeaders("dt_test", loader);
+        List<ResultsetColumnHeaderData> second = underTest.getColumnHeaders("dt_test", loader);
+        // then
+        assertThat(first).isEqualTo(columnHeaders);
+        assertThat(second).isSameAs(first);
+        verify(loader, times(1)).apply("dt_test");
+    }
+
+    @Test
+    void testColumnHeadersAreReloadedWhenVersionChanges() {
+        // given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L, 1L);
+        when(loader.apply("dt_test")).thenReturn(List.of(mock(ResultsetColumnHeaderData.class)));
+        // when
+        underTest.getColumnHeaders("dt_test", loader);
+        underTest.getColumnHeaders("dt_test", loader);
+        // then
+        verify(loader, times(2)).apply("dt_test");
+    }
+
+    @Test
+    void testInvalidateBumpsVersionAndDropsCachedColumnHeaders() {
+        // given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        when(loader.apply("dt_test")).thenReturn(List.of(mock(ResultsetColumnHeaderData.class)));
+        underTest.getColumnHeaders("dt_test", loader);
+        // when
+        underTest.invalidate();
+        underTest.getColumnHeaders("dt_test", loader);
+        // then
+        verify(jdbcTemplate).update("UPDATE m_datatable_schema_version SET version = version + 1 WHERE id = 1");
+        verify(loader, times(2)).apply("dt_test");
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.SqlParameterValue;
+
+@ExtendWith(MockitoExtension.class)
+class ReportSqlTemplateTest {
+
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    @BeforeEach
+    void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, LocalDate.of(2023, 3, 15));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        lenient().when(sqlGenerator.castDate(anyString())).thenAnswer(invocation -> "DATE(" + invocation.getArgument(0) + ")");
+        lenient().when(sqlGenerator.castTimestamp(anyString())).thenAnswer(invocation -> "TIMESTAMP(" + invocation.getArgument(0) + ")");
+        lenient().when(sqlGenerator.currentBusinessDate()).thenReturn("DATE('2023-03-15')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testQuotedAndNumericParametersAreBound() {
+        // given
+        ReportSqlTemplate template = ReportSqlTemplate
+                .parse("select * from m_loan l where l.office_id = ${officeId} and l.disbursedon_date >= '${startDate}'");
+        Map<String, String> parameters = Map.of("${officeId}", "1", "${startDate}", "2023-01-01");
+        // when
+        ReportSqlTemplate.BoundSql boundSql = template.bind(parameters, sqlGenerator, Types.VARCHAR);
+        // then
+        assertThat(boundSql.getSql()).isEqualTo("select * from m_loan l where l.office_id = ? and l.disbursedon_date >= ?");
+        assertThat(boundSql.getArguments()).hasSize(2);
+        assertThat(((SqlParameterValue) boundSql.getArguments()[0]).getValue()).isEqualTo(1L);
+        assertThat(((SqlParameterValue) boundSql.getArguments()[0]).getSqlType()).isEqualTo(Types.BIGINT);
+        assertThat(((SqlParameterValue) boundSql.getArguments()[1]).getValue()).isEqualTo("2023-01-01");
+        assertThat(((SqlParameterValue) boundSql.getArguments()[1]).getSqlType()).isEqualTo(Types.VARCHAR);
+    }
+
+    @Test
+    void testSqlTextDoesNotDependOnParameterValues() {
+        // given
+        ReportSqlTemplate template = ReportSqlTemplate.parse("select * from m_office o where o.id = ${officeId} and o.name = '${name}'");
+        // when
+        ReportSqlTemplate.BoundSql first = template.bind(Map.of("${officeId}", "1", "${name}", "Head Office"), sqlGenerator,
+                Types.VARCHAR);
+        ReportSqlTemplate.BoundSql second = template.bind(Map.of("${officeId}", "2", "${name}", "Branch"), sqlGenerator, Types.VARCHAR);
+        // then
+        assertThat(second.getSql()).isEqualTo(first.getSql());
+    }
+
+    @Test
+    void testEmbeddedAndNonNumericParametersAreSubstituted() {
+        // given
+        ReportSqlTemplate template = ReportSqlTemplate
+                .parse("select * from m_office o where o.hierarchy like '${currentUserHierarchy}%' and ${isSelfServiceUser} = false");
+        Map<String, String> parameters = Map.of("${currentUserHierarchy}", ".1.", "${isSelfServiceUser}", "false");
+        // when
+        ReportSqlTemplate.BoundSql boundSql = template.bind(parameters, sqlGenerator, Types.VARCHAR);
+        // then
+        assertThat(boundSql.getSql()).isEqualTo("select * from m_office o where o.hierarchy like '.1.%' and false = false");
+        assertThat(boundSql.getArguments()).isEmpty();
+    }
+
+    @Test
+    void testCurrentDateFunctionsAreBound() {
+        // given
+        ReportSqlTemplate template = ReportSqlTemplate
+                .parse("select curdate() as d1, CURRENT_DATE as d2, ${currentDate} as d3, 'curdate()' as d4, is_current_date from t");
+        // when
+        ReportSqlTemplate.BoundSql boundSql = template.bind(Map.of(), sqlGenerator, Types.VARCHAR);
+        // then
+        assertThat(boundSql.getSql())
+                .isEqualTo("select DATE(?) as d1, DATE(?) as d2, DATE(?) as d3, 'curdate()' as d4, is_current_date from t");
+        assertThat(boundSql.getArguments()).hasSize(3)
+                .allSatisfy(argument -> assertThat(((SqlParameterValue) argument).getValue()).isEqualTo("2023-03-15"));
+    }
+
+    @Test
+    void testMissingParametersAreLeftUntouched() {
+        // given
+        ReportSqlTemplate template = ReportSqlTemplate.parse("select * from m_office o where o.id = ${officeId}");
+        // when
+        ReportSqlTemplate.BoundSql boundSql = template.bind(Map.of(), sqlGenerator, Types.VARCHAR);
+        // then
+        assertThat(boundSql.getSql()).isEqualTo("select * from m_office o where o.id = ${officeId}");
+        assertThat(boundSql.getArguments()).isEmpty();
+    }
+}
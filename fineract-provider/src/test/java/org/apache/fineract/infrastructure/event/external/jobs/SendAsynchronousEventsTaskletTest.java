@@ -25,6 +25,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -38,6 +39,7 @@ import org.apache.fineract.avro.MessageV1;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.diagnostics.metrics.FineractMetrics;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
@@ -83,6 +85,7 @@ class SendAsynchronousEventsTaskletTest {
     private ConfigurationDomainService configurationDomainService;
     private SendAsynchronousEventsTasklet underTest;
     private RepeatStatus resultStatus;
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private Random rnd = new Random();
 
@@ -94,7 +97,7 @@ class SendAsynchronousEventsTaskletTest {
                 .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
         configureExternalEventsProducerReadBatchSizeProperty();
         underTest = new SendAsynchronousEventsTasklet(fineractProperties, repository, eventProducer, messageFactory, byteBufferConverter,
-                configurationDomainService);
+                configurationDomainService, new FineractMetrics(meterRegistry));
     }
 
     private void configureExternalEventsProducerReadBatchSizeProperty() {
@@ -129,7 +132,10 @@ class SendAsynchronousEventsTaskletTest {
         // then
         verify(eventProducer).sendEvents(Mockito.any());
         verify(repository).markEventsSent(Mockito.eq(events.stream().map(ExternalEventView::getId).toList()), Mockito.any());
+        verify(repository, times(0)).countByStatus(Mockito.any());
         assertEquals(RepeatStatus.FINISHED, resultStatus);
+        assertEquals(2, meterRegistry.get(SendAsynchronousEventsTasklet.SENT_EVENTS_METRIC).counter().count());
+        assertEquals(0, meterRegistry.get(SendAsynchronousEventsTasklet.PENDING_EVENTS_METRIC).gauge().value());
     }
 
     @Test
@@ -96,7 +96,9 @@ public class ExternalEventConfigurationValidationServiceTest {
                 "LoanChargeAdjustmentPostBusinessEvent", "LoanChargeAdjustmentPreBusinessEvent", "LoanDelinquencyRangeChangeBusinessEvent",
                 "LoanAccountsStayedLockedBusinessEvent", "MockBusinessEvent", "LoanChargeOffPreBusinessEvent",
                 "LoanChargeOffPostBusinessEvent", "LoanUndoChargeOffBusinessEvent", "LoanAccrualTransactionCreatedBusinessEvent",
-                "LoanRescheduledDueAdjustScheduleBusinessEvent");
+                "LoanRescheduledDueAdjustScheduleBusinessEvent", "ClientUpdateBusinessEvent", "ClientDeleteBusinessEvent",
+                "GroupsUpdateBusinessEvent", "GroupsDeleteBusinessEvent", "CentersUpdateBusinessEvent", "CentersDeleteBusinessEvent",
+                "LoanUpdatedBusinessEvent", "LoanDeletedBusinessEvent");
 
         List<FineractPlatformTenant> tenants = Arrays
                 .asList(new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null));
@@ -174,7 +176,9 @@ public class ExternalEventConfigurationValidationServiceTest {
                 "LoanChargeAdjustmentPostBusinessEvent", "LoanChargeAdjustmentPreBusinessEvent", "LoanDelinquencyRangeChangeBusinessEvent",
                 "LoanAccountsStayedLockedBusinessEvent", "LoanChargeOffPreBusinessEvent", "LoanChargeOffPostBusinessEvent",
                 "LoanUndoChargeOffBusinessEvent", "LoanAccrualTransactionCreatedBusinessEvent",
-                "LoanRescheduledDueAdjustScheduleBusinessEvent");
+                "LoanRescheduledDueAdjustScheduleBusinessEvent", "ClientUpdateBusinessEvent", "ClientDeleteBusinessEvent",
+                "GroupsUpdateBusinessEvent", "GroupsDeleteBusinessEvent", "CentersUpdateBusinessEvent", "CentersDeleteBusinessEvent",
+                "LoanUpdatedBusinessEvent", "LoanDeletedBusinessEvent");
 
         List<FineractPlatformTenant> tenants = Arrays
                 .asList(new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null));
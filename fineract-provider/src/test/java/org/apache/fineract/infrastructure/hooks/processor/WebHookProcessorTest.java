@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.processor;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.fineract.infrastructure.hooks.api.HookApiConstants.contentTypeName;
+import static org.apache.fineract.infrastructure.hooks.api.HookApiConstants.payloadURLName;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WebHookProcessorTest {
+
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private final AtomicInteger receivedRequests = new AtomicInteger();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private final AtomicReference<String> receivedEntity = new AtomicReference<>();
+    private final AtomicReference<String> receivedTenant = new AtomicReference<>();
+    private final FineractContext context = new FineractContext(null,
+            new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null), null, null, null);
+
+    private HttpServer server;
+    private String url;
+    private ProcessorHelper processorHelper;
+    private WebHookProcessor underTest;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/hook", exchange -> {
+            receivedRequests.incrementAndGet();
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), UTF_8));
+            receivedEntity.set(exchange.getRequestHeaders().getFirst(WebHookService.ENTITY_HEADER));
+            receivedTenant.set(exchange.getRequestHeaders().getFirst(WebHookService.TENANT_HEADER));
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        url = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/hook/";
+
+        FineractProperties.FineractHookDeliveryProperties deliveryProperties = new FineractProperties.FineractHookDeliveryProperties();
+        deliveryProperties.setMaxIdleConnections(5);
+        deliveryProperties.setKeepAliveSec(60);
+        deliveryProperties.setConnectTimeoutSec(5);
+        deliveryProperties.setReadTimeoutSec(5);
+        FineractProperties.FineractHooksProperties hooksProperties = new FineractProperties.FineractHooksProperties();
+        hooksProperties.setDelivery(deliveryProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setHooks(hooksProperties);
+        processorHelper = new ProcessorHelper(fineractProperties);
+        underTest = new WebHookProcessor(processorHelper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testJsonPayloadIsPostedWithEventHeaders() throws Exception {
+        // given
+        Hook hook = webHook("json");
+        // when
+        underTest.process(hook, "{\"clientId\":1}", "CLIENT", "CREATE", context);
+        // then
+        assertThat(receivedRequests).hasValue(1);
+        assertThat(receivedBody.get()).isEqualTo("{\"clientId\":1}");
+        assertThat(receivedEntity.get()).isEqualTo("CLIENT");
+        assertThat(receivedTenant.get()).isEqualTo("default");
+    }
+
+    @Test
+    void testUnsuccessfulResponseFailsTheDelivery() {
+        // given
+        responseStatus.set(503);
+        Hook hook = webHook("json");
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.process(hook, "{\"clientId\":1}", "CLIENT", "CREATE", context)).isInstanceOf(IOException.class)
+                .hasMessageContaining("503");
+        assertThat(receivedRequests).hasValue(1);
+    }
+
+    @Test
+    void testWebHookServiceIsSharedPerUrl() {
+        // given
+        // when
+        WebHookService first = processorHelper.createWebHookService(url);
+        WebHookService second = processorHelper.createWebHookService(url);
+        // then
+        assertThat(second).isSameAs(first);
+    }
+
+    private Hook webHook(String contentType) {
+        Hook hook = new Hook();
+        hook.setConfig(Set.of(HookConfiguration.createNew(hook, "string", payloadURLName, url),
+                HookConfiguration.createNew(hook, "string", contentTypeName, contentType)));
+        return hook;
+    }
+}
@@ -0,0 +1,319 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.diagnostics.metrics.FineractMetrics;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class HookDeliveryServiceImplTest {
+
+    private static final String PAYLOAD = "{\"clientId\":1}";
+
+    @Mock
+    private HookDeliveryRepository hookDeliveryRepository;
+    @Mock
+    private HookRepository hookRepository;
+    @Mock
+    private HookProcessorProvider hookProcessorProvider;
+    @Mock
+    private HookProcessor hookProcessor;
+    @Mock
+    private ThreadPoolTaskExecutor hookDeliveryExecutor;
+
+    private final List<Runnable> submittedTasks = new ArrayList<>();
+    private final Map<Long, HookDelivery> savedDeliveries = new HashMap<>();
+    private HookDeliveryServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        initContext();
+        FineractProperties.FineractHookDeliveryProperties deliveryProperties = new FineractProperties.FineractHookDeliveryProperties();
+        deliveryProperties.setMaxConcurrencyPerHook(1);
+        deliveryProperties.setQueueCapacity(10);
+        deliveryProperties.setMaxAttempts(3);
+        deliveryProperties.setInitialBackoffSec(30);
+        deliveryProperties.setMaxBackoffSec(3600);
+        deliveryProperties.setLeaseSec(300);
+        deliveryProperties.setBatchSize(2);
+        FineractProperties.FineractHooksProperties hooksProperties = new FineractProperties.FineractHooksProperties();
+        hooksProperties.setDelivery(deliveryProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setHooks(hooksProperties);
+        underTest = new HookDeliveryServiceImpl(hookDeliveryRepository, hookRepository, hookProcessorProvider, fineractProperties,
+                new FineractMetrics(new SimpleMeterRegistry()), hookDeliveryExecutor);
+        lenient().doAnswer(invocation -> submittedTasks.add(invocation.getArgument(0))).when(hookDeliveryExecutor)
+                .execute(any(Runnable.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEnqueuedDeliveriesAreSentAndDeleted() throws Exception {
+        // given
+        Hook first = activeHook(1L);
+        Hook second = activeHook(2L);
+        mockSaveAll();
+        // when
+        underTest.enqueue(List.of(first, second), "CLIENT", "CREATE", PAYLOAD);
+        runSubmittedTasks();
+        // then
+        verify(hookProcessor).process(eq(first), eq(PAYLOAD), eq("CLIENT"), eq("CREATE"), any());
+        verify(hookProcessor).process(eq(second), eq(PAYLOAD), eq("CLIENT"), eq("CREATE"), any());
+        verify(hookDeliveryRepository, times(2)).delete(any(HookDelivery.class));
+    }
+
+    @Test
+    void testFailedDeliveryIsRetriedWithBackoff() throws Exception {
+        // given
+        Hook hook = activeHook(1L);
+        mockSaveAll();
+        doThrow(new IOException("Service Unavailable")).when(hookProcessor).process(eq(hook), eq(PAYLOAD), eq("CLIENT"), eq("CREATE"),
+                any());
+        // when
+        underTest.enqueue(List.of(hook), "CLIENT", "CREATE", PAYLOAD);
+        runSubmittedTasks();
+        // then
+        HookDelivery delivery = savedDeliveries.values().iterator().next();
+        verify(hookDeliveryRepository).save(delivery);
+        verify(hookDeliveryRepository, never()).delete(any(HookDelivery.class));
+        assertThat(delivery.getStatus()).isEqualTo(HookDeliveryStatus.PENDING);
+        assertThat(delivery.getAttempts()).isEqualTo(1);
+        assertThat(delivery.getLastError()).contains("Service Unavailable");
+        assertThat(delivery.getNextAttemptAt()).isAfter(OffsetDateTime.now(ZoneId.systemDefault()).plusSeconds(20));
+    }
+
+    @Test
+    void testDeliveryFailsAfterMaxAttempts() throws Exception {
+        // given
+        Hook hook = activeHook(1L);
+        HookDelivery delivery = new HookDelivery(1L, "CLIENT", "CREATE", PAYLOAD, Duration.ZERO);
+        delivery.setId(11L);
+        delivery.attemptFailed("first", 3, Duration.ZERO, Duration.ZERO);
+        delivery.attemptFailed("second", 3, Duration.ZERO, Duration.ZERO);
+        when(hookDeliveryRepository.findDueDeliveries(any(), any())).thenReturn(List.of(delivery));
+        when(hookDeliveryRepository.lease(eq(11L), any(), any())).thenReturn(1);
+        when(hookDeliveryRepository.findById(11L)).thenReturn(Optional.of(delivery));
+        doThrow(new IOException("Service Unavailable")).when(hookProcessor).process(eq(hook), eq(PAYLOAD), eq("CLIENT"), eq("CREATE"),
+                any());
+        // when
+        int dispatched = underTest.dispatchDueDeliveries();
+        runSubmittedTasks();
+        // then
+        assertThat(dispatched).isEqualTo(1);
+        assertThat(delivery.getStatus()).isEqualTo(HookDeliveryStatus.FAILED);
+        assertThat(delivery.getAttempts()).isEqualTo(3);
+        verify(hookDeliveryRepository).save(delivery);
+    }
+
+    @Test
+    void testDeliveryLeasedByAnotherNodeIsSkipped() {
+        // given
+        HookDelivery delivery = new HookDelivery(1L, "CLIENT", "CREATE", PAYLOAD, Duration.ZERO);
+        delivery.setId(11L);
+        when(hookDeliveryRepository.findDueDeliveries(any(), any())).thenReturn(List.of(delivery));
+        when(hookDeliveryRepository.lease(eq(11L), any(), any())).thenReturn(0);
+        // when
+        int dispatched = underTest.dispatchDueDeliveries();
+        // then
+        assertThat(dispatched).isZero();
+        assertThat(submittedTasks).isEmpty();
+    }
+
+    @Test
+    void testConcurrentDeliveriesOfTheSameHookAreLimited() throws Exception {
+        // given
+        Hook hook = activeHook(1L);
+        mockSaveAll();
+        // when
+        underTest.enqueue(List.of(hook), "CLIENT", "CREATE", PAYLOAD);
+        underTest.enqueue(List.of(hook), "CLIENT", "UPDATE", PAYLOAD);
+        // then
+        assertThat(submittedTasks).hasSize(1);
+        // when
+        submittedTasks.remove(0).run();
+        // then
+        assertThat(submittedTasks).hasSize(1);
+        runSubmittedTasks();
+        verify(hookProcessor, times(2)).process(eq(hook), eq(PAYLOAD), eq("CLIENT"), any(), any());
+    }
+
+    @Test
+    void testDeliveriesEnqueuedInATransactionAreDispatchedAfterCommit() throws Exception {
+        // given
+        Hook hook = activeHook(1L);
+        mockSaveAll();
+        TransactionSynchronizationManager.initSynchronization();
+        // when
+        underTest.enqueue(List.of(hook), "CLIENT", "CREATE", PAYLOAD);
+        // then
+        assertThat(submittedTasks).isEmpty();
+        // when
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        runSubmittedTasks();
+        // then
+        verify(hookProcessor).process(eq(hook), eq(PAYLOAD), eq("CLIENT"), eq("CREATE"), any());
+        verify(hookDeliveryRepository).delete(any(HookDelivery.class));
+    }
+
+    @Test
+    void testDeliveriesEnqueuedInARolledBackTransactionAreNotDispatched() {
+        // given
+        Hook hook = new Hook();
+        hook.setId(1L);
+        when(hookDeliveryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+        // when
+        underTest.enqueue(List.of(hook), "CLIENT", "CREATE", PAYLOAD);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        // then
+        assertThat(submittedTasks).isEmpty();
+        assertThat(hookSlots()).isEmpty();
+    }
+
+    @Test
+    void testSlotOfAHookIsEvictedOnceItIsIdle() throws Exception {
+        // given
+        Hook hook = activeHook(1L);
+        mockSaveAll();
+        // when
+        underTest.enqueue(List.of(hook), "CLIENT", "CREATE", PAYLOAD);
+        underTest.enqueue(List.of(hook), "CLIENT", "UPDATE", PAYLOAD);
+        // then
+        assertThat(hookSlots()).containsOnlyKeys("default:1");
+        // when
+        submittedTasks.remove(0).run();
+        // then the waiting delivery keeps the slot
+        assertThat(hookSlots()).containsOnlyKeys("default:1");
+        // when
+        runSubmittedTasks();
+        // then
+        assertThat(hookSlots()).isEmpty();
+    }
+
+    @Test
+    void testSlotOfARemovedHookIsEvicted() {
+        // given
+        when(hookRepository.findById(5L)).thenReturn(Optional.empty());
+        Hook removedHook = new Hook();
+        removedHook.setId(5L);
+        mockSaveAll();
+        // when
+        underTest.enqueue(List.of(removedHook), "CLIENT", "CREATE", PAYLOAD);
+        runSubmittedTasks();
+        // then
+        verify(hookDeliveryRepository).delete(any(HookDelivery.class));
+        assertThat(hookSlots()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> hookSlots() {
+        return (Map<String, ?>) ReflectionTestUtils.getField(underTest, "hookSlots");
+    }
+
+    private Hook activeHook(Long id) {
+        Hook hook = new Hook();
+        hook.setId(id);
+        hook.setIsActive(true);
+        when(hookRepository.findById(id)).thenReturn(Optional.of(hook));
+        when(hookProcessorProvider.getProcessor(hook)).thenReturn(hookProcessor);
+        return hook;
+    }
+
+    private void mockSaveAll() {
+        when(hookDeliveryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<HookDelivery> deliveries = invocation.getArgument(0);
+            for (HookDelivery delivery : deliveries) {
+                delivery.setId(savedDeliveries.size() + 11L);
+                savedDeliveries.put(delivery.getId(), delivery);
+            }
+            return deliveries;
+        });
+        when(hookDeliveryRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(savedDeliveries.get(invocation.getArgument(0))));
+    }
+
+    private void runSubmittedTasks() {
+        while (!submittedTasks.isEmpty()) {
+            submittedTasks.remove(0).run();
+        }
+    }
+
+    private void initContext() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+    }
+}
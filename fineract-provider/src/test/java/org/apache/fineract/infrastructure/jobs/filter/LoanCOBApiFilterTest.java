@@ -23,28 +23,38 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.sun.research.ws.wadl.HTTPMethods;
+import io.github.resilience4j.core.functions.Either;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Matcher;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
-import org.apache.fineract.cob.data.LoanIdAndLastClosedBusinessDate;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.cob.data.LoanIdAndLockOwner;
+import org.apache.fineract.cob.domain.LoanAccountLock;
+import org.apache.fineract.cob.domain.LoanAccountLockRepository;
+import org.apache.fineract.cob.domain.LockOwner;
 import org.apache.fineract.cob.service.InlineLoanCOBExecutorServiceImpl;
-import org.apache.fineract.cob.service.LoanAccountLockService;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.filters.BatchRequestPreprocessor;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.LoanIdsHardLockedException;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.portfolio.loanaccount.domain.GLIMAccountInfoRepository;
 import org.apache.fineract.portfolio.loanaccount.domain.GroupLoanIndividualMonitoringAccount;
@@ -59,11 +69,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -72,8 +84,6 @@ class LoanCOBApiFilterTest {
     @InjectMocks
     private LoanCOBApiFilter testObj;
     @Mock
-    private LoanAccountLockService loanAccountLockService;
-    @Mock
     private GLIMAccountInfoRepository glimAccountInfoRepository;
     @Mock
     private PlatformSecurityContext context;
@@ -88,38 +98,33 @@ class LoanCOBApiFilterTest {
 
     @Mock
     private LoanRescheduleRequestRepository loanRescheduleRequestRepository;
+    @Mock
+    private LoanAccountLockRepository loanAccountLockRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Spy
+    private LoanCOBUpToDateMarkers upToDateMarkers = new LoanCOBUpToDateMarkers(Duration.ofSeconds(30), 1000);
 
     @Test
     void shouldLoanAndExternalMatchToo() {
         String externalId = UUID.randomUUID().toString();
-        Assertions.assertTrue(LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/loans/12").matches());
-        Assertions.assertTrue(LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/loans/12?correct=parameter").matches());
-        Assertions.assertTrue(LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/loans/12?correct=parameter").matches());
-        Assertions.assertTrue(LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/rescheduleloans/12").matches());
-        Assertions.assertTrue(LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/rescheduleloans/12?correct=parameter").matches());
-        Assertions.assertTrue(LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/rescheduleloans/12?correct=parameter").matches());
-        Assertions.assertTrue(LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/loans/external-id/" + externalId).matches());
-        Assertions.assertTrue(
-                LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/loans/external-id/" + externalId + "?additional=parameter").matches());
-        Assertions.assertEquals("12", LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/loans/12").replaceAll("$1"));
-        Assertions.assertEquals("12", LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/loans/12?correct=parameter").replaceAll("$1"));
-        Assertions.assertEquals("12", LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/rescheduleloans/12").replaceAll("$1"));
-        Assertions.assertEquals("12",
-                LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/rescheduleloans/12?correct=parameter").replaceAll("$1"));
-        Assertions.assertEquals(externalId,
-                LoanCOBApiFilter.LOAN_PATH_PATTERN.matcher("/v1/loans/external-id/" + externalId).replaceAll("$1"));
-        Assertions.assertEquals(externalId, LoanCOBApiFilter.LOAN_PATH_PATTERN
-                .matcher("/v1/loans/external-id/" + externalId + "?additional=parameter").replaceAll("$1"));
+        Assertions.assertEquals("12", matchLoanRoute("/v1/loans/12").group("id"));
+        Assertions.assertEquals("12", matchLoanRoute("/v1/loans/12?correct=parameter").group("id"));
+        Assertions.assertNull(matchLoanRoute("/v1/loans/12").group("reschedule"));
+        Assertions.assertEquals("12", matchLoanRoute("/v1/rescheduleloans/12").group("id"));
+        Assertions.assertEquals("12", matchLoanRoute("/v1/rescheduleloans/12?correct=parameter").group("id"));
+        Assertions.assertNotNull(matchLoanRoute("/v1/rescheduleloans/12").group("reschedule"));
+        Assertions.assertEquals(externalId, matchLoanRoute("/v1/loans/external-id/" + externalId).group("id"));
+        Assertions.assertEquals(externalId, matchLoanRoute("/v1/loans/external-id/" + externalId + "?additional=parameter").group("id"));
+        Assertions.assertNotNull(matchLoanRoute("/v1/loans/external-id/" + externalId).group("external"));
+        Assertions.assertFalse(LoanCOBApiFilter.LOAN_ROUTE_PATTERN.matcher("/v1/loans").matches());
     }
 
     @Test
     void shouldGlimAccountMatch() {
-        Assertions.assertTrue(LoanCOBApiFilter.LOAN_GLIMACCOUNT_PATH_PATTERN.matcher("/v1/loans/glimAccount/12").matches());
-        Assertions.assertTrue(
-                LoanCOBApiFilter.LOAN_GLIMACCOUNT_PATH_PATTERN.matcher("/v1/loans/glimAccount/12?additional=parameter").matches());
-        Assertions.assertEquals("12", LoanCOBApiFilter.LOAN_GLIMACCOUNT_PATH_PATTERN.matcher("/v1/loans/glimAccount/12").replaceAll("$1"));
-        Assertions.assertEquals("12",
-                LoanCOBApiFilter.LOAN_GLIMACCOUNT_PATH_PATTERN.matcher("/v1/loans/glimAccount/12?additional=parameter").replaceAll("$1"));
+        Assertions.assertEquals("12", matchLoanRoute("/v1/loans/glimAccount/12").group("glimId"));
+        Assertions.assertEquals("12", matchLoanRoute("/v1/loans/glimAccount/12?additional=parameter").group("glimId"));
+        Assertions.assertNull(matchLoanRoute("/v1/loans/glimAccount/12").group("id"));
     }
 
     @Test
@@ -153,7 +158,7 @@ class LoanCOBApiFilterTest {
         given(context.authenticatedUser()).willReturn(appUser);
         given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
         given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
-        given(loanRepository.findAllNonClosedLoansBehindOrNullByLoanIds(
+        given(loanRepository.findAllLockedOrBehindByLoanIds(
                 eq(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE)), anyList()))
                         .willReturn(Collections.emptyList());
 
@@ -192,11 +197,10 @@ class LoanCOBApiFilterTest {
 
         given(request.getPathInfo()).willReturn("/v1/loans/2/charges");
         given(request.getMethod()).willReturn(HTTPMethods.POST.value());
-        given(loanAccountLockService.isLoanHardLocked(2L)).willReturn(false);
         given(context.authenticatedUser()).willReturn(appUser);
         given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
         given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
-        given(loanRepository.findAllNonClosedLoansBehindOrNullByLoanIds(
+        given(loanRepository.findAllLockedOrBehindByLoanIds(
                 eq(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE)), anyList()))
                         .willReturn(Collections.emptyList());
 
@@ -219,12 +223,11 @@ class LoanCOBApiFilterTest {
         String uuid = UUID.randomUUID().toString();
         given(request.getPathInfo()).willReturn("/v1/loans/external-id/" + uuid + "/charges");
         given(request.getMethod()).willReturn(HTTPMethods.POST.value());
-        given(loanAccountLockService.isLoanHardLocked(2L)).willReturn(false);
         given(context.authenticatedUser()).willReturn(appUser);
         given(loanRepository.findIdByExternalId(any())).willReturn(2L);
         given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
         given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
-        given(loanRepository.findAllNonClosedLoansBehindOrNullByLoanIds(
+        given(loanRepository.findAllLockedOrBehindByLoanIds(
                 eq(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE)), anyList()))
                         .willReturn(Collections.emptyList());
 
@@ -247,14 +250,13 @@ class LoanCOBApiFilterTest {
         Long resourceId = 123L;
         given(request.getPathInfo()).willReturn("/v1/rescheduleloans/" + resourceId + "/charges");
         given(request.getMethod()).willReturn(HTTPMethods.POST.value());
-        given(loanAccountLockService.isLoanHardLocked(2L)).willReturn(false);
         given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
         given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
         LoanRescheduleRequest rescheduleRequest = mock(LoanRescheduleRequest.class);
         given(loanRescheduleRequestRepository.getLoanIdByRescheduleRequestId(resourceId)).willReturn(Optional.of(2L));
         given(context.authenticatedUser()).willReturn(appUser);
 
-        given(loanRepository.findAllNonClosedLoansBehindOrNullByLoanIds(
+        given(loanRepository.findAllLockedOrBehindByLoanIds(
                 eq(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE)), anyList()))
                         .willReturn(Collections.emptyList());
 
@@ -276,15 +278,13 @@ class LoanCOBApiFilterTest {
         businessDates.put(BusinessDateType.COB_DATE, businessDate.minusDays(1));
         ThreadLocalContextUtil.setBusinessDates(businessDates);
 
-        LoanIdAndLastClosedBusinessDate result = mock(LoanIdAndLastClosedBusinessDate.class);
+        LoanIdAndLockOwner result = mock(LoanIdAndLockOwner.class);
         given(result.getId()).willReturn(2L);
-        given(result.getLastClosedBusinessDate()).willReturn(businessDate.minusDays(2));
         given(request.getPathInfo()).willReturn("/v1/loans/2?command=approve");
         given(request.getMethod()).willReturn(HTTPMethods.POST.value());
-        given(loanAccountLockService.isLoanHardLocked(2L)).willReturn(false);
         given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
         given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
-        given(loanRepository.findAllNonClosedLoansBehindByLoanIds(
+        given(loanRepository.findAllLockedOrBehindByLoanIds(
                 eq(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE)), anyList()))
                         .willReturn(Collections.singletonList(result));
         given(context.authenticatedUser()).willReturn(appUser);
@@ -308,14 +308,13 @@ class LoanCOBApiFilterTest {
         businessDates.put(BusinessDateType.COB_DATE, businessDate.minusDays(1));
         ThreadLocalContextUtil.setBusinessDates(businessDates);
 
-        LoanIdAndLastClosedBusinessDate result = mock(LoanIdAndLastClosedBusinessDate.class);
+        LoanIdAndLockOwner result = mock(LoanIdAndLockOwner.class);
         given(result.getId()).willReturn(2L);
         given(request.getPathInfo()).willReturn("/v1/loans/2?command=approve");
         given(request.getMethod()).willReturn(HTTPMethods.POST.value());
-        given(loanAccountLockService.isLoanHardLocked(2L)).willReturn(false);
         given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
         given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
-        given(loanRepository.findAllNonClosedLoansBehindOrNullByLoanIds(
+        given(loanRepository.findAllLockedOrBehindByLoanIds(
                 eq(ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE)), anyList()))
                         .willReturn(Collections.emptyList());
 
@@ -368,9 +367,11 @@ class LoanCOBApiFilterTest {
         PrintWriter writer = mock(PrintWriter.class);
         AppUser appUser = mock(AppUser.class);
 
+        setBusinessDates();
+        givenLockedLoan(2L);
+
         given(request.getPathInfo()).willReturn("/v1/loans/2/charges");
         given(request.getMethod()).willReturn(HTTPMethods.POST.value());
-        given(loanAccountLockService.isLoanHardLocked(2L)).willReturn(true);
         given(response.getWriter()).willReturn(writer);
         given(context.authenticatedUser()).willReturn(appUser);
 
@@ -394,11 +395,141 @@ class LoanCOBApiFilterTest {
         given(glimAccountInfoRepository.findOneByIsAcceptingChildAndApplicationId(true, BigDecimal.valueOf(2))).willReturn(glimAccount);
         given(glimAccount.getChildLoan()).willReturn(Collections.singleton(loan));
         given(loan.getId()).willReturn(loanId);
-        given(loanAccountLockService.isLoanHardLocked(loanId)).willReturn(true);
+        setBusinessDates();
+        givenLockedLoan(loanId);
         given(response.getWriter()).willReturn(writer);
         given(context.authenticatedUser()).willReturn(appUser);
 
         testObj.doFilterInternal(request, response, filterChain);
         verify(response, times(1)).setStatus(HttpStatus.SC_CONFLICT);
     }
+
+    @Test
+    void shouldOnlyCheckLocksWhenLoanIsKnownUpToDate() throws ServletException, IOException {
+        MockHttpServletRequest request = mock(MockHttpServletRequest.class);
+        MockHttpServletResponse response = mock(MockHttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+        AppUser appUser = mock(AppUser.class);
+        LocalDate cobDate = setBusinessDates();
+
+        given(request.getPathInfo()).willReturn("/v1/loans/2/charges");
+        given(request.getMethod()).willReturn(HTTPMethods.POST.value());
+        given(context.authenticatedUser()).willReturn(appUser);
+        given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
+        given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
+        given(loanRepository.findAllLockedOrBehindByLoanIds(eq(cobDate), anyList())).willReturn(Collections.emptyList());
+
+        testObj.doFilterInternal(request, response, filterChain);
+        testObj.doFilterInternal(request, response, filterChain);
+
+        verify(loanRepository, times(1)).findAllLockedOrBehindByLoanIds(eq(cobDate), anyList());
+        verify(loanAccountLockRepository, times(1)).findAllByLoanIdIn(List.of(2L));
+        verify(filterChain, times(2)).doFilter(request, response);
+    }
+
+    @Test
+    void shouldRejectWhenLoanKnownUpToDateIsLockedAfterwards() throws ServletException, IOException {
+        MockHttpServletRequest request = mock(MockHttpServletRequest.class);
+        MockHttpServletResponse response = mock(MockHttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+        PrintWriter writer = mock(PrintWriter.class);
+        AppUser appUser = mock(AppUser.class);
+        LocalDate cobDate = setBusinessDates();
+
+        given(request.getPathInfo()).willReturn("/v1/loans/2/charges");
+        given(request.getMethod()).willReturn(HTTPMethods.POST.value());
+        given(response.getWriter()).willReturn(writer);
+        given(context.authenticatedUser()).willReturn(appUser);
+        given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
+        given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
+        given(loanRepository.findAllLockedOrBehindByLoanIds(eq(cobDate), anyList())).willReturn(Collections.emptyList());
+
+        testObj.doFilterInternal(request, response, filterChain);
+        given(loanAccountLockRepository.findAllByLoanIdIn(List.of(2L)))
+                .willReturn(List.of(new LoanAccountLock(2L, LockOwner.LOAN_COB_CHUNK_PROCESSING, cobDate)));
+        testObj.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain, times(1)).doFilter(request, response);
+        verify(response, times(1)).setStatus(HttpStatus.SC_CONFLICT);
+        verify(inlineLoanCOBExecutorService, never()).execute(anyList(), any());
+    }
+
+    @Test
+    void shouldCheckTheLoansOfAllBatchRequestsWithOneQuery() {
+        AppUser appUser = mock(AppUser.class);
+        LocalDate cobDate = setBusinessDates();
+        BatchRequest firstRequest = batchRequest("loans/1/charges");
+        BatchRequest secondRequest = batchRequest("v1/loans/2/transactions?command=repayment");
+        BatchRequest dependentRequest = batchRequest("loans/$.loanId/charges");
+
+        given(context.authenticatedUser()).willReturn(appUser);
+        given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
+        given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
+        given(loanRepository.findAllLockedOrBehindByLoanIds(eq(cobDate), anyList())).willReturn(Collections.emptyList());
+
+        BatchRequestPreprocessor batchPreprocessor = testObj.forBatch(List.of(firstRequest, secondRequest, dependentRequest));
+        Either<RuntimeException, BatchRequest> firstResult = batchPreprocessor.preprocess(firstRequest);
+        Either<RuntimeException, BatchRequest> secondResult = batchPreprocessor.preprocess(secondRequest);
+
+        Assertions.assertTrue(firstResult.isRight());
+        Assertions.assertTrue(secondResult.isRight());
+        verify(loanRepository, times(1)).findAllLockedOrBehindByLoanIds(cobDate, List.of(1L, 2L));
+        verify(loanRepository, times(1)).findAllLockedOrBehindByLoanIds(eq(cobDate), anyList());
+        verify(loanAccountLockRepository, never()).findAllByLoanIdIn(anyList());
+    }
+
+    @Test
+    void shouldRejectOnlyTheBatchRequestOfTheLockedLoan() {
+        AppUser appUser = mock(AppUser.class);
+        LocalDate cobDate = setBusinessDates();
+        BatchRequest firstRequest = batchRequest("loans/1/charges");
+        BatchRequest secondRequest = batchRequest("loans/2/charges");
+        LoanIdAndLockOwner lockedLoan = mock(LoanIdAndLockOwner.class);
+
+        given(lockedLoan.getId()).willReturn(2L);
+        given(lockedLoan.getLockOwner()).willReturn(LockOwner.LOAN_COB_CHUNK_PROCESSING);
+        given(context.authenticatedUser()).willReturn(appUser);
+        given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
+        given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
+        given(loanRepository.findAllLockedOrBehindByLoanIds(cobDate, List.of(1L, 2L))).willReturn(List.of(lockedLoan));
+        given(loanRepository.findAllLockedOrBehindByLoanIds(cobDate, List.of(1L))).willReturn(Collections.emptyList());
+
+        BatchRequestPreprocessor batchPreprocessor = testObj.forBatch(List.of(firstRequest, secondRequest));
+        Either<RuntimeException, BatchRequest> firstResult = batchPreprocessor.preprocess(firstRequest);
+        Either<RuntimeException, BatchRequest> secondResult = batchPreprocessor.preprocess(secondRequest);
+
+        Assertions.assertTrue(firstResult.isRight());
+        Assertions.assertTrue(secondResult.isLeft());
+        Assertions.assertInstanceOf(LoanIdsHardLockedException.class, secondResult.getLeft());
+        verify(inlineLoanCOBExecutorService, never()).execute(anyList(), any());
+    }
+
+    private BatchRequest batchRequest(String relativeUrl) {
+        return new BatchRequest().setRelativeUrl(relativeUrl).setMethod(HTTPMethods.POST.value());
+    }
+
+    private Matcher matchLoanRoute(String path) {
+        Matcher matcher = LoanCOBApiFilter.LOAN_ROUTE_PATTERN.matcher(path);
+        Assertions.assertTrue(matcher.matches(), path);
+        return matcher;
+    }
+
+    private LocalDate setBusinessDates() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        LocalDate businessDate = LocalDate.now(ZoneId.systemDefault());
+        businessDates.put(BusinessDateType.BUSINESS_DATE, businessDate);
+        businessDates.put(BusinessDateType.COB_DATE, businessDate.minusDays(1));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        return businessDate.minusDays(1);
+    }
+
+    private void givenLockedLoan(Long loanId) {
+        LoanIdAndLockOwner lockedLoan = mock(LoanIdAndLockOwner.class);
+        given(lockedLoan.getId()).willReturn(loanId);
+        given(lockedLoan.getLockOwner()).willReturn(LockOwner.LOAN_COB_CHUNK_PROCESSING);
+        given(fineractProperties.getQuery()).willReturn(fineractQueryProperties);
+        given(fineractQueryProperties.getInClauseParameterSizeLimit()).willReturn(65000);
+        given(loanRepository.findAllLockedOrBehindByLoanIds(any(), anyList())).willReturn(Collections.singletonList(lockedLoan));
+    }
 }
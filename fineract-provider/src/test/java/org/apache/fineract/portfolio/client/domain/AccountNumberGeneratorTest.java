@@ -0,0 +1,225 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.client.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
+import org.apache.fineract.infrastructure.configuration.service.ConfigurationReadPlatformService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractAccountNumberPregenerationProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractAccountNumberProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberGeneratorTest {
+
+    @Mock
+    private ConfigurationReadPlatformService configurationReadPlatformService;
+    @Mock
+    private ClientRepository clientRepository;
+    @Mock
+    private LoanRepository loanRepository;
+    @Mock
+    private SavingsAccountRepository savingsAccountRepository;
+    @Mock
+    private AccountNumberSequence accountNumberSequence;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AccountNumberGenerator underTest;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(configurationReadPlatformService.retrieveGlobalConfiguration(anyString()))
+                .thenReturn(new GlobalConfigurationPropertyData().setEnabled(false));
+        underTest = new AccountNumberGenerator(configurationReadPlatformService, clientRepository, loanRepository,
+                savingsAccountRepository, accountNumberSequence);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    void testGenerateUsesDatabaseIdWhenPregenerationIsDisabled() {
+        // given
+        Client client = client(7L);
+        given(accountNumberSequence.isIssuing("client")).willReturn(false);
+        // when
+        String accountNumber = underTest.generate(client, null);
+        // then
+        assertThat(accountNumber).isEqualTo("000000007");
+        verify(accountNumberSequence, never()).next(anyString());
+    }
+
+    @Test
+    void testGenerateBeforeInsertUsesSequenceWhenPregenerationIsEnabled() {
+        // given
+        Client client = client(null);
+        given(accountNumberSequence.isIssuing("client")).willReturn(true);
+        given(accountNumberSequence.next("client")).willReturn(42L);
+        // when
+        String accountNumber = underTest.generate(client, null);
+        // then
+        assertThat(accountNumber).isEqualTo("000000042");
+    }
+
+    @Test
+    void testGenerateSkipsSequenceValuesWithTakenAccountNumber() {
+        // given
+        Client client = client(null);
+        given(accountNumberSequence.isIssuing("client")).willReturn(true);
+        given(accountNumberSequence.next("client")).willReturn(42L, 43L);
+        given(clientRepository.getClientByAccountNumber("000000042")).willReturn(mock(Client.class));
+        // when
+        String accountNumber = underTest.generate(client, null);
+        // then
+        assertThat(accountNumber).isEqualTo("000000043");
+    }
+
+    @Test
+    void testGenerateAfterInsertKeepsUsingIssuingSequence() {
+        // given
+        Client client = client(null);
+        lenient().when(client.getId()).thenReturn(7L);
+        given(accountNumberSequence.isIssuing("client")).willReturn(true);
+        given(accountNumberSequence.next("client")).willReturn(42L);
+        // when
+        String accountNumber = underTest.generate(client, null);
+        // then
+        assertThat(accountNumber).isEqualTo("000000042");
+    }
+
+    @Test
+    void testSequenceServesValuesFromReservedBlock() {
+        // given
+        FineractProperties fineractProperties = pregenerationProperties(true, 3);
+        given(jdbcTemplate.queryForObject("SELECT next_value FROM m_account_number_sequence WHERE entity_type = ? FOR UPDATE", Long.class,
+                "client")).willReturn(10L, 13L);
+        given(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM m_client", Long.class)).willReturn(5L);
+        AccountNumberSequence sequence = new AccountNumberSequence(jdbcTemplate, transactionManager, fineractProperties);
+        // when
+        long[] values = new long[4];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = sequence.next("client");
+        }
+        // then
+        assertThat(sequence.isEnabled()).isTrue();
+        assertThat(values).containsExactly(10L, 11L, 12L, 13L);
+        verify(jdbcTemplate).update("UPDATE m_account_number_sequence SET next_value = ?, issued = true WHERE entity_type = ?", 13L,
+                "client");
+        verify(jdbcTemplate).update(anyString(), eq(16L), eq("client"));
+    }
+
+    @Test
+    void testDisabledSequenceLooksUpOnceWhetherItHasIssuedNumbers() {
+        // given
+        given(jdbcTemplate.queryForObject("SELECT issued FROM m_account_number_sequence WHERE entity_type = ?", Boolean.class, "loan"))
+                .willReturn(true);
+        given(jdbcTemplate.queryForObject("SELECT issued FROM m_account_number_sequence WHERE entity_type = ?", Boolean.class, "client"))
+                .willReturn(false);
+        AccountNumberSequence sequence = new AccountNumberSequence(jdbcTemplate, transactionManager, pregenerationProperties(false, 3));
+        // when
+        boolean loanIssuing = sequence.isIssuing("loan");
+        boolean loanIssuingLater = sequence.isIssuing("loan");
+        boolean clientIssuing = sequence.isIssuing("client");
+        boolean clientIssuingLater = sequence.isIssuing("client");
+        // then
+        assertThat(sequence.isEnabled()).isFalse();
+        assertThat(loanIssuing).isTrue();
+        assertThat(loanIssuingLater).isTrue();
+        assertThat(clientIssuing).isFalse();
+        assertThat(clientIssuingLater).isFalse();
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Boolean.class), eq("loan"));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Boolean.class), eq("client"));
+    }
+
+    @Test
+    void testDisabledSequenceIsLookedUpPerTenant() {
+        // given
+        given(jdbcTemplate.queryForObject("SELECT issued FROM m_account_number_sequence WHERE entity_type = ?", Boolean.class, "loan"))
+                .willReturn(false, true);
+        AccountNumberSequence sequence = new AccountNumberSequence(jdbcTemplate, transactionManager, pregenerationProperties(false, 3));
+        // when
+        boolean defaultIssuing = sequence.isIssuing("loan");
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        boolean otherIssuing = sequence.isIssuing("loan");
+        // then
+        assertThat(defaultIssuing).isFalse();
+        assertThat(otherIssuing).isTrue();
+    }
+
+    @Test
+    void testEnabledSequenceIsIssuingWithoutQuery() {
+        // given
+        AccountNumberSequence sequence = new AccountNumberSequence(jdbcTemplate, transactionManager, pregenerationProperties(true, 3));
+        // when
+        boolean issuing = sequence.isIssuing("savingsAccount");
+        // then
+        assertThat(issuing).isTrue();
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Boolean.class), anyString());
+    }
+
+    private static FineractProperties pregenerationProperties(boolean enabled, int blockSize) {
+        FineractProperties fineractProperties = new FineractProperties();
+        FineractAccountNumberProperties accountNumberProperties = new FineractAccountNumberProperties();
+        FineractAccountNumberPregenerationProperties pregeneration = new FineractAccountNumberPregenerationProperties();
+        pregeneration.setEnabled(enabled);
+        pregeneration.setBlockSize(blockSize);
+        accountNumberProperties.setPregeneration(pregeneration);
+        fineractProperties.setAccountNumber(accountNumberProperties);
+        return fineractProperties;
+    }
+
+    private Client client(Long id) {
+        Office office = mock(Office.class);
+        given(office.getName()).willReturn("Head Office");
+        Client client = mock(Client.class);
+        given(client.getOffice()).willReturn(office);
+        if (id != null) {
+            given(client.getId()).willReturn(id);
+        }
+        return client;
+    }
+}
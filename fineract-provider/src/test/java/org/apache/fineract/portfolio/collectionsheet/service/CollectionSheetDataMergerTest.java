@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.collectionsheet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.apache.fineract.portfolio.collectionsheet.data.IndividualClientData;
+import org.apache.fineract.portfolio.collectionsheet.data.IndividualCollectionSheetLoanFlatData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGClientData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGGroupData;
+import org.apache.fineract.portfolio.collectionsheet.data.SavingsDueData;
+import org.apache.fineract.portfolio.savings.data.SavingsProductData;
+import org.junit.jupiter.api.Test;
+
+class CollectionSheetDataMergerTest {
+
+    private static final int GROUPS = 50;
+    private static final int CLIENTS_PER_GROUP = 100;
+
+    @Test
+    void savingsAreMergedIntoGroupsAndClientsWithLoans() {
+        // given
+        final List<JLGGroupData> groupsWithLoans = new ArrayList<>(List.of(group(1L, client(10L), client(11L))));
+        final List<JLGGroupData> groupsWithSavings = List.of(group(1L, savingsClient(11L, 100L), savingsClient(12L, 100L)),
+                group(2L, savingsClient(20L, 200L)));
+
+        // when
+        CollectionSheetDataMerger.mergeSavingsGroups(groupsWithSavings, groupsWithLoans);
+
+        // then
+        assertThat(groupsWithLoans).extracting(JLGGroupData::getGroupId).containsExactly(1L, 2L);
+        final List<JLGClientData> clients = new ArrayList<>(groupsWithLoans.get(0).getClients());
+        assertThat(clients).extracting(JLGClientData::getClientId).containsExactly(10L, 11L, 12L);
+        assertThat(clients.get(0).getSavings()).isNull();
+        assertThat(clients.get(1).getSavings()).hasSize(1);
+        assertThat(CollectionSheetDataMerger.savingsProducts(groupsWithSavings)).extracting(SavingsProductData::getId)
+                .containsExactly(100L, 200L);
+    }
+
+    @Test
+    void loansAreMergedIntoClientsWithSavings() {
+        // given
+        final List<IndividualClientData> clients = new ArrayList<>(List.of(individualClient(1L), individualClient(2L)));
+        final List<IndividualCollectionSheetLoanFlatData> loans = List.of(loan(2L, 20L), loan(2L, 21L), loan(3L, 30L));
+
+        // when
+        CollectionSheetDataMerger.mergeLoans(loans, clients);
+
+        // then
+        assertThat(clients).extracting(IndividualClientData::getClientId).containsExactly(1L, 2L, 3L);
+        assertThat(clients.get(0).getLoans()).isNull();
+        assertThat(clients.get(1).getLoans()).hasSize(2);
+        assertThat(clients.get(2).getLoans()).hasSize(1);
+    }
+
+    @Test
+    void centerWithFiveThousandClientsIsMergedQuickly() {
+        // given
+        final List<JLGGroupData> groupsWithLoans = new ArrayList<>();
+        final List<JLGGroupData> groupsWithSavings = new ArrayList<>();
+        for (long groupId = 1; groupId <= GROUPS; groupId++) {
+            final List<JLGClientData> loanClients = new ArrayList<>();
+            final List<JLGClientData> savingsClients = new ArrayList<>();
+            for (long i = 0; i < CLIENTS_PER_GROUP; i++) {
+                final long clientId = groupId * 1_000 + i;
+                if (i % 2 == 0) {
+                    loanClients.add(client(clientId));
+                }
+                savingsClients.add(savingsClient(clientId, i % 10));
+            }
+            groupsWithLoans.add(JLGGroupData.withClients(groupHeader(groupId), loanClients));
+            groupsWithSavings.add(JLGGroupData.withClients(groupHeader(groupId), savingsClients));
+        }
+
+        // when
+        final Collection<SavingsProductData> products = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            CollectionSheetDataMerger.mergeSavingsGroups(groupsWithSavings, groupsWithLoans);
+            return CollectionSheetDataMerger.savingsProducts(groupsWithSavings);
+        });
+
+        // then
+        assertThat(products).hasSize(10);
+        assertThat(groupsWithLoans).hasSize(GROUPS);
+        assertThat(groupsWithLoans).allSatisfy(group -> assertThat(group.getClients()).hasSize(CLIENTS_PER_GROUP)
+                .allSatisfy(client -> assertThat(client.getSavings()).hasSize(1)));
+    }
+
+    private static JLGGroupData group(final Long groupId, final JLGClientData... clients) {
+        return JLGGroupData.withClients(groupHeader(groupId), new ArrayList<>(List.of(clients)));
+    }
+
+    private static JLGGroupData groupHeader(final Long groupId) {
+        return JLGGroupData.instance(groupId, "group " + groupId, null, null, null, null);
+    }
+
+    private static JLGClientData client(final Long clientId) {
+        return JLGClientData.instance(clientId, "client " + clientId, null);
+    }
+
+    private static JLGClientData savingsClient(final Long clientId, final Long productId) {
+        final SavingsDueData savings = SavingsDueData.instance(clientId, "0000" + clientId, 300, "product " + productId, productId, null,
+                BigDecimal.TEN, "100");
+        return JLGClientData.withSavings(client(clientId), new ArrayList<>(List.of(savings)));
+    }
+
+    private static IndividualClientData individualClient(final Long clientId) {
+        return IndividualClientData.instance(clientId, "client " + clientId);
+    }
+
+    private static IndividualCollectionSheetLoanFlatData loan(final Long clientId, final Long loanId) {
+        return new IndividualCollectionSheetLoanFlatData("client " + clientId, clientId, loanId, "0000" + loanId, 300, "product", 1L, null,
+                null, BigDecimal.TEN, BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
@@ -45,14 +45,17 @@ import org.apache.fineract.portfolio.delinquency.domain.DelinquencyBucketMapping
 import org.apache.fineract.portfolio.delinquency.domain.DelinquencyBucketRepository;
 import org.apache.fineract.portfolio.delinquency.domain.DelinquencyRange;
 import org.apache.fineract.portfolio.delinquency.domain.DelinquencyRangeRepository;
+import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyTagHistory;
 import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyTagHistoryRepository;
 import org.apache.fineract.portfolio.delinquency.service.DelinquencyWritePlatformServiceImpl;
 import org.apache.fineract.portfolio.delinquency.service.LoanDelinquencyDomainService;
 import org.apache.fineract.portfolio.delinquency.validator.DelinquencyBucketParseAndValidator;
 import org.apache.fineract.portfolio.delinquency.validator.DelinquencyRangeParseAndValidator;
 import org.apache.fineract.portfolio.loanaccount.data.CollectionData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyAggregateData;
 import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyData;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallmentRepository;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.apache.fineract.portfolio.loanproduct.domain.LoanProduct;
 import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRepository;
@@ -88,6 +91,8 @@ public class DelinquencyWritePlatformServiceRangeChangeEventTest {
     private BusinessEventNotifierService businessEventNotifierService;
     @Mock
     private LoanDelinquencyDomainService loanDelinquencyDomainService;
+    @Mock
+    private LoanRepaymentScheduleInstallmentRepository loanRepaymentScheduleInstallmentRepository;
     @InjectMocks
     private DelinquencyWritePlatformServiceImpl underTest;
 
@@ -189,4 +194,68 @@ public class DelinquencyWritePlatformServiceRangeChangeEventTest {
 
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenPageOfLoansWhenRangeChangeThenHistoryIsSavedOnceAndEventsAreRaisedForChangedLoans() {
+        // given
+        DelinquencyRange range1 = DelinquencyRange.instance("Range1", 1, 2);
+        range1.setId(1L);
+        DelinquencyRange range2 = DelinquencyRange.instance("Range30", 3, 30);
+        range2.setId(2L);
+        DelinquencyBucket delinquencyBucket = new DelinquencyBucket("test Bucket");
+        delinquencyBucket.setId(10L);
+        delinquencyBucket.setRanges(Arrays.asList(range2, range1));
+
+        Loan changedLoan = Mockito.mock(Loan.class);
+        when(changedLoan.getId()).thenReturn(1L);
+        Loan unchangedLoan = Mockito.mock(Loan.class);
+        when(unchangedLoan.getId()).thenReturn(2L);
+        LoanDelinquencyTagHistory unchangedTag = new LoanDelinquencyTagHistory(range2, unchangedLoan,
+                DateUtils.getBusinessLocalDate().minusDays(5), null);
+
+        LocalDate businessDate = DateUtils.getBusinessLocalDate();
+        List<LoanScheduleDelinquencyAggregateData> overdueData = Arrays.asList(
+                new LoanScheduleDelinquencyAggregateData(1L, businessDate.minusDays(2), 10L, null),
+                new LoanScheduleDelinquencyAggregateData(2L, businessDate.minusDays(10), 10L, 0));
+
+        when(loanRepaymentScheduleInstallmentRepository.fetchLoanScheduleDelinquencyAggregateData(any(), any())).thenReturn(overdueData);
+        when(repositoryBucket.findAllById(any())).thenReturn(List.of(delinquencyBucket));
+        when(loanDelinquencyTagRepository.findByLoanIdInAndLiftedOnDateIsNull(any())).thenReturn(List.of(unchangedTag));
+        when(loanRepository.findAllByIds(List.of(1L))).thenReturn(List.of(changedLoan));
+
+        // when
+        underTest.applyDelinquencyTagToLoans(List.of(1L, 2L));
+
+        // then
+        ArgumentCaptor<List<LoanDelinquencyTagHistory>> savedTags = ArgumentCaptor.forClass(List.class);
+        verify(loanDelinquencyTagRepository, times(1)).saveAllAndFlush(savedTags.capture());
+        assertEquals(1, savedTags.getValue().size());
+        assertEquals(range1, savedTags.getValue().get(0).getDelinquencyRange());
+        assertEquals(changedLoan, savedTags.getValue().get(0).getLoan());
+        verify(businessEventNotifierService, times(1)).notifyPostBusinessEvent(any(LoanDelinquencyRangeChangeBusinessEvent.class));
+    }
+
+    @Test
+    public void givenPageOfLoansWithoutOverdueInstallmentsThenCurrentTagIsLifted() {
+        // given
+        DelinquencyRange range1 = DelinquencyRange.instance("Range1", 1, 2);
+        range1.setId(1L);
+        Loan loanForProcessing = Mockito.mock(Loan.class);
+        when(loanForProcessing.getId()).thenReturn(1L);
+        LoanDelinquencyTagHistory currentTag = new LoanDelinquencyTagHistory(range1, loanForProcessing,
+                DateUtils.getBusinessLocalDate().minusDays(1), null);
+
+        when(loanRepaymentScheduleInstallmentRepository.fetchLoanScheduleDelinquencyAggregateData(any(), any())).thenReturn(List.of());
+        when(loanDelinquencyTagRepository.findByLoanIdInAndLiftedOnDateIsNull(any())).thenReturn(List.of(currentTag));
+        when(loanRepository.findAllByIds(List.of(1L))).thenReturn(List.of(loanForProcessing));
+
+        // when
+        underTest.applyDelinquencyTagToLoans(List.of(1L));
+
+        // then
+        verify(loanDelinquencyTagRepository, times(1)).saveAllAndFlush(anyIterable());
+        assertEquals(DateUtils.getBusinessLocalDate(), currentTag.getLiftedOnDate());
+        verify(businessEventNotifierService, times(1)).notifyPostBusinessEvent(any(LoanDelinquencyRangeChangeBusinessEvent.class));
+    }
+
 }
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.AttributeNode;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.Subgraph;
+import javax.persistence.TypedQuery;
+import org.eclipse.persistence.config.QueryHints;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LoanRepositoryImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private TypedQuery<Loan> query;
+
+    @InjectMocks
+    private LoanRepositoryImpl underTest;
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void shouldBatchFetchEveryCollectionOfTheProfile() {
+        // given
+        AttributeNode<?> installmentCharges = attributeNode("installmentCharges", Map.of());
+        Subgraph<?> installments = mock(Subgraph.class);
+        given(installments.getAttributeNodes()).willReturn(List.of(installmentCharges));
+        AttributeNode<?> repaymentScheduleInstallments = attributeNode("repaymentScheduleInstallments",
+                Map.<Class, Subgraph>of(LoanRepaymentScheduleInstallment.class, installments));
+        AttributeNode<?> loanTermVariations = attributeNode("loanTermVariations", Map.of());
+        EntityGraph<?> entityGraph = mock(EntityGraph.class);
+        given(entityGraph.getAttributeNodes()).willReturn(List.of(repaymentScheduleInstallments, loanTermVariations));
+        given(entityManager.getEntityGraph(Loan.SCHEDULE_ENTITY_GRAPH)).willAnswer(invocation -> entityGraph);
+        given(entityManager.createQuery(anyString(), eq(Loan.class))).willReturn(query);
+        given(query.getResultList()).willReturn(List.of());
+
+        // when
+        List<Loan> loans = underTest.findAllByIds(List.of(1L, 2L), LoanLoadingProfile.SCHEDULE);
+
+        // then
+        assertThat(loans).isEmpty();
+        verify(query).setParameter("ids", List.of(1L, 2L));
+        verify(query).setHint("javax.persistence.loadgraph", entityGraph);
+        verify(query).setHint(QueryHints.BATCH, "l.repaymentScheduleInstallments");
+        verify(query).setHint(QueryHints.BATCH, "l.repaymentScheduleInstallments.installmentCharges");
+        verify(query).setHint(QueryHints.BATCH, "l.loanTermVariations");
+    }
+
+    @Test
+    void shouldNotQueryWithoutIds() {
+        // when
+        List<Loan> loans = underTest.findAllByIds(List.of(), LoanLoadingProfile.COB);
+
+        // then
+        assertThat(loans).isEmpty();
+        verifyNoInteractions(entityManager);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private AttributeNode<?> attributeNode(String name, Map<Class, Subgraph> subgraphs) {
+        AttributeNode attributeNode = mock(AttributeNode.class);
+        given(attributeNode.getAttributeName()).willReturn(name);
+        given(attributeNode.getSubgraphs()).willReturn(subgraphs);
+        return attributeNode;
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.applyholidaystoloans;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.batch.repeat.RepeatStatus.FINISHED;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractApplyHolidaysToLoansJobProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractJobProperties;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.service.LoanUtilService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ApplyHolidaysToLoansTaskletTest {
+
+    private static final LocalDate FROM_DATE = LocalDate.of(2022, 12, 24);
+    private static final LocalDate TO_DATE = LocalDate.of(2022, 12, 26);
+
+    @Mock
+    private StepContribution stepContribution;
+    @Mock
+    private ChunkContext chunkContext;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private HolidayRepositoryWrapper holidayRepository;
+    @Mock
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+    @Mock
+    private LoanUtilService loanUtilService;
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private Office office;
+
+    private ApplyHolidaysToLoansTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractApplyHolidaysToLoansJobProperties applyHolidaysToLoans = new FineractApplyHolidaysToLoansJobProperties();
+        applyHolidaysToLoans.setChunkSize(2);
+        FineractJobProperties jobProperties = new FineractJobProperties();
+        jobProperties.setApplyHolidaysToLoans(applyHolidaysToLoans);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setJob(jobProperties);
+        given(office.getId()).willReturn(1L);
+        underTest = new ApplyHolidaysToLoansTasklet(configurationDomainService, holidayRepository, loanRepositoryWrapper, loanUtilService,
+                businessEventNotifierService, transactionManager, fineractProperties);
+    }
+
+    @Test
+    public void testExecuteShouldLoadAffectedLoansInChunks() throws Exception {
+        // given
+        Holiday holiday = new Holiday().setFromDate(FROM_DATE).setToDate(TO_DATE).setOffices(Set.of(office));
+        given(configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled()).willReturn(true);
+        given(holidayRepository.findUnprocessed()).willReturn(List.of(holiday));
+        given(loanRepositoryWrapper.findIdsByOfficeIdsAndLoanStatusAndInstallmentDueBetween(anyCollection(), anyCollection(), eq(FROM_DATE),
+                eq(TO_DATE), eq(0L), anyInt())).willReturn(List.of(3L, 5L));
+        given(loanRepositoryWrapper.findIdsByOfficeIdsAndLoanStatusAndInstallmentDueBetween(anyCollection(), anyCollection(), eq(FROM_DATE),
+                eq(TO_DATE), eq(5L), anyInt())).willReturn(List.of(8L));
+        given(loanRepositoryWrapper.findAllByIds(any())).willReturn(List.of());
+        // when
+        RepeatStatus result = underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(loanRepositoryWrapper).findAllByIds(List.of(3L, 5L));
+        verify(loanRepositoryWrapper).findAllByIds(List.of(8L));
+        verify(holidayRepository).save(List.of(holiday));
+        assertThat(holiday.isProcessed()).isTrue();
+        assertThat(result).isEqualTo(FINISHED);
+    }
+
+    @Test
+    public void testExecuteShouldDoNothingWhenReschedulingOnHolidaysIsDisabled() throws Exception {
+        // given
+        given(configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled()).willReturn(false);
+        // when
+        RepeatStatus result = underTest.execute(stepContribution, chunkContext);
+        // then
+        verifyNoInteractions(holidayRepository, loanRepositoryWrapper);
+        assertThat(result).isEqualTo(FINISHED);
+    }
+}
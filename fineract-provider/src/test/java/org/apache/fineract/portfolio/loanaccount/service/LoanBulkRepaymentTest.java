@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDaysRepositoryWrapper;
+import org.apache.fineract.portfolio.collectionsheet.command.CollectionSheetBulkRepaymentCommand;
+import org.apache.fineract.portfolio.collectionsheet.command.SingleRepaymentCommand;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanAccountDomainService;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionType;
+import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LoanBulkRepaymentTest {
+
+    private static final LocalDate MEETING_DATE = LocalDate.of(2023, 3, 6);
+    private static final LocalDate LATE_PAYMENT_DATE = LocalDate.of(2023, 3, 8);
+
+    @Mock
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+
+    @Mock
+    private LoanAssembler loanAssembler;
+
+    @Mock
+    private LoanAccountDomainService loanAccountDomainService;
+
+    @Mock
+    private HolidayRepositoryWrapper holidayRepository;
+
+    @Mock
+    private WorkingDaysRepositoryWrapper workingDaysRepository;
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+
+    @InjectMocks
+    private LoanWritePlatformServiceJpaRepositoryImpl underTest;
+
+    @Test
+    void holidaysAreLoadedOncePerOfficeAndRepaymentDate() {
+        // given
+        final Loan firstLoan = loan(1L, 10L);
+        final Loan secondLoan = loan(2L, 10L);
+        final Loan latePaidLoan = loan(3L, 10L);
+        final Loan otherOfficeLoan = loan(4L, 20L);
+        given(this.loanRepositoryWrapper.findAllByIds(any())).willReturn(List.of(firstLoan, secondLoan, latePaidLoan, otherOfficeLoan));
+        given(this.workingDaysRepository.findOne()).willReturn(mock(WorkingDays.class));
+        final List<Holiday> meetingDateHolidays = List.of(mock(Holiday.class));
+        final List<Holiday> latePaymentHolidays = List.of(mock(Holiday.class));
+        final List<Holiday> otherOfficeHolidays = List.of(mock(Holiday.class));
+        given(this.holidayRepository.findByOfficeIdAndGreaterThanDate(10L, MEETING_DATE)).willReturn(meetingDateHolidays);
+        given(this.holidayRepository.findByOfficeIdAndGreaterThanDate(10L, LATE_PAYMENT_DATE)).willReturn(latePaymentHolidays);
+        given(this.holidayRepository.findByOfficeIdAndGreaterThanDate(20L, MEETING_DATE)).willReturn(otherOfficeHolidays);
+        given(this.loanAccountDomainService.makeRepayment(any(), any(), any(), any(), any(), any(), any(), anyBoolean(), any(),
+                anyBoolean(), any(), any())).willReturn(mock(LoanTransaction.class));
+
+        // when
+        this.underTest.makeLoanBulkRepayment(new CollectionSheetBulkRepaymentCommand(null, MEETING_DATE,
+                new SingleRepaymentCommand[] { repayment(1L, MEETING_DATE), repayment(2L, MEETING_DATE),
+                        repayment(3L, LATE_PAYMENT_DATE), repayment(4L, MEETING_DATE) }));
+
+        // then
+        verify(this.holidayRepository, times(1)).findByOfficeIdAndGreaterThanDate(10L, MEETING_DATE);
+        verify(this.holidayRepository, times(1)).findByOfficeIdAndGreaterThanDate(10L, LATE_PAYMENT_DATE);
+        verify(this.holidayRepository, times(1)).findByOfficeIdAndGreaterThanDate(20L, MEETING_DATE);
+        verify(latePaidLoan).validateRepaymentDateIsOnHoliday(LATE_PAYMENT_DATE, false, latePaymentHolidays);
+        assertThat(holidaysOfRepayment(firstLoan)).isSameAs(meetingDateHolidays);
+        assertThat(holidaysOfRepayment(secondLoan)).isSameAs(meetingDateHolidays);
+        assertThat(holidaysOfRepayment(latePaidLoan)).isSameAs(latePaymentHolidays);
+        assertThat(holidaysOfRepayment(otherOfficeLoan)).isSameAs(otherOfficeHolidays);
+    }
+
+    @Test
+    void missingLoanFailsBeforeAnyRepayment() {
+        // given
+        final Loan firstLoan = mock(Loan.class);
+        given(firstLoan.getId()).willReturn(1L);
+        given(this.loanRepositoryWrapper.findAllByIds(any())).willReturn(List.of(firstLoan));
+
+        // when / then
+        assertThatThrownBy(() -> this.underTest.makeLoanBulkRepayment(new CollectionSheetBulkRepaymentCommand(null, MEETING_DATE,
+                new SingleRepaymentCommand[] { repayment(1L, MEETING_DATE), repayment(2L, MEETING_DATE) })))
+                .isInstanceOf(LoanNotFoundException.class);
+        verify(this.loanAccountDomainService, times(0)).makeRepayment(any(), any(), any(), any(), any(), any(), any(), anyBoolean(),
+                any(), anyBoolean(), any(), any());
+    }
+
+    private List<Holiday> holidaysOfRepayment(final Loan loan) {
+        final ArgumentCaptor<HolidayDetailDTO> holidayDetail = ArgumentCaptor.forClass(HolidayDetailDTO.class);
+        verify(this.loanAccountDomainService).makeRepayment(eq(LoanTransactionType.REPAYMENT), eq(loan), eq(MEETING_DATE), any(), any(),
+                any(), any(), anyBoolean(), any(), anyBoolean(), holidayDetail.capture(), any());
+        return holidayDetail.getValue().getHolidays();
+    }
+
+    private static Loan loan(final Long loanId, final Long officeId) {
+        final Loan loan = mock(Loan.class);
+        given(loan.getId()).willReturn(loanId);
+        given(loan.getOfficeId()).willReturn(officeId);
+        return loan;
+    }
+
+    private static SingleRepaymentCommand repayment(final Long loanId, final LocalDate transactionDate) {
+        return new SingleRepaymentCommand(loanId, ExternalId.empty(), BigDecimal.TEN, transactionDate, null);
+    }
+}
@@ -0,0 +1,273 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SavingsAccountDailyBalancesTest {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    private static final LocalDate ACTIVATION_DATE = LocalDate.of(2022, 1, 1);
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private MockedStatic<MoneyHelper> moneyHelper;
+
+    @BeforeEach
+    void setUp() {
+        moneyHelper = Mockito.mockStatic(MoneyHelper.class);
+        moneyHelper.when(MoneyHelper::getRoundingMode).thenReturn(RoundingMode.HALF_EVEN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        moneyHelper.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 1L, 7L, 42L, 1234L, 98765L })
+    void incrementalDailyBalancesMatchFullRecalculation(final long seed) {
+        // given
+        final Random random = new Random(seed);
+        final SavingsAccount incremental = account();
+        final SavingsAccount full = account();
+        final LocalDate upToDate = ACTIVATION_DATE.plusDays(400);
+        apply(incremental, full, 0, ACTIVATION_DATE, BigDecimal.valueOf(1_000_000), true);
+        incremental.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+
+        // when
+        for (int i = 1; i <= 300; i++) {
+            if (i % 10 == 0) {
+                // reverse a random transaction other than the opening deposit
+                final int reversed = 1 + random.nextInt(incremental.getTransactions().size() - 1);
+                incremental.getTransactions().get(reversed).reverse();
+                full.getTransactions().get(reversed).reverse();
+            } else if (i % 25 == 0) {
+                // backdated before the first transaction of the account
+                final LocalDate firstDate = incremental.retrieveListOfTransactions().get(0).transactionLocalDate();
+                final BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+                apply(incremental, full, i, firstDate.minusDays(1 + random.nextInt(3)), amount, true);
+            } else {
+                // mostly appends on the latest date, every few operations a backdated one
+                final int day = random.nextInt(4) == 0 ? random.nextInt(i + 1) : i;
+                final BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+                apply(incremental, full, i, ACTIVATION_DATE.plusDays(day), amount, random.nextBoolean());
+            }
+            incremental.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+        }
+        full.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+
+        // then
+        final List<SavingsAccountTransaction> expected = full.retrieveListOfTransactions();
+        final List<SavingsAccountTransaction> actual = incremental.retrieveListOfTransactions();
+        assertRunningBalancesAreDerivedFromTheWholeHistory(actual);
+        assertRunningBalancesAreDerivedFromTheWholeHistory(expected);
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            final SavingsAccountTransaction expectedTransaction = expected.get(i);
+            final SavingsAccountTransaction actualTransaction = actual.get(i);
+            assertThat(actualTransaction.getCreatedDate()).isEqualTo(expectedTransaction.getCreatedDate());
+            assertThat(actualTransaction.isReversed()).isEqualTo(expectedTransaction.isReversed());
+            assertThat(actualTransaction.hasRunningBalance()).isEqualTo(expectedTransaction.hasRunningBalance());
+            assertThat(actualTransaction.getRunningBalance(CURRENCY)).isEqualTo(expectedTransaction.getRunningBalance(CURRENCY));
+            assertThat(actualTransaction.getCumulativeBalance()).isEqualTo(expectedTransaction.getCumulativeBalance());
+            assertThat(actualTransaction.getEndOfBalanceLocalDate()).isEqualTo(expectedTransaction.getEndOfBalanceLocalDate());
+            assertThat(actualTransaction.getBalanceNumberOfDays()).isEqualTo(expectedTransaction.getBalanceNumberOfDays());
+        }
+    }
+
+    @Test
+    void firstRecalculationAfterLoadingIgnoresPersistedRunningBalances() {
+        // given
+        final SavingsAccount account = account();
+        final LocalDate upToDate = ACTIVATION_DATE.plusDays(30);
+        for (int i = 0; i < 5; i++) {
+            final SavingsAccountTransaction transaction = SavingsAccountTransaction.deposit(account, null, null,
+                    ACTIVATION_DATE.plusDays(i), Money.of(CURRENCY, BigDecimal.TEN), CREATED_DATE.plusSeconds(i), null, null);
+            // persisted by an earlier release, as if every deposit was the first one
+            transaction.updateRunningBalance(Money.of(CURRENCY, BigDecimal.TEN));
+            account.transactions.add(transaction);
+        }
+
+        // when
+        account.addTransaction(SavingsAccountTransaction.deposit(account, null, null, ACTIVATION_DATE.plusDays(5),
+                Money.of(CURRENCY, BigDecimal.ONE), CREATED_DATE.plusSeconds(5), null, null));
+        account.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+
+        // then
+        final List<SavingsAccountTransaction> transactions = account.retrieveListOfTransactions();
+        assertRunningBalancesAreDerivedFromTheWholeHistory(transactions);
+        assertThat(transactions.get(transactions.size() - 1).getRunningBalance(CURRENCY))
+                .isEqualTo(Money.of(CURRENCY, BigDecimal.valueOf(51)));
+    }
+
+    @Test
+    void backdatedTransactionBeforeTheFirstOneRewritesAllRunningBalances() {
+        // given
+        final SavingsAccount account = account();
+        final LocalDate upToDate = ACTIVATION_DATE.plusDays(30);
+        account.addTransaction(SavingsAccountTransaction.deposit(account, null, null, ACTIVATION_DATE, Money.of(CURRENCY, BigDecimal.TEN),
+                CREATED_DATE, null, null));
+        account.addTransaction(SavingsAccountTransaction.withdrawal(account, null, null, ACTIVATION_DATE.plusDays(1),
+                Money.of(CURRENCY, BigDecimal.ONE), CREATED_DATE.plusSeconds(1), null, null));
+        account.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+
+        // when
+        account.addTransaction(SavingsAccountTransaction.deposit(account, null, null, ACTIVATION_DATE.minusDays(1),
+                Money.of(CURRENCY, BigDecimal.valueOf(5)), CREATED_DATE.plusSeconds(2), null, null));
+        account.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+
+        // then
+        final List<SavingsAccountTransaction> transactions = account.retrieveListOfTransactions();
+        assertRunningBalancesAreDerivedFromTheWholeHistory(transactions);
+        assertThat(transactions).extracting(transaction -> transaction.getRunningBalance(CURRENCY).getAmount().intValue())
+                .containsExactly(5, 15, 14);
+    }
+
+    @Test
+    void recalculationAfterReloadingContinuesAfterTheLastDerivedTransaction() {
+        // given
+        final SavingsAccount account = account();
+        final LocalDate upToDate = ACTIVATION_DATE.plusDays(30);
+        for (int i = 0; i < 3; i++) {
+            account.addTransaction(SavingsAccountTransaction.deposit(account, null, null, ACTIVATION_DATE.plusDays(i),
+                    Money.of(CURRENCY, BigDecimal.TEN), CREATED_DATE.plusSeconds(i), null, null));
+        }
+        account.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+        persist(account);
+        account.addTransaction(SavingsAccountTransaction.deposit(account, null, null, ACTIVATION_DATE.plusDays(3),
+                Money.of(CURRENCY, BigDecimal.ONE), CREATED_DATE.plusSeconds(3), null, null));
+        account.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+        persist(account);
+
+        // when
+        final SavingsAccount reloaded = reload(account);
+        // not recalculated anymore, a changed running balance before the last derived transaction stays as it is
+        reloaded.retrieveListOfTransactions().get(0).updateRunningBalance(Money.of(CURRENCY, BigDecimal.valueOf(999)));
+        reloaded.addTransaction(SavingsAccountTransaction.deposit(reloaded, null, null, ACTIVATION_DATE.plusDays(4),
+                Money.of(CURRENCY, BigDecimal.ONE), CREATED_DATE.plusSeconds(4), null, null));
+        reloaded.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+
+        // then
+        final List<SavingsAccountTransaction> transactions = reloaded.retrieveListOfTransactions();
+        assertThat(transactions).extracting(transaction -> transaction.getRunningBalance(CURRENCY).getAmount().intValue())
+                .containsExactly(999, 20, 30, 31, 32);
+        assertThat(transactions.get(3).getEndOfBalanceLocalDate()).isEqualTo(ACTIVATION_DATE.plusDays(3));
+        assertThat(transactions.get(4).getEndOfBalanceLocalDate()).isEqualTo(upToDate);
+    }
+
+    @Test
+    void recalculationAfterReloadingStartsAtAStaleTransactionBeforeTheLastDerivedOne() {
+        // given
+        final SavingsAccount account = account();
+        final LocalDate upToDate = ACTIVATION_DATE.plusDays(30);
+        for (int i = 0; i < 3; i++) {
+            account.addTransaction(SavingsAccountTransaction.deposit(account, null, null, ACTIVATION_DATE.plusDays(i),
+                    Money.of(CURRENCY, BigDecimal.TEN), CREATED_DATE.plusSeconds(i), null, null));
+        }
+        account.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+        persist(account);
+        account.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+
+        // when
+        final SavingsAccount reloaded = reload(account);
+        reloaded.retrieveListOfTransactions().get(1).reverse();
+        // the transactions still refer to the first instance
+        reloaded.markDailyBalancesStaleFrom(ACTIVATION_DATE.plusDays(1));
+        reloaded.recalculateDailyBalances(Money.zero(CURRENCY), upToDate, false, false);
+
+        // then
+        assertRunningBalancesAreDerivedFromTheWholeHistory(reloaded.retrieveListOfTransactions());
+    }
+
+    /**
+     * Recalculates the running balances from scratch and compares them with the stored ones.
+     */
+    private static void assertRunningBalancesAreDerivedFromTheWholeHistory(final List<SavingsAccountTransaction> sortedTransactions) {
+        Money runningBalance = Money.zero(CURRENCY);
+        for (final SavingsAccountTransaction transaction : sortedTransactions) {
+            if (transaction.isReversed() || transaction.isReversalTransaction()) {
+                assertThat(transaction.hasRunningBalance()).isFalse();
+                continue;
+            }
+            runningBalance = transaction.isCredit() ? runningBalance.plus(transaction.getAmount(CURRENCY))
+                    : runningBalance.minus(transaction.getAmount(CURRENCY));
+            assertThat(transaction.getRunningBalance(CURRENCY)).isEqualTo(runningBalance);
+        }
+    }
+
+    private static SavingsAccount account() {
+        final SavingsAccount account = new SavingsAccount();
+        account.currency = CURRENCY;
+        return account;
+    }
+
+    /**
+     * Assigns ids to the new transactions like a flush would.
+     */
+    private static void persist(final SavingsAccount account) {
+        long id = account.getTransactions().stream().map(SavingsAccountTransaction::getId).filter(Objects::nonNull)
+                .mapToLong(Long::longValue).max().orElse(0L);
+        for (final SavingsAccountTransaction transaction : account.retrieveListOfTransactions()) {
+            if (transaction.getId() == null) {
+                transaction.setId(++id);
+            }
+        }
+    }
+
+    /**
+     * A new instance with the persisted state of the given account, as loaded by a later request.
+     */
+    private static SavingsAccount reload(final SavingsAccount account) {
+        final SavingsAccount reloaded = account();
+        reloaded.transactions.addAll(account.retrieveListOfTransactions());
+        for (final String field : List.of("dailyBalancesStaleFrom", "dailyBalancesDerivedTillTransactionId")) {
+            ReflectionTestUtils.setField(reloaded, field, ReflectionTestUtils.getField(account, field));
+        }
+        return reloaded;
+    }
+
+    private static void apply(final SavingsAccount incremental, final SavingsAccount full, final int sequence, final LocalDate date,
+            final BigDecimal amount, final boolean deposit) {
+        for (final SavingsAccount account : List.of(incremental, full)) {
+            final Money money = Money.of(CURRENCY, amount);
+            final LocalDateTime createdDate = CREATED_DATE.plusSeconds(sequence);
+            account.addTransaction(deposit ? SavingsAccountTransaction.deposit(account, null, null, date, money, createdDate, null, null)
+                    : SavingsAccountTransaction.withdrawal(account, null, null, date, money, createdDate, null, null));
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
+import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientDeleteBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientUpdateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.client.domain.Client;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.data.SearchData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class InvertedSearchIndexTest {
+
+    private static final Long CLIENT_ID = 1L;
+
+    private final Map<Long, List<String>> clients = new HashMap<>();
+    private final Map<Class<?>, BusinessEventListener<?>> listeners = new HashMap<>();
+    private IndexJdbcTemplate jdbcTemplate;
+    private InvertedSearchIndex underTest;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseTypeResolver databaseTypeResolver = mock(DatabaseTypeResolver.class);
+        when(databaseTypeResolver.isPostgreSQL()).thenReturn(true);
+        BusinessEventNotifierService businessEventNotifierService = mock(BusinessEventNotifierService.class);
+        doAnswer(invocation -> listeners.put(invocation.getArgument(0), invocation.getArgument(1))).when(businessEventNotifierService)
+                .addPostBusinessEventListener(any(), any());
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        jdbcTemplate = new IndexJdbcTemplate();
+        underTest = new InvertedSearchIndex(jdbcTemplate, new IndexNamedParameterJdbcTemplate(jdbcTemplate),
+                new DatabaseSpecificSQLGenerator(databaseTypeResolver), businessEventNotifierService, transactionManager);
+        underTest.addListeners();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testUpdatedClientIsFoundByItsNewNameOnly() {
+        // given
+        clients.put(CLIENT_ID, Arrays.asList("000000001", "John Smith", "EXT-1", null));
+        fire(new ClientCreateBusinessEvent(client()));
+        assertThat(searchClients("smi")).containsExactly(CLIENT_ID);
+
+        // when
+        clients.put(CLIENT_ID, Arrays.asList("000000001", "Jane Doe", "EXT-1", null));
+        fire(new ClientUpdateBusinessEvent(client()));
+
+        // then
+        assertThat(searchClients("smi")).isEmpty();
+        assertThat(searchClients("doe")).containsExactly(CLIENT_ID);
+        assertThat(searchClients("jane doe")).containsExactly(CLIENT_ID);
+        assertThat(searchClients("ext-1")).containsExactly(CLIENT_ID);
+    }
+
+    @Test
+    public void testDeletedClientIsRemovedFromTheIndex() {
+        // given
+        clients.put(CLIENT_ID, Arrays.asList("000000001", "John Smith", "EXT-1", null));
+        fire(new ClientCreateBusinessEvent(client()));
+
+        // when
+        clients.remove(CLIENT_ID);
+        fire(new ClientDeleteBusinessEvent(client()));
+
+        // then
+        assertThat(searchClients("john")).isEmpty();
+        assertThat(jdbcTemplate.terms).isEmpty();
+    }
+
+    @Test
+    public void testIndexIsUpdatedOnlyAfterCommit() {
+        // given
+        clients.put(CLIENT_ID, Arrays.asList("000000001", "John Smith", "EXT-1", null));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        fire(new ClientCreateBusinessEvent(client()));
+
+        // then
+        assertThat(searchClients("john")).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(searchClients("john")).containsExactly(CLIENT_ID);
+    }
+
+    @Test
+    public void testFailingIndexUpdateAfterCommitIsOnlyLogged() {
+        // given
+        clients.put(CLIENT_ID, Arrays.asList("000000001", "John Smith", "EXT-1", null));
+        TransactionSynchronizationManager.initSynchronization();
+        fire(new ClientUpdateBusinessEvent(client()));
+        jdbcTemplate.failing = true;
+
+        // when & then
+        assertThatCode(() -> TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit))
+                .doesNotThrowAnyException();
+        assertThat(jdbcTemplate.terms).isEmpty();
+    }
+
+    @Test
+    public void testTermsContainTheWholeValueAndItsWords() {
+        // given
+        // when
+        Map<String, Boolean> result = InvertedSearchIndex.terms(Arrays.asList("  John Smith-Jones ", "000000012"));
+        // then
+        assertThat(result).containsExactly(entry("john smith-jones", true), entry("john", false), entry("smith", false),
+                entry("jones", false), entry("000000012", true));
+    }
+
+    @Test
+    public void testTermsSkipMissingValues() {
+        // given
+        // when
+        Map<String, Boolean> result = InvertedSearchIndex.terms(Arrays.asList(null, " ", "EXT-1"));
+        // then
+        assertThat(result).containsExactly(entry("ext-1", true), entry("ext", false), entry("1", false));
+    }
+
+    @Test
+    public void testWholeValueIsNotAlsoIndexedAsWord() {
+        // given
+        // when
+        Map<String, Boolean> result = InvertedSearchIndex.terms(Arrays.asList("Smith"));
+        // then
+        assertThat(result).containsExactly(entry("smith", true));
+    }
+
+    @Test
+    public void testNormalizeTruncatesLongValues() {
+        // given
+        String value = "x".repeat(InvertedSearchIndex.MAX_TERM_LENGTH + 10);
+        // when
+        String result = InvertedSearchIndex.normalize(value);
+        // then
+        assertThat(result).hasSize(InvertedSearchIndex.MAX_TERM_LENGTH);
+    }
+
+    private Client client() {
+        Client client = mock(Client.class);
+        when(client.getId()).thenReturn(CLIENT_ID);
+        return client;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends BusinessEvent<?>> void fire(final T event) {
+        ((BusinessEventListener<T>) listeners.get(event.getClass())).onBusinessEvent(event);
+    }
+
+    private List<Long> searchClients(final String query) {
+        Collection<SearchData> result = underTest.search(new SearchConditions(query, "clients", false), ".");
+        return result.stream().map(SearchData::getEntityId).toList();
+    }
+
+    private static ResultSet row(final Map<String, Object> values) {
+        final List<String> columns = new ArrayList<>(values.keySet());
+        final Object[] lastValue = new Object[1];
+        return (ResultSet) Proxy.newProxyInstance(InvertedSearchIndexTest.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findColumn":
+                            if (!columns.contains((String) args[0])) {
+                                columns.add((String) args[0]);
+                            }
+                            return columns.indexOf((String) args[0]) + 1;
+                        case "wasNull":
+                            return lastValue[0] == null;
+                        case "getString":
+                        case "getLong":
+                        case "getInt":
+                            lastValue[0] = args[0] instanceof Integer index ? values.get(columns.get(index - 1))
+                                    : values.get((String) args[0]);
+                            if ("getString".equals(method.getName())) {
+                                return lastValue[0];
+                            }
+                            final Number number = (Number) lastValue[0];
+                            if ("getLong".equals(method.getName())) {
+                                return number == null ? 0L : number.longValue();
+                            }
+                            return number == null ? 0 : number.intValue();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Keeps the {@code m_search_index_term} rows in memory and reads the clients from {@link #clients}.
+     */
+    private final class IndexJdbcTemplate extends JdbcTemplate {
+
+        private final List<Object[]> terms = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public <T> List<T> query(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+            final List<String> values = clients.get((Long) args[0]);
+            if (values == null) {
+                return List.of();
+            }
+            final Map<String, Object> document = new LinkedHashMap<>();
+            document.put("entityId", args[0]);
+            document.put("hierarchy", ".");
+            for (int i = 0; i < values.size(); i++) {
+                document.put("value" + i, values.get(i));
+            }
+            try {
+                return List.of(rowMapper.mapRow(row(document), 0));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int update(final String sql, final Object... args) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            final int size = terms.size();
+            terms.removeIf(term -> term[0].equals(args[0]) && term[1].equals(args[1]));
+            return size - terms.size();
+        }
+
+        @Override
+        public int[] batchUpdate(final String sql, final List<Object[]> batchArgs) {
+            terms.addAll(batchArgs);
+            return new int[batchArgs.size()];
+        }
+    }
+
+    /**
+     * Evaluates the term lookup and the result query of the search on the in memory index.
+     */
+    private final class IndexNamedParameterJdbcTemplate extends NamedParameterJdbcTemplate {
+
+        private final IndexJdbcTemplate index;
+
+        private IndexNamedParameterJdbcTemplate(final IndexJdbcTemplate index) {
+            super(index);
+            this.index = index;
+        }
+
+        @Override
+        public void query(final String sql, final SqlParameterSource paramSource, final RowCallbackHandler rch) {
+            final List<?> entityTypes = (List<?>) paramSource.getValue("entityTypes");
+            final String term = (String) paramSource.getValue("term");
+            final boolean exactMatch = paramSource.hasValue("fullValue");
+            final Set<Long> ids = new LinkedHashSet<>();
+            for (Object[] row : index.terms) {
+                final boolean matches = exactMatch ? row[2].equals(term) && Boolean.TRUE.equals(row[3])
+                        : ((String) row[2]).startsWith(term.substring(0, term.length() - 1));
+                if (entityTypes.contains(row[0]) && matches) {
+                    ids.add((Long) row[1]);
+                }
+            }
+            for (Long id : ids) {
+                try {
+                    rch.processRow(row(Map.of("entityType", "CLIENT", "entityId", id)));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        @Override
+        public <T> List<T> query(final String sql, final SqlParameterSource paramSource, final RowMapper<T> rowMapper) {
+            final List<T> result = new ArrayList<>();
+            for (Object id : (List<?>) paramSource.getValue("ids")) {
+                final Map<String, Object> values = new HashMap<>();
+                values.put("entityType", "CLIENT");
+                values.put("entityId", id);
+                values.put("entityName", clients.get((Long) id).get(1));
+                values.put("entityStatusEnum", 300);
+                try {
+                    result.add(rowMapper.mapRow(row(values), result.size()));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return result;
+        }
+    }
+}
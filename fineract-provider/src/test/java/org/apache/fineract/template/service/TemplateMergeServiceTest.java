@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.template.domain.Template;
+import org.apache.fineract.template.domain.TemplateMapper;
+import org.apache.fineract.template.exception.TemplateForbiddenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TemplateMergeServiceTest {
+
+    private FineractProperties.FineractTemplateProperties templateProperties;
+    private TemplateMergeService underTest;
+
+    @BeforeEach
+    void setUp() {
+        templateProperties = new FineractProperties.FineractTemplateProperties();
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setTemplate(templateProperties);
+        underTest = new TemplateMergeService(fineractProperties);
+    }
+
+    @Test
+    void testCompileReusesCompiledTemplate() {
+        // given
+        Template template = new Template("greeting", "Hello {{name}}", null, null, new ArrayList<>());
+        // when
+        String first = underTest.compile(template, scopes("Jane"));
+        String second = underTest.compile(template, scopes("John"));
+        // then
+        assertThat(first).isEqualTo("Hello Jane");
+        assertThat(second).isEqualTo("Hello John");
+        assertThat(underTest.getCompiledMustache("greeting", "Hello {{name}}"))
+                .isSameAs(underTest.getCompiledMustache("greeting", "Hello {{name}}"));
+    }
+
+    @Test
+    void testCompileUsesUpdatedTemplateText() {
+        // given
+        Template template = new Template("greeting", "Hello {{name}}", null, null, new ArrayList<>());
+        underTest.compile(template, scopes("Jane"));
+        template.setText("Goodbye {{name}}");
+        // when
+        String result = underTest.compile(template, scopes("Jane"));
+        // then
+        assertThat(result).isEqualTo("Goodbye Jane");
+    }
+
+    @Test
+    void testCompileRejectsMapperUrlOutsideOfWhitelist() {
+        // given
+        templateProperties.setRegexWhitelistEnabled(true);
+        templateProperties.setRegexWhitelist(List.of("^https://fineract\\.example/.*$"));
+        List<TemplateMapper> mappers = new ArrayList<>();
+        mappers.add(new TemplateMapper(0, "client", "https://elsewhere.example/clients/{{id}}"));
+        Template template = new Template("client", "{{client.displayName}}", null, null, mappers);
+        Map<String, Object> scopes = new HashMap<>(Map.of("id", 1));
+        // when + then
+        assertThatThrownBy(() -> underTest.compile(template, scopes)).isInstanceOf(TemplateForbiddenException.class);
+    }
+
+    private static Map<String, Object> scopes(String name) {
+        return new HashMap<>(Map.of("name", name));
+    }
+}
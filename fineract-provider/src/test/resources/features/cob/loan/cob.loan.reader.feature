@@ -30,6 +30,18 @@ Feature: COB Reader
       |1      |
       |1,2    |
 
+  @cob
+  Scenario Outline: LoanItemReader - run test: one query per chunk
+    Given The LoanItemReader.read method with loanIds <loanIds>
+    When LoanItemReader.read method executed <reads> times
+    Then The loans should be loaded with <queries> queries
+
+    Examples:
+      |loanIds|reads|queries|
+      |1,2    |2    |1      |
+      |1,2,3  |3    |2      |
+      |1,2,3,4|4    |2      |
+
   @cob
   Scenario Outline: LoanItemReader - run test: null
     Given The LoanItemReader.read method with loanIds <loanIds>
@@ -81,6 +81,35 @@ Feature: Core Infrastructure
     When The database migration process is executed
     Then The default tenant upgrade fails with a schema upgrade needed
 
+  @infrastructure
+  Scenario: Verify that schema migration skips the tenants which are up to date
+    Given Liquibase is enabled with a default tenant
+    Given A second tenant with every changeset of the default tenant applied
+    When The database migration process is executed
+    Then The second tenant is not upgraded
+
+  @infrastructure
+  Scenario: Verify that schema migration upgrades the tenants with missing changesets
+    Given Liquibase is enabled with a default tenant
+    Given A second tenant with missing changesets
+    When The database migration process is executed
+    Then The second tenant gets upgraded
+
+  @infrastructure
+  Scenario: Verify that a failing tenant does not stop the upgrade of the other tenants
+    Given Liquibase is enabled with a default tenant
+    Given A previously Flyway migrated second tenant database on an earlier version
+    When The database migration process is executed
+    Then The second tenant upgrade fails with a schema upgrade needed, the default tenant gets upgraded
+
+  @infrastructure
+  Scenario: Verify that a failing tenant does not stop the parallel upgrade of the later tenants
+    Given Liquibase is enabled with a default tenant
+    Given A previously Flyway migrated second tenant database on an earlier version
+    Given A third tenant with missing changesets
+    When The database migration process is executed
+    Then The second tenant upgrade fails with a schema upgrade needed, the default and the third tenant get upgraded
+
   @infrastructure
   Scenario Outline: Verify empty multi exceptions
     Given A multi exception with exceptions <exception1> and <exception2>
@@ -29,6 +29,12 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.fineract.client.models.GetLoansLoanIdResponse;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.integrationtests.common.BusinessDateHelper;
@@ -355,6 +361,144 @@ public class LoanCOBAccountLockCatchupInlineCOBTest {
         }
     }
 
+    @Test
+    public void testLoanCOBSkipsLoanLockedByInlineCOB() {
+        try {
+            GlobalConfigurationHelper.updateIsBusinessDateEnabled(requestSpec, responseSpec, Boolean.TRUE);
+            BusinessDateHelper.updateBusinessDate(requestSpec, responseSpec, BusinessDateType.BUSINESS_DATE, LocalDate.of(2020, 3, 2));
+            GlobalConfigurationHelper.updateValueForGlobalConfiguration(this.requestSpec, this.responseSpec, "10", "0");
+            loanTransactionHelper = new LoanTransactionHelper(requestSpec, responseSpec);
+            loanAccountLockHelper = new LoanAccountLockHelper(requestSpec, new ResponseSpecBuilder().expectStatusCode(202).build());
+            final SchedulerJobHelper schedulerJobHelper = new SchedulerJobHelper(requestSpec);
+
+            final List<Integer> loanIDs = createActiveLoans(3);
+
+            BusinessDateHelper.updateBusinessDate(requestSpec, responseSpec, BusinessDateType.COB_DATE, LocalDate.of(2020, 3, 2));
+            loanAccountLockHelper.placeSoftLockOnLoanAccount(loanIDs.get(1), "LOAN_INLINE_COB_PROCESSING", "Sample error");
+
+            // the lock held by inline COB must not fail the partition with a duplicate lock
+            final String jobName = "Loan COB";
+            schedulerJobHelper.executeAndAwaitJob(jobName);
+
+            loanTransactionHelper = new LoanTransactionHelper(requestSpec, responseSpec);
+
+            GetLoansLoanIdResponse loan = loanTransactionHelper.getLoan(requestSpec, responseSpec, loanIDs.get(0));
+            Assertions.assertEquals(LocalDate.of(2020, 3, 2), loan.getLastClosedBusinessDate());
+            loan = loanTransactionHelper.getLoan(requestSpec, responseSpec, loanIDs.get(2));
+            Assertions.assertEquals(LocalDate.of(2020, 3, 2), loan.getLastClosedBusinessDate());
+            // the loan locked by inline COB is neither closed by Loan COB nor relocked or unlocked by it
+            loan = loanTransactionHelper.getLoan(requestSpec, responseSpec, loanIDs.get(1));
+            Assertions.assertNull(loan.getLastClosedBusinessDate());
+            Map<Integer, String> lockOwners = getLockOwners(loanIDs);
+            Assertions.assertEquals(Map.of(loanIDs.get(1), "LOAN_INLINE_COB_PROCESSING"), lockOwners);
+        } finally {
+            requestSpec = new RequestSpecBuilder().setContentType(ContentType.JSON).build();
+            requestSpec.header("Authorization", "Basic " + Utils.loginIntoServerAndGetBase64EncodedAuthenticationKey());
+            requestSpec.header("Fineract-Platform-TenantId", "default");
+            responseSpec = new ResponseSpecBuilder().expectStatusCode(200).build();
+            GlobalConfigurationHelper.updateIsBusinessDateEnabled(requestSpec, responseSpec, Boolean.FALSE);
+            GlobalConfigurationHelper.updateValueForGlobalConfiguration(this.requestSpec, this.responseSpec, "10", "2");
+        }
+    }
+
+    @Test
+    public void testLoanCOBAndConcurrentInlineCOBNeitherLoseNorLeaveLocks() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            GlobalConfigurationHelper.updateIsBusinessDateEnabled(requestSpec, responseSpec, Boolean.TRUE);
+            BusinessDateHelper.updateBusinessDate(requestSpec, responseSpec, BusinessDateType.BUSINESS_DATE, LocalDate.of(2020, 3, 2));
+            GlobalConfigurationHelper.updateValueForGlobalConfiguration(this.requestSpec, this.responseSpec, "10", "0");
+            loanTransactionHelper = new LoanTransactionHelper(requestSpec, responseSpec);
+            final SchedulerJobHelper schedulerJobHelper = new SchedulerJobHelper(requestSpec);
+
+            final List<Integer> loanIDs = createActiveLoans(12);
+
+            BusinessDateHelper.updateBusinessDate(requestSpec, responseSpec, BusinessDateType.COB_DATE, LocalDate.of(2020, 3, 2));
+
+            // inline COB keeps competing for the locks of every loan while the Loan COB partitions lock and process them,
+            // a loan locked by the other side is rejected, so no status code is expected here
+            final InlineLoanCOBHelper competingInlineLoanCOBHelper = new InlineLoanCOBHelper(requestSpec,
+                    new ResponseSpecBuilder().build());
+            final AtomicBoolean jobRunning = new AtomicBoolean(true);
+            final List<Future<?>> competitors = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                final int first = i;
+                competitors.add(executor.submit(() -> {
+                    while (jobRunning.get()) {
+                        for (int loanIndex = first; loanIndex < loanIDs.size(); loanIndex += 3) {
+                            competingInlineLoanCOBHelper.executeInlineCOB(List.of(loanIDs.get(loanIndex).longValue()));
+                        }
+                    }
+                }));
+            }
+            try {
+                schedulerJobHelper.executeAndAwaitJob("Loan COB");
+            } finally {
+                jobRunning.set(false);
+            }
+            for (Future<?> competitor : competitors) {
+                competitor.get(1, TimeUnit.MINUTES);
+            }
+
+            // every loan got closed once by either side, and each side released the locks it took
+            loanTransactionHelper = new LoanTransactionHelper(requestSpec, responseSpec);
+            for (Integer loanID : loanIDs) {
+                GetLoansLoanIdResponse loan = loanTransactionHelper.getLoan(requestSpec, responseSpec, loanID);
+                Assertions.assertEquals(LocalDate.of(2020, 3, 2), loan.getLastClosedBusinessDate(), "loan " + loanID);
+            }
+            Assertions.assertEquals(Map.of(), getLockOwners(loanIDs));
+        } finally {
+            executor.shutdownNow();
+            requestSpec = new RequestSpecBuilder().setContentType(ContentType.JSON).build();
+            requestSpec.header("Authorization", "Basic " + Utils.loginIntoServerAndGetBase64EncodedAuthenticationKey());
+            requestSpec.header("Fineract-Platform-TenantId", "default");
+            responseSpec = new ResponseSpecBuilder().expectStatusCode(200).build();
+            GlobalConfigurationHelper.updateIsBusinessDateEnabled(requestSpec, responseSpec, Boolean.FALSE);
+            GlobalConfigurationHelper.updateValueForGlobalConfiguration(this.requestSpec, this.responseSpec, "10", "2");
+        }
+    }
+
+    private List<Integer> createActiveLoans(int numberOfLoans) {
+        final Integer clientID = ClientHelper.createClient(requestSpec, responseSpec);
+        Assertions.assertNotNull(clientID);
+
+        Integer overdueFeeChargeId = ChargesHelper.createCharges(requestSpec, responseSpec,
+                ChargesHelper.getLoanOverdueFeeJSONWithCalculationTypePercentage("1"));
+        Assertions.assertNotNull(overdueFeeChargeId);
+
+        final Integer loanProductID = createLoanProduct(overdueFeeChargeId.toString());
+        Assertions.assertNotNull(loanProductID);
+
+        final List<Integer> loanIDs = new ArrayList<>();
+        for (int i = 0; i < numberOfLoans; i++) {
+            final Integer loanID = applyForLoanApplication(clientID.toString(), loanProductID.toString(), null, "10 January 2020");
+            Assertions.assertNotNull(loanID);
+
+            HashMap loanStatusHashMap = loanTransactionHelper.approveLoan("01 March 2020", loanID);
+            LoanStatusChecker.verifyLoanIsApproved(loanStatusHashMap);
+
+            String loanDetails = loanTransactionHelper.getLoanDetails(requestSpec, responseSpec, loanID);
+            loanStatusHashMap = loanTransactionHelper.disburseLoanWithNetDisbursalAmount("02 March 2020", loanID,
+                    JsonPath.from(loanDetails).get("netDisbursalAmount").toString());
+            LoanStatusChecker.verifyLoanIsActive(loanStatusHashMap);
+            loanIDs.add(loanID);
+        }
+        return loanIDs;
+    }
+
+    private Map<Integer, String> getLockOwners(List<Integer> loanIDs) {
+        final String lockedAccounts = new LoanAccountLockHelper(requestSpec, responseSpec).retrieveLockedAccounts(0, 1000);
+        final List<Map<String, Object>> locks = JsonPath.from(lockedAccounts).getList("content");
+        final Map<Integer, String> lockOwners = new HashMap<>();
+        for (Map<String, Object> lock : locks) {
+            final Integer loanId = ((Number) lock.get("loanId")).intValue();
+            if (loanIDs.contains(loanId)) {
+                Assertions.assertNull(lockOwners.put(loanId, (String) lock.get("lockOwner")), "duplicate lock on loan " + loanId);
+            }
+        }
+        return lockOwners;
+    }
+
     private Integer createLoanProduct(final String chargeId) {
         final String loanProductJSON = new LoanProductTestBuilder().withPrincipal("15,000.00").withNumberOfRepayments("4")
                 .withRepaymentAfterEvery("1").withRepaymentTypeAsMonth().withinterestRatePerPeriod("1")
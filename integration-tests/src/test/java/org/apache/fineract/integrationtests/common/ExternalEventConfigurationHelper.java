@@ -470,6 +470,46 @@ public class ExternalEventConfigurationHelper {
         loanRescheduledDueAdjustScheduleBusinessEvent.put("enabled", false);
         defaults.add(loanRescheduledDueAdjustScheduleBusinessEvent);
 
+        Map<String, Object> clientUpdateBusinessEvent = new HashMap<>();
+        clientUpdateBusinessEvent.put("type", "ClientUpdateBusinessEvent");
+        clientUpdateBusinessEvent.put("enabled", false);
+        defaults.add(clientUpdateBusinessEvent);
+
+        Map<String, Object> clientDeleteBusinessEvent = new HashMap<>();
+        clientDeleteBusinessEvent.put("type", "ClientDeleteBusinessEvent");
+        clientDeleteBusinessEvent.put("enabled", false);
+        defaults.add(clientDeleteBusinessEvent);
+
+        Map<String, Object> groupsUpdateBusinessEvent = new HashMap<>();
+        groupsUpdateBusinessEvent.put("type", "GroupsUpdateBusinessEvent");
+        groupsUpdateBusinessEvent.put("enabled", false);
+        defaults.add(groupsUpdateBusinessEvent);
+
+        Map<String, Object> groupsDeleteBusinessEvent = new HashMap<>();
+        groupsDeleteBusinessEvent.put("type", "GroupsDeleteBusinessEvent");
+        groupsDeleteBusinessEvent.put("enabled", false);
+        defaults.add(groupsDeleteBusinessEvent);
+
+        Map<String, Object> centersUpdateBusinessEvent = new HashMap<>();
+        centersUpdateBusinessEvent.put("type", "CentersUpdateBusinessEvent");
+        centersUpdateBusinessEvent.put("enabled", false);
+        defaults.add(centersUpdateBusinessEvent);
+
+        Map<String, Object> centersDeleteBusinessEvent = new HashMap<>();
+        centersDeleteBusinessEvent.put("type", "CentersDeleteBusinessEvent");
+        centersDeleteBusinessEvent.put("enabled", false);
+        defaults.add(centersDeleteBusinessEvent);
+
+        Map<String, Object> loanUpdatedBusinessEvent = new HashMap<>();
+        loanUpdatedBusinessEvent.put("type", "LoanUpdatedBusinessEvent");
+        loanUpdatedBusinessEvent.put("enabled", false);
+        defaults.add(loanUpdatedBusinessEvent);
+
+        Map<String, Object> loanDeletedBusinessEvent = new HashMap<>();
+        loanDeletedBusinessEvent.put("type", "LoanDeletedBusinessEvent");
+        loanDeletedBusinessEvent.put("enabled", false);
+        defaults.add(loanDeletedBusinessEvent);
+
         return defaults;
 
     }
@@ -28,6 +28,7 @@ import org.apache.fineract.integrationtests.common.Utils;
 public class LoanAccountLockHelper extends IntegrationTest {
 
     private static final String INTERNAL_PLACE_LOCK_ON_LOAN_ACCOUNT_URL = "/fineract-provider/api/v1/internal/loans/";
+    private static final String LOCKED_LOAN_ACCOUNTS_URL = "/fineract-provider/api/v1/loans/locked";
     private static final Gson GSON = new JSON().getGson();
     private final RequestSpecification requestSpec;
     private final ResponseSpecification responseSpec;
@@ -47,4 +48,9 @@ public class LoanAccountLockHelper extends IntegrationTest {
                 error == null ? GSON.toJson(null) : error);
     }
 
+    public String retrieveLockedAccounts(int page, int limit) {
+        return Utils.performServerGet(requestSpec, responseSpec,
+                LOCKED_LOAN_ACCOUNTS_URL + "?page=" + page + "&limit=" + limit + "&" + Utils.TENANT_IDENTIFIER);
+    }
+
 }